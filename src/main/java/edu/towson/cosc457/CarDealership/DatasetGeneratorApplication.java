@@ -0,0 +1,21 @@
+package edu.towson.cosc457.CarDealership;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Command line entry point of the dataset generator: starts the application without a web server under the
+ * generate profile, fills the database and exits. Volumes are passed as arguments, e.g.
+ * --app.generator.vehicles=5000000 --app.generator.seed=42
+ */
+public class DatasetGeneratorApplication {
+	public static void main(String[] args) {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipApplication.class)
+				.profiles("generate")
+				.web(WebApplicationType.NONE)
+				.run(args);
+		System.exit(SpringApplication.exit(context));
+	}
+}
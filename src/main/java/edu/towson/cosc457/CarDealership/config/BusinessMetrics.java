@@ -0,0 +1,81 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.service.VehicleFacetService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Business gauges: ServiceTickets per Status and Vehicles per Lot. Scrapes only read the last values; ticket counts
+ * are recounted with one GROUP BY per app.metrics.business-refresh-interval and Lot counts come from the in-memory
+ * {@link VehicleFacetService} index
+ */
+@Component
+@EnableScheduling
+public class BusinessMetrics implements MeterBinder {
+    static final String TICKETS = "dealership.service.tickets";
+    static final String LOT_VEHICLES = "dealership.lot.vehicles";
+    private static final String COUNT_TICKETS = "SELECT ticket_status, count(*) AS tickets FROM service_ticket "
+            + "GROUP BY ticket_status";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessMetrics.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VehicleFacetService vehicleFacetService;
+    private final Map<Status, AtomicLong> tickets = new EnumMap<>(Status.class);
+    private volatile MultiGauge lotVehicles;
+
+    public BusinessMetrics(JdbcTemplate jdbcTemplate, VehicleFacetService vehicleFacetService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vehicleFacetService = vehicleFacetService;
+        for (Status status : Status.values()) {
+            tickets.put(status, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tickets.forEach((status, count) -> Gauge.builder(TICKETS, count, AtomicLong::get)
+                .description("Service tickets in each status")
+                .tag("status", status.name())
+                .register(registry));
+        lotVehicles = MultiGauge.builder(LOT_VEHICLES)
+                .description("Vehicles assigned to each lot")
+                .register(registry);
+    }
+
+    /**
+     * Recount the gauges, ticket counts keep their previous values if the database cannot be reached
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.business-refresh-interval:PT30S}")
+    public void refresh() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        try {
+            jdbcTemplate.queryForList(COUNT_TICKETS).forEach(row -> counts.put(
+                    Status.valueOf((String) row.get("ticket_status")), ((Number) row.get("tickets")).longValue()));
+            tickets.forEach((status, count) -> count.set(counts.getOrDefault(status, 0L)));
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not count service tickets: {}", exception.getMessage());
+        }
+        MultiGauge gauge = lotVehicles;
+        if (gauge != null) {
+            gauge.register(vehicleFacetService.getVehiclesPerLot().entrySet().stream()
+                    .map(lot -> MultiGauge.Row.of(Tags.of("lot", lot.getKey().toString()), lot.getValue()))
+                    .collect(Collectors.toList()), true);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.service.DatasetGenerator;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Fills the database with a synthetic dataset on startup when the generate profile is active, sized by the
+ * app.generator properties
+ */
+@Configuration
+@Profile("generate")
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class GeneratorConfiguration {
+    @Bean
+    public ApplicationRunner datasetGeneratorRunner(DatasetGenerator datasetGenerator,
+                                                    GeneratorProperties generatorProperties) {
+        return arguments -> datasetGenerator.generate(generatorProperties);
+    }
+}
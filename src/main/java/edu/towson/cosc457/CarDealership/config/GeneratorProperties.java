@@ -0,0 +1,38 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Volumes of the synthetic dataset written by the generate profile. Every Location gets one SiteManager and a Sales
+ * and a Service Department, each run by a Manager, with the Location's SalesAssociates and Mechanics under them
+ */
+@Data
+@ConfigurationProperties("app.generator")
+public class GeneratorProperties {
+    /**
+     * Seed of every random choice, the same seed, volumes and end date on an empty schema write the same rows
+     */
+    private long seed = 457;
+    private int locations = 10;
+    private int lotsPerLocation = 5;
+    private int mechanicsPerLocation = 15;
+    private int salesAssociatesPerLocation = 10;
+    private int vehicles = 100_000;
+    private int clients = 20_000;
+    private int tickets = 50_000;
+    /**
+     * Average Comments per ServiceTicket, each ticket gets between 0 and twice as many
+     */
+    private int commentsPerTicket = 3;
+    /**
+     * Last day a generated ServiceTicket or Comment may be dated, today if not set
+     */
+    private LocalDate endDate;
+    /**
+     * Drop the secondary indexes of the filled tables while loading and build them once at the end
+     */
+    private boolean deferIndexes = true;
+}
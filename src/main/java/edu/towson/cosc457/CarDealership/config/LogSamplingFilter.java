@@ -0,0 +1,82 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most eventsPerSecond INFO and lower events per second of each logger under loggerPrefix and drops
+ * the rest before a message is formatted. WARN and ERROR always pass. Configured in logback-spring.xml
+ */
+public class LogSamplingFilter extends TurboFilter {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private String loggerPrefix = "";
+    private int eventsPerSecond = 20;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.admit(System.nanoTime() / NANOS_PER_SECOND, eventsPerSecond)
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    /**
+     * @return events dropped so far by each logger that dropped any
+     */
+    public ConcurrentMap<String, Long> getDropped() {
+        ConcurrentMap<String, Long> dropped = new ConcurrentHashMap<>();
+        windows.forEach((name, window) -> {
+            if (window.dropped.get() > 0) {
+                dropped.put(name, window.dropped.get());
+            }
+        });
+        return dropped;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    /**
+     * Events of one logger in the current second. The count is packed with the second into one long so a new second
+     * resets it without a lock
+     */
+    private static final class Window {
+        private static final int COUNT_BITS = 32;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        private final AtomicLong state = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        boolean admit(long second, int limit) {
+            while (true) {
+                long current = state.get();
+                long count = (current >>> COUNT_BITS) == (second & COUNT_MASK) ? current & COUNT_MASK : 0;
+                if (count >= limit) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                if (state.compareAndSet(current, ((second & COUNT_MASK) << COUNT_BITS) | (count + 1))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements a controller method may send. Recorded counts include lazy loads while its response is
+ * serialized, strict mode checks before. Methods without it get app.query-budget.default-statements
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+    int statements();
+}
@@ -0,0 +1,54 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.exceptions.QueryBudgetExceededException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Strict mode of the {@link QueryBudget} check. A @ResponseBody is written before any HandlerInterceptor runs again,
+ * so a request over budget is failed here, just before its body is written, and ExceptionResolver still sets the
+ * status. SQL sent while the body is serialized is only recorded by {@link QueryBudgetInterceptor}. Bodies of
+ * exception handlers are never checked, they report the failure
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetAdvice(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isStrict()
+                && !AnnotatedElementUtils.hasAnnotation(returnType.getContainingClass(), ControllerAdvice.class);
+    }
+
+    /**
+     * @throws QueryBudgetExceededException if the controller method sent more statements than its budget
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCounter counter = QueryCounter.current();
+        if (counter == null || returnType.getMethod() == null) {
+            return body;
+        }
+        int budget = QueryBudgetInterceptor.budget(returnType.getMethodAnnotation(QueryBudget.class), properties);
+        if (counter.getStatements() > budget) {
+            throw new QueryBudgetExceededException(
+                    QueryBudgetInterceptor.endpoint(returnType.getContainingClass(), returnType.getMethod()),
+                    counter.getStatements(), budget);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,50 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource, the pool or the replica routing proxy, in a {@link QueryCountingDataSource} and
+ * checks every controller invocation against its {@link QueryBudget}
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfiguration implements WebMvcConfigurer {
+    private static final String DATA_SOURCE = "dataSource";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetConfiguration(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(properties, meterRegistry));
+    }
+}
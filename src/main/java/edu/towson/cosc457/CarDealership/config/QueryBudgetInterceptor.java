@@ -0,0 +1,108 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL of every controller invocation and records it against the method's {@link QueryBudget} once the
+ * request completed, so lazy loads during serialization count; the asynchronous part of streamed responses is not
+ * counted. Strict mode fails the request earlier, in {@link QueryBudgetAdvice}, while its status can still change
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    static final String STATEMENTS = "dealership.query.statements";
+    static final String ROWS = "dealership.query.rows";
+    static final String TIME = "dealership.query.time";
+    static final String EXCEEDED = "dealership.query.budget.exceeded";
+    static final String N_PLUS_ONE = "dealership.query.n-plus-one";
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetInterceptor(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            QueryCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        QueryCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        QueryCounter counter = QueryCounter.current();
+        try {
+            if (counter != null && handler instanceof HandlerMethod) {
+                record((HandlerMethod) handler, counter);
+            }
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    /**
+     * Record the counts, report repeated SELECT shapes and compare the statements with the budget
+     */
+    void record(HandlerMethod handler, QueryCounter counter) {
+        String endpoint = endpoint(handler.getBeanType(), handler.getMethod());
+        DistributionSummary.builder(STATEMENTS).tag("endpoint", endpoint).register(meterRegistry)
+                .record(counter.getStatements());
+        DistributionSummary.builder(ROWS).tag("endpoint", endpoint).register(meterRegistry)
+                .record(counter.getRows());
+        Timer.builder(TIME).tag("endpoint", endpoint).register(meterRegistry)
+                .record(counter.getNanos(), TimeUnit.NANOSECONDS);
+
+        counter.getShapes().forEach((shape, count) -> {
+            if (count >= properties.getRepeatedSelectThreshold() && shape.regionMatches(true, 0, "select", 0, 6)) {
+                meterRegistry.counter(N_PLUS_ONE, "endpoint", endpoint).increment();
+                LOGGER.warn("Likely N+1 in {}: {} executions of {}", endpoint, count, shape);
+            }
+        });
+
+        int statements = budget(handler.getMethodAnnotation(QueryBudget.class), properties);
+        if (counter.getStatements() <= statements) {
+            return;
+        }
+        meterRegistry.counter(EXCEEDED, "endpoint", endpoint).increment();
+        LOGGER.warn("{} sent {} SQL statements ({} rows, {} ms), over its budget of {}:\n{}", endpoint,
+                counter.getStatements(), counter.getRows(), TimeUnit.NANOSECONDS.toMillis(counter.getNanos()),
+                statements, counter.getShapes().entrySet().stream()
+                        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                        .map(shape -> shape.getValue() + " x " + shape.getKey())
+                        .collect(Collectors.joining("\n")));
+    }
+
+    static String endpoint(Class<?> beanType, Method method) {
+        return beanType.getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * @param budget annotation of the controller method, null if it has none
+     */
+    static int budget(QueryBudget budget, QueryBudgetProperties properties) {
+        return budget != null ? budget.statements() : properties.getDefaultStatements();
+    }
+}
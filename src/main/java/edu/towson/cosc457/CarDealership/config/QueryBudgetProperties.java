@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request SQL accounting, see {@link QueryBudget}
+ */
+@Data
+@ConfigurationProperties("app.query-budget")
+public class QueryBudgetProperties {
+    /**
+     * Count the statements, rows and database time of every controller invocation
+     */
+    private boolean enabled = true;
+    /**
+     * Fail the request with a QueryBudgetExceededException instead of only logging, meant for tests
+     */
+    private boolean strict = false;
+    /**
+     * Budget of controller methods without {@link QueryBudget}
+     */
+    private int defaultStatements = 25;
+    /**
+     * How often one SELECT shape may run in a request before it is reported as a likely N+1
+     */
+    private int repeatedSelectThreshold = 5;
+}
@@ -0,0 +1,90 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL sent by the current thread between {@link #start()} and {@link #stop()}. Statements are grouped by shape, the
+ * SQL with its literals and IN lists replaced by placeholders, so the same query for different ids counts as one
+ * shape
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start counting the statements of the current thread, replacing any counter left running
+     * @return the new counter
+     */
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * @return counter of the current thread, null if it is not counting
+     */
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting for the current thread
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @param sql SQL as sent to the driver
+     * @return sql with literals and IN lists replaced by placeholders and whitespace collapsed
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void row() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return number of executions of each statement shape
+     */
+    public Map<String, Integer> getShapes() {
+        return shapes;
+    }
+}
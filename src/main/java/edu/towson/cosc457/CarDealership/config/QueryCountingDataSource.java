@@ -0,0 +1,116 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement executed and every row read through its connections to the {@link QueryCounter} of the
+ * calling thread. Threads that are not counting only pay for one ThreadLocal lookup per call
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement) {
+                return statement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return statement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @param preparedSql SQL the statement was prepared with, null for a plain Statement which gets it per execute
+     */
+    private static <S extends Statement> S statement(Class<S> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (target, method, args) -> {
+            QueryCounter counter = QueryCounter.current();
+            if (counter == null) {
+                return invoke(target, method, args);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet(invoke(target, method, args));
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(invoke(target, method, args));
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0] : preparedSql;
+                counter.statement(sql != null ? sql : "batch", System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static Object wrapResultSet(Object result) {
+        if (!(result instanceof ResultSet)) {
+            return result;
+        }
+        return proxy(ResultSet.class, result, (target, method, args) -> {
+            Object value = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(value)) {
+                QueryCounter counter = QueryCounter.current();
+                if (counter != null) {
+                    counter.row();
+                }
+            }
+            return value;
+        });
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return handler.handle(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
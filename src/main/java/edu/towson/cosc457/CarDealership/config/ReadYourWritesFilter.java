@@ -0,0 +1,68 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a while after it writes, so it sees its own changes before they have
+ * replicated. The deadline travels in a cookie, so it holds whichever instance serves the next request
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE = "read-primary-until";
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request);
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.getSeconds()));
+            response.addCookie(cookie);
+        }
+        if (!write && !isPinned(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpinPrimary();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS
+                && method != HttpMethod.TRACE;
+    }
+
+    private static boolean isPinned(HttpServletRequest request, long now) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return now < Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings. Replica pools reuse spring.datasource credentials and spring.datasource.hikari settings,
+ * only their JDBC url differs
+ */
+@Data
+@ConfigurationProperties("app.datasource")
+public class ReplicaProperties {
+    /**
+     * JDBC urls of the read replicas, read-only transactions are spread over them round robin
+     */
+    private List<String> replicaUrls = new ArrayList<>();
+    /**
+     * How often every replica is probed, a replica that fails is skipped until a later probe succeeds
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    /**
+     * How long a read waits for a replica connection before falling back to the primary
+     */
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(2);
+    /**
+     * How long a client's reads stay on the primary after it sent a write, zero to disable
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
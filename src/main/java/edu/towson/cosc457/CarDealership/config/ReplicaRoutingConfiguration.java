@@ -0,0 +1,86 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool and one pool per app.datasource.replica-urls entry when
+ * replicas are configured, read-only transactions then go to the replicas. The pools are not beans, so they report
+ * their hikaricp metrics to the MeterRegistry themselves, and in virtual-thread mode each one is sized and limited by
+ * {@link VirtualThreadConfiguration#limit} on its own
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replica-urls")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfiguration {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String VIRTUAL_THREAD_PREFIX = "app.virtual-threads";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaProperties replicaProperties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        VirtualThreadProperties virtualThreads = binder.bindOrCreate(VIRTUAL_THREAD_PREFIX,
+                VirtualThreadProperties.class);
+        HikariDataSource primary = pool(dataSourceProperties, dataSourceProperties.determineUrl(), binder,
+                meterRegistry);
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getReplicaUrls()) {
+            HikariDataSource replica = pool(dataSourceProperties, url, binder, meterRegistry);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(replicaProperties.getReplicaConnectionTimeout().toMillis());
+            replicas.add(limit(replica, virtualThreads));
+        }
+        return new ReplicaRoutingDataSource(limit(primary, virtualThreads), replicas,
+                replicaProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow()));
+        registration.setEnabled(!replicaProperties.getReadYourWritesWindow().isZero());
+        return registration;
+    }
+
+    private static DataSource limit(HikariDataSource pool, VirtualThreadProperties virtualThreads) {
+        return virtualThreads.isEnabled() ? VirtualThreadConfiguration.limit(pool, virtualThreads) : pool;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties dataSourceProperties, String url, Binder binder,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        return dataSource;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections, round robin over the healthy replicas, to read-only transactions and primary
+ * connections to everything else. A replica that cannot connect to its database is marked down and the read falls
+ * back to the primary; it is used again once a background probe succeeds. A replica whose pool merely timed out is
+ * busy rather than down, so only that one read goes to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it marks the transaction read-only, so the choice has to wait for the first statement
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * @param primary pool for writes, and reads when no replica is healthy
+     * @param replicas pools for read-only transactions
+     * @param healthCheckInterval delay between two probes of every replica
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        for (DataSource replica : replicas) {
+            this.replicas.add(new Replica(replica, this.replicas.size()));
+        }
+        healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send every connection requested by the current thread to the primary, until {@link #unpinPrimary()}
+     */
+    public static void pinPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpinPrimary() {
+        PRIMARY_PINNED.remove();
+    }
+
+    static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPrimaryPinned()) {
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                if (isPoolTimeout(e)) {
+                    LOGGER.debug("Replica {} pool is exhausted, reading from the primary", replica.index);
+                    return primary.getConnection();
+                }
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Probe every replica with a validation query, run by the health check thread
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                if (!isPoolTimeout(e)) {
+                    replica.markDown(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hikari reports a connection it could not hand out in time as a SQLTransientConnectionException, caused by the
+     * last connection failure if the database is unreachable and by nothing if the pool was only busy
+     */
+    private static boolean isPoolTimeout(SQLException e) {
+        return e instanceof SQLTransientConnectionException && !(e.getCause() instanceof SQLException);
+    }
+
+    @Override
+    public void close() throws IOException {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                ((Closeable) replica.dataSource).close();
+            }
+        }
+        if (primary instanceof Closeable) {
+            ((Closeable) primary).close();
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final int index;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                LOGGER.info("Replica {} is back, routing reads to it", index);
+            }
+            healthy = true;
+        }
+
+        private void markDown(SQLException cause) {
+            if (healthy) {
+                LOGGER.warn("Replica {} is down, routing its reads to the primary", index, cause);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in virtual-thread mode, see {@link VirtualThreadProperties}. Tomcat hands every request to a new virtual
+ * thread, async MVC processing such as the NDJSON streams and @Async tasks get one too. Every pool gets db-permits
+ * connections and its own {@link DbPermitDataSource} with as many permits, the limit is per pool and not global: the
+ * auto-configured pool here, the primary and each replica pool in {@link ReplicaRoutingConfiguration}
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfiguration {
+    private static final String PREFIX = "app.virtual-threads";
+    private static final String DATA_SOURCE = "dataSource";
+
+    public VirtualThreadConfiguration() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException(PREFIX + ".enabled needs Java 21 or later, running on "
+                    + Runtime.version());
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-"));
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-"));
+    }
+
+    @Bean
+    public static BeanPostProcessor dbPermitPostProcessor(Environment environment) {
+        VirtualThreadProperties properties = Binder.get(environment)
+                .bindOrCreate(PREFIX, VirtualThreadProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof HikariDataSource) {
+                    return limit((HikariDataSource) bean, properties);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Size the pool to db-permits connections and put a semaphore of as many permits in front of it
+     */
+    static DataSource limit(HikariDataSource pool, VirtualThreadProperties properties) {
+        pool.setMaximumPoolSize(properties.getDbPermits());
+        pool.setMinimumIdle(properties.getDbPermits());
+        return new DbPermitDataSource(pool, properties.getDbPermits(), properties.getDbPermitTimeout());
+    }
+}
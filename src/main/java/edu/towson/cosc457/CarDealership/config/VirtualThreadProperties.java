@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, needs Java 21 or later. Requests and async work no longer queue for a worker
+ * thread, so the database becomes the limit: every pool, primary and replicas alike, is sized to dbPermits and at
+ * most that many threads hold one of its connections, the others wait up to dbPermitTimeout for one
+ */
+@Data
+@ConfigurationProperties("app.virtual-threads")
+public class VirtualThreadProperties {
+    /**
+     * Run servlet requests and async tasks on virtual threads instead of Tomcat's worker pool
+     */
+    private boolean enabled = false;
+    /**
+     * Connections of each pool and threads that may hold one of them at a time, per pool
+     */
+    private int dbPermits = 20;
+    /**
+     * How long a thread waits for a permit before its request fails instead of queueing behind the others
+     */
+    private Duration dbPermitTimeout = Duration.ofSeconds(2);
+}
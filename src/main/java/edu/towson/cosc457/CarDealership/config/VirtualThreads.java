@@ -0,0 +1,56 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread factories, looked up reflectively so the application still compiles for and runs on Java 11
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return whether the running JVM has virtual threads
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * @param prefix name of the threads, followed by a counter
+     * @return factory of virtual threads
+     * @throws IllegalStateException if the JVM has no virtual threads
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * @param prefix name of the threads, followed by a counter
+     * @return executor starting a new virtual thread per task
+     * @throws IllegalStateException if the JVM has no virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory threadFactory = newThreadFactory(prefix);
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    private static IllegalStateException unsupported(ReflectiveOperationException cause) {
+        return new IllegalStateException("Virtual threads need Java 21 or later, running on " + Runtime.version(),
+                cause);
+    }
+}
@@ -1,19 +1,19 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.AddressMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Address;
 import edu.towson.cosc457.CarDealership.model.dto.AddressDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.service.AddressService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/addresses")
 @RequiredArgsConstructor
@@ -32,12 +32,13 @@ public class AddressController {
     }
 
     @GetMapping
-    public ResponseEntity<List<AddressDto>> getAddresses() {
+    public ResponseEntity<PageDto<AddressDto>> getAddresses(@RequestParam(required = false) final String next,
+                                                            @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/addresses/");
-        List<Address> addresses = addressService.getAddresses();
+        Slice<Address> addresses = addressService.getAddresses(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(addresses.stream().map(addressMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(addresses, addressMapper::toDto, Address::getId));
     }
 
     @GetMapping(value = "{id}")
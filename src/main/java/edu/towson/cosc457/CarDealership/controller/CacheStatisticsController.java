@@ -0,0 +1,30 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.model.dto.CacheRegionStatisticsDto;
+import edu.towson.cosc457.CarDealership.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+    private final CacheStatisticsService cacheStatisticsService;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheStatisticsController.class);
+
+    @GetMapping(value = "statistics")
+    public ResponseEntity<List<CacheRegionStatisticsDto>> getCacheStatistics() {
+        LOGGER.info("GET /api/v1/cache/statistics");
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cacheStatisticsService.getCacheStatistics());
+    }
+}
@@ -1,12 +1,20 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.ClientMapper;
+import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Client;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
 import edu.towson.cosc457.CarDealership.model.dto.ClientDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import edu.towson.cosc457.CarDealership.service.BudgetMatchService;
 import edu.towson.cosc457.CarDealership.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +28,8 @@ import java.util.stream.Collectors;
 public class ClientController {
     private final ClientService clientService;
     private final ClientMapper clientMapper;
+    private final BudgetMatchService budgetMatchService;
+    private final VehicleMapper vehicleMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientController.class);
 
     @PostMapping
@@ -32,27 +42,28 @@ public class ClientController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ClientDto>> getClients() {
+    public ResponseEntity<PageDto<ClientDto>> getClients(@RequestParam(required = false) final String next,
+                                                         @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/clients/");
-        List<Client> clients = clientService.getClients();
+        Slice<Client> clients = clientService.getClients(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clients.stream().map(clientMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(clients, clientMapper::toDto, Client::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<ClientDto> getClient(@PathVariable final Long id) {
+    public ResponseEntity<ClientDto> getClient(@PathVariable final Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/clients/{}", id);
         Client client = clientService.getClient(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(clientMapper.toDto(client));
+        return ETags.ok(ifNoneMatch, client.getVersion(), () -> clientMapper.toDto(client));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<ClientDto> deleteClient(@PathVariable final Long id) {
+    public ResponseEntity<ClientDto> deleteClient(@PathVariable final Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/clients/{}", id);
-        Client client = clientService.deleteClient(id);
+        Client client = clientService.deleteClient(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(clientMapper.toDto(client));
@@ -60,11 +71,23 @@ public class ClientController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<ClientDto> editClient(@PathVariable final Long id,
-                                                @RequestBody final ClientDto clientDto) {
+                                                @RequestBody final ClientDto clientDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/clients/{}", id);
-        Client client = clientService.editClient(id, clientMapper.fromDto(clientDto));
+        Client client = clientService.editClient(id, clientMapper.fromDto(clientDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(client.getVersion()))
                 .body(clientMapper.toDto(client));
     }
+
+    @GetMapping(value = "{id}/matches")
+    public ResponseEntity<List<VehicleDto>> getMatchingVehicles(@PathVariable final Long id,
+                                                                @RequestParam(required = false) final Integer limit) {
+        LOGGER.info("GET /api/v1/clients/{}/matches", id);
+        List<Vehicle> vehicles = budgetMatchService.getMatchingVehicles(id, limit);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(vehicles.stream().map(vehicleMapper::toDto).collect(Collectors.toList()));
+    }
 }
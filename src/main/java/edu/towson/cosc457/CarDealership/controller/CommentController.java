@@ -1,19 +1,24 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.CommentMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Comment;
 import edu.towson.cosc457.CarDealership.model.dto.CommentDto;
+import edu.towson.cosc457.CarDealership.model.dto.CommentSearchHitDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import edu.towson.cosc457.CarDealership.service.CommentSearchService;
 import edu.towson.cosc457.CarDealership.service.CommentService;
 
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/comments")
@@ -21,6 +26,7 @@ import java.util.stream.Collectors;
 public class CommentController {
     private final CommentService commentService;
     private final CommentMapper commentMapper;
+    private final CommentSearchService commentSearchService;
     private static final Logger LOGGER = LoggerFactory.getLogger(CommentController.class);
 
     @PostMapping
@@ -33,12 +39,30 @@ public class CommentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CommentDto>> getComments() {
+    public ResponseEntity<PageDto<CommentDto>> getComments(@RequestParam(required = false) final String next,
+                                                           @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/comments/");
-        List<Comment> comments = commentService.getComments();
+        Slice<Comment> comments = commentService.getComments(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(comments.stream().map(commentMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(comments, commentMapper::toDto, Comment::getId));
+    }
+
+    @GetMapping(value = "search")
+    public ResponseEntity<PageDto<CommentSearchHitDto>> searchComments(@RequestParam final String q,
+                                                                       @RequestParam(required = false) final Long mechanicId,
+                                                                       @RequestParam(required = false)
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                                       final LocalDate from,
+                                                                       @RequestParam(required = false)
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                                       final LocalDate to,
+                                                                       @RequestParam(required = false) final String next,
+                                                                       @RequestParam(required = false) final Integer limit) {
+        LOGGER.info("GET /api/v1/comments/search");
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(commentSearchService.search(q, mechanicId, from, to, Cursor.decodeRanked(next), limit));
     }
 
     @GetMapping(value = "{id}")
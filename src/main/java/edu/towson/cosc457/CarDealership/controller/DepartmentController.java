@@ -2,20 +2,22 @@ package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.DepartmentMapper;
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Department;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.dto.DepartmentDto;
 import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.service.DepartmentService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/departments")
 @RequiredArgsConstructor
@@ -36,27 +38,28 @@ public class DepartmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<DepartmentDto>> getDepartments() {
+    public ResponseEntity<PageDto<DepartmentDto>> getDepartments(@RequestParam(required = false) final String next,
+                                                                 @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/departments/");
-        List<Department> departments = departmentService.getDepartments();
+        Slice<Department> departments = departmentService.getDepartments(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(departments.stream().map(departmentMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(departments, departmentMapper::toDto, Department::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<DepartmentDto> getDepartment(@PathVariable final Long id) {
+    public ResponseEntity<DepartmentDto> getDepartment(@PathVariable final Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/departments/{}", id);
         Department department = departmentService.getDepartment(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(departmentMapper.toDto(department));
+        return ETags.ok(ifNoneMatch, department.getVersion(), () -> departmentMapper.toDto(department));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<DepartmentDto> deleteDepartment(@PathVariable final Long id) {
+    public ResponseEntity<DepartmentDto> deleteDepartment(@PathVariable final Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/departments/{}", id);
-        Department department = departmentService.deleteDepartment(id);
+        Department department = departmentService.deleteDepartment(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(departmentMapper.toDto(department));
@@ -64,21 +67,26 @@ public class DepartmentController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<DepartmentDto> editDepartment(@PathVariable final Long id,
-                                                        @RequestBody final DepartmentDto departmentDto) {
+                                                        @RequestBody final DepartmentDto departmentDto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/departments/{}", id);
-        Department department = departmentService.editDepartment(id, departmentMapper.fromDto(departmentDto));
+        Department department = departmentService
+                .editDepartment(id, departmentMapper.fromDto(departmentDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(department.getVersion()))
                 .body(departmentMapper.toDto(department));
     }
 
     @GetMapping(value = "{id}/mechanics")
-    public ResponseEntity<List<EmployeeDto>> getMechanics(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<EmployeeDto>> getMechanics(@PathVariable final Long id,
+                                                             @RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/departments/{}/mechanics", id);
-        Department department = departmentService.getDepartment(id);
+        Slice<Mechanic> mechanics = departmentService.getMechanics(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(department.getMechanics().stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(mechanics, employeeMapper::toDto, Mechanic::getId));
     }
 
     @PostMapping(value = "{departmentId}/mechanics/{mechanicId}/add")
@@ -0,0 +1,95 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags derived from the @Version column of an entity. The version changes whenever the row is written, so
+ * it identifies the representation without hashing the serialized body
+ */
+final class ETags {
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    /**
+     * @param version entity version
+     * @return quoted strong entity tag
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Build a 200 response carrying the ETag, or a bodiless 304 if the client already holds this version; the
+     * entity is only mapped to its DTO in the first case
+     * @param ifNoneMatch If-None-Match request header, null if absent
+     * @param version version of the fetched entity
+     * @param body maps the fetched entity to its DTO
+     * @param <D> DTO type
+     * @return 200 with body or 304 without
+     */
+    static <D> ResponseEntity<D> ok(String ifNoneMatch, Long version, Supplier<D> body) {
+        String eTag = of(version);
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, eTag)) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(eTag)
+                .body(body.get());
+    }
+
+    /**
+     * Parse the versions a conditional PUT or DELETE is made against; the write goes ahead if the entity is at any
+     * of them. If-Match uses strong comparison, so weak tags and values that are not a quoted version never match
+     * @param ifMatch If-Match request header, null if absent
+     * @return expected versions, null for an unconditional request, empty if no tag can match
+     */
+    static Set<Long> ifMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (ANY.equals(tag)) {
+                return null;
+            }
+            if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // not one of our ETags, so it cannot match
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so W/ prefixes are ignored
+     */
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (ANY.equals(tag) || eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.exceptions.InvalidExportException;
+import edu.towson.cosc457.CarDealership.misc.ExportFormat;
+import edu.towson.cosc457.CarDealership.service.ExportQuery;
+import edu.towson.cosc457.CarDealership.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private final ExportService exportService;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportController.class);
+
+    /**
+     * Gzip-compressed dump of a whole table, written while rows are read. The request is validated before the
+     * response is committed, so a bad entity or column still gets a regular error response
+     */
+    @GetMapping(value = "{entity}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable final String entity,
+                                                        @RequestParam(required = false) final List<String> columns,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                        final LocalDate from,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                        final LocalDate to,
+                                                        @RequestParam(defaultValue = "csv") final String format) {
+        LOGGER.info("GET /api/v1/export/{}", entity);
+        ExportFormat exportFormat = parseFormat(format);
+        ExportQuery query = exportService.prepare(entity, columns, from, to);
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            try {
+                exportService.export(query, exportFormat, gzip);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            gzip.finish();
+        };
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                        .filename(query.getEntity() + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportException("unknown format " + format, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -4,19 +4,22 @@ import edu.towson.cosc457.CarDealership.mapper.DepartmentMapper;
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
 import edu.towson.cosc457.CarDealership.mapper.LocationMapper;
 import edu.towson.cosc457.CarDealership.mapper.LotMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Location;
+import edu.towson.cosc457.CarDealership.model.Lot;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.dto.*;
 import edu.towson.cosc457.CarDealership.service.LocationService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/locations")
 @RequiredArgsConstructor
@@ -38,27 +41,28 @@ public class LocationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LocationDto>> getLocations() {
+    public ResponseEntity<PageDto<LocationDto>> getLocations(@RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/locations/");
-        List<Location> locations = locationService.getLocations();
+        Slice<Location> locations = locationService.getLocations(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(locations.stream().map(locationMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(locations, locationMapper::toDto, Location::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<LocationDto> getLocation(@PathVariable final Long id) {
+    public ResponseEntity<LocationDto> getLocation(@PathVariable final Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/locations/{}", id);
         Location location = locationService.getLocation(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(locationMapper.toDto(location));
+        return ETags.ok(ifNoneMatch, location.getVersion(), () -> locationMapper.toDto(location));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<LocationDto> deleteLocation(@PathVariable final Long id) {
+    public ResponseEntity<LocationDto> deleteLocation(@PathVariable final Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/locations/{}", id);
-        Location location = locationService.deleteLocation(id);
+        Location location = locationService.deleteLocation(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(locationMapper.toDto(location));
@@ -66,21 +70,26 @@ public class LocationController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<LocationDto> editLocation(@PathVariable final Long id,
-                                                    @RequestBody final LocationDto locationDto) {
+                                                    @RequestBody final LocationDto locationDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/locations/{}", id);
-        Location location = locationService.editLocation(id, locationMapper.fromDto(locationDto));
+        Location location = locationService
+                .editLocation(id, locationMapper.fromDto(locationDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(location.getVersion()))
                 .body(locationMapper.toDto(location));
     }
 
     @GetMapping(value = "/{id}/lots")
-    public ResponseEntity<List<LotDto>> getLots(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<LotDto>> getLots(@PathVariable final Long id,
+                                                   @RequestParam(required = false) final String next,
+                                                   @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/locations/{}/lots", id);
-        Location location = locationService.getLocation(id);
+        Slice<Lot> lots = locationService.getLots(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(location.getLots().stream().map(lotMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(lots, lotMapper::toDto, Lot::getId));
     }
 
     @PostMapping(value = "{locationId}/lots/{lotId}/add")
@@ -104,12 +113,14 @@ public class LocationController {
     }
 
     @GetMapping(value = "/{id}/departments")
-    public ResponseEntity<List<DepartmentDto>> getDepartments(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<DepartmentDto>> getDepartments(@PathVariable final Long id,
+                                                                 @RequestParam(required = false) final String next,
+                                                                 @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/locations/{}/departments", id);
-        Location location = locationService.getLocation(id);
+        Slice<Department> departments = locationService.getDepartments(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(location.getDepartments().stream().map(departmentMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(departments, departmentMapper::toDto, Department::getId));
     }
 
     @PostMapping(value = "{locationId}/departments/{departmentId}/add")
@@ -133,12 +144,14 @@ public class LocationController {
     }
 
     @GetMapping(value = "/{id}/mechanics")
-    public ResponseEntity<List<EmployeeDto>> getMechanics(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<EmployeeDto>> getMechanics(@PathVariable final Long id,
+                                                             @RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/locations/{}/mechanics", id);
-        Location location = locationService.getLocation(id);
+        Slice<Mechanic> mechanics = locationService.getMechanics(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(location.getMechanics().stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(mechanics, employeeMapper::toDto, Mechanic::getId));
     }
 
     @PostMapping(value = "{locationId}/mechanics/{mechanicId}/add")
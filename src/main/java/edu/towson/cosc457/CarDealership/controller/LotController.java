@@ -2,20 +2,22 @@ package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.LotMapper;
 import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Lot;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
 import edu.towson.cosc457.CarDealership.model.dto.LotDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
 import edu.towson.cosc457.CarDealership.service.LotService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/lots")
 @RequiredArgsConstructor
@@ -35,27 +37,28 @@ public class LotController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LotDto>> getLots() {
+    public ResponseEntity<PageDto<LotDto>> getLots(@RequestParam(required = false) final String next,
+                                                   @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/lots/");
-        List<Lot> lots = lotService.getLots();
+        Slice<Lot> lots = lotService.getLots(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(lots.stream().map(lotMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(lots, lotMapper::toDto, Lot::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<LotDto> getLot(@PathVariable final Long id) {
+    public ResponseEntity<LotDto> getLot(@PathVariable final Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("POST /api/v1/lots/{}", id);
         Lot lot = lotService.getLot(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(lotMapper.toDto(lot));
+        return ETags.ok(ifNoneMatch, lot.getVersion(), () -> lotMapper.toDto(lot));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<LotDto> deleteLot(@PathVariable final Long id) {
+    public ResponseEntity<LotDto> deleteLot(@PathVariable final Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/lots/{}", id);
-        Lot lot = lotService.deleteLot(id);
+        Lot lot = lotService.deleteLot(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(lotMapper.toDto(lot));
@@ -63,21 +66,25 @@ public class LotController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<LotDto> editLot(@PathVariable final Long id,
-                                          @RequestBody final LotDto lotDto) {
+                                          @RequestBody final LotDto lotDto,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/lots/{}", id);
-        Lot lot = lotService.editLot(id, lotMapper.fromDto(lotDto));
+        Lot lot = lotService.editLot(id, lotMapper.fromDto(lotDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(lot.getVersion()))
                 .body(lotMapper.toDto(lot));
     }
 
     @GetMapping(value = "{id}/vehicles")
-    public ResponseEntity<List<VehicleDto>> getVehicles(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<VehicleDto>> getVehicles(@PathVariable final Long id,
+                                                           @RequestParam(required = false) final String next,
+                                                           @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/lots/{}/vehicles", id);
-        Lot lot = lotService.getLot(id);
+        Slice<Vehicle> vehicles = lotService.getVehicles(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(lot.getVehicles().stream().map(vehicleMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(vehicles, vehicleMapper::toDto, Vehicle::getId));
     }
 
     @PostMapping(value = "{lotId}/vehicles/{vehicleId}/add")
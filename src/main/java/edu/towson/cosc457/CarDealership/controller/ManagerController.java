@@ -1,20 +1,22 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Manager;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
 import edu.towson.cosc457.CarDealership.model.dto.ManagerDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.service.ManagerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/managers")
 public class ManagerController extends EmployeeController<ManagerService> {
@@ -39,27 +41,28 @@ public class ManagerController extends EmployeeController<ManagerService> {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getEmployees() {
+    public ResponseEntity<PageDto<EmployeeDto>> getEmployees(@RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/managers/");
-        List<Manager> managers = managerService.getEmployees();
+        Slice<Manager> managers = managerService.getEmployees(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(managers.stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(managers, employeeMapper::toDto, Manager::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<ManagerDto> getEmployee(@PathVariable final Long id) {
+    public ResponseEntity<ManagerDto> getEmployee(@PathVariable final Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/managers/{}", id);
         Manager manager = managerService.getEmployee(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body((ManagerDto) employeeMapper.toDto(manager));
+        return ETags.ok(ifNoneMatch, manager.getVersion(), () -> (ManagerDto) employeeMapper.toDto(manager));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<ManagerDto> deleteEmployee(@PathVariable final Long id) {
+    public ResponseEntity<ManagerDto> deleteEmployee(@PathVariable final Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/managers/{}", id);
-        Manager manager = managerService.deleteEmployee(id);
+        Manager manager = managerService.deleteEmployee(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body((ManagerDto) employeeMapper.toDto(manager));
@@ -67,21 +70,26 @@ public class ManagerController extends EmployeeController<ManagerService> {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<ManagerDto> editEmployee(@PathVariable final Long id,
-                                                   @PathVariable final ManagerDto managerDto) {
+                                                   @RequestBody final ManagerDto managerDto,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/managers/{}", id);
-        Manager manager = managerService.editEmployee(id, (Manager) employeeMapper.fromDto(managerDto));
+        Manager manager = managerService
+                .editEmployee(id, (Manager) employeeMapper.fromDto(managerDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(manager.getVersion()))
                 .body((ManagerDto) employeeMapper.toDto(manager));
     }
 
     @GetMapping(value = "{id}/mechanics")
-    public ResponseEntity<List<EmployeeDto>> getAssignedMechanics(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<EmployeeDto>> getAssignedMechanics(@PathVariable final Long id,
+                                                                     @RequestParam(required = false) final String next,
+                                                                     @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/managers/{}/mechanics", id);
-        Manager manager = managerService.getEmployee(id);
+        Slice<Mechanic> mechanics = managerService.getMechanics(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(manager.getMechanics().stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(mechanics, employeeMapper::toDto, Mechanic::getId));
     }
 
     @PostMapping(value = "{managerId}/mechanics/{mechanicId}/add")
@@ -2,21 +2,23 @@ package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
 import edu.towson.cosc457.CarDealership.mapper.ServiceTicketMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
+import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
 import edu.towson.cosc457.CarDealership.model.dto.MechanicDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.ServiceTicketDto;
 import edu.towson.cosc457.CarDealership.service.MechanicService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/mechanics")
 public class MechanicController extends EmployeeController<MechanicService> {
@@ -45,27 +47,28 @@ public class MechanicController extends EmployeeController<MechanicService> {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getEmployees() {
+    public ResponseEntity<PageDto<EmployeeDto>> getEmployees(@RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/mechanics/");
-        List<Mechanic> mechanics = mechanicService.getEmployees();
+        Slice<Mechanic> mechanics = mechanicService.getEmployees(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(mechanics.stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(mechanics, employeeMapper::toDto, Mechanic::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<MechanicDto> getEmployee(@PathVariable final Long id) {
+    public ResponseEntity<MechanicDto> getEmployee(@PathVariable final Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/mechanics/{}", id);
         Mechanic mechanic = mechanicService.getEmployee(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body((MechanicDto) employeeMapper.toDto(mechanic));
+        return ETags.ok(ifNoneMatch, mechanic.getVersion(), () -> (MechanicDto) employeeMapper.toDto(mechanic));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<MechanicDto> deleteEmployee(@PathVariable final Long id) {
+    public ResponseEntity<MechanicDto> deleteEmployee(@PathVariable final Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/mechanics/{}", id);
-        Mechanic mechanic = mechanicService.deleteEmployee(id);
+        Mechanic mechanic = mechanicService.deleteEmployee(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body((MechanicDto) employeeMapper.toDto(mechanic));
@@ -73,21 +76,26 @@ public class MechanicController extends EmployeeController<MechanicService> {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<MechanicDto> editEmployee(@PathVariable final Long id,
-                                                    @PathVariable final MechanicDto mechanicDto) {
+                                                    @RequestBody final MechanicDto mechanicDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/mechanics/{}", id);
-        Mechanic mechanic = mechanicService.editEmployee(id, (Mechanic) employeeMapper.fromDto(mechanicDto));
+        Mechanic mechanic = mechanicService
+                .editEmployee(id, (Mechanic) employeeMapper.fromDto(mechanicDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(mechanic.getVersion()))
                 .body((MechanicDto) employeeMapper.toDto(mechanic));
     }
 
     @GetMapping(value = "{id}/tickets")
-    public ResponseEntity<List<ServiceTicketDto>> getAssignedTickets(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<ServiceTicketDto>> getAssignedTickets(@PathVariable final Long id,
+                                                                        @RequestParam(required = false) final String next,
+                                                                        @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/mechanics/{}/tickets", id);
-        Mechanic mechanic = mechanicService.getEmployee(id);
+        Slice<ServiceTicket> tickets = mechanicService.getTickets(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(mechanic.getTickets().stream().map(serviceTicketMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(tickets, serviceTicketMapper::toDto, ServiceTicket::getId));
     }
 
     @PostMapping(value = "{mechanicId}/tickets/{ticketId}/add")
@@ -0,0 +1,59 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline delimited JSON responses, one DTO per line, written to the client as rows are read from the database
+ */
+final class Ndjson {
+    static final String MEDIA_TYPE = "application/x-ndjson";
+    static final String STREAM_PARAM = "stream=true";
+
+    private Ndjson() {
+    }
+
+    /**
+     * Build a 200 response whose body is produced while the servlet output stream is open
+     * @param objectMapper application ObjectMapper, so DTOs are serialized as on the paged endpoints
+     * @param producer pushes every DTO of the dump to the sink it receives
+     * @param <T> DTO type
+     * @return streaming response of content type application/x-ndjson
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try {
+                producer.accept(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                generator.close();
+            }
+        };
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE))
+                .body(body);
+    }
+}
@@ -2,21 +2,23 @@ package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.ClientMapper;
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.model.Client;
 import edu.towson.cosc457.CarDealership.model.SalesAssociate;
 import edu.towson.cosc457.CarDealership.model.dto.ClientDto;
 import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.SalesAssociateDto;
 import edu.towson.cosc457.CarDealership.service.SalesAssociateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/associates")
 public class SalesAssociateController extends EmployeeController<SalesAssociateService> {
@@ -46,27 +48,29 @@ public class SalesAssociateController extends EmployeeController<SalesAssociateS
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getEmployees() {
+    public ResponseEntity<PageDto<EmployeeDto>> getEmployees(@RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/associates/");
-        List<SalesAssociate> salesAssociates = associateService.getEmployees();
+        Slice<SalesAssociate> salesAssociates = associateService.getEmployees(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(salesAssociates.stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(salesAssociates, employeeMapper::toDto, SalesAssociate::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<SalesAssociateDto> getEmployee(@PathVariable final Long id) {
+    public ResponseEntity<SalesAssociateDto> getEmployee(@PathVariable final Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/associates/{}", id);
         SalesAssociate salesAssociate = associateService.getEmployee(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body((SalesAssociateDto) employeeMapper.toDto(salesAssociate));
+        return ETags.ok(ifNoneMatch, salesAssociate.getVersion(),
+                () -> (SalesAssociateDto) employeeMapper.toDto(salesAssociate));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<SalesAssociateDto> deleteEmployee(@PathVariable final Long id) {
+    public ResponseEntity<SalesAssociateDto> deleteEmployee(@PathVariable final Long id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/associates/{}", id);
-        SalesAssociate salesAssociate = associateService.deleteEmployee(id);
+        SalesAssociate salesAssociate = associateService.deleteEmployee(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body((SalesAssociateDto) employeeMapper.toDto(salesAssociate));
@@ -74,22 +78,26 @@ public class SalesAssociateController extends EmployeeController<SalesAssociateS
 
     @PutMapping(value = "{id}")
     public ResponseEntity<SalesAssociateDto> editEmployee(@PathVariable final Long id,
-                                                          @PathVariable final SalesAssociateDto salesAssociateDto) {
+                                                          @RequestBody final SalesAssociateDto salesAssociateDto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/associates/{}", id);
         SalesAssociate salesAssociate = associateService
-                .editEmployee(id, (SalesAssociate) employeeMapper.fromDto(salesAssociateDto));
+                .editEmployee(id, (SalesAssociate) employeeMapper.fromDto(salesAssociateDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(salesAssociate.getVersion()))
                 .body((SalesAssociateDto) employeeMapper.toDto(salesAssociate));
     }
 
     @GetMapping(value = "{id}/clients")
-    public ResponseEntity<List<ClientDto>> getAssignedClients(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<ClientDto>> getAssignedClients(@PathVariable final Long id,
+                                                                 @RequestParam(required = false) final String next,
+                                                                 @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/associates/{}/clients", id);
-        SalesAssociate salesAssociate = associateService.getEmployee(id);
+        Slice<Client> clients = associateService.getClients(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(salesAssociate.getClients().stream().map(clientMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(clients, clientMapper::toDto, Client::getId));
     }
 
     @PostMapping(value = "{associateId}/clients/{clientId}/add")
@@ -1,20 +1,28 @@
 package edu.towson.cosc457.CarDealership.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.towson.cosc457.CarDealership.mapper.CommentMapper;
 import edu.towson.cosc457.CarDealership.mapper.ServiceTicketMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.model.Comment;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.dto.CommentDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.ServiceTicketDto;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionDto;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionReportDto;
 import edu.towson.cosc457.CarDealership.service.ServiceTicketService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/tickets")
@@ -23,6 +31,7 @@ public class ServiceTicketController {
     private final ServiceTicketService serviceTicketService;
     private final ServiceTicketMapper serviceTicketMapper;
     private final CommentMapper commentMapper;
+    private final ObjectMapper objectMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceTicketController.class);
 
     @PostMapping
@@ -36,27 +45,40 @@ public class ServiceTicketController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ServiceTicketDto>> getServiceTickets() {
+    public ResponseEntity<PageDto<ServiceTicketDto>> getServiceTickets(@RequestParam(required = false) final String next,
+                                                                       @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/tickets/");
-        List<ServiceTicket> serviceTickets = serviceTicketService.getServiceTickets();
+        Slice<ServiceTicket> serviceTickets = serviceTicketService.getServiceTickets(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(serviceTickets.stream().map(serviceTicketMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(serviceTickets, serviceTicketMapper::toDto, ServiceTicket::getId));
+    }
+
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamServiceTickets() {
+        LOGGER.info("GET /api/v1/tickets/ ({})", Ndjson.MEDIA_TYPE);
+        return Ndjson.<ServiceTicketDto>ok(objectMapper, sink -> serviceTicketService.streamServiceTickets(
+                serviceTicket -> sink.accept(serviceTicketMapper.toDto(serviceTicket))));
+    }
+
+    @GetMapping(params = Ndjson.STREAM_PARAM)
+    public ResponseEntity<StreamingResponseBody> streamServiceTicketsByParam() {
+        return streamServiceTickets();
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<ServiceTicketDto> getServiceTicket(@PathVariable final Long id) {
+    public ResponseEntity<ServiceTicketDto> getServiceTicket(@PathVariable final Long id,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/tickets/{}", id);
         ServiceTicket serviceTicket = serviceTicketService.getServiceTicket(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(serviceTicketMapper.toDto(serviceTicket));
+        return ETags.ok(ifNoneMatch, serviceTicket.getVersion(), () -> serviceTicketMapper.toDto(serviceTicket));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<ServiceTicketDto> deleteServiceTicket(@PathVariable final Long id) {
+    public ResponseEntity<ServiceTicketDto> deleteServiceTicket(@PathVariable final Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/tickets/{}", id);
-        ServiceTicket serviceTicket = serviceTicketService.deleteServiceTicket(id);
+        ServiceTicket serviceTicket = serviceTicketService.deleteServiceTicket(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(serviceTicketMapper.toDto(serviceTicket));
@@ -64,22 +86,26 @@ public class ServiceTicketController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<ServiceTicketDto> editServiceTicket(@PathVariable final Long id,
-                                                              @RequestBody final ServiceTicketDto serviceTicketDto) {
+                                                              @RequestBody final ServiceTicketDto serviceTicketDto,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/tickets/{}", id);
         ServiceTicket serviceTicket = serviceTicketService
-                .editServiceTicket(id, serviceTicketMapper.fromDto(serviceTicketDto));
+                .editServiceTicket(id, serviceTicketMapper.fromDto(serviceTicketDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(serviceTicket.getVersion()))
                 .body(serviceTicketMapper.toDto(serviceTicket));
     }
 
     @GetMapping(value = "{id}/comments")
-    public ResponseEntity<List<CommentDto>> getComments(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<CommentDto>> getComments(@PathVariable final Long id,
+                                                           @RequestParam(required = false) final String next,
+                                                           @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/tickets/{}/comments", id);
-        ServiceTicket serviceTicket = serviceTicketService.getServiceTicket(id);
+        Slice<Comment> comments = serviceTicketService.getComments(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(serviceTicket.getComments().stream().map(commentMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(comments, commentMapper::toDto, Comment::getId));
     }
 
     @PostMapping(value = "{ticketId}/comments/{commentId}/add")
@@ -101,4 +127,24 @@ public class ServiceTicketController {
                 .status(HttpStatus.OK)
                 .body(serviceTicketMapper.toDto(serviceTicket));
     }
+
+    @PostMapping(value = "{id}/transitions")
+    public ResponseEntity<ServiceTicketDto> transitionServiceTicket(@PathVariable final Long id,
+                                                                    @RequestBody final TransitionDto transitionDto) {
+        LOGGER.info("POST /api/v1/tickets/{}/transitions", id);
+        ServiceTicket serviceTicket = serviceTicketService
+                .transitionServiceTicket(id, transitionDto.getFrom(), transitionDto.getTo());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(ETags.of(serviceTicket.getVersion()))
+                .body(serviceTicketMapper.toDto(serviceTicket));
+    }
+
+    @PostMapping(value = "transitions")
+    public ResponseEntity<List<TransitionReportDto>> transitionServiceTickets(@RequestBody final List<TransitionDto> transitionDtos) {
+        LOGGER.info("POST /api/v1/tickets/transitions");
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(serviceTicketService.transitionServiceTickets(transitionDtos));
+    }
 }
@@ -1,20 +1,22 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.model.Manager;
 import edu.towson.cosc457.CarDealership.model.SiteManager;
 import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.SiteManagerDto;
 import edu.towson.cosc457.CarDealership.service.SiteManagerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/site-managers")
 public class SiteManagerController extends EmployeeController<SiteManagerService> {
@@ -40,27 +42,29 @@ public class SiteManagerController extends EmployeeController<SiteManagerService
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getEmployees() {
+    public ResponseEntity<PageDto<EmployeeDto>> getEmployees(@RequestParam(required = false) final String next,
+                                                             @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/site-managers/");
-        List<SiteManager> siteManagers = siteManagerService.getEmployees();
+        Slice<SiteManager> siteManagers = siteManagerService.getEmployees(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(siteManagers.stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(siteManagers, employeeMapper::toDto, SiteManager::getId));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<SiteManagerDto> getEmployee(@PathVariable final Long id) {
+    public ResponseEntity<SiteManagerDto> getEmployee(@PathVariable final Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/site-managers/{}", id);
         SiteManager siteManager = siteManagerService.getEmployee(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body((SiteManagerDto) employeeMapper.toDto(siteManager));
+        return ETags.ok(ifNoneMatch, siteManager.getVersion(),
+                () -> (SiteManagerDto) employeeMapper.toDto(siteManager));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<SiteManagerDto> deleteEmployee(@PathVariable final Long id) {
+    public ResponseEntity<SiteManagerDto> deleteEmployee(@PathVariable final Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/site-managers/{}", id);
-        SiteManager siteManager = siteManagerService.deleteEmployee(id);
+        SiteManager siteManager = siteManagerService.deleteEmployee(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body((SiteManagerDto) employeeMapper.toDto(siteManager));
@@ -68,21 +72,26 @@ public class SiteManagerController extends EmployeeController<SiteManagerService
 
     @PutMapping(value = "{id}")
     public ResponseEntity<SiteManagerDto> editEmployee(@PathVariable final Long id,
-                                                       @PathVariable final SiteManagerDto siteManagerDto) {
+                                                       @RequestBody final SiteManagerDto siteManagerDto,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/site-managers/{}", id);
-        SiteManager siteManager = siteManagerService.editEmployee(id,(SiteManager) employeeMapper.fromDto(siteManagerDto));
+        SiteManager siteManager = siteManagerService
+                .editEmployee(id, (SiteManager) employeeMapper.fromDto(siteManagerDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(siteManager.getVersion()))
                 .body((SiteManagerDto) employeeMapper.toDto(siteManager));
     }
 
     @GetMapping(value = "{id}/managers")
-    public ResponseEntity<List<EmployeeDto>> getAssignedManagers(@PathVariable final Long id) {
+    public ResponseEntity<PageDto<EmployeeDto>> getAssignedManagers(@PathVariable final Long id,
+                                                                    @RequestParam(required = false) final String next,
+                                                                    @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/site-managers/{}/managers", id);
-        SiteManager siteManager = siteManagerService.getEmployee(id);
+        Slice<Manager> managers = siteManagerService.getManagers(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(siteManager.getManagers().stream().map(employeeMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(managers, employeeMapper::toDto, Manager::getId));
     }
 
     @PostMapping(value = "{siteManagerId}/managers/{managerId}/add")
@@ -1,19 +1,19 @@
 package edu.towson.cosc457.CarDealership.controller;
 
 import edu.towson.cosc457.CarDealership.mapper.UserMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.model.User;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.UserDto;
 import edu.towson.cosc457.CarDealership.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
@@ -32,12 +32,13 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getUsers() {
+    public ResponseEntity<PageDto<UserDto>> getUsers(@RequestParam(required = false) final String next,
+                                                     @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/users/");
-        List<User> users = userService.getUsers();
+        Slice<User> users = userService.getUsers(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(users.stream().map(userMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(users, userMapper::toDto, User::getId));
     }
 
     @GetMapping(value = "{id}")
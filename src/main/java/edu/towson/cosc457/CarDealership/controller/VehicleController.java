@@ -1,18 +1,41 @@
 package edu.towson.cosc457.CarDealership.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.config.QueryBudget;
+import edu.towson.cosc457.CarDealership.mapper.ClientMapper;
 import edu.towson.cosc457.CarDealership.mapper.ServiceTicketMapper;
 import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.ImportFormat;
+import edu.towson.cosc457.CarDealership.model.Client;
+import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.ClientDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
 import edu.towson.cosc457.CarDealership.model.dto.ServiceTicketDto;
 import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleFacetsDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportReportDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
+import edu.towson.cosc457.CarDealership.service.BudgetMatchService;
+import edu.towson.cosc457.CarDealership.service.VehicleFacetService;
+import edu.towson.cosc457.CarDealership.service.VehicleImportService;
 import edu.towson.cosc457.CarDealership.service.VehicleService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,8 +44,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class VehicleController {
     private final VehicleService vehicleService;
+    private final VehicleFacetService vehicleFacetService;
+    private final VehicleImportService vehicleImportService;
     private final VehicleMapper vehicleMapper;
+    private final ObjectMapper objectMapper;
     private final ServiceTicketMapper serviceTicketMapper;
+    private final BudgetMatchService budgetMatchService;
+    private final ClientMapper clientMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(VehicleController.class);
 
     @PostMapping
@@ -35,27 +63,77 @@ public class VehicleController {
     }
 
     @GetMapping
-    public ResponseEntity<List<VehicleDto>> getVehicles() {
+    public ResponseEntity<PageDto<VehicleDto>> getVehicles(@RequestParam(required = false) final String next,
+                                                           @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/vehicles/");
-        List<Vehicle> vehicles = vehicleService.getVehicles();
+        Slice<Vehicle> vehicles = vehicleService.getVehicles(Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(vehicles.stream().map(vehicleMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(vehicles, vehicleMapper::toDto, Vehicle::getId));
+    }
+
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamVehicles() {
+        LOGGER.info("GET /api/v1/vehicles/ ({})", Ndjson.MEDIA_TYPE);
+        return Ndjson.<VehicleDto>ok(objectMapper, sink -> vehicleService.streamVehicles(
+                vehicle -> sink.accept(vehicleMapper.toDto(vehicle))));
+    }
+
+    @GetMapping(params = Ndjson.STREAM_PARAM)
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByParam() {
+        return streamVehicles();
+    }
+
+    @GetMapping(value = "search")
+    public ResponseEntity<PageDto<VehicleDto>> searchVehicles(final VehicleSearchDto criteria,
+                                                              @RequestParam(required = false) final String next,
+                                                              @RequestParam(required = false) final Integer limit,
+                                                              @SortDefault("id") final Sort sort) {
+        LOGGER.info("GET /api/v1/vehicles/search");
+        Pageable pageable = PageRequest.of(Cursor.decodePage(next), Cursor.limit(limit).getPageSize(), sort);
+        Slice<Vehicle> vehicles = vehicleService.searchVehicles(criteria, pageable);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(Cursor.toOffsetPage(vehicles, vehicleMapper::toDto));
+    }
+
+    @GetMapping(value = "facets")
+    public ResponseEntity<VehicleFacetsDto> getFacets(final VehicleSearchDto criteria) {
+        LOGGER.info("GET /api/v1/vehicles/facets");
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(vehicleFacetService.getFacets(criteria));
+    }
+
+    @PostMapping(value = "import", consumes = "text/csv")
+    public ResponseEntity<VehicleImportReportDto> importVehiclesCsv(final InputStream body) {
+        LOGGER.info("POST /api/v1/vehicles/import (text/csv)");
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(vehicleImportService.importVehicles(body, ImportFormat.CSV));
+    }
+
+    @PostMapping(value = "import", consumes = Ndjson.MEDIA_TYPE)
+    public ResponseEntity<VehicleImportReportDto> importVehiclesNdjson(final InputStream body) {
+        LOGGER.info("POST /api/v1/vehicles/import ({})", Ndjson.MEDIA_TYPE);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(vehicleImportService.importVehicles(body, ImportFormat.NDJSON));
     }
 
     @GetMapping(value = "{id}")
-    public ResponseEntity<VehicleDto> getVehicle(@PathVariable final Long id) {
+    public ResponseEntity<VehicleDto> getVehicle(@PathVariable final Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         LOGGER.info("GET /api/v1/vehicles/{}", id);
         Vehicle vehicle = vehicleService.getVehicle(id);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(vehicleMapper.toDto(vehicle));
+        return ETags.ok(ifNoneMatch, vehicle.getVersion(), () -> vehicleMapper.toDto(vehicle));
     }
 
     @DeleteMapping(value = "{id}")
-    public ResponseEntity<VehicleDto> deleteVehicle(@PathVariable final Long id) {
+    public ResponseEntity<VehicleDto> deleteVehicle(@PathVariable final Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("DELETE /api/v1/vehicles/{}", id);
-        Vehicle vehicle = vehicleService.deleteVehicle(id);
+        Vehicle vehicle = vehicleService.deleteVehicle(id, ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(vehicleMapper.toDto(vehicle));
@@ -63,21 +141,26 @@ public class VehicleController {
 
     @PutMapping(value = "{id}")
     public ResponseEntity<VehicleDto> editVehicle(@PathVariable final Long id,
-                                                  @RequestBody final VehicleDto vehicleDto) {
+                                                  @RequestBody final VehicleDto vehicleDto,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
         LOGGER.info("PUT /api/v1/vehicles/{}", id);
-        Vehicle vehicle = vehicleService.editVehicle(id, vehicleMapper.fromDto(vehicleDto));
+        Vehicle vehicle = vehicleService.editVehicle(id, vehicleMapper.fromDto(vehicleDto), ETags.ifMatch(ifMatch));
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(vehicle.getVersion()))
                 .body(vehicleMapper.toDto(vehicle));
     }
 
     @GetMapping(value = "{id}/tickets")
-    public ResponseEntity<List<ServiceTicketDto>> getAssignedTickets(@PathVariable final Long id) {
+    @QueryBudget(statements = 15)
+    public ResponseEntity<PageDto<ServiceTicketDto>> getAssignedTickets(@PathVariable final Long id,
+                                                                        @RequestParam(required = false) final String next,
+                                                                        @RequestParam(required = false) final Integer limit) {
         LOGGER.info("GET /api/v1/vehicles/{}/tickets", id);
-        Vehicle vehicle = vehicleService.getVehicle(id);
+        Slice<ServiceTicket> tickets = vehicleService.getTickets(id, Cursor.decode(next), limit);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(vehicle.getTickets().stream().map(serviceTicketMapper::toDto).collect(Collectors.toList()));
+                .body(Cursor.toPage(tickets, serviceTicketMapper::toDto, ServiceTicket::getId));
     }
 
     @PostMapping(value = "{vehicleId}/tickets/{ticketId}/add")
@@ -99,4 +182,14 @@ public class VehicleController {
                 .status(HttpStatus.OK)
                 .body(vehicleMapper.toDto(vehicle));
     }
+
+    @GetMapping(value = "{id}/interested-clients")
+    public ResponseEntity<List<ClientDto>> getInterestedClients(@PathVariable final Long id,
+                                                                @RequestParam(required = false) final Integer limit) {
+        LOGGER.info("GET /api/v1/vehicles/{}/interested-clients", id);
+        List<Client> clients = budgetMatchService.getInterestedClients(id, limit);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(clients.stream().map(clientMapper::toDto).collect(Collectors.toList()));
+    }
 }
@@ -3,28 +3,27 @@ package edu.towson.cosc457.CarDealership.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-import java.text.MessageFormat;
-
 @ResponseStatus(value = HttpStatus.CONFLICT, reason = "Data integrity conflict") // 409 ERROR
-public class AlreadyAssignedException extends RuntimeException {
-    private final HttpStatus status;
+public class AlreadyAssignedException extends BusinessException {
+    private final String ownedEntity;
+    private final Long ownedId;
+    private final String ownerEntity;
+    private final Long ownerId;
 
     public AlreadyAssignedException(final String ownedEntity,
                                     final Long ownedId,
                                     final String ownerEntity,
                                     final Long ownerId,
                                     final HttpStatus status) {
-        super(MessageFormat.format(
-                "{0} id: {1} is already assigned to {2} id: {3}",
-                ownedEntity,
-                ownedId,
-                ownerEntity,
-                ownerId)
-        );
-        this.status = status;
+        super(status);
+        this.ownedEntity = ownedEntity;
+        this.ownedId = ownedId;
+        this.ownerEntity = ownerEntity;
+        this.ownerId = ownerId;
     }
 
-    public HttpStatus getStatus() {
-        return status;
+    @Override
+    protected String buildMessage() {
+        return ownedEntity + " id: " + ownedId + " is already assigned to " + ownerEntity + " id: " + ownerId;
     }
 }
@@ -3,26 +3,24 @@ package edu.towson.cosc457.CarDealership.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-import java.text.MessageFormat;
-
 @ResponseStatus(value = HttpStatus.CONFLICT, reason = "Data integrity conflict") // 409 ERROR
-public class AlreadyExistsException extends RuntimeException {
-    private final HttpStatus status;
+public class AlreadyExistsException extends BusinessException {
+    private final String entity;
+    private final String attribute;
+    private final Long id;
 
     public AlreadyExistsException(final String entity,
                                   final String attribute,
                                   final Long id,
                                   final HttpStatus status) {
-        super(MessageFormat.format(
-                "{0} with {1}: {2} already exists.",
-                entity,
-                attribute,
-                id)
-        );
-        this.status = status;
+        super(status);
+        this.entity = entity;
+        this.attribute = attribute;
+        this.id = id;
     }
 
-    public HttpStatus getStatus() {
-        return status;
+    @Override
+    protected String buildMessage() {
+        return entity + " with " + attribute + ": " + id + " already exists.";
     }
 }
@@ -0,0 +1,35 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected outcome of a request, such as a missing or already assigned entity, rather than a fault. It captures no
+ * stack trace and builds its message only when asked, so throwing one costs little more than the allocation; the
+ * {@link ExceptionResolver} turns it into an ErrorDto without logging it
+ */
+public abstract class BusinessException extends RuntimeException {
+    private final HttpStatus status;
+    private String message;
+
+    protected BusinessException(final HttpStatus status) {
+        super(null, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * @return message describing the failure, built on the first call to {@link #getMessage()}
+     */
+    protected abstract String buildMessage();
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = buildMessage();
+        }
+        return message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -2,32 +2,47 @@ package edu.towson.cosc457.CarDealership.exceptions;
 
 import edu.towson.cosc457.CarDealership.model.dto.ErrorDto;
 import edu.towson.cosc457.CarDealership.service.AddressService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every exception handled here but {@link QueryBudgetExceededException} is an expected client error, so only its
+ * message is logged, at WARN, without the stack trace. {@link BusinessException}s are only counted
+ */
 @ControllerAdvice
 public class ExceptionResolver {
+    static final String ERRORS = "dealership.errors";
     private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionResolver.class);
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
 
-    @ExceptionHandler(value = NotFoundException.class)
-    @ResponseBody
-    public ResponseEntity<ErrorDto> handleException(final NotFoundException exception) {
-        LOGGER.error("Unable to find entity.", exception);
-        return ResponseEntity
-                .status(exception.getStatus())
-                .body(ErrorDto.builder().message(exception.getMessage()).build());
+    public ExceptionResolver(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
 
-    @ExceptionHandler(value = AlreadyAssignedException.class)
+    /**
+     * Fast path for expected outcomes such as 404s for deleted entities: counted per exception type instead of
+     * logged, the message is only built for the response body
+     */
+    @ExceptionHandler(value = BusinessException.class)
     @ResponseBody
-    public ResponseEntity<ErrorDto> handleException(final AlreadyAssignedException exception) {
-        LOGGER.error("Unable to assign entity.", exception);
+    public ResponseEntity<ErrorDto> handleException(final BusinessException exception) {
+        counters.computeIfAbsent(exception.getClass(),
+                type -> meterRegistry.counter(ERRORS, "exception", type.getSimpleName())).increment();
         return ResponseEntity
                 .status(exception.getStatus())
                 .body(ErrorDto.builder().message(exception.getMessage()).build());
@@ -36,18 +51,37 @@ public class ExceptionResolver {
     @ExceptionHandler(value = NoHandlerFoundException.class)
     @ResponseBody
     public ResponseEntity<ErrorDto> handleException(final NoHandlerFoundException exception) {
-        LOGGER.error("Invalid endpoint.", exception);
+        LOGGER.warn("Invalid endpoint. {}", exception.getMessage());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ErrorDto.builder().message(exception.getMessage()).build());
     }
 
-    @ExceptionHandler(value = AlreadyExistsException.class)
+    /**
+     * Only raised in strict mode, meant for tests: the endpoint sends more SQL than its budget, a server fault
+     */
+    @ExceptionHandler(value = QueryBudgetExceededException.class)
+    @ResponseBody
+    public ResponseEntity<ErrorDto> handleException(final QueryBudgetExceededException exception) {
+        LOGGER.error("Query budget exceeded. {}", exception.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ErrorDto.builder().message(exception.getMessage()).build());
+    }
+
+    /**
+     * A concurrent writer committed between loading the entity and flushing the change. This is the same lost
+     * update If-Match guards against, so conditional requests get 412 and unconditional ones 409
+     */
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
     @ResponseBody
-    public ResponseEntity<ErrorDto> handleException(final AlreadyExistsException exception) {
-        LOGGER.error("Data conflict. Entity with identifier already exists.", exception);
+    public ResponseEntity<ErrorDto> handleException(final ObjectOptimisticLockingFailureException exception,
+                                                    final WebRequest request) {
+        LOGGER.warn("Concurrent modification of entity. {}", exception.getMessage());
         return ResponseEntity
-                .status(HttpStatus.CONFLICT)
+                .status(request.getHeader(HttpHeaders.IF_MATCH) != null
+                        ? HttpStatus.PRECONDITION_FAILED
+                        : HttpStatus.CONFLICT)
                 .body(ErrorDto.builder().message(exception.getMessage()).build());
     }
 }
@@ -0,0 +1,19 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid page token") // 400 ERROR
+public class InvalidCursorException extends BusinessException {
+    private final String token;
+
+    public InvalidCursorException(final String token, final HttpStatus status) {
+        super(status);
+        this.token = token;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Invalid page token: " + token;
+    }
+}
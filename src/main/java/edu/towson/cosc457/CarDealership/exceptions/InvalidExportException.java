@@ -0,0 +1,19 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid export request") // 400 ERROR
+public class InvalidExportException extends BusinessException {
+    private final String reason;
+
+    public InvalidExportException(final String reason, final HttpStatus status) {
+        super(status);
+        this.reason = reason;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Invalid export request: " + reason;
+    }
+}
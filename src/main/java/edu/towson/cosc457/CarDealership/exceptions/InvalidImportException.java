@@ -0,0 +1,19 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid import file") // 400 ERROR
+public class InvalidImportException extends BusinessException {
+    private final String reason;
+
+    public InvalidImportException(final String reason, final HttpStatus status) {
+        super(status);
+        this.reason = reason;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Invalid import file: " + reason;
+    }
+}
@@ -0,0 +1,23 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid sort property") // 400 ERROR
+public class InvalidSortException extends BusinessException {
+    private final String entity;
+    private final String property;
+
+    public InvalidSortException(final String entity,
+                                final String property,
+                                final HttpStatus status) {
+        super(status);
+        this.entity = entity;
+        this.property = property;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Cannot sort " + entity + " by: " + property;
+    }
+}
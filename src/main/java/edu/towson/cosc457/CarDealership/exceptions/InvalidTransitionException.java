@@ -0,0 +1,24 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "Invalid status transition") // 409 ERROR
+public class InvalidTransitionException extends BusinessException {
+    private final Status from;
+    private final Status to;
+
+    public InvalidTransitionException(final Status from,
+                                      final Status to,
+                                      final HttpStatus status) {
+        super(status);
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Service ticket cannot move from " + from + " to " + to;
+    }
+}
@@ -3,18 +3,19 @@ package edu.towson.cosc457.CarDealership.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-import java.text.MessageFormat;
-
 @ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "No such entity") // 404 ERROR
-public class NotFoundException extends RuntimeException {
-    private final HttpStatus status;
+public class NotFoundException extends BusinessException {
+    private final String entity;
+    private final Long entityId;
 
     public NotFoundException(final String entity, final Long entityId, HttpStatus status) {
-        super(MessageFormat.format("Could not find {0} with id: {1}", entity, entityId));
-        this.status = status;
+        super(status);
+        this.entity = entity;
+        this.entityId = entityId;
     }
 
-    public HttpStatus getStatus() {
-        return status;
+    @Override
+    protected String buildMessage() {
+        return "Could not find " + entity + " with id: " + entityId;
     }
 }
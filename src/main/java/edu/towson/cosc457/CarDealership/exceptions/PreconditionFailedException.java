@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Set;
+
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "Entity has been modified") // 412 ERROR
+public class PreconditionFailedException extends BusinessException {
+    private final String entity;
+    private final Long entityId;
+    private final Set<Long> versions;
+
+    public PreconditionFailedException(final String entity,
+                                       final Long entityId,
+                                       final Set<Long> versions,
+                                       final HttpStatus status) {
+        super(status);
+        this.entity = entity;
+        this.entityId = entityId;
+        this.versions = versions;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return entity + " id: " + entityId + " is at none of the versions " + versions;
+    }
+}
@@ -0,0 +1,10 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import java.text.MessageFormat;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(final String endpoint, final int statements, final int budget) {
+        super(MessageFormat.format("{0} sent {1} SQL statements, over its budget of {2}", endpoint, statements,
+                budget));
+    }
+}
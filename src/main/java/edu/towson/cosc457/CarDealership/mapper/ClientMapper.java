@@ -24,5 +24,6 @@ public interface ClientMapper {
      */
     @InheritInverseConfiguration
     @Mapping(target = "salesAssociate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Client fromDto(ClientDto clientDto);
 }
@@ -23,7 +23,5 @@ public interface CommentMapper {
      * @return mapped Comment object
      */
     @InheritInverseConfiguration
-    @Mapping(target = "serviceTicket", ignore = true)
-    @Mapping(target = "mechanic", ignore = true)
     Comment fromDto(CommentDto commentDto);
 }
@@ -23,5 +23,6 @@ public interface DepartmentMapper {
      * @return mapped Department object
      */
     @InheritInverseConfiguration
+    @Mapping(target = "version", ignore = true)
     Department fromDto(DepartmentDto departmentDto);
 }
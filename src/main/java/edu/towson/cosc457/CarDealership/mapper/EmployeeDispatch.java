@@ -0,0 +1,85 @@
+package edu.towson.cosc457.CarDealership.mapper;
+
+import edu.towson.cosc457.CarDealership.misc.EmployeeType;
+import edu.towson.cosc457.CarDealership.model.*;
+import edu.towson.cosc457.CarDealership.model.dto.*;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Routes an Employee or EmployeeDto to the {@link EmployeeMapper} method of its subtype with one map lookup on its
+ * class. Hibernate proxies are unwrapped first, since a lazy proxy of the abstract Employee is none of the subtypes.
+ * Classes that are not registered, such as subclasses of a subtype, are resolved by their EmployeeType
+ */
+final class EmployeeDispatch {
+    private static final Map<Class<?>, BiFunction<EmployeeMapper, Employee, EmployeeDto>> TO_DTO = new HashMap<>();
+    private static final Map<EmployeeType, Class<? extends Employee>> ENTITY_TYPES =
+            new EnumMap<>(EmployeeType.class);
+    private static final Map<Class<?>, BiFunction<EmployeeMapper, EmployeeDto, Employee>> FROM_DTO = new HashMap<>();
+    private static final Map<EmployeeType, Class<? extends EmployeeDto>> DTO_TYPES = new EnumMap<>(EmployeeType.class);
+
+    static {
+        register(EmployeeType.MANAGER, Manager.class, EmployeeMapper::toManagerDto,
+                ManagerDto.class, EmployeeMapper::toManager);
+        register(EmployeeType.MECHANIC, Mechanic.class, EmployeeMapper::toMechanicDto,
+                MechanicDto.class, EmployeeMapper::toMechanic);
+        register(EmployeeType.SALES_ASSOCIATE, SalesAssociate.class, EmployeeMapper::toSalesAssociateDto,
+                SalesAssociateDto.class, EmployeeMapper::toSalesAssociate);
+        register(EmployeeType.SITE_MANAGER, SiteManager.class, EmployeeMapper::toSiteManagerDto,
+                SiteManagerDto.class, EmployeeMapper::toSiteManager);
+    }
+
+    private EmployeeDispatch() {
+    }
+
+    static EmployeeDto toDto(EmployeeMapper mapper, Employee employee) {
+        if (employee instanceof HibernateProxy) {
+            employee = (Employee) Hibernate.unproxy(employee);
+        }
+        BiFunction<EmployeeMapper, Employee, EmployeeDto> route = employee == null ? null
+                : TO_DTO.get(employee.getClass());
+        if (route == null && employee != null) {
+            route = TO_DTO.get(byType(employee.getClass(), employee.getEmployeeType(), ENTITY_TYPES));
+        }
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown subtype of Employee");
+        }
+        return route.apply(mapper, employee);
+    }
+
+    static Employee fromDto(EmployeeMapper mapper, EmployeeDto employeeDto) {
+        BiFunction<EmployeeMapper, EmployeeDto, Employee> route = employeeDto == null ? null
+                : FROM_DTO.get(employeeDto.getClass());
+        if (route == null && employeeDto != null) {
+            route = FROM_DTO.get(byType(employeeDto.getClass(), employeeDto.getEmployeeType(), DTO_TYPES));
+        }
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown subtype of EmployeeDto");
+        }
+        return route.apply(mapper, employeeDto);
+    }
+
+    /**
+     * @return class registered for employeeType if type extends it, else null
+     */
+    private static Class<?> byType(Class<?> type, EmployeeType employeeType,
+                                   Map<EmployeeType, ? extends Class<?>> types) {
+        Class<?> registered = employeeType == null ? null : types.get(employeeType);
+        return registered != null && registered.isAssignableFrom(type) ? registered : null;
+    }
+
+    private static <E extends Employee, D extends EmployeeDto> void register(
+            EmployeeType employeeType,
+            Class<E> entityType, BiFunction<EmployeeMapper, E, D> toDto,
+            Class<D> dtoType, BiFunction<EmployeeMapper, D, E> fromDto) {
+        TO_DTO.put(entityType, (mapper, employee) -> toDto.apply(mapper, entityType.cast(employee)));
+        FROM_DTO.put(dtoType, (mapper, employeeDto) -> fromDto.apply(mapper, dtoType.cast(employeeDto)));
+        ENTITY_TYPES.put(employeeType, entityType);
+        DTO_TYPES.put(employeeType, dtoType);
+    }
+}
@@ -9,55 +9,25 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", uses = {Gender.class, AddressMapper.class, EmployeeType.class})
 public interface EmployeeMapper {
     /**
-     * Default method to route @param employee to appropriate Employee subtype mapper
-     * @param employee (of type of Employee) object to be mapped to DTO (of type EmployeeDto)
+     * Default method to route @param employee to appropriate Employee subtype mapper through {@link EmployeeDispatch}
+     * @param employee (of type of Employee, possibly a Hibernate proxy) object to be mapped to DTO (of type
+     *                 EmployeeDto)
      * @return mapped DTO object of type EmployeeDTO
-     * @throws IllegalArgumentException if passed parameter is not of type Employee
+     * @throws IllegalArgumentException if passed parameter is not of a known subtype of Employee
      */
     default EmployeeDto toDto(Employee employee) {
-        if (employee instanceof Manager) {
-            return toManagerDto((Manager) employee);
-        }
-
-        if (employee instanceof Mechanic) {
-            return toMechanicDto((Mechanic) employee);
-        }
-
-        if (employee instanceof SalesAssociate) {
-            return toSalesAssociateDto((SalesAssociate) employee);
-        }
-
-        if (employee instanceof SiteManager) {
-            return toSiteManagerDto((SiteManager) employee);
-        }
-
-        throw new IllegalArgumentException("Unknown subtype of Employee");
+        return EmployeeDispatch.toDto(this, employee);
     }
 
     /**
-     * Default method to route @param employeeDto to appropriate EmployeeDto subtype mapper
+     * Default method to route @param employeeDto to appropriate EmployeeDto subtype mapper through
+     * {@link EmployeeDispatch}
      * @param employeeDto (of type EmployeeDto) object to be mapped to entity (of type Employee)
      * @return mapped entity object of type Employee
-     * @throws IllegalArgumentException if passed parameter is not of type EmployeeDto
+     * @throws IllegalArgumentException if passed parameter is not of a known subtype of EmployeeDto
      */
-    default Employee fromDto(EmployeeDto employeeDto){
-        if (employeeDto instanceof ManagerDto) {
-            return toManager((ManagerDto) employeeDto);
-        }
-
-        if (employeeDto instanceof MechanicDto) {
-            return toMechanic((MechanicDto) employeeDto);
-        }
-
-        if (employeeDto instanceof SalesAssociateDto) {
-            return toSalesAssociate((SalesAssociateDto) employeeDto);
-        }
-
-        if (employeeDto instanceof SiteManagerDto) {
-            return toSiteManager((SiteManagerDto) employeeDto);
-        }
-
-        throw new IllegalArgumentException("Unknown subtype of EmployeeDto");
+    default Employee fromDto(EmployeeDto employeeDto) {
+        return EmployeeDispatch.fromDto(this, employeeDto);
     }
 
     /**
@@ -78,6 +48,7 @@ public interface EmployeeMapper {
     @InheritInverseConfiguration
     @Mapping(target = "department", ignore = true)
     @Mapping(target = "siteManager", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Manager toManager(ManagerDto managerDto);
 
     /**
@@ -98,6 +69,7 @@ public interface EmployeeMapper {
     @InheritInverseConfiguration
     @Mapping(target = "manager", ignore = true)
     @Mapping(target = "department", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Mechanic toMechanic(MechanicDto mechanicDto);
 
     /**
@@ -118,6 +90,7 @@ public interface EmployeeMapper {
     @InheritInverseConfiguration
     @Mapping(target = "manager", ignore = true)
     @Mapping(target = "department", ignore = true)
+    @Mapping(target = "version", ignore = true)
     SalesAssociate toSalesAssociate(SalesAssociateDto salesAssociateDto);
 
     /**
@@ -136,5 +109,6 @@ public interface EmployeeMapper {
      */
     @InheritInverseConfiguration
     @Mapping(target = "managedLocation", ignore = true)
+    @Mapping(target = "version", ignore = true)
     SiteManager toSiteManager(SiteManagerDto siteManagerDto);
 }
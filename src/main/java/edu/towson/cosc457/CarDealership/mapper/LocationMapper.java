@@ -22,5 +22,6 @@ public interface LocationMapper {
      * @return mapped Location object
      */
     @InheritInverseConfiguration
+    @Mapping(target = "version", ignore = true)
     Location fromDto(LocationDto locationDto);
 }
@@ -22,5 +22,6 @@ public interface LotMapper {
      * @return mapped Lot object
      */
     @InheritInverseConfiguration
+    @Mapping(target = "version", ignore = true)
     Lot fromDto(LotDto lotDto);
 }
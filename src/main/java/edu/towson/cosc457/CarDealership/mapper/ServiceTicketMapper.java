@@ -24,5 +24,6 @@ public interface ServiceTicketMapper {
      * @return mapped ServiceTicket object
      */
     @InheritInverseConfiguration
+    @Mapping(target = "version", ignore = true)
     ServiceTicket fromDto(ServiceTicketDto serviceTicketDto);
 }
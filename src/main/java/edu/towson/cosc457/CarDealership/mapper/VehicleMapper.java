@@ -24,5 +24,6 @@ public interface VehicleMapper {
      * @return mapped Vehicle object
      */
     @InheritInverseConfiguration
+    @Mapping(target = "version", ignore = true)
     Vehicle fromDto(VehicleDto vehicleDto);
 }
@@ -0,0 +1,195 @@
+package edu.towson.cosc457.CarDealership.misc;
+
+import edu.towson.cosc457.CarDealership.exceptions.InvalidCursorException;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import lombok.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset pagination token. Pages are ordered by (sort key, id); the token carries the key of the last row
+ * of a page so the next page is read with a range predicate on an index instead of an OFFSET or a COUNT(*).
+ * Searches sorted by arbitrary properties carry the next page number instead, and still skip the COUNT(*)
+ */
+public final class Cursor {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    private static final Long START = 0L;
+    private static final String PREFIX = "id:";
+    private static final String RANK_PREFIX = "rank:";
+    private static final String PAGE_PREFIX = "page:";
+    private static final String SEPARATOR = ":";
+
+    private Cursor() {
+    }
+
+    /**
+     * Encode the key of the last row of a page into an opaque token
+     * @param id identifier of the last row of the page
+     * @return URL safe token to be passed back as the next parameter
+     */
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode(Long)}
+     * @param token token received from the client, may be null for the first page
+     * @return identifier rows of the requested page must be greater than
+     * @throws InvalidCursorException if token was not produced by this application
+     */
+    public static Long decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return START;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!key.startsWith(PREFIX)) {
+                throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+            }
+            return Long.valueOf(key.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Encode the key of the last row of a page ordered by descending relevance
+     * @param rank relevance of the last row of the page
+     * @param id identifier of the last row of the page, breaking ties between equal ranks
+     * @return URL safe token to be passed back as the next parameter
+     */
+    public static String encode(Float rank, Long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((RANK_PREFIX + rank + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode(Float, Long)}
+     * @param token token received from the client, may be null for the first page
+     * @return rank and identifier rows of the requested page must sort after, null for the first page
+     * @throws InvalidCursorException if token was not produced by this application
+     */
+    public static Ranked decodeRanked(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf(SEPARATOR);
+            if (!key.startsWith(RANK_PREFIX) || separator <= RANK_PREFIX.length()) {
+                throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+            }
+            return new Ranked(Float.parseFloat(key.substring(RANK_PREFIX.length(), separator)),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Encode the number of the following page of a query whose sort has no usable key, such as a search sorted by
+     * price
+     * @param page zero-based number of the following page
+     * @return URL safe token to be passed back as the next parameter
+     */
+    public static String encodePage(int page) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PAGE_PREFIX + page).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encodePage(int)}
+     * @param token token received from the client, may be null for the first page
+     * @return zero-based number of the requested page
+     * @throws InvalidCursorException if token was not produced by this application
+     */
+    public static int decodePage(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!key.startsWith(PAGE_PREFIX)) {
+                throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+            }
+            int page = Integer.parseInt(key.substring(PAGE_PREFIX.length()));
+            if (page < 0) {
+                throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+            }
+            return page;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Build the page request for a keyset query, clamping the requested limit to [1, MAX_LIMIT]
+     * @param limit number of rows requested by the client, may be null
+     * @return first-page request of the clamped size; the keyset predicate does the skipping
+     */
+    public static Pageable limit(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return PageRequest.of(0, size);
+    }
+
+    /**
+     * Map a Slice of entities to a PageDto carrying the token of the following page
+     * @param slice rows of the current page
+     * @param mapper entity to DTO mapper
+     * @param idOf accessor for the identifier of an entity
+     * @param <E> entity type
+     * @param <T> DTO type
+     * @return mapped page, next is null when there are no more rows
+     */
+    public static <E, T> PageDto<T> toPage(Slice<E> slice,
+                                           Function<? super E, ? extends T> mapper,
+                                           Function<? super E, Long> idOf) {
+        List<E> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? encode(idOf.apply(content.get(content.size() - 1)))
+                : null;
+        return PageDto.<T>builder()
+                .items(content.stream().map(mapper).collect(Collectors.toList()))
+                .next(next)
+                .limit(slice.getSize())
+                .build();
+    }
+
+    /**
+     * Map a Slice read by page number to a PageDto carrying the token of the following page
+     * @param slice rows of the current page
+     * @param mapper entity to DTO mapper
+     * @param <E> entity type
+     * @param <T> DTO type
+     * @return mapped page, next is null when there are no more rows
+     */
+    public static <E, T> PageDto<T> toOffsetPage(Slice<E> slice, Function<? super E, ? extends T> mapper) {
+        return PageDto.<T>builder()
+                .items(slice.getContent().stream().map(mapper).collect(Collectors.toList()))
+                .next(slice.hasNext() ? encodePage(slice.getNumber() + 1) : null)
+                .limit(slice.getSize())
+                .build();
+    }
+
+    /**
+     * Key of the last row of a page ordered by (rank DESC, id DESC)
+     */
+    @Value
+    public static class Ranked {
+        float rank;
+        long id;
+    }
+}
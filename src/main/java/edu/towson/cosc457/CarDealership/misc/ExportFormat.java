@@ -0,0 +1,25 @@
+package edu.towson.cosc457.CarDealership.misc;
+
+/**
+ * Enumeration of export file formats
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    ARROW("application/vnd.apache.arrow.stream", "arrows");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,9 @@
+package edu.towson.cosc457.CarDealership.misc;
+
+/**
+ * Enumeration of bulk import file formats, one record per line
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -1,11 +1,43 @@
 package edu.towson.cosc457.CarDealership.misc;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
- * Enumeration of ServiceTicket Status options
+ * Enumeration of ServiceTicket Status options. Open and pending tickets can move to any other status, a resolved
+ * ticket can only be reopened and a cancelled ticket is final
  */
 public enum Status {
     OPEN,
     PENDING,
     CANCELLED,
-    RESOLVED
+    RESOLVED;
+
+    private static final Map<Status, Set<Status>> SOURCES = new EnumMap<>(Status.class);
+
+    static {
+        SOURCES.put(OPEN, Collections.unmodifiableSet(EnumSet.of(PENDING, RESOLVED)));
+        SOURCES.put(PENDING, Collections.unmodifiableSet(EnumSet.of(OPEN)));
+        SOURCES.put(CANCELLED, Collections.unmodifiableSet(EnumSet.of(OPEN, PENDING)));
+        SOURCES.put(RESOLVED, Collections.unmodifiableSet(EnumSet.of(OPEN, PENDING)));
+    }
+
+    /**
+     * @param target Status to move to
+     * @return whether a ticket in this Status may move to target
+     */
+    public boolean canTransitionTo(Status target) {
+        return SOURCES.get(target).contains(this);
+    }
+
+    /**
+     * @param target Status to move to
+     * @return every Status a ticket may move to target from
+     */
+    public static Set<Status> sources(Status target) {
+        return SOURCES.get(target);
+    }
 }
@@ -18,9 +18,13 @@ import javax.persistence.*;
 @Builder
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "client_seq", allocationSize = 50)
     @Column(name = "client_id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @NotNull
     @Column(name = "client_ssn", unique = true, length = 11)
     private String ssn;
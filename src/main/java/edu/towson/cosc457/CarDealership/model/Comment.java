@@ -18,7 +18,8 @@ import java.time.LocalDate;
 @Builder
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     @Column(name = "comment_id", updatable = false)
     private Long id;
     @JsonBackReference
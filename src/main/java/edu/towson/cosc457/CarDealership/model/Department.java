@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -14,14 +16,24 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "department", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Department.managerAndLocation", attributeNodes = {
+        @NamedAttributeNode("manager"),
+        @NamedAttributeNode("location")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
     @Column(name = "dept_id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @NotNull
     @Column(name = "dept_name", unique = true, length = 45)
     private String name;
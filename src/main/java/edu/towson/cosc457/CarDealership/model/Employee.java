@@ -24,9 +24,13 @@ import java.time.Period;
 @DiscriminatorColumn(discriminatorType = DiscriminatorType.STRING, name = "employee_type")
 public abstract class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     @Column(name = "id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @NotNull
     @Column(name = "ssn", length = 11, unique = true)
     private String ssn;
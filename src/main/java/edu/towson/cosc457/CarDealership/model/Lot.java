@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -14,14 +16,25 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "lot", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Lot.location", attributeNodes = @NamedAttributeNode(value = "location", subgraph = "location"),
+        subgraphs = @NamedSubgraph(name = "location", attributeNodes = {
+                @NamedAttributeNode("address"),
+                @NamedAttributeNode("siteManager")
+        }))
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Lot {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lot_seq")
+    @SequenceGenerator(name = "lot_seq", sequenceName = "lot_seq", allocationSize = 50)
     @Column(name = "lot_id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @Column(name = "lot_size")
     private Double size; // in sq. ft.
     @JsonBackReference
@@ -11,6 +11,12 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "manager", schema = "public")
+@NamedEntityGraph(name = "Manager.assignments", attributeNodes = {
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("workLocation"),
+        @NamedAttributeNode("siteManager"),
+        @NamedAttributeNode("department")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
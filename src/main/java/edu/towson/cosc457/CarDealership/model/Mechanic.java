@@ -11,6 +11,12 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "mechanic", schema = "public")
+@NamedEntityGraph(name = "Mechanic.assignments", attributeNodes = {
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("workLocation"),
+        @NamedAttributeNode("manager"),
+        @NamedAttributeNode("department")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
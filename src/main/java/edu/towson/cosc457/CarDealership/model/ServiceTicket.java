@@ -21,9 +21,13 @@ import java.util.List;
 @Builder
 public class ServiceTicket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_ticket_seq")
+    @SequenceGenerator(name = "service_ticket_seq", sequenceName = "service_ticket_seq", allocationSize = 50)
     @Column(name = "ticket_id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @JsonBackReference
     @NotNull
     @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.DETACH})
@@ -16,14 +16,19 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "vehicle", schema = "public")
+@NamedEntityGraph(name = "Vehicle.lot", attributeNodes = @NamedAttributeNode("lot"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Vehicle {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     @Column(name = "vehicle_id", updatable = false)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @NotNull
     @Column(name = "vin", length = 17)
     private String vin;
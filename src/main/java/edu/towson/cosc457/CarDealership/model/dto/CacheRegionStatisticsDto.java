@@ -0,0 +1,21 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hibernate second-level cache counters for one region since startup
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheRegionStatisticsDto {
+    private String region;
+    private Long hitCount;
+    private Long missCount;
+    private Long putCount;
+    private Double hitRatio;
+}
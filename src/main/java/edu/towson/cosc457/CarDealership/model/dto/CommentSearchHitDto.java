@@ -0,0 +1,32 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Comment matching a full-text search with the ServiceTicket and Vehicle it is about. snippet holds the best
+ * matching fragments of the content, HTML escaped, with the matched terms wrapped in mark elements
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CommentSearchHitDto {
+    private Long id;
+    private Long serviceTicketId;
+    private Status ticketStatus;
+    private Long vehicleId;
+    private String vin;
+    private String make;
+    private String model;
+    private Integer year;
+    private Long mechanicId;
+    private LocalDate dateCreated;
+    private Float rank;
+    private String snippet;
+}
@@ -0,0 +1,20 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageDto<T> {
+    @Builder.Default
+    private List<T> items = new ArrayList<>();
+    private String next;
+    private Integer limit;
+}
@@ -0,0 +1,23 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Status change of one or many ServiceTickets. It only applies to tickets still in from, or when from is null in
+ * any Status that may move to to. ids is only read by the bulk endpoint
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransitionDto {
+    private List<Long> ids;
+    private Status from;
+    private Status to;
+}
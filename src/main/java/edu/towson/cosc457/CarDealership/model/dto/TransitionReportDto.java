@@ -0,0 +1,25 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk transition, skipped tickets do not exist or were not in a Status they could move from
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransitionReportDto {
+    private Status to;
+    @Builder.Default
+    private List<Long> transitioned = new ArrayList<>();
+    @Builder.Default
+    private List<Long> skipped = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of Vehicles matching a filter set, in total and per facet value. Each facet is counted against every filter
+ * except its own, so selecting a make still reports counts for the other makes
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VehicleFacetsDto {
+    private Long total;
+    private Map<String, Long> makes;
+    private Map<VehicleType, Long> types;
+    private Map<TransmissionType, Long> transmissions;
+    private Map<String, Long> colors;
+    private Map<Integer, Long> years;
+    private Map<String, Long> prices;
+}
@@ -0,0 +1,19 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reason a single line of a bulk Vehicle import was not loaded
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VehicleImportErrorDto {
+    private Long line;
+    private String vin;
+    private String message;
+}
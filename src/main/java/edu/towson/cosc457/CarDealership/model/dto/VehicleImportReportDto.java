@@ -0,0 +1,26 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk Vehicle import. Counts cover every line, errors only the first lines that were rejected or
+ * skipped as duplicates so the report stays small for any file size
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VehicleImportReportDto {
+    private Long received;
+    private Long imported;
+    private Long duplicates;
+    private Long rejected;
+    @Builder.Default
+    private List<VehicleImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package edu.towson.cosc457.CarDealership.model.dto;
+
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vehicle search filters bound from query parameters, null fields are not filtered on and ranges are inclusive.
+ * With fuzzy set, make, model and features match by trigram similarity instead, so misspellings still find
+ * Vehicles, and results are ranked by how similar they are
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VehicleSearchDto {
+    private String make;
+    private String model;
+    private String color;
+    private VehicleType type;
+    private TransmissionType transmission;
+    private String features;
+    private Long lotId;
+    private Integer minYear;
+    private Integer maxYear;
+    private Integer minMpg;
+    private Integer maxMpg;
+    private Integer minMileage;
+    private Integer maxMileage;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean fuzzy;
+}
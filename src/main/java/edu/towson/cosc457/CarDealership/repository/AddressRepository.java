@@ -1,6 +1,8 @@
 package edu.towson.cosc457.CarDealership.repository;
 
 import edu.towson.cosc457.CarDealership.model.Address;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +15,5 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     Optional<List<Address>> findByCity(String city);
     Optional<List<Address>> findByState(String state);
     Optional<List<Address>> findByZipCode(Integer zipCode);
+    Slice<Address> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
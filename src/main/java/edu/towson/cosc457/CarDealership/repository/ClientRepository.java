@@ -3,6 +3,8 @@ package edu.towson.cosc457.CarDealership.repository;
 import edu.towson.cosc457.CarDealership.misc.Gender;
 import edu.towson.cosc457.CarDealership.model.Client;
 import edu.towson.cosc457.CarDealership.model.SalesAssociate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,4 +20,6 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByEmail(String email);
     Optional<Client> findByPhoneNumber(String phoneNumber);
     Optional<List<Client>> findBySalesAssociate(SalesAssociate salesAssociate);
+    Slice<Client> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    Slice<Client> findBySalesAssociateIdAndIdGreaterThanOrderByIdAsc(Long salesAssociateId, Long id, Pageable pageable);
 }
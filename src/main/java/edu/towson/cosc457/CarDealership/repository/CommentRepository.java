@@ -3,6 +3,8 @@ package edu.towson.cosc457.CarDealership.repository;
 import edu.towson.cosc457.CarDealership.model.Comment;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,4 +17,6 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<List<Comment>> findByServiceTicket(ServiceTicket serviceTicket);
     Optional<List<Comment>> findByMechanic(Mechanic mechanic);
     Optional<List<Comment>> findByDateCreated(LocalDate date);
+    Slice<Comment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    Slice<Comment> findByServiceTicketIdAndIdGreaterThanOrderByIdAsc(Long serviceTicketId, Long id, Pageable pageable);
 }
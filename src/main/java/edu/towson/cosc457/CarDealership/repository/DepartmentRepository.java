@@ -3,6 +3,9 @@ package edu.towson.cosc457.CarDealership.repository;
 import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Location;
 import edu.towson.cosc457.CarDealership.model.Manager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +17,8 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<List<Department>> findByName(String deptName);
     Optional<Department> findByManager(Manager manager);
     Optional<List<Department>> findByLocation(Location location);
+    @EntityGraph("Department.managerAndLocation")
+    Slice<Department> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("Department.managerAndLocation")
+    Slice<Department> findByLocationIdAndIdGreaterThanOrderByIdAsc(Long locationId, Long id, Pageable pageable);
 }
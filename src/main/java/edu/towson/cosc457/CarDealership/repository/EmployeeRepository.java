@@ -4,6 +4,8 @@ import edu.towson.cosc457.CarDealership.misc.Gender;
 import edu.towson.cosc457.CarDealership.misc.Role;
 import edu.towson.cosc457.CarDealership.model.Employee;
 import edu.towson.cosc457.CarDealership.model.Location;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
@@ -25,4 +27,6 @@ public interface EmployeeRepository<T extends Employee> extends JpaRepository<T,
     Optional<List<T>> findBySalaryLessThan(Double salary);
     Optional<List<T>> findBySalaryGreaterThan(Double salary);
     Optional<List<T>> findBySalaryBetween(Double minSalary, Double maxSalary);
+    Slice<T> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    Slice<T> findByWorkLocationIdAndIdGreaterThanOrderByIdAsc(Long workLocationId, Long id, Pageable pageable);
 }
@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.repository;
 
 import edu.towson.cosc457.CarDealership.model.Location;
 import edu.towson.cosc457.CarDealership.model.SiteManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +13,5 @@ import java.util.Optional;
 public interface LocationRepository extends JpaRepository<Location, Long> {
     Optional<Location> findByName(String locationName);
     Optional<Location> findBySiteManager(SiteManager siteManager);
+    Slice<Location> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -2,6 +2,9 @@ package edu.towson.cosc457.CarDealership.repository;
 
 import edu.towson.cosc457.CarDealership.model.Location;
 import edu.towson.cosc457.CarDealership.model.Lot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +17,8 @@ public interface LotRepository extends JpaRepository<Lot, Long> {
     Optional<List<Lot>> findBySizeGreaterThan(Double size);
     Optional<List<Lot>> findBySizeBetween(Double minSize, Double maxSize);
     Optional<List<Lot>> findByLocation(Location location);
+    @EntityGraph("Lot.location")
+    Slice<Lot> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("Lot.location")
+    Slice<Lot> findByLocationIdAndIdGreaterThanOrderByIdAsc(Long locationId, Long id, Pageable pageable);
 }
@@ -3,6 +3,9 @@ package edu.towson.cosc457.CarDealership.repository;
 import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Manager;
 import edu.towson.cosc457.CarDealership.model.SiteManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,12 @@ import java.util.Optional;
 public interface ManagerRepository extends EmployeeRepository<Manager> {
     Optional<List<Manager>> findBySiteManager(SiteManager siteManager);
     Optional<Manager> findByDepartment(Department department);
+    @Override
+    @EntityGraph("Manager.assignments")
+    Slice<Manager> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @Override
+    @EntityGraph("Manager.assignments")
+    Slice<Manager> findByWorkLocationIdAndIdGreaterThanOrderByIdAsc(Long workLocationId, Long id, Pageable pageable);
+    @EntityGraph("Manager.assignments")
+    Slice<Manager> findBySiteManagerIdAndIdGreaterThanOrderByIdAsc(Long siteManagerId, Long id, Pageable pageable);
 }
@@ -3,6 +3,9 @@ package edu.towson.cosc457.CarDealership.repository;
 import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Manager;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,14 @@ import java.util.Optional;
 public interface MechanicRepository extends EmployeeRepository<Mechanic> {
     Optional<List<Mechanic>> findByManager(Manager manager);
     Optional<List<Mechanic>> findByDepartment(Department department);
+    @Override
+    @EntityGraph("Mechanic.assignments")
+    Slice<Mechanic> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @Override
+    @EntityGraph("Mechanic.assignments")
+    Slice<Mechanic> findByWorkLocationIdAndIdGreaterThanOrderByIdAsc(Long workLocationId, Long id, Pageable pageable);
+    @EntityGraph("Mechanic.assignments")
+    Slice<Mechanic> findByManagerIdAndIdGreaterThanOrderByIdAsc(Long managerId, Long id, Pageable pageable);
+    @EntityGraph("Mechanic.assignments")
+    Slice<Mechanic> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(Long departmentId, Long id, Pageable pageable);
 }
@@ -4,12 +4,21 @@ import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ServiceTicketRepository extends JpaRepository<ServiceTicket, Long> {
@@ -18,4 +27,13 @@ public interface ServiceTicketRepository extends JpaRepository<ServiceTicket, Lo
     Optional<List<ServiceTicket>> findByDateCreated(LocalDate dateCreated);
     Optional<List<ServiceTicket>> findByDateUpdated(LocalDate dateUpdated);
     Optional<List<ServiceTicket>> findByStatus(Status status);
+    Slice<ServiceTicket> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    Slice<ServiceTicket> findByVehicleIdAndIdGreaterThanOrderByIdAsc(Long vehicleId, Long id, Pageable pageable);
+    Slice<ServiceTicket> findByMechanicIdAndIdGreaterThanOrderByIdAsc(Long mechanicId, Long id, Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select t from ServiceTicket t order by t.id")
+    Stream<ServiceTicket> streamAll();
 }
@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.repository;
 
 import edu.towson.cosc457.CarDealership.misc.Role;
 import edu.towson.cosc457.CarDealership.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +14,5 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<List<User>> findByRole(Role role);
+    Slice<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
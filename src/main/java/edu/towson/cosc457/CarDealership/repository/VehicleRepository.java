@@ -4,14 +4,26 @@ import edu.towson.cosc457.CarDealership.misc.TransmissionType;
 import edu.towson.cosc457.CarDealership.misc.VehicleType;
 import edu.towson.cosc457.CarDealership.model.Lot;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle>,
+        VehicleSearchRepository {
     Optional<Vehicle> findByVin(String vin);
     Optional<List<Vehicle>> findByMake(String make);
     Optional<List<Vehicle>> findByYear(Integer year);
@@ -31,4 +43,14 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     Optional<List<Vehicle>> findByPriceLessThan(Double price);
     Optional<List<Vehicle>> findByPriceGreaterThan(Double price);
     Optional<List<Vehicle>> findByPriceBetween(Double minPrice, Double maxPrice);
+    @EntityGraph("Vehicle.lot")
+    Slice<Vehicle> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("Vehicle.lot")
+    Slice<Vehicle> findByLotIdAndIdGreaterThanOrderByIdAsc(Long lotId, Long id, Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select v from Vehicle v order by v.id")
+    Stream<Vehicle> streamAll();
 }
@@ -0,0 +1,20 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Search queries of {@link VehicleRepository} that Spring Data does not derive
+ */
+public interface VehicleSearchRepository {
+    /**
+     * Read one page of Vehicles matching specification without counting every match: one row past the page is
+     * read to tell whether a next page exists
+     * @param specification filters, may match every Vehicle
+     * @param pageable page number, size and sort of the page
+     * @return Slice of Vehicles with their Lot
+     */
+    Slice<Vehicle> findSlice(Specification<Vehicle> specification, Pageable pageable);
+}
@@ -0,0 +1,42 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCHGRAPH;
+
+public class VehicleSearchRepositoryImpl implements VehicleSearchRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Vehicle> findSlice(Specification<Vehicle> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Vehicle> query = builder.createQuery(Vehicle.class);
+        Root<Vehicle> root = query.from(Vehicle.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        List<Vehicle> vehicles = entityManager.createQuery(query)
+                .setHint(HINT_FETCHGRAPH, entityManager.getEntityGraph("Vehicle.lot"))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = vehicles.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? vehicles.subList(0, pageable.getPageSize()) : vehicles, pageable, hasNext);
+    }
+}
@@ -0,0 +1,81 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.criteria.Path;
+import java.util.Locale;
+
+/**
+ * Composable Vehicle filters for {@link VehicleRepository}. Every factory returns null when its argument is absent
+ * so unused filters drop out of the WHERE clause
+ */
+public final class VehicleSpecifications {
+    private VehicleSpecifications() {
+    }
+
+    /**
+     * Combine every filter present in criteria with AND
+     * @param criteria search filters, null fields are ignored
+     * @return Specification matching Vehicles that satisfy all filters
+     */
+    public static Specification<Vehicle> matching(VehicleSearchDto criteria) {
+        return Specification.where(hasMake(criteria.getMake()))
+                .and(hasModel(criteria.getModel()))
+                .and(hasColor(criteria.getColor()))
+                .and(isEqual("type", criteria.getType()))
+                .and(isEqual("transmission", criteria.getTransmission()))
+                .and(hasFeature(criteria.getFeatures()))
+                .and(inLot(criteria.getLotId()))
+                .and(isBetween("year", criteria.getMinYear(), criteria.getMaxYear()))
+                .and(isBetween("mpg", criteria.getMinMpg(), criteria.getMaxMpg()))
+                .and(isBetween("mileage", criteria.getMinMileage(), criteria.getMaxMileage()))
+                .and(isBetween("price", criteria.getMinPrice(), criteria.getMaxPrice()));
+    }
+
+    public static Specification<Vehicle> hasMake(String make) {
+        return StringUtils.hasText(make) ? isEqual("make", make) : null;
+    }
+
+    public static Specification<Vehicle> hasModel(String model) {
+        return StringUtils.hasText(model) ? isEqual("model", model) : null;
+    }
+
+    public static Specification<Vehicle> hasColor(String color) {
+        return StringUtils.hasText(color) ? isEqual("color", color) : null;
+    }
+
+    public static Specification<Vehicle> hasFeature(String feature) {
+        if (!StringUtils.hasText(feature)) {
+            return null;
+        }
+        String pattern = "%" + feature.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, builder) -> builder.like(builder.lower(root.get("features")), pattern);
+    }
+
+    public static Specification<Vehicle> inLot(Long lotId) {
+        return lotId == null ? null : (root, query, builder) -> builder.equal(root.get("lot").get("id"), lotId);
+    }
+
+    private static Specification<Vehicle> isEqual(String attribute, Object value) {
+        return value == null ? null : (root, query, builder) -> builder.equal(root.get(attribute), value);
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<Vehicle> isBetween(String attribute, Y min, Y max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Path<Y> path = root.get(attribute);
+            if (min == null) {
+                return builder.lessThanOrEqualTo(path, max);
+            }
+            if (max == null) {
+                return builder.greaterThanOrEqualTo(path, min);
+            }
+            return builder.between(path, min, max);
+        };
+    }
+}
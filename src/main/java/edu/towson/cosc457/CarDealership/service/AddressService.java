@@ -1,19 +1,17 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Address;
 import edu.towson.cosc457.CarDealership.repository.AddressRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -32,14 +30,15 @@ public class AddressService {
     }
 
     /**
-     * Get All Addresses
-     * @return List of Addresses
+     * Get a page of Addresses ordered by id
+     * @param after identifier of the last Address of the previous page
+     * @param limit maximum number of Addresses to be fetched
+     * @return Slice of Addresses with id greater than after
      */
-    public List<Address> getAddresses() {
-        LOGGER.info("Get all Addresses");
-        return StreamSupport
-                .stream(addressRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Address> getAddresses(Long after, Integer limit) {
+        LOGGER.info("Get Addresses after id {}", after);
+        return addressRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
     }
 
     /**
@@ -48,6 +47,7 @@ public class AddressService {
      * @return fetched Address
      * @throws NotFoundException if no Address with matching id found
      */
+    @Transactional(readOnly = true)
     public Address getAddress(Long id) {
         LOGGER.info("Get Address with id {}", id);
         return addressRepository.findById(id)
@@ -0,0 +1,67 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import org.apache.arrow.adapter.jdbc.ArrowVectorIterator;
+import org.apache.arrow.adapter.jdbc.JdbcToArrow;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowUtils;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Apache Arrow IPC stream straight from a JDBC cursor. Rows are converted column by column into record batches of
+ * {@link #BATCH_SIZE} rows, so only one batch is held off-heap at a time whatever the size of the export.
+ * Arrow reads direct buffer addresses reflectively, so from JDK 17 the JVM must run with
+ * --add-opens=java.base/java.nio=ALL-UNNAMED, as the Dockerfile and the surefire configuration do
+ */
+final class ArrowExport {
+    static final int BATCH_SIZE = 1024;
+
+    private ArrowExport() {
+    }
+
+    /**
+     * @param resultSet open cursor, consumed but not closed
+     * @param outputStream destination, not closed
+     * @return number of rows written
+     */
+    static long write(ResultSet resultSet, OutputStream outputStream) throws SQLException, IOException {
+        long rows = 0;
+        try (BufferAllocator allocator = new RootAllocator()) {
+            JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator, JdbcToArrowUtils.getUtcCalendar())
+                    .setTargetBatchSize(BATCH_SIZE)
+                    .build();
+            try (VectorSchemaRoot root = VectorSchemaRoot.create(
+                    JdbcToArrowUtils.jdbcToArrowSchema(resultSet.getMetaData(), config), allocator);
+                 ArrowStreamWriter writer = new ArrowStreamWriter(root, null, StreamUtils.nonClosing(outputStream));
+                 ArrowVectorIterator batches = JdbcToArrow.sqlToArrowVectorIterator(resultSet, config)) {
+                VectorLoader loader = new VectorLoader(root);
+                writer.start();
+                while (batches.hasNext()) {
+                    try (VectorSchemaRoot batch = batches.next();
+                         ArrowRecordBatch recordBatch = new VectorUnloader(batch).getRecordBatch()) {
+                        if (batch.getRowCount() == 0) {
+                            continue;
+                        }
+                        loader.load(recordBatch);
+                        writer.writeBatch();
+                        rows += batch.getRowCount();
+                    }
+                }
+                writer.end();
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,144 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.misc.Entity;
+import edu.towson.cosc457.CarDealership.model.Client;
+import edu.towson.cosc457.CarDealership.model.Comment;
+import edu.towson.cosc457.CarDealership.model.Department;
+import edu.towson.cosc457.CarDealership.model.Lot;
+import edu.towson.cosc457.CarDealership.model.Manager;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
+import edu.towson.cosc457.CarDealership.model.ServiceTicket;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.lang.reflect.Field;
+
+/**
+ * To-one associations changed by {@link AssignmentService}, named owner then owned entity. Each maps the owned
+ * entity's table and foreign key column, and the owner's table and key, so the conditional statements can run on a
+ * single table. Associations whose owner collection removes orphans delete the owned row on removal, as flushing
+ * the collection did
+ */
+enum Assignment {
+    DEPARTMENT_MECHANIC(Mechanic.class, Entity.MECHANIC, "mechanic", "id", "dept_id",
+            Entity.DEPARTMENT, "department", "dept_id", false),
+    LOCATION_DEPARTMENT(Department.class, Entity.DEPARTMENT, "department", "dept_id", "location_id",
+            Entity.LOCATION, "location", "location_id", true),
+    LOCATION_LOT(Lot.class, Entity.LOT, "lot", "lot_id", "location_id",
+            Entity.LOCATION, "location", "location_id", true),
+    LOCATION_MECHANIC(Mechanic.class, Entity.MECHANIC, "employee", "id", "work_location_id",
+            Entity.LOCATION, "location", "location_id", false),
+    LOT_VEHICLE(Vehicle.class, Entity.VEHICLE, "vehicle", "vehicle_id", "lot_id",
+            Entity.LOT, "lot", "lot_id", false),
+    MANAGER_MECHANIC(Mechanic.class, Entity.MECHANIC, "mechanic", "id", "manager_id",
+            Entity.MANAGER, "manager", "id", false),
+    MECHANIC_TICKET(ServiceTicket.class, Entity.SERVICE_TICKET, "service_ticket", "ticket_id", "mechanic_id",
+            Entity.MECHANIC, "mechanic", "id", false),
+    SALES_ASSOCIATE_CLIENT(Client.class, Entity.CLIENT, "client", "client_id", "sales_associate_id",
+            Entity.SALES_ASSOCIATE, "sales_associate", "id", false),
+    SERVICE_TICKET_COMMENT(Comment.class, Entity.COMMENT, "comment", "comment_id", "ticket_id",
+            Entity.SERVICE_TICKET, "service_ticket", "ticket_id", true),
+    SITE_MANAGER_MANAGER(Manager.class, Entity.MANAGER, "manager", "id", "site_manager_id",
+            Entity.SITE_MANAGER, "site_manager", "id", false),
+    VEHICLE_TICKET(ServiceTicket.class, Entity.SERVICE_TICKET, "service_ticket", "ticket_id", "vehicle_id",
+            Entity.VEHICLE, "vehicle", "vehicle_id", false);
+
+    private final Class<?> ownedClass;
+    private final Entity owned;
+    private final Entity owner;
+    private final String assignSql;
+    private final String removeSql;
+    private final String diagnoseSql;
+
+    /**
+     * Parameter 1 is always the owner id and parameter 2 the owned id
+     */
+    Assignment(Class<?> ownedClass, Entity owned, String ownedTable, String ownedKey, String foreignKey,
+               Entity owner, String ownerTable, String ownerKey, boolean orphanRemoval) {
+        this.ownedClass = ownedClass;
+        this.owned = owned;
+        this.owner = owner;
+        // work_location_id lives on the employee table shared by every employee type
+        String ownedRow = ownedKey + " = ?2" + ("employee".equals(ownedTable)
+                ? " AND employee_type = '" + ownedClass.getAnnotation(DiscriminatorValue.class).value() + "'" : "");
+        String versionTable = versionTable(ownedClass);
+        this.assignSql = bumpVersion(ownedTable, ownedKey, versionTable, "UPDATE " + ownedTable + " SET "
+                + foreignKey + " = ?1{0} WHERE " + ownedRow + " AND " + foreignKey + " IS NULL AND EXISTS ("
+                + "SELECT 1 FROM " + ownerTable + " WHERE " + ownerKey + " = ?1)");
+        this.removeSql = orphanRemoval
+                ? "DELETE FROM " + ownedTable + " WHERE " + ownedRow + " AND " + foreignKey + " = ?1"
+                : bumpVersion(ownedTable, ownedKey, versionTable, "UPDATE " + ownedTable + " SET "
+                + foreignKey + " = NULL{0} WHERE " + ownedRow + " AND " + foreignKey + " = ?1");
+        this.diagnoseSql = "SELECT EXISTS (SELECT 1 FROM " + ownerTable + " WHERE " + ownerKey + " = ?1), "
+                + "EXISTS (SELECT 1 FROM " + ownedTable + " WHERE " + ownedRow + "), "
+                + "(SELECT " + foreignKey + " FROM " + ownedTable + " WHERE " + ownedRow + ")";
+    }
+
+    /**
+     * @return table of the owned entity's @Version column, null if the entity is not versioned
+     */
+    private static String versionTable(Class<?> ownedClass) {
+        for (Class<?> type = ownedClass; type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Version.class)) {
+                    return type.getAnnotation(Table.class).name();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Changing the foreign key changes the owned entity's representation, so its version has to move with it or
+     * clients would keep revalidating a stale ETag. When the version lives on the root table of a joined
+     * hierarchy the UPDATE becomes a data-modifying CTE, which keeps it a single statement whose row count is the
+     * number of owned rows changed
+     * @param update UPDATE with a {0} placeholder at the end of its SET list
+     */
+    private static String bumpVersion(String ownedTable, String ownedKey, String versionTable, String update) {
+        if (versionTable == null) {
+            return update.replace("{0}", "");
+        }
+        if (versionTable.equals(ownedTable)) {
+            return update.replace("{0}", ", version = version + 1");
+        }
+        return "WITH changed AS (" + update.replace("{0}", "") + " RETURNING " + ownedKey + ") UPDATE "
+                + versionTable + " SET version = version + 1 WHERE " + ownedKey + " IN (SELECT " + ownedKey
+                + " FROM changed)";
+    }
+
+    Class<?> getOwnedClass() {
+        return ownedClass;
+    }
+
+    Entity getOwned() {
+        return owned;
+    }
+
+    Entity getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return UPDATE setting the owner only if the owned row has none and the owner exists
+     */
+    String getAssignSql() {
+        return assignSql;
+    }
+
+    /**
+     * @return UPDATE clearing, or DELETE removing, the owned row only if it belongs to the owner
+     */
+    String getRemoveSql() {
+        return removeSql;
+    }
+
+    /**
+     * @return SELECT of whether the owner exists, whether the owned row exists and its current owner id
+     */
+    String getDiagnoseSql() {
+        return diagnoseSql;
+    }
+}
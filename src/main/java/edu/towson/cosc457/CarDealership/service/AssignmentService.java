@@ -0,0 +1,99 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import lombok.AllArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Assigns and removes owners of to-one associations with one conditional statement, whose row count tells whether it
+ * applied. Neither entity is loaded, and two concurrent assignments of the same entity cannot both succeed. Rows are
+ * only read again to explain a statement that changed nothing. Must run inside the caller's transaction
+ */
+@Service
+@AllArgsConstructor
+public class AssignmentService {
+    static final int MAX_ATTEMPTS = 3;
+    private final EntityManager entityManager;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssignmentService.class);
+
+    /**
+     * Assign an entity without an owner to owner
+     * @param assignment association to set
+     * @param ownerId identifier of the owner
+     * @param ownedId identifier of the entity to be assigned
+     * @throws NotFoundException if no owner or owned entity with matching ownerId/ownedId were found
+     * @throws AlreadyAssignedException if the owned entity has already been assigned
+     * @throws ObjectOptimisticLockingFailureException if the owned entity was still released and reassigned
+     * concurrently after {@link #MAX_ATTEMPTS} attempts
+     */
+    public void assign(Assignment assignment, Long ownerId, Long ownedId) {
+        for (int attempt = 1; execute(assignment.getAssignSql(), assignment, ownerId, ownedId) == 0; attempt++) {
+            Long currentOwnerId = currentOwnerId(assignment, ownerId, ownedId);
+            if (currentOwnerId != null) {
+                throw new AlreadyAssignedException(
+                        assignment.getOwned().toString(),
+                        ownedId,
+                        assignment.getOwner().toString(),
+                        currentOwnerId,
+                        HttpStatus.BAD_REQUEST
+                );
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new ObjectOptimisticLockingFailureException(assignment.getOwnedClass(), ownedId);
+            }
+            LOGGER.debug("{} with id {} was released concurrently, retrying", assignment.getOwned(), ownedId);
+        }
+    }
+
+    /**
+     * Remove an entity from owner, nothing changes if it is assigned elsewhere
+     * @param assignment association to clear
+     * @param ownerId identifier of the owner
+     * @param ownedId identifier of the entity to be removed
+     * @return whether the entity was assigned to owner and has been removed
+     * @throws NotFoundException if no owner or owned entity with matching ownerId/ownedId were found
+     */
+    public boolean remove(Assignment assignment, Long ownerId, Long ownedId) {
+        if (execute(assignment.getRemoveSql(), assignment, ownerId, ownedId) > 0) {
+            return true;
+        }
+        currentOwnerId(assignment, ownerId, ownedId);
+        return false;
+    }
+
+    private int execute(String sql, Assignment assignment, Long ownerId, Long ownedId) {
+        Query statement = entityManager.createNativeQuery(sql)
+                .setParameter(1, ownerId)
+                .setParameter(2, ownedId);
+        // Evict only the owned entity's cache regions instead of the whole second-level cache
+        statement.unwrap(NativeQuery.class).addSynchronizedEntityClass(assignment.getOwnedClass());
+        return statement.executeUpdate();
+    }
+
+    /**
+     * @return identifier of the owned entity's current owner, null if it has none
+     * @throws NotFoundException if no owner or owned entity with matching ownerId/ownedId were found
+     */
+    private Long currentOwnerId(Assignment assignment, Long ownerId, Long ownedId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(assignment.getDiagnoseSql())
+                .setParameter(1, ownerId)
+                .setParameter(2, ownedId)
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(row[0])) {
+            throw new NotFoundException(assignment.getOwner().toString(), ownerId, HttpStatus.NOT_FOUND);
+        }
+        if (!Boolean.TRUE.equals(row[1])) {
+            throw new NotFoundException(assignment.getOwned().toString(), ownedId, HttpStatus.NOT_FOUND);
+        }
+        return row[2] == null ? null : ((Number) row[2]).longValue();
+    }
+}
@@ -0,0 +1,65 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One compressed bitmap of Vehicle slots per attribute value, see {@link IdSlots}. Not thread safe, guarded by
+ * {@link VehicleFacetService}
+ * @param <K> attribute value type
+ */
+final class BitmapFacet<K> {
+    private final Map<K, RoaringBitmap> bitmaps;
+    private final Supplier<Map<K, Long>> countsFactory;
+
+    BitmapFacet(Map<K, RoaringBitmap> bitmaps, Supplier<Map<K, Long>> countsFactory) {
+        this.bitmaps = bitmaps;
+        this.countsFactory = countsFactory;
+    }
+
+    void add(K value, int id) {
+        if (value != null) {
+            bitmaps.computeIfAbsent(value, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    void remove(K value, int id) {
+        if (value == null) {
+            return;
+        }
+        RoaringBitmap bitmap = bitmaps.get(value);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+    }
+
+    /**
+     * @param value attribute value
+     * @return slots of Vehicles with value, never null
+     */
+    RoaringBitmap get(K value) {
+        RoaringBitmap bitmap = bitmaps.get(value);
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    /**
+     * Count, per attribute value, how many slots of matching are tagged with it. Values with no match are omitted
+     * @param matching slots passing every other filter
+     * @return value to count
+     */
+    Map<K, Long> counts(RoaringBitmap matching) {
+        Map<K, Long> counts = countsFactory.get();
+        bitmaps.forEach((value, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(matching, bitmap);
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+}
@@ -0,0 +1,307 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.Entity;
+import edu.towson.cosc457.CarDealership.model.Client;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.repository.ClientRepository;
+import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index matching Client price budgets with Vehicle prices. Budgets are kept in an {@link IntervalIndex}
+ * and prices in a price-sorted {@link NumericIndex} over the {@link IdSlots} of Vehicles, both in cents, so "Vehicles
+ * within this Client's budget" and "Clients whose budget fits this Vehicle" are logarithmic lookups plus the matches
+ * returned. A write that fills the budget overlay builds the new tree after releasing the lock, never a query.
+ * The index is built once the application is ready and then kept current by {@link ClientService} and
+ * {@link VehicleService}, applying every change after its transaction commits; changes applied while a rebuild loads
+ * are replayed on the indexes it loaded before they are swapped in. A missing minimum budget means no
+ * lower bound and a missing maximum no upper bound; Clients with neither and Vehicles without a price never match.
+ * Rebuilds requested while one loads merge into one more run of the loading thread, as in {@link VehicleFacetService}
+ */
+@Service
+public class BudgetMatchService {
+    private static final int CENTS = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(BudgetMatchService.class);
+
+    private final ClientRepository clientRepository;
+    private final VehicleRepository vehicleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuilding = new ReentrantLock();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    /**
+     * Changes applied since the running rebuild started loading, null when none runs. Guarded by the write lock
+     */
+    private List<Runnable> pending;
+
+    private IntervalIndex budgets = new IntervalIndex();
+    private IdSlots vehicleSlots = new IdSlots();
+    private NumericIndex prices = new NumericIndex();
+
+    public BudgetMatchService(ClientRepository clientRepository,
+                              VehicleRepository vehicleRepository,
+                              JdbcTemplate jdbcTemplate) {
+        this.clientRepository = clientRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Load every Client budget and Vehicle price into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildRequested.set(true);
+        while (rebuildRequested.get() && rebuilding.tryLock()) {
+            try {
+                if (rebuildRequested.getAndSet(false)) {
+                    LOGGER.info("Build budget match index");
+                    setPending(new ArrayList<>());
+                    try {
+                        load();
+                    } finally {
+                        setPending(null);
+                    }
+                    LOGGER.info("Indexed Client budgets and Vehicle prices for matching");
+                }
+            } finally {
+                rebuilding.unlock();
+            }
+        }
+    }
+
+    private void load() {
+        IntervalIndex loadedBudgets = new IntervalIndex();
+        IdSlots loadedVehicleSlots = new IdSlots();
+        NumericIndex loadedPrices = new NumericIndex();
+        jdbcTemplate.query("SELECT client_id, min_price, max_price FROM client "
+                        + "WHERE min_price IS NOT NULL OR max_price IS NOT NULL",
+                resultSet -> {
+                    long[] budget = toBudget(getDouble(resultSet, "min_price"), getDouble(resultSet, "max_price"));
+                    if (budget != null) {
+                        loadedBudgets.put(resultSet.getLong("client_id"), budget[0], budget[1]);
+                    }
+                });
+        jdbcTemplate.query("SELECT vehicle_id, price FROM vehicle WHERE price IS NOT NULL",
+                resultSet -> {
+                    loadedPrices.put(loadedVehicleSlots.add(resultSet.getLong("vehicle_id")),
+                            toCents(resultSet.getDouble("price")));
+                });
+        loadedBudgets.rebuild();
+        lock.writeLock().lock();
+        try {
+            budgets = loadedBudgets;
+            vehicleSlots = loadedVehicleSlots;
+            prices = loadedPrices;
+            pending.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace Client budget in the index once the current transaction, if any, commits
+     * @param client saved Client
+     */
+    public void putClient(Client client) {
+        long key = client.getId();
+        long[] budget = toBudget(client.getMinimumPrice(), client.getMaximumPrice());
+        Transactions.afterCommit(() -> write(() -> {
+            if (budget == null) {
+                budgets.remove(key);
+            } else {
+                budgets.put(key, budget[0], budget[1]);
+            }
+        }));
+    }
+
+    /**
+     * Drop Client from the index once the current transaction, if any, commits
+     * @param id identifier of deleted Client
+     */
+    public void removeClient(Long id) {
+        Transactions.afterCommit(() -> write(() -> budgets.remove(id)));
+    }
+
+    /**
+     * Add or replace Vehicle price in the index once the current transaction, if any, commits
+     * @param vehicle saved Vehicle
+     */
+    public void putVehicle(Vehicle vehicle) {
+        long key = vehicle.getId();
+        Long price = vehicle.getPrice() == null ? null : toCents(vehicle.getPrice());
+        Transactions.afterCommit(() -> write(() -> {
+            if (price == null) {
+                unindexVehicle(key);
+            } else {
+                prices.put(vehicleSlots.add(key), price);
+            }
+        }));
+    }
+
+    /**
+     * Drop Vehicle from the index once the current transaction, if any, commits
+     * @param id identifier of deleted Vehicle
+     */
+    public void removeVehicle(Long id) {
+        Transactions.afterCommit(() -> write(() -> unindexVehicle(id)));
+    }
+
+    /**
+     * Get Vehicles priced within a Client's budget, cheapest first
+     * @param clientId identifier of Client
+     * @param limit maximum number of Vehicles to be fetched
+     * @return matching Vehicles ordered by price and then id
+     * @throws NotFoundException if no Client with matching id found
+     */
+    @Transactional(readOnly = true)
+    public List<Vehicle> getMatchingVehicles(Long clientId, Integer limit) {
+        LOGGER.info("Get Vehicles within budget of Client with id {}", clientId);
+        if (!clientRepository.existsById(clientId)) {
+            throw new NotFoundException(Entity.CLIENT.toString(), clientId, HttpStatus.NOT_FOUND);
+        }
+        int size = Cursor.limit(limit).getPageSize();
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            long[] budget = budgets.get(clientId);
+            ids = budget == null ? new long[0] : prices.first(budget[0], budget[1], size, vehicleSlots::id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return load(ids, vehicleRepository::findAllById, Vehicle::getId);
+    }
+
+    /**
+     * Get Clients whose budget fits a Vehicle's price
+     * @param vehicleId identifier of Vehicle
+     * @param limit maximum number of Clients to be fetched
+     * @return interested Clients ordered by id
+     * @throws NotFoundException if no Vehicle with matching id found
+     */
+    @Transactional(readOnly = true)
+    public List<Client> getInterestedClients(Long vehicleId, Integer limit) {
+        LOGGER.info("Get Clients interested in Vehicle with id {}", vehicleId);
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new NotFoundException(Entity.VEHICLE.toString(), vehicleId, HttpStatus.NOT_FOUND);
+        }
+        int size = Cursor.limit(limit).getPageSize();
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            Integer slot = vehicleSlots.get(vehicleId);
+            Long price = slot == null ? null : prices.get(slot);
+            ids = price == null ? new long[0] : Arrays.stream(budgets.stab(price)).limit(size).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return load(ids, clientRepository::findAllById, Client::getId);
+    }
+
+    /**
+     * Apply update under the write lock, and record it for replay if a rebuild is loading. If the budget overlay is
+     * full, build its new tree once the lock is released and swap it in
+     */
+    private void write(Runnable update) {
+        IntervalIndex index;
+        IntervalIndex.Snapshot snapshot;
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pending != null) {
+                pending.add(update);
+            }
+            index = budgets;
+            snapshot = index.snapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.build();
+        lock.writeLock().lock();
+        try {
+            index.swap(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindexVehicle(long id) {
+        Integer slot = vehicleSlots.remove(id);
+        if (slot != null) {
+            prices.remove(slot);
+        }
+    }
+
+    private void setPending(List<Runnable> updates) {
+        lock.writeLock().lock();
+        try {
+            pending = updates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fetch entities by id in one query, keeping the order of ids
+     */
+    private static <E> List<E> load(long[] ids, Function<List<Long>, List<E>> findAllById, Function<E, Long> getId) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> keys = Arrays.stream(ids).mapToObj(Long::valueOf).collect(Collectors.toList());
+        Map<Long, E> found = findAllById.apply(keys).stream()
+                .collect(Collectors.toMap(getId, Function.identity()));
+        return keys.stream()
+                .map(found::get)
+                .filter(entity -> entity != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return budget in cents, rounded inwards, or null if the Client has no budget or an empty one
+     */
+    private static long[] toBudget(Double minimumPrice, Double maximumPrice) {
+        if (minimumPrice == null && maximumPrice == null) {
+            return null;
+        }
+        long min = minimumPrice == null ? 0 : (long) Math.ceil(minimumPrice * CENTS);
+        long max = maximumPrice == null ? Long.MAX_VALUE : (long) Math.floor(maximumPrice * CENTS);
+        return min > max ? null : new long[]{min, max};
+    }
+
+    private static Double getDouble(ResultSet resultSet, String column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static long toCents(double price) {
+        return Math.round(price * CENTS);
+    }
+}
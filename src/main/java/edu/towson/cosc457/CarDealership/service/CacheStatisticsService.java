@@ -0,0 +1,51 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.model.dto.CacheRegionStatisticsDto;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class CacheStatisticsService {
+    private final EntityManagerFactory entityManagerFactory;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheStatisticsService.class);
+
+    /**
+     * Get hit, miss and put counts of every second-level cache region, ordered by region name
+     * @return list of region statistics, empty if hibernate.generate_statistics is disabled
+     */
+    public List<CacheRegionStatisticsDto> getCacheStatistics() {
+        LOGGER.info("Get second-level cache statistics");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getDomainDataRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    private static CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics statistics) {
+        long hits = statistics.getHitCount();
+        long lookups = hits + statistics.getMissCount();
+        return CacheRegionStatisticsDto.builder()
+                .region(region)
+                .hitCount(hits)
+                .missCount(statistics.getMissCount())
+                .putCount(statistics.getPutCount())
+                .hitRatio(lookups == 0 ? 0.0 : (double) hits / lookups)
+                .build();
+    }
+}
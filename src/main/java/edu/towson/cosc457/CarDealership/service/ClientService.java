@@ -1,24 +1,26 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Client;
 import edu.towson.cosc457.CarDealership.repository.ClientRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class ClientService {
     private final ClientRepository clientRepository;
+    private final BudgetMatchService budgetMatchService;
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientService.class);
 
     /**
@@ -28,18 +30,34 @@ public class ClientService {
      */
     public Client addClient(Client client) {
         LOGGER.info("Create new Client in the database");
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        budgetMatchService.putClient(savedClient);
+        return savedClient;
     }
 
     /**
-     * Get All Clients
-     * @return List of Clients
+     * Get a page of Clients ordered by id
+     * @param after identifier of the last Client of the previous page
+     * @param limit maximum number of Clients to be fetched
+     * @return Slice of Clients with id greater than after
      */
-    public List<Client> getClients() {
-        LOGGER.info("Get all Clients");
-        return StreamSupport
-                .stream(clientRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Client> getClients(Long after, Integer limit) {
+        LOGGER.info("Get Clients after id {}", after);
+        return clientRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Clients assigned to SalesAssociate ordered by id
+     * @param salesAssociateId identifier of SalesAssociate
+     * @param after identifier of the last Client of the previous page
+     * @param limit maximum number of Clients to be fetched
+     * @return Slice of Clients with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Client> getClientsBySalesAssociate(Long salesAssociateId, Long after, Integer limit) {
+        LOGGER.info("Get Clients assigned to Sales Associate with id {} after id {}", salesAssociateId, after);
+        return clientRepository.findBySalesAssociateIdAndIdGreaterThanOrderByIdAsc(salesAssociateId, after, Cursor.limit(limit));
     }
 
     /**
@@ -48,6 +66,7 @@ public class ClientService {
      * @return fetched Client
      * @throws NotFoundException if no Client with matching id found
      */
+    @Transactional(readOnly = true)
     public Client getClient(Long id) {
         LOGGER.info("Get Client with id {}", id);
         return clientRepository.findById(id)
@@ -56,13 +75,17 @@ public class ClientService {
     /**
      * Delete Client by Id
      * @param id identifier of Client to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Client
      * @throws NotFoundException if no Client with matching id found
+     * @throws PreconditionFailedException if the Client is at none of the expected versions
      */
-    public Client deleteClient(Long id) {
+    public Client deleteClient(Long id, Set<Long> versions) {
         LOGGER.info("Delete Client with id {}", id);
         Client client = getClient(id);
+        Versions.check(Entity.CLIENT, id, versions, client.getVersion());
         clientRepository.delete(client);
+        budgetMatchService.removeClient(id);
         return client;
     }
 
@@ -70,13 +93,16 @@ public class ClientService {
      * Update Client
      * @param id identifier of Client to be updated
      * @param client Client object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Client
      * @throws NotFoundException if no Client with matching id found
+     * @throws PreconditionFailedException if the Client is at none of the expected versions
      */
     @Transactional
-    public Client editClient(Long id, Client client) {
+    public Client editClient(Long id, Client client, Set<Long> versions) {
         LOGGER.info("Update Client with id {}", id);
         Client clientToEdit = getClient(id);
+        Versions.check(Entity.CLIENT, id, versions, clientToEdit.getVersion());
         clientToEdit.setSsn(client.getSsn());
         clientToEdit.setFirstName(client.getFirstName());
         clientToEdit.setLastName(client.getLastName());
@@ -87,6 +113,7 @@ public class ClientService {
         clientToEdit.setSalesAssociate(client.getSalesAssociate());
         clientToEdit.setMinimumPrice(client.getMinimumPrice());
         clientToEdit.setMaximumPrice(client.getMaximumPrice());
+        budgetMatchService.putClient(clientToEdit);
         return clientToEdit;
     }
 }
@@ -0,0 +1,137 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.model.dto.CommentSearchHitDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranked full-text search over Comment content, backed by the generated comment.content_tsv column and its GIN
+ * index. Rows are only ranked among matches, the page is cut by keyset on (rank, id) and snippets are only built for
+ * the rows of the page, since ts_headline has to re-parse the content
+ */
+@Service
+@AllArgsConstructor
+public class CommentSearchService {
+    // Control characters cannot come out of HtmlUtils.htmlEscape, so they mark matches until the snippet is escaped
+    private static final String START_MATCH = "\u0002";
+    private static final String STOP_MATCH = "\u0003";
+    private static final String HEADLINE_OPTIONS = "StartSel=\"" + START_MATCH + "\", StopSel=\"" + STOP_MATCH
+            + "\", MaxFragments=2, MinWords=8, MaxWords=20, FragmentDelimiter=\" ... \"";
+    private final JdbcTemplate jdbcTemplate;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommentSearchService.class);
+
+    /**
+     * Search Comments matching query, most relevant first
+     * @param query web search syntax: words, "quoted phrases", or, and -excluded words
+     * @param mechanicId identifier of the Mechanic who wrote the Comments, null for any
+     * @param from first day of the Comment creation date range, null for unbounded
+     * @param to last day of the Comment creation date range, null for unbounded
+     * @param after key of the last Comment of the previous page, null for the first page
+     * @param limit maximum number of Comments to be fetched
+     * @return page of matching Comments with their ServiceTicket and Vehicle
+     */
+    @Transactional(readOnly = true)
+    public PageDto<CommentSearchHitDto> search(String query, Long mechanicId, LocalDate from, LocalDate to,
+                                               Cursor.Ranked after, Integer limit) {
+        LOGGER.info("Search Comments matching '{}'", query);
+        int size = Cursor.limit(limit).getPageSize();
+        if (query == null || query.trim().isEmpty()) {
+            return PageDto.<CommentSearchHitDto>builder()
+                    .items(new ArrayList<>())
+                    .limit(size)
+                    .build();
+        }
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("WITH q AS (SELECT websearch_to_tsquery('english', ?) AS query), "
+                + "hits AS (SELECT c.comment_id, ts_rank_cd(c.content_tsv, q.query) AS rank "
+                + "FROM comment c, q WHERE c.content_tsv @@ q.query");
+        parameters.add(query);
+        if (mechanicId != null) {
+            sql.append(" AND c.mechanic_id = ?");
+            parameters.add(mechanicId);
+        }
+        if (from != null) {
+            sql.append(" AND c.date_created >= ?");
+            parameters.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND c.date_created < ?");
+            parameters.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append("), page AS (SELECT comment_id, rank FROM hits");
+        if (after != null) {
+            sql.append(" WHERE (rank, comment_id) < (CAST(? AS REAL), ?)");
+            parameters.add(after.getRank());
+            parameters.add(after.getId());
+        }
+        sql.append(" ORDER BY rank DESC, comment_id DESC LIMIT ?) "
+                + "SELECT p.comment_id, p.rank, c.ticket_id, t.ticket_status, t.vehicle_id, v.vin, v.make, v.model, "
+                + "v.year, c.mechanic_id, c.date_created, ts_headline('english', c.content, q.query, ?) AS snippet "
+                + "FROM page p JOIN comment c ON c.comment_id = p.comment_id "
+                + "JOIN service_ticket t ON t.ticket_id = c.ticket_id "
+                + "LEFT JOIN vehicle v ON v.vehicle_id = t.vehicle_id CROSS JOIN q "
+                + "ORDER BY p.rank DESC, p.comment_id DESC");
+        // One extra row tells whether there is a next page
+        parameters.add(size + 1);
+        parameters.add(HEADLINE_OPTIONS);
+        List<CommentSearchHitDto> hits = jdbcTemplate.query(sql.toString(),
+                (resultSet, row) -> toHit(resultSet), parameters.toArray());
+        String token = null;
+        if (hits.size() > size) {
+            hits = new ArrayList<>(hits.subList(0, size));
+            CommentSearchHitDto last = hits.get(size - 1);
+            token = Cursor.encode(last.getRank(), last.getId());
+        }
+        return PageDto.<CommentSearchHitDto>builder()
+                .items(hits)
+                .next(token)
+                .limit(size)
+                .build();
+    }
+
+    private static CommentSearchHitDto toHit(ResultSet resultSet) throws SQLException {
+        String status = resultSet.getString("ticket_status");
+        Timestamp dateCreated = resultSet.getTimestamp("date_created");
+        return CommentSearchHitDto.builder()
+                .id(resultSet.getLong("comment_id"))
+                .serviceTicketId(resultSet.getLong("ticket_id"))
+                .ticketStatus(status == null ? null : Status.valueOf(status))
+                .vehicleId(resultSet.getLong("vehicle_id"))
+                .vin(resultSet.getString("vin"))
+                .make(resultSet.getString("make"))
+                .model(resultSet.getString("model"))
+                .year(resultSet.getObject("year") == null ? null : resultSet.getInt("year"))
+                .mechanicId(resultSet.getLong("mechanic_id"))
+                .dateCreated(dateCreated == null ? null : dateCreated.toLocalDateTime().toLocalDate())
+                .rank(resultSet.getFloat("rank"))
+                .snippet(highlight(resultSet.getString("snippet")))
+                .build();
+    }
+
+    /**
+     * @return snippet escaped for HTML with the matches ts_headline marked wrapped in mark elements
+     */
+    static String highlight(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(START_MATCH, "<mark>")
+                .replace(STOP_MATCH, "</mark>");
+    }
+}
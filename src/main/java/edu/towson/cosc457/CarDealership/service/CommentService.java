@@ -1,45 +1,69 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Comment;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
+import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.repository.CommentRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import javax.persistence.EntityManager;
 
 @Service
 @AllArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
     private static final Logger LOGGER = LoggerFactory.getLogger(CommentService.class);
 
     /**
      * Create a new Comment in the database
-     * @param comment Comment object to be added to database
+     * @param comment Comment object to be added to database, its ServiceTicket and Mechanic may only hold an id
      * @return Comment saved on repository
      */
+    @Transactional
     public Comment addComment(Comment comment) {
         LOGGER.info("Create new Comment in the database");
+        if (comment != null) {
+            comment.setServiceTicket(References.resolve(entityManager, ServiceTicket.class, comment.getServiceTicket(),
+                    ServiceTicket::getId));
+            comment.setMechanic(References.resolve(entityManager, Mechanic.class, comment.getMechanic(),
+                    Mechanic::getId));
+        }
         return commentRepository.save(comment);
     }
 
     /**
-     * Get All Comments
-     * @return List of Comments
+     * Get a page of Comments ordered by id
+     * @param after identifier of the last Comment of the previous page
+     * @param limit maximum number of Comments to be fetched
+     * @return Slice of Comments with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Comment> getComments(Long after, Integer limit) {
+        LOGGER.info("Get Comments after id {}", after);
+        return commentRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Comments assigned to ServiceTicket ordered by id
+     * @param serviceTicketId identifier of ServiceTicket
+     * @param after identifier of the last Comment of the previous page
+     * @param limit maximum number of Comments to be fetched
+     * @return Slice of Comments with id greater than after
      */
-    public List<Comment> getComments() {
-        LOGGER.info("Get all Comments");
-        return StreamSupport
-                .stream(commentRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Comment> getCommentsByServiceTicket(Long serviceTicketId, Long after, Integer limit) {
+        LOGGER.info("Get Comments assigned to Service Ticket with id {} after id {}", serviceTicketId, after);
+        return commentRepository.findByServiceTicketIdAndIdGreaterThanOrderByIdAsc(serviceTicketId, after, Cursor.limit(limit));
     }
     /**
      * Get Comment by Id
@@ -47,6 +71,7 @@ public class CommentService {
      * @return fetched Comment
      * @throws NotFoundException if no Comment with matching id found
      */
+    @Transactional(readOnly = true)
     public Comment getComment(Long id) {
         LOGGER.info("Get Comment with id {}", id);
         return commentRepository.findById(id)
@@ -77,8 +102,10 @@ public class CommentService {
     public Comment editComment(Long id, Comment comment) {
         LOGGER.info("Update Comment with id {}", id);
         Comment commentToEdit = getComment(id);
-        commentToEdit.setServiceTicket(comment.getServiceTicket());
-        commentToEdit.setMechanic(comment.getMechanic());
+        commentToEdit.setServiceTicket(References.resolve(entityManager, ServiceTicket.class,
+                comment.getServiceTicket(), ServiceTicket::getId));
+        commentToEdit.setMechanic(References.resolve(entityManager, Mechanic.class, comment.getMechanic(),
+                Mechanic::getId));
         commentToEdit.setDateCreated(comment.getDateCreated());
         commentToEdit.setContent(comment.getContent());
         return commentToEdit;
@@ -0,0 +1,69 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Writes rows as COPY CSV. Values are always quoted so an unquoted empty field unambiguously means NULL
+ */
+final class CopyWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private boolean firstField = true;
+    private long rows;
+
+    CopyWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Start a COPY of table, rows are sent as they are written and the COPY ends on close
+     */
+    static CopyWriter copy(Connection connection, String table, String columns) throws SQLException {
+        PGCopyOutputStream stream = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+        return new CopyWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8),
+                BUFFER_SIZE));
+    }
+
+    /**
+     * @param value next field of the current row, null for NULL
+     */
+    CopyWriter value(Object value) throws IOException {
+        if (!firstField) {
+            writer.write(',');
+        }
+        firstField = false;
+        if (value != null) {
+            writer.write('"');
+            writer.write(value.toString().replace("\"", "\"\""));
+            writer.write('"');
+        }
+        return this;
+    }
+
+    void endRow() throws IOException {
+        writer.write('\n');
+        firstField = true;
+        rows++;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
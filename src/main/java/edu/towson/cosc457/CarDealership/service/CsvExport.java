@@ -0,0 +1,57 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * RFC 4180 CSV straight from a JDBC cursor: a header of column labels, then one line per row. SQL NULL is an empty
+ * field, values are quoted only when they contain a delimiter, quote or line break
+ */
+final class CsvExport {
+    private CsvExport() {
+    }
+
+    /**
+     * @param resultSet open cursor, consumed but not closed
+     * @param outputStream destination, flushed but not closed
+     * @return number of rows written
+     */
+    static long write(ResultSet resultSet, OutputStream outputStream) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        for (int column = 1; column <= columnCount; column++) {
+            writeField(writer, column, metaData.getColumnLabel(column));
+        }
+        writer.write('\n');
+        long rows = 0;
+        while (resultSet.next()) {
+            for (int column = 1; column <= columnCount; column++) {
+                writeField(writer, column, resultSet.getString(column));
+            }
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeField(Writer writer, int column, String value) throws IOException {
+        if (column > 1) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,692 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.config.GeneratorProperties;
+import edu.towson.cosc457.CarDealership.misc.EmployeeType;
+import edu.towson.cosc457.CarDealership.misc.Gender;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Fills the schema with a synthetic dataset: Locations with their Lots, Departments and staff hierarchy, Vehicles
+ * drawn from a weighted make/model catalog and priced by age, Clients with budgets and ServiceTickets with Comment
+ * threads. Every table is streamed through COPY in one transaction. Ids are reserved up front from each sequence
+ * in blocks of 50, as Hibernate's pooled-lo optimizer draws them, so the application keeps inserting after the
+ * generated rows. Each table draws from its own Random seeded from the configured seed
+ */
+@Service
+@AllArgsConstructor
+public class DatasetGenerator {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int DEPARTMENTS_PER_LOCATION = 2;
+    private static final int MANAGEMENT_PER_LOCATION = 1 + DEPARTMENTS_PER_LOCATION;
+    private static final String[] TABLES = {"address", "location", "lot", "employee", "site_manager", "manager",
+            "department", "mechanic", "sales_associate", "vehicle", "client", "service_ticket", "comment"};
+    private static final String SELECT_SECONDARY_INDEXES = "SELECT indexname, indexdef FROM pg_indexes i "
+            + "WHERE schemaname = current_schema() AND tablename = ANY (?) "
+            + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)";
+    private static final String RESERVE_IDS = "SELECT setval(?::regclass, nextval(?::regclass) + ? * (? - 1))";
+    private static final String ASSIGN_SITE_MANAGERS = "UPDATE location SET site_manager_id = ? + "
+            + "(location_id - ?) * ? WHERE location_id BETWEEN ? AND ?";
+    private static final Model[] MODELS = {
+            new Model("Ford", "F-150", VehicleType.TRUCK, 36_000, 21),
+            new Model("Ford", "Escape", VehicleType.SUV, 26_000, 29),
+            new Model("Ford", "Explorer", VehicleType.SUV, 35_000, 24),
+            new Model("Ford", "Mustang", VehicleType.COUPE, 29_000, 24),
+            new Model("Ford", "Fusion", VehicleType.SEDAN, 23_000, 31),
+            new Model("Chevrolet", "Silverado", VehicleType.TRUCK, 38_000, 20),
+            new Model("Chevrolet", "Equinox", VehicleType.SUV, 26_000, 28),
+            new Model("Chevrolet", "Malibu", VehicleType.SEDAN, 23_000, 32),
+            new Model("Chevrolet", "Camaro", VehicleType.COUPE, 27_000, 22),
+            new Model("Chevrolet", "Tahoe", VehicleType.SUV, 50_000, 18),
+            new Model("Toyota", "Camry", VehicleType.SEDAN, 25_000, 34),
+            new Model("Toyota", "Corolla", VehicleType.SEDAN, 20_000, 35),
+            new Model("Toyota", "RAV4", VehicleType.SUV, 27_000, 30),
+            new Model("Toyota", "Tacoma", VehicleType.TRUCK, 28_000, 21),
+            new Model("Toyota", "Sienna", VehicleType.MINIVAN, 35_000, 27),
+            new Model("Honda", "Civic", VehicleType.SEDAN, 22_000, 35),
+            new Model("Honda", "Accord", VehicleType.SEDAN, 26_000, 33),
+            new Model("Honda", "CR-V", VehicleType.SUV, 27_000, 30),
+            new Model("Honda", "Odyssey", VehicleType.MINIVAN, 34_000, 22),
+            new Model("Honda", "Fit", VehicleType.HATCHBACK, 17_000, 36),
+            new Model("Nissan", "Altima", VehicleType.SEDAN, 24_000, 32),
+            new Model("Nissan", "Rogue", VehicleType.SUV, 26_000, 30),
+            new Model("Nissan", "Sentra", VehicleType.SEDAN, 19_000, 33),
+            new Model("Nissan", "Frontier", VehicleType.TRUCK, 27_000, 20),
+            new Model("Ram", "1500", VehicleType.TRUCK, 37_000, 20),
+            new Model("Jeep", "Wrangler", VehicleType.SUV, 30_000, 20),
+            new Model("Jeep", "Grand Cherokee", VehicleType.SUV, 36_000, 22),
+            new Model("Hyundai", "Elantra", VehicleType.SEDAN, 20_000, 35),
+            new Model("Hyundai", "Tucson", VehicleType.SUV, 25_000, 28),
+            new Model("Hyundai", "Santa Fe", VehicleType.SUV, 28_000, 25),
+            new Model("Kia", "Soul", VehicleType.HATCHBACK, 18_000, 30),
+            new Model("Kia", "Sorento", VehicleType.SUV, 29_000, 26),
+            new Model("Kia", "Forte", VehicleType.SEDAN, 18_000, 34),
+            new Model("Subaru", "Outback", VehicleType.WAGON, 28_000, 29),
+            new Model("Subaru", "Forester", VehicleType.SUV, 26_000, 29),
+            new Model("Subaru", "WRX", VehicleType.SPORT, 29_000, 23),
+            new Model("Volkswagen", "Jetta", VehicleType.SEDAN, 20_000, 34),
+            new Model("Volkswagen", "Golf", VehicleType.HATCHBACK, 24_000, 31),
+            new Model("Volkswagen", "Atlas", VehicleType.SUV, 33_000, 22),
+            new Model("Mazda", "Mazda3", VehicleType.HATCHBACK, 21_000, 32),
+            new Model("Mazda", "CX-5", VehicleType.SUV, 26_000, 28),
+            new Model("Mazda", "MX-5 Miata", VehicleType.CONVERTIBLE, 27_000, 30),
+            new Model("BMW", "3 Series", VehicleType.SEDAN, 42_000, 30),
+            new Model("BMW", "X5", VehicleType.SUV, 60_000, 23),
+            new Model("BMW", "Z4", VehicleType.CONVERTIBLE, 50_000, 28),
+            new Model("Mercedes-Benz", "C-Class", VehicleType.SEDAN, 43_000, 28),
+            new Model("Mercedes-Benz", "GLE", VehicleType.SUV, 56_000, 22),
+            new Model("Porsche", "911", VehicleType.SPORT, 100_000, 20)
+    };
+    // Relative sales of each model, so the popular trucks, crossovers and sedans dominate the inventory
+    private static final int[] MODEL_WEIGHTS = {
+            90, 30, 25, 10, 15,
+            60, 30, 20, 6, 12,
+            30, 30, 40, 25, 8,
+            25, 22, 35, 8, 5,
+            15, 28, 12, 6,
+            55,
+            20, 25,
+            12, 15, 10,
+            8, 9, 10,
+            15, 17, 3,
+            9, 5, 6,
+            5, 14, 2,
+            6, 5, 1,
+            5, 4,
+            1
+    };
+    private static final String[] COLORS = {"White", "Black", "Gray", "Silver", "Blue", "Red", "Green", "Brown",
+            "Orange", "Yellow", "Beige"};
+    private static final int[] COLOR_WEIGHTS = {25, 20, 17, 13, 9, 9, 2, 2, 1, 1, 1};
+    private static final String[] FEATURES = {"Bluetooth", "Backup Camera", "Heated Seats", "Sunroof", "Navigation",
+            "Remote Start", "Apple CarPlay", "Android Auto", "Blind Spot Monitor", "Lane Keep Assist",
+            "Adaptive Cruise Control", "Leather Seats", "Third Row", "Tow Package", "Heads-Up Display",
+            "Keyless Entry"};
+    private static final Status[] STATUSES = {Status.RESOLVED, Status.OPEN, Status.PENDING, Status.CANCELLED};
+    private static final int[] STATUS_WEIGHTS = {60, 20, 15, 5};
+    private static final String[] CITIES = {"Towson", "Baltimore", "Columbia", "Annapolis", "Frederick", "Rockville",
+            "Bel Air", "Glen Burnie", "Silver Spring", "Ellicott City"};
+    private static final int[] ZIP_CODES = {21204, 21201, 21044, 21401, 21701, 20850, 21014, 21061, 20910, 21043};
+    private static final String[] STREETS = {"York", "Charles", "Dulaney Valley", "Joppa", "Loch Raven", "Falls",
+            "Harford", "Belair", "Reisterstown", "Liberty", "Frederick", "Ritchie", "Main", "Park", "Church"};
+    private static final String[] STREET_SUFFIXES = {"Rd.", "St.", "Ave.", "Blvd.", "Ln.", "Dr.", "Ct.", "Pike"};
+    private static final String[] FEMALE_NAMES = {"Mary", "Patricia", "Jennifer", "Linda", "Elizabeth", "Barbara",
+            "Susan", "Jessica", "Sarah", "Karen", "Nancy", "Lisa", "Betty", "Sandra", "Ashley", "Emily", "Michelle",
+            "Amanda", "Melissa", "Stephanie"};
+    private static final String[] MALE_NAMES = {"James", "Robert", "John", "Michael", "David", "William", "Richard",
+            "Joseph", "Thomas", "Charles", "Christopher", "Daniel", "Matthew", "Anthony", "Mark", "Donald", "Steven",
+            "Andrew", "Kevin", "Brian"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark",
+            "Ramirez", "Lewis", "Robinson"};
+    private static final String[] COMPLAINTS = {"Customer reports grinding noise when braking.",
+            "Check engine light on.", "Vehicle pulls to the left.", "A/C blowing warm air.",
+            "Scheduled maintenance.", "Battery drains overnight.", "Vibration at highway speed.",
+            "Transmission slipping between gears.", "Oil leak under engine.", "Squeaking from front suspension."};
+    private static final String[] FINDINGS = {"Front pads worn to 2 mm.", "Found loose heat shield.",
+            "Alignment out of spec.", "Refrigerant low, leak at condenser.", "Codes P0300 and P0171 stored.",
+            "Parasitic draw from aftermarket radio.", "Rear tire out of balance.", "Fluid dark and burnt.",
+            "Valve cover gasket seeping.", "Sway bar links worn."};
+    private static final String[] ACTIONS = {"Replaced pads and rotors, road tested.",
+            "Waiting on parts.", "Customer approved estimate.", "Repaired and verified fix.",
+            "Recommended follow-up in 3 months.", "Rebalanced and rotated tires.", "Flushed and refilled.",
+            "Replaced gasket, cleaned engine bay.", "Cleared codes, monitoring.", "Left voicemail for customer."};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /**
+     * Generate the dataset described by properties in a single transaction and analyze the filled tables
+     * @param properties volumes and seed
+     * @return number of rows written per table
+     * @throws IllegalArgumentException if ServiceTickets are requested without Vehicles or Mechanics to refer to
+     */
+    public Map<String, Long> generate(GeneratorProperties properties) {
+        if (properties.getTickets() > 0 && (properties.getVehicles() == 0
+                || properties.getLocations() * properties.getMechanicsPerLocation() == 0)) {
+            throw new IllegalArgumentException("Service tickets need vehicles and mechanics");
+        }
+        LOGGER.info("Generate dataset with seed {}", properties.getSeed());
+        long start = System.nanoTime();
+        Map<String, Long> rows = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Map<String, Long>>) connection -> load(connection, properties)));
+        for (String table : TABLES) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        LOGGER.info("Generated {} rows in {} s", rows.values().stream().mapToLong(Long::longValue).sum(),
+                (System.nanoTime() - start) / 1_000_000_000);
+        return rows;
+    }
+
+    private Map<String, Long> load(Connection connection, GeneratorProperties properties) throws SQLException {
+        Plan plan = new Plan(properties, properties.getEndDate() == null ? LocalDate.now() : properties.getEndDate(),
+                this::reserve);
+        List<String> indexes = new ArrayList<>();
+        if (properties.isDeferIndexes()) {
+            List<String> names = new ArrayList<>();
+            jdbcTemplate.query(SELECT_SECONDARY_INDEXES, resultSet -> {
+                names.add(resultSet.getString("indexname"));
+                indexes.add(resultSet.getString("indexdef"));
+            }, (Object) TABLES);
+            names.forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+        }
+        Map<String, Long> rows = new LinkedHashMap<>();
+        try {
+            copy(connection, rows, "address", "address_id, street, city, state, zip_code",
+                    copy -> writeAddresses(copy, plan));
+            copy(connection, rows, "location", "location_id, location_name, address_id",
+                    copy -> writeLocations(copy, plan));
+            copy(connection, rows, "lot", "lot_id, lot_size, location_id", copy -> writeLots(copy, plan));
+            copy(connection, rows, "employee", "id, ssn, first_name, middle_init, last_name, gender, dob, phone_no, "
+                    + "email, work_location_id, salary, date_started, address_id, hours_worked, employee_type",
+                    copy -> writeEmployees(copy, plan));
+            copy(connection, rows, "site_manager", "id", copy -> writeSiteManagers(copy, plan));
+            copy(connection, rows, "manager", "id, site_manager_id", copy -> writeManagers(copy, plan));
+            copy(connection, rows, "department", "dept_id, dept_name, manager_id, location_id",
+                    copy -> writeDepartments(copy, plan));
+            copy(connection, rows, "mechanic", "id, manager_id, dept_id",
+                    copy -> writeStaff(copy, plan, EmployeeType.MECHANIC));
+            copy(connection, rows, "sales_associate", "id, manager_id, dept_id",
+                    copy -> writeStaff(copy, plan, EmployeeType.SALES_ASSOCIATE));
+            if (plan.locations > 0) {
+                jdbcTemplate.update(ASSIGN_SITE_MANAGERS, plan.firstEmployee, plan.firstLocation,
+                        plan.employeesPerLocation, plan.firstLocation, plan.firstLocation + plan.locations - 1);
+            }
+            copy(connection, rows, "vehicle", "vehicle_id, vin, make, model, year, color, vehicle_type, "
+                    + "transmission, features, mpg, mileage, price, lot_id", copy -> writeVehicles(copy, plan));
+            copy(connection, rows, "client", "client_id, client_ssn, first_name, last_name, gender, email, "
+                    + "phone_no, address_id, sales_associate_id, min_price, max_price",
+                    copy -> writeClients(copy, plan));
+            copy(connection, rows, "service_ticket", "ticket_id, vehicle_id, mechanic_id, date_created, "
+                    + "date_updated, ticket_status", copy -> writeTickets(copy, plan));
+            copy(connection, rows, "comment", "comment_id, ticket_id, mechanic_id, date_created, content",
+                    copy -> writeComments(copy, plan));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        for (String index : indexes) {
+            long start = System.nanoTime();
+            jdbcTemplate.execute(index);
+            LOGGER.info("{} in {} ms", index, (System.nanoTime() - start) / 1_000_000);
+        }
+        return rows;
+    }
+
+    private void copy(Connection connection, Map<String, Long> rows, String table, String columns, Rows writer)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (CopyWriter copy = CopyWriter.copy(connection, table, columns)) {
+            writer.write(copy);
+            rows.put(table, copy.getRows());
+        }
+        LOGGER.info("Copied {} rows into {} in {} ms", rows.get(table), table, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return first of count consecutive ids drawn from sequence, 0 if count is 0
+     */
+    private long reserve(String sequence, long count) {
+        if (count == 0) {
+            return 0;
+        }
+        long blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        Long last = jdbcTemplate.queryForObject(RESERVE_IDS, Long.class, sequence, sequence, ALLOCATION_SIZE,
+                blocks);
+        return last - (long) ALLOCATION_SIZE * (blocks - 1);
+    }
+
+    @FunctionalInterface
+    private interface Rows {
+        void write(CopyWriter copy) throws IOException;
+    }
+
+    /**
+     * Row counts, reserved ids and the id arithmetic shared by the row writers. Within a Location, employees are
+     * laid out as the SiteManager, the Sales and the Service Manager, the Mechanics and then the SalesAssociates
+     */
+    static final class Plan {
+        final GeneratorProperties properties;
+        final LocalDate endDate;
+        final int locations;
+        final int employeesPerLocation;
+        final long comments;
+        final long firstAddress;
+        final long firstLocation;
+        final long firstLot;
+        final long firstEmployee;
+        final long firstDepartment;
+        final long firstVehicle;
+        final long firstClient;
+        final long firstTicket;
+        final long firstComment;
+
+        /**
+         * @param reserve draws the first of a number of consecutive ids from a sequence
+         */
+        Plan(GeneratorProperties properties, LocalDate endDate, ToLongBiFunction<String, Long> reserve) {
+            this.properties = properties;
+            this.endDate = endDate;
+            this.locations = properties.getLocations();
+            this.employeesPerLocation = MANAGEMENT_PER_LOCATION + properties.getMechanicsPerLocation()
+                    + properties.getSalesAssociatesPerLocation();
+            long employees = (long) locations * employeesPerLocation;
+            Random counts = random("comment-count");
+            long commentCount = 0;
+            for (int ticket = 0; ticket < properties.getTickets(); ticket++) {
+                commentCount += counts.nextInt(2 * properties.getCommentsPerTicket() + 1);
+            }
+            this.comments = commentCount;
+            this.firstAddress = reserve.applyAsLong("address_seq", locations + employees + properties.getClients());
+            this.firstLocation = reserve.applyAsLong("location_seq", (long) locations);
+            this.firstLot = reserve.applyAsLong("lot_seq", (long) locations * properties.getLotsPerLocation());
+            this.firstEmployee = reserve.applyAsLong("employee_seq", employees);
+            this.firstDepartment = reserve.applyAsLong("department_seq", (long) locations * DEPARTMENTS_PER_LOCATION);
+            this.firstVehicle = reserve.applyAsLong("vehicle_seq", (long) properties.getVehicles());
+            this.firstClient = reserve.applyAsLong("client_seq", (long) properties.getClients());
+            this.firstTicket = reserve.applyAsLong("service_ticket_seq", (long) properties.getTickets());
+            this.firstComment = reserve.applyAsLong("comment_seq", comments);
+        }
+
+        Random random(String table) {
+            return new Random(31 * properties.getSeed() + table.hashCode());
+        }
+
+        long employee(int location, int index) {
+            return firstEmployee + (long) location * employeesPerLocation + index;
+        }
+
+        long mechanic(int location, int index) {
+            return employee(location, MANAGEMENT_PER_LOCATION + index);
+        }
+
+        long salesAssociate(int location, int index) {
+            return employee(location, MANAGEMENT_PER_LOCATION + properties.getMechanicsPerLocation() + index);
+        }
+
+        long randomMechanic(Random random) {
+            return mechanic(random.nextInt(locations), random.nextInt(properties.getMechanicsPerLocation()));
+        }
+
+        EmployeeType employeeType(int index) {
+            if (index == 0) {
+                return EmployeeType.SITE_MANAGER;
+            }
+            if (index < MANAGEMENT_PER_LOCATION) {
+                return EmployeeType.MANAGER;
+            }
+            return index < MANAGEMENT_PER_LOCATION + properties.getMechanicsPerLocation()
+                    ? EmployeeType.MECHANIC
+                    : EmployeeType.SALES_ASSOCIATE;
+        }
+
+        long employeeAddress(long employeeId) {
+            return firstAddress + locations + (employeeId - firstEmployee);
+        }
+
+        long clientAddress(int client) {
+            return firstAddress + locations + (long) locations * employeesPerLocation + client;
+        }
+    }
+
+    static void writeAddresses(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("address");
+        long addresses = plan.clientAddress(plan.properties.getClients()) - plan.firstAddress;
+        for (long address = 0; address < addresses; address++) {
+            int city = address < plan.locations ? (int) (address % CITIES.length) : random.nextInt(CITIES.length);
+            copy.value(plan.firstAddress + address)
+                    .value((1 + random.nextInt(9999)) + " " + pick(STREETS, random) + " "
+                            + pick(STREET_SUFFIXES, random))
+                    .value(CITIES[city])
+                    .value("Maryland")
+                    .value(ZIP_CODES[city])
+                    .endRow();
+        }
+    }
+
+    static void writeLocations(CopyWriter copy, Plan plan) throws IOException {
+        for (int location = 0; location < plan.locations; location++) {
+            copy.value(plan.firstLocation + location)
+                    .value(CITIES[location % CITIES.length] + " " + (location + 1))
+                    .value(plan.firstAddress + location)
+                    .endRow();
+        }
+    }
+
+    static void writeLots(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("lot");
+        long lots = (long) plan.locations * plan.properties.getLotsPerLocation();
+        for (long lot = 0; lot < lots; lot++) {
+            copy.value(plan.firstLot + lot)
+                    .value(20_000 + 1_000 * random.nextInt(61))
+                    .value(plan.firstLocation + lot / plan.properties.getLotsPerLocation())
+                    .endRow();
+        }
+    }
+
+    static void writeEmployees(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("employee");
+        for (int location = 0; location < plan.locations; location++) {
+            for (int index = 0; index < plan.employeesPerLocation; index++) {
+                long id = plan.employee(location, index);
+                EmployeeType employeeType = plan.employeeType(index);
+                Gender gender = random.nextBoolean() ? Gender.FEMALE : Gender.MALE;
+                String firstName = gender == Gender.FEMALE ? pick(FEMALE_NAMES, random) : pick(MALE_NAMES, random);
+                String lastName = pick(LAST_NAMES, random);
+                copy.value(id)
+                        .value(ssn(id))
+                        .value(firstName)
+                        .value((char) ('A' + random.nextInt(26)))
+                        .value(lastName)
+                        .value(gender)
+                        .value(plan.endDate.minusYears(21).minusDays(random.nextInt(44 * 365)))
+                        .value(phoneNumber(random))
+                        .value(email(firstName, lastName, id, "cardealership.com"))
+                        .value(plan.firstLocation + location)
+                        .value(salary(employeeType) + 500 * random.nextInt(41))
+                        .value(plan.endDate.minusDays(random.nextInt(15 * 365)))
+                        .value(plan.employeeAddress(id))
+                        .value(random.nextInt(20_000) / 10.0)
+                        .value(employeeType)
+                        .endRow();
+            }
+        }
+    }
+
+    static void writeSiteManagers(CopyWriter copy, Plan plan) throws IOException {
+        for (int location = 0; location < plan.locations; location++) {
+            copy.value(plan.employee(location, 0)).endRow();
+        }
+    }
+
+    static void writeManagers(CopyWriter copy, Plan plan) throws IOException {
+        for (int location = 0; location < plan.locations; location++) {
+            for (int department = 0; department < DEPARTMENTS_PER_LOCATION; department++) {
+                copy.value(plan.employee(location, 1 + department))
+                        .value(plan.employee(location, 0))
+                        .endRow();
+            }
+        }
+    }
+
+    /**
+     * Department 0 of a Location is Sales and department 1 Service, each run by the Manager at the same offset
+     */
+    static void writeDepartments(CopyWriter copy, Plan plan) throws IOException {
+        for (int location = 0; location < plan.locations; location++) {
+            for (int department = 0; department < DEPARTMENTS_PER_LOCATION; department++) {
+                copy.value(plan.firstDepartment + (long) location * DEPARTMENTS_PER_LOCATION + department)
+                        .value((department == 0 ? "Sales " : "Service ") + (location + 1))
+                        .value(plan.employee(location, 1 + department))
+                        .value(plan.firstLocation + location)
+                        .endRow();
+            }
+        }
+    }
+
+    static void writeStaff(CopyWriter copy, Plan plan, EmployeeType employeeType) throws IOException {
+        int department = employeeType == EmployeeType.MECHANIC ? 1 : 0;
+        int staff = employeeType == EmployeeType.MECHANIC
+                ? plan.properties.getMechanicsPerLocation()
+                : plan.properties.getSalesAssociatesPerLocation();
+        for (int location = 0; location < plan.locations; location++) {
+            for (int index = 0; index < staff; index++) {
+                copy.value(employeeType == EmployeeType.MECHANIC
+                                ? plan.mechanic(location, index)
+                                : plan.salesAssociate(location, index))
+                        .value(plan.employee(location, 1 + department))
+                        .value(plan.firstDepartment + (long) location * DEPARTMENTS_PER_LOCATION + department)
+                        .endRow();
+            }
+        }
+    }
+
+    /**
+     * Vehicles are mostly recent, lose 15% of their value and gain about 12k miles a year, and 1 in 10 is not on
+     * a Lot
+     */
+    static void writeVehicles(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("vehicle");
+        long lots = (long) plan.locations * plan.properties.getLotsPerLocation();
+        int endYear = plan.endDate.getYear();
+        for (long vehicle = 0; vehicle < plan.properties.getVehicles(); vehicle++) {
+            long id = plan.firstVehicle + vehicle;
+            Model model = MODELS[weighted(MODEL_WEIGHTS, random)];
+            int age = Math.min(geometric(random, 0.25), 17);
+            boolean sporty = model.type == VehicleType.SPORT || model.type == VehicleType.COUPE
+                    || model.type == VehicleType.CONVERTIBLE;
+            long price = Math.round(model.basePrice * Math.pow(0.85, age) * (0.9 + 0.2 * random.nextDouble())
+                    / 100) * 100;
+            copy.value(id)
+                    .value(vin(model.make, id))
+                    .value(model.make)
+                    .value(model.model)
+                    .value(endYear - age)
+                    .value(COLORS[weighted(COLOR_WEIGHTS, random)])
+                    .value(model.type)
+                    .value(random.nextInt(100) < (sporty ? 25 : 3) ? TransmissionType.MANUAL
+                            : TransmissionType.AUTOMATIC)
+                    .value(features(random))
+                    .value(model.mpg - 2 + random.nextInt(5))
+                    .value((int) (age * 12_000 * (0.5 + random.nextDouble())) + random.nextInt(5_000))
+                    .value(random.nextInt(100) < 3 ? null : price)
+                    .value(lots == 0 || random.nextInt(10) == 0 ? null
+                            : plan.firstLot + (long) (random.nextDouble() * lots))
+                    .endRow();
+        }
+    }
+
+    /**
+     * Budgets center around a log-normal price; some Clients only give a ceiling, a floor or nothing at all
+     */
+    static void writeClients(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("client");
+        int salesAssociates = plan.properties.getSalesAssociatesPerLocation();
+        for (int client = 0; client < plan.properties.getClients(); client++) {
+            long id = plan.firstClient + client;
+            Gender gender = random.nextBoolean() ? Gender.FEMALE : Gender.MALE;
+            String firstName = gender == Gender.FEMALE ? pick(FEMALE_NAMES, random) : pick(MALE_NAMES, random);
+            String lastName = pick(LAST_NAMES, random);
+            long budget = Math.round(Math.exp(Math.log(25_000) + 0.5 * random.nextGaussian()) / 500) * 500;
+            int kind = random.nextInt(100);
+            Long minimumPrice = kind < 15 || kind >= 85 && kind < 95 ? null : Math.round(budget * 0.8 / 500) * 500;
+            Long maximumPrice = kind < 15 || kind >= 95 ? null : Math.round(budget * 1.2 / 500) * 500;
+            Long salesAssociate = plan.locations == 0 || salesAssociates == 0 || random.nextInt(10) < 3 ? null
+                    : plan.salesAssociate(random.nextInt(plan.locations), random.nextInt(salesAssociates));
+            copy.value(id)
+                    .value(ssn(id))
+                    .value(firstName)
+                    .value(lastName)
+                    .value(gender)
+                    .value(email(firstName, lastName, id, "example.com"))
+                    .value(phoneNumber(random))
+                    .value(plan.clientAddress(client))
+                    .value(salesAssociate)
+                    .value(minimumPrice)
+                    .value(maximumPrice)
+                    .endRow();
+        }
+    }
+
+    static void writeTickets(CopyWriter copy, Plan plan) throws IOException {
+        Random random = plan.random("service-ticket");
+        Ticket ticket = new Ticket();
+        for (long index = 0; index < plan.properties.getTickets(); index++) {
+            ticket.next(plan, random);
+            copy.value(plan.firstTicket + index)
+                    .value(ticket.vehicleId)
+                    .value(ticket.mechanicId)
+                    .value(ticket.created)
+                    .value(ticket.updated)
+                    .value(ticket.status)
+                    .endRow();
+        }
+    }
+
+    /**
+     * Replays the ServiceTicket sequence to date each thread within its ticket's lifetime, most Comments are
+     * written by the ticket's Mechanic
+     */
+    static void writeComments(CopyWriter copy, Plan plan) throws IOException {
+        Random tickets = plan.random("service-ticket");
+        Random counts = plan.random("comment-count");
+        Random random = plan.random("comment");
+        Ticket ticket = new Ticket();
+        long id = plan.firstComment;
+        for (long index = 0; index < plan.properties.getTickets(); index++) {
+            ticket.next(plan, tickets);
+            int comments = counts.nextInt(2 * plan.properties.getCommentsPerTicket() + 1);
+            int lifetime = (int) (ticket.updated.toEpochDay() - ticket.created.toEpochDay());
+            for (int comment = 0; comment < comments; comment++) {
+                copy.value(id++)
+                        .value(plan.firstTicket + index)
+                        .value(random.nextInt(5) == 0 ? plan.randomMechanic(random) : ticket.mechanicId)
+                        .value(ticket.created.plusDays(random.nextInt(lifetime + 1)))
+                        .value(pick(COMPLAINTS, random) + " " + pick(FINDINGS, random) + " " + pick(ACTIONS, random))
+                        .endRow();
+            }
+        }
+    }
+
+    /**
+     * Fields of the current ServiceTicket, refilled from the ticket Random in the same order by every pass
+     */
+    private static final class Ticket {
+        private long vehicleId;
+        private long mechanicId;
+        private Status status;
+        private LocalDate created;
+        private LocalDate updated;
+
+        void next(Plan plan, Random random) {
+            vehicleId = plan.firstVehicle + (long) (random.nextDouble() * plan.properties.getVehicles());
+            mechanicId = plan.randomMechanic(random);
+            status = STATUSES[weighted(STATUS_WEIGHTS, random)];
+            created = plan.endDate.minusDays(random.nextInt(730));
+            int open = status == Status.RESOLVED || status == Status.CANCELLED ? 30 : 10;
+            updated = created.plusDays(random.nextInt(open + 1));
+            if (updated.isAfter(plan.endDate)) {
+                updated = plan.endDate;
+            }
+        }
+    }
+
+    private static final class Model {
+        private final String make;
+        private final String model;
+        private final VehicleType type;
+        private final int basePrice;
+        private final int mpg;
+
+        Model(String make, String model, VehicleType type, int basePrice, int mpg) {
+            this.make = make;
+            this.model = model;
+            this.type = type;
+            this.basePrice = basePrice;
+            this.mpg = mpg;
+        }
+    }
+
+    private static String features(Random random) {
+        int count = 2 + random.nextInt(5);
+        boolean[] chosen = new boolean[FEATURES.length];
+        StringBuilder features = new StringBuilder();
+        while (count > 0) {
+            int feature = random.nextInt(FEATURES.length);
+            if (!chosen[feature]) {
+                chosen[feature] = true;
+                count--;
+            }
+        }
+        for (int feature = 0; feature < FEATURES.length; feature++) {
+            if (chosen[feature]) {
+                features.append(features.length() == 0 ? "" : ", ").append(FEATURES[feature]);
+            }
+        }
+        return features.toString();
+    }
+
+    /**
+     * @return manufacturer prefix followed by the id in base 36, unique for every Vehicle id
+     */
+    private static String vin(String make, long id) {
+        String serial = Long.toString(id, 36).toUpperCase();
+        StringBuilder vin = new StringBuilder(17).append(make.substring(0, 3).toUpperCase());
+        for (int i = vin.length() + serial.length(); i < 17; i++) {
+            vin.append('0');
+        }
+        return vin.append(serial).toString();
+    }
+
+    /**
+     * @return SSN formatted from the last 9 digits of number, unique for every number below a billion
+     */
+    private static String ssn(long number) {
+        return String.format("%03d-%02d-%04d", number / 1_000_000 % 1000, number / 10_000 % 100, number % 10_000);
+    }
+
+    private static String email(String firstName, String lastName, long id, String domain) {
+        return (firstName + "." + lastName + "." + id + "@" + domain).toLowerCase();
+    }
+
+    private static String phoneNumber(Random random) {
+        return String.format("410-%03d-%04d", 200 + random.nextInt(800), random.nextInt(10_000));
+    }
+
+    private static int salary(EmployeeType employeeType) {
+        switch (employeeType) {
+            case SITE_MANAGER:
+                return 110_000;
+            case MANAGER:
+                return 80_000;
+            case MECHANIC:
+                return 50_000;
+            default:
+                return 40_000;
+        }
+    }
+
+    private static int geometric(Random random, double p) {
+        return (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static int weighted(int[] weights, Random random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int ticket = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            ticket -= weights[i];
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No weights");
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
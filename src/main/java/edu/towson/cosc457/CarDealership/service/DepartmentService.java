@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
@@ -9,20 +11,19 @@ import edu.towson.cosc457.CarDealership.repository.DepartmentRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final MechanicService mechanicService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentService.class);
 
     /**
@@ -36,14 +37,28 @@ public class DepartmentService {
     }
 
     /**
-     * Get All Departments
-     * @return List of Departments
+     * Get a page of Departments ordered by id
+     * @param after identifier of the last Department of the previous page
+     * @param limit maximum number of Departments to be fetched
+     * @return Slice of Departments with id greater than after
      */
-    public List<Department> getDepartments() {
-        LOGGER.info("Get all Departments");
-        return StreamSupport
-                .stream(departmentRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Department> getDepartments(Long after, Integer limit) {
+        LOGGER.info("Get Departments after id {}", after);
+        return departmentRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Departments assigned to Location ordered by id
+     * @param locationId identifier of Location
+     * @param after identifier of the last Department of the previous page
+     * @param limit maximum number of Departments to be fetched
+     * @return Slice of Departments with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Department> getDepartmentsByLocation(Long locationId, Long after, Integer limit) {
+        LOGGER.info("Get Departments assigned to Location with id {} after id {}", locationId, after);
+        return departmentRepository.findByLocationIdAndIdGreaterThanOrderByIdAsc(locationId, after, Cursor.limit(limit));
     }
 
     /**
@@ -52,6 +67,7 @@ public class DepartmentService {
      * @return fetched Department
      * @throws NotFoundException if no Department with matching id found
      */
+    @Transactional(readOnly = true)
     public Department getDepartment(Long id) {
         LOGGER.info("Get Department with id {}", id);
         return departmentRepository.findById(id)
@@ -61,12 +77,15 @@ public class DepartmentService {
     /**
      * Delete Department by Id
      * @param id identifier of Department to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Department
      * @throws NotFoundException if no Department with matching id found
+     * @throws PreconditionFailedException if the Department is at none of the expected versions
      */
-    public Department deleteDepartment(Long id) {
+    public Department deleteDepartment(Long id, Set<Long> versions) {
         LOGGER.info("Delete Department with id {}", id);
         Department department = getDepartment(id);
+        Versions.check(Entity.DEPARTMENT, id, versions, department.getVersion());
         departmentRepository.delete(department);
         return department;
     }
@@ -75,13 +94,16 @@ public class DepartmentService {
      * Update Department
      * @param id identifier of Department to be updated
      * @param department Department object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Department
      * @throws NotFoundException if no Department with matching id found
+     * @throws PreconditionFailedException if the Department is at none of the expected versions
      */
     @Transactional
-    public Department editDepartment(Long id, Department department) {
+    public Department editDepartment(Long id, Department department, Set<Long> versions) {
         LOGGER.info("Update Department with id {}", id);
         Department departmentToEdit = getDepartment(id);
+        Versions.check(Entity.DEPARTMENT, id, versions, departmentToEdit.getVersion());
         departmentToEdit.setName(department.getName());
         departmentToEdit.setManager(department.getManager());
         departmentToEdit.setLocation(department.getLocation());
@@ -101,20 +123,8 @@ public class DepartmentService {
     @Transactional
     public Department assignMechanic(Long departmentId, Long mechanicId) {
         LOGGER.info("Assign Mechanic with id {} to Department with id {}", mechanicId, departmentId);
-        Department department = getDepartment(departmentId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        if (Objects.nonNull(mechanic.getDepartment())) {
-            throw new AlreadyAssignedException(
-                    Entity.MECHANIC.toString(),
-                    mechanicId,
-                    Entity.DEPARTMENT.toString(),
-                    mechanic.getDepartment().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        department.assignMechanic(mechanic);
-        mechanic.setDepartment(department);
-        return department;
+        assignmentService.assign(Assignment.DEPARTMENT_MECHANIC, departmentId, mechanicId);
+        return getDepartment(departmentId);
     }
 
     /**
@@ -127,9 +137,24 @@ public class DepartmentService {
     @Transactional
     public Department removeMechanic(Long departmentId, Long mechanicId) {
         LOGGER.info("Remove Mechanic with id {} from Department with id {}", mechanicId, departmentId);
-        Department department = getDepartment(departmentId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        department.removeMechanic(mechanic);
-        return department;
+        assignmentService.remove(Assignment.DEPARTMENT_MECHANIC, departmentId, mechanicId);
+        return getDepartment(departmentId);
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Department
+     * @param id identifier of Department
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     * @throws NotFoundException if no Department with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanics(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Department with id {}", id);
+        if (!departmentRepository.existsById(id)) {
+            throw new NotFoundException(Entity.DEPARTMENT.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return mechanicService.getMechanicsByDepartment(id, after, limit);
     }
 }
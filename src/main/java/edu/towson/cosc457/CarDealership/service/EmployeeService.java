@@ -2,7 +2,9 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.model.Employee;
 
-import java.util.List;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
 
 public interface EmployeeService <T extends Employee> {
     /**
@@ -13,10 +15,12 @@ public interface EmployeeService <T extends Employee> {
     T addEmployee(T employee);
 
     /**
-     * Get all Employees (of given type)
-     * @return List of Employees
+     * Get a page of Employees (of given type) ordered by id
+     * @param after identifier of the last Employee of the previous page
+     * @param limit maximum number of Employees to be fetched
+     * @return Slice of Employees with id greater than after
      */
-    List<T> getEmployees();
+    Slice<T> getEmployees(Long after, Integer limit);
 
     /**
      * Get Employee by Id
@@ -28,15 +32,17 @@ public interface EmployeeService <T extends Employee> {
     /**
      * Delete Employee by Id
      * @param id identifier of Employee to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Employee
      */
-    T deleteEmployee(Long id);
+    T deleteEmployee(Long id, Set<Long> versions);
 
     /**
      * Update Employee
      * @param id identifier of Employee to be updated
      * @param employee object of type Employee with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Employee entity
      */
-    T editEmployee(Long id, T employee);
+    T editEmployee(Long id, T employee, Set<Long> versions);
 }
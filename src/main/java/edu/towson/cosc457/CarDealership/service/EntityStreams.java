@@ -0,0 +1,43 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import javax.persistence.EntityManager;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for walking a whole table through a database cursor without growing the persistence context
+ */
+final class EntityStreams {
+    /**
+     * Rows fetched per round trip and entities kept attached before the persistence context is cleared
+     */
+    static final int BATCH_SIZE = 500;
+
+    private EntityStreams() {
+    }
+
+    /**
+     * Hand every row of a repository Stream to action, clearing the persistence context every BATCH_SIZE rows so
+     * managed entities (and their eagerly loaded associations) can be garbage collected as the cursor advances
+     * @param rows Stream of managed entities, closed once consumed
+     * @param entityManager EntityManager the rows are attached to
+     * @param action callback invoked for every entity while it is still attached
+     * @param <T> entity type
+     * @return number of rows consumed
+     */
+    static <T> long forEachDetached(Stream<T> rows, EntityManager entityManager, Consumer<? super T> action) {
+        long count = 0;
+        try (Stream<T> stream = rows) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Validated export request, built by {@link ExportService#prepare} before the response is committed so bad input
+ * still gets a 4xx status
+ */
+@Value
+public class ExportQuery {
+    String entity;
+    String sql;
+    List<Object> parameters;
+}
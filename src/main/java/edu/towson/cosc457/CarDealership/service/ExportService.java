@@ -0,0 +1,105 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.InvalidExportException;
+import edu.towson.cosc457.CarDealership.misc.ExportFormat;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+@Service
+@AllArgsConstructor
+public class ExportService {
+    static final int FETCH_SIZE = 1024;
+    private final JdbcTemplate jdbcTemplate;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportService.class);
+
+    /**
+     * Validate an export request and build its query
+     * @param entity vehicles, tickets (one row per comment) or employees (all four subtypes)
+     * @param columns export columns in output order, null or empty for every column
+     * @param from first day of the ticket creation date range, null for unbounded
+     * @param to last day of the ticket creation date range, null for unbounded
+     * @return query to pass to {@link #export}
+     * @throws InvalidExportException if entity is unknown (404), a column is unknown or a date range is given for an
+     * entity that has none (400)
+     */
+    public ExportQuery prepare(String entity, List<String> columns, LocalDate from, LocalDate to) {
+        ExportTable table = ExportTable.of(entity);
+        if (table == null) {
+            throw new InvalidExportException("unknown entity " + entity, HttpStatus.NOT_FOUND);
+        }
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        for (String column : columns == null || columns.isEmpty() ? table.getColumns().keySet() : columns) {
+            String expression = table.getColumns().get(column);
+            if (expression == null) {
+                throw new InvalidExportException("unknown " + table + " column " + column, HttpStatus.BAD_REQUEST);
+            }
+            select.add(expression + " AS \"" + column + "\"");
+        }
+        StringBuilder sql = new StringBuilder(select.toString()).append(" FROM ").append(table.getFrom());
+        List<Object> parameters = new ArrayList<>();
+        if (from != null || to != null) {
+            if (table.getDateColumn() == null) {
+                throw new InvalidExportException(table + " cannot be filtered by date", HttpStatus.BAD_REQUEST);
+            }
+            sql.append(" WHERE TRUE");
+            if (from != null) {
+                sql.append(" AND ").append(table.getDateColumn()).append(" >= ?");
+                parameters.add(Timestamp.valueOf(from.atStartOfDay()));
+            }
+            if (to != null) {
+                sql.append(" AND ").append(table.getDateColumn()).append(" < ?");
+                parameters.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            }
+        }
+        sql.append(" ORDER BY ").append(table.getOrderBy());
+        return new ExportQuery(table.toString(), sql.toString(), parameters);
+    }
+
+    /**
+     * Write every row of query to outputStream through a forward-only server-side cursor of {@link #FETCH_SIZE} rows.
+     * Rows go from the ResultSet to the output without building entities or DTOs
+     * @param query query built by {@link #prepare}
+     * @param format output format
+     * @param outputStream destination, not closed
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportQuery query, ExportFormat format, OutputStream outputStream) {
+        LOGGER.info("Export {} as {}", query.getEntity(), format);
+        long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(query.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < query.getParameters().size(); i++) {
+                    statement.setObject(i + 1, query.getParameters().get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return format == ExportFormat.ARROW
+                            ? ArrowExport.write(resultSet, outputStream)
+                            : CsvExport.write(resultSet, outputStream);
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        LOGGER.info("Exported {} {} rows", rows, query.getEntity());
+        return rows;
+    }
+}
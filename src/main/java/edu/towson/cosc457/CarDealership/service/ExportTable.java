@@ -0,0 +1,118 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tables exposed by {@link ExportService}. Each maps export column names to the SQL expression that produces them,
+ * so requested columns are looked up here and never spliced into SQL as given. Unbounded DECIMAL columns are cast to
+ * double precision, Arrow decimals cannot hold Postgres' unconstrained numeric precision
+ */
+enum ExportTable {
+    VEHICLES("vehicle v", "v.vehicle_id", null, columns(
+            "id", "v.vehicle_id",
+            "vin", "v.vin",
+            "make", "v.make",
+            "model", "v.model",
+            "year", "v.year",
+            "color", "v.color",
+            "type", "v.vehicle_type",
+            "transmission", "v.transmission",
+            "features", "v.features",
+            "mpg", "v.mpg",
+            "mileage", "v.mileage",
+            "price", "v.price::float8",
+            "lot_id", "v.lot_id")),
+    TICKETS("service_ticket t LEFT JOIN comment c ON c.ticket_id = t.ticket_id", "t.ticket_id, c.comment_id",
+            "t.date_created", columns(
+            "ticket_id", "t.ticket_id",
+            "vehicle_id", "t.vehicle_id",
+            "mechanic_id", "t.mechanic_id",
+            "date_created", "t.date_created",
+            "date_updated", "t.date_updated",
+            "status", "t.ticket_status",
+            "comment_id", "c.comment_id",
+            "comment_mechanic_id", "c.mechanic_id",
+            "comment_date_created", "c.date_created",
+            "comment_content", "c.content")),
+    // ssn is deliberately not exportable
+    EMPLOYEES("employee e LEFT JOIN manager m ON m.id = e.id LEFT JOIN mechanic mc ON mc.id = e.id "
+            + "LEFT JOIN sales_associate sa ON sa.id = e.id", "e.id", null, columns(
+            "id", "e.id",
+            "type", "e.employee_type",
+            "first_name", "e.first_name",
+            "middle_initial", "e.middle_init",
+            "last_name", "e.last_name",
+            "gender", "e.gender",
+            "date_of_birth", "e.dob",
+            "phone_number", "e.phone_no",
+            "email", "e.email",
+            "work_location_id", "e.work_location_id",
+            "salary", "e.salary::float8",
+            "date_started", "e.date_started",
+            "hours_worked", "e.hours_worked::float8",
+            "manager_id", "COALESCE(mc.manager_id, sa.manager_id)",
+            "department_id", "COALESCE(mc.dept_id, sa.dept_id)",
+            "site_manager_id", "m.site_manager_id"));
+
+    private final String from;
+    private final String orderBy;
+    private final String dateColumn;
+    private final Map<String, String> columns;
+
+    ExportTable(String from, String orderBy, String dateColumn, Map<String, String> columns) {
+        this.from = from;
+        this.orderBy = orderBy;
+        this.dateColumn = dateColumn;
+        this.columns = columns;
+    }
+
+    /**
+     * @param name path segment, case insensitive
+     * @return matching table, null if there is none
+     */
+    static ExportTable of(String name) {
+        for (ExportTable table : values()) {
+            if (table.name().equalsIgnoreCase(name)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    String getFrom() {
+        return from;
+    }
+
+    String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * @return timestamp column the date range applies to, null if the table cannot be filtered by date
+     */
+    String getDateColumn() {
+        return dateColumn;
+    }
+
+    /**
+     * @return export column name to SQL expression, in default column order
+     */
+    Map<String, String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> columns(String... namesAndExpressions) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndExpressions.length; i += 2) {
+            columns.put(namesAndExpressions[i], namesAndExpressions[i + 1]);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense int slots for BIGINT ids, so ids past the int range can still be kept in a RoaringBitmap. A removed id frees
+ * its slot for the next one added, keeping the bitmaps compact. Not thread safe, guarded by the service owning it
+ */
+final class IdSlots {
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Deque<Integer> free = new ArrayDeque<>();
+    private long[] ids = new long[16];
+    private int size;
+
+    /**
+     * @return slot of id, assigned now if id has none yet
+     */
+    int add(long id) {
+        Integer slot = slots.get(id);
+        if (slot != null) {
+            return slot;
+        }
+        slot = free.isEmpty() ? size++ : free.pop();
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[slot] = id;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * @return slot of id, null if it has none
+     */
+    Integer get(long id) {
+        return slots.get(id);
+    }
+
+    /**
+     * Free the slot of id
+     * @return slot id had, null if it had none
+     */
+    Integer remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot != null) {
+            free.push(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * @return id holding slot
+     */
+    long id(int slot) {
+        return ids[slot];
+    }
+}
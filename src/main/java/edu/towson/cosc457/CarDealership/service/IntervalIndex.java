@@ -0,0 +1,201 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Stabbing index over closed [min, max] intervals, stored as a centered interval tree. Each node holds the
+ * intervals containing its center twice, sorted by min ascending and by max descending, so a query walks one root to
+ * leaf path and only reads the intervals it returns: O(log n + k). The tree is never rebuilt on the query path: ids
+ * put or removed since it was built sit in an overlay of at most about {@link #OVERLAY_LIMIT} changes that queries
+ * check directly, and once it is full a new tree is built from a {@link Snapshot} outside the lock and swapped in.
+ * Not thread safe, guarded by {@link BudgetMatchService}
+ */
+final class IntervalIndex {
+    static final int OVERLAY_LIMIT = 1024;
+    private final Map<Long, long[]> intervals = new HashMap<>();
+    /**
+     * Ids changed since the tree was built, with the sequence number of their last change
+     */
+    private final Map<Long, Long> changed = new HashMap<>();
+    private Node root;
+    private long sequence;
+    private boolean building;
+
+    void put(long id, long min, long max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Empty interval: [" + min + ", " + max + "]");
+        }
+        intervals.put(id, new long[]{min, max});
+        changed.put(id, ++sequence);
+    }
+
+    void remove(long id) {
+        if (intervals.remove(id) != null) {
+            changed.put(id, ++sequence);
+        }
+    }
+
+    /**
+     * @return indexed [min, max] of id, null if not indexed
+     */
+    long[] get(long id) {
+        long[] interval = intervals.get(id);
+        return interval == null ? null : interval.clone();
+    }
+
+    /**
+     * Build the tree in place, only for an index no query sees yet
+     */
+    void rebuild() {
+        root = build(intervals.keySet().stream().mapToLong(Long::longValue).toArray(), intervals);
+        changed.clear();
+    }
+
+    /**
+     * @return copy of the intervals to build a new tree from outside the lock, null while the overlay has room or
+     * another snapshot is being built
+     */
+    Snapshot snapshot() {
+        if (building || changed.size() < OVERLAY_LIMIT) {
+            return null;
+        }
+        building = true;
+        return new Snapshot(new HashMap<>(intervals), sequence);
+    }
+
+    /**
+     * Replace the tree with the one built from snapshot, dropping the changes it already holds from the overlay
+     */
+    void swap(Snapshot snapshot) {
+        root = snapshot.root;
+        changed.values().removeIf(change -> change <= snapshot.sequence);
+        building = false;
+    }
+
+    /**
+     * @param point value to look up
+     * @return ids of the intervals containing point, ascending
+     */
+    long[] stab(long point) {
+        LongStream.Builder ids = LongStream.builder();
+        Node node = root;
+        while (node != null) {
+            if (point < node.center) {
+                for (int i = 0; i < node.byMin.length && node.mins[i] <= point; i++) {
+                    addUnchanged(ids, node.byMin[i]);
+                }
+                node = node.left;
+            } else if (point > node.center) {
+                for (int i = 0; i < node.byMax.length && node.maxes[i] >= point; i++) {
+                    addUnchanged(ids, node.byMax[i]);
+                }
+                node = node.right;
+            } else {
+                for (long id : node.byMin) {
+                    addUnchanged(ids, id);
+                }
+                node = null;
+            }
+        }
+        for (Long id : changed.keySet()) {
+            long[] interval = intervals.get(id);
+            if (interval != null && interval[0] <= point && point <= interval[1]) {
+                ids.add(id);
+            }
+        }
+        return ids.build().sorted().toArray();
+    }
+
+    private void addUnchanged(LongStream.Builder ids, long id) {
+        if (!changed.containsKey(id)) {
+            ids.add(id);
+        }
+    }
+
+    private static Node build(long[] ids, Map<Long, long[]> intervals) {
+        if (ids.length == 0) {
+            return null;
+        }
+        long[] endpoints = new long[ids.length * 2];
+        for (int i = 0; i < ids.length; i++) {
+            long[] interval = intervals.get(ids[i]);
+            endpoints[2 * i] = interval[0];
+            endpoints[2 * i + 1] = interval[1];
+        }
+        Arrays.sort(endpoints);
+        long center = endpoints[ids.length];
+
+        int left = 0;
+        int right = 0;
+        int here = 0;
+        for (long id : ids) {
+            long[] interval = intervals.get(id);
+            if (interval[1] < center) {
+                left++;
+            } else if (interval[0] > center) {
+                right++;
+            } else {
+                here++;
+            }
+        }
+        long[] leftIds = new long[left];
+        long[] rightIds = new long[right];
+        Long[] hereIds = new Long[here];
+        left = right = here = 0;
+        for (long id : ids) {
+            long[] interval = intervals.get(id);
+            if (interval[1] < center) {
+                leftIds[left++] = id;
+            } else if (interval[0] > center) {
+                rightIds[right++] = id;
+            } else {
+                hereIds[here++] = id;
+            }
+        }
+        return new Node(center, hereIds, intervals, build(leftIds, intervals), build(rightIds, intervals));
+    }
+
+    /**
+     * Intervals as of one change, turned into a tree by {@link #build()} without holding any lock
+     */
+    static final class Snapshot {
+        private final Map<Long, long[]> intervals;
+        private final long sequence;
+        private Node root;
+
+        private Snapshot(Map<Long, long[]> intervals, long sequence) {
+            this.intervals = intervals;
+            this.sequence = sequence;
+        }
+
+        void build() {
+            root = IntervalIndex.build(intervals.keySet().stream().mapToLong(Long::longValue).toArray(), intervals);
+        }
+    }
+
+    private static final class Node {
+        private final long center;
+        private final long[] byMin;
+        private final long[] mins;
+        private final long[] byMax;
+        private final long[] maxes;
+        private final Node left;
+        private final Node right;
+
+        private Node(long center, Long[] ids, Map<Long, long[]> intervals, Node left, Node right) {
+            this.center = center;
+            this.left = left;
+            this.right = right;
+            Arrays.sort(ids, Comparator.comparingLong(id -> intervals.get(id)[0]));
+            byMin = Arrays.stream(ids).mapToLong(Long::longValue).toArray();
+            mins = Arrays.stream(byMin).map(id -> intervals.get(id)[0]).toArray();
+            Arrays.sort(ids, Comparator.comparingLong((Long id) -> intervals.get(id)[1]).reversed());
+            byMax = Arrays.stream(ids).mapToLong(Long::longValue).toArray();
+            maxes = Arrays.stream(byMax).map(id -> intervals.get(id)[1]).toArray();
+        }
+    }
+}
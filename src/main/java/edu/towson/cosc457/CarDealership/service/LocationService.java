@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Department;
 import edu.towson.cosc457.CarDealership.model.Location;
@@ -11,14 +13,12 @@ import edu.towson.cosc457.CarDealership.repository.LocationRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -27,6 +27,7 @@ public class LocationService {
     private final LotService lotService;
     private final DepartmentService departmentService;
     private final MechanicService mechanicService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationService.class);
 
     /**
@@ -40,14 +41,15 @@ public class LocationService {
     }
 
     /**
-     * Get All Locations
-     * @return List of Locations
+     * Get a page of Locations ordered by id
+     * @param after identifier of the last Location of the previous page
+     * @param limit maximum number of Locations to be fetched
+     * @return Slice of Locations with id greater than after
      */
-    public List<Location> getLocations() {
-        LOGGER.info("Get all Locations");
-        return StreamSupport
-                .stream(locationRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Location> getLocations(Long after, Integer limit) {
+        LOGGER.info("Get Locations after id {}", after);
+        return locationRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
     }
 
     /**
@@ -56,6 +58,7 @@ public class LocationService {
      * @return fetched Location
      * @throws NotFoundException if no Location with matching id found
      */
+    @Transactional(readOnly = true)
     public Location getLocation(Long id) {
         LOGGER.info("Get Location with id {}", id);
         return locationRepository.findById(id)
@@ -65,12 +68,15 @@ public class LocationService {
     /**
      * Delete Location by Id
      * @param id identifier of Location to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Location
      * @throws NotFoundException if no Location with matching id found
+     * @throws PreconditionFailedException if the Location is at none of the expected versions
      */
-    public Location deleteLocation(Long id) {
+    public Location deleteLocation(Long id, Set<Long> versions) {
         LOGGER.info("Delete Location with id {}", id);
         Location location = getLocation(id);
+        Versions.check(Entity.LOCATION, id, versions, location.getVersion());
         locationRepository.delete(location);
         return location;
     }
@@ -79,13 +85,16 @@ public class LocationService {
      * Update Location
      * @param id identifier of Location to be updated
      * @param location Location object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Location
      * @throws NotFoundException if no Location with matching id found
+     * @throws PreconditionFailedException if the Location is at none of the expected versions
      */
     @Transactional
-    public Location editLocation(Long id, Location location) {
+    public Location editLocation(Long id, Location location, Set<Long> versions) {
         LOGGER.info("Update Location with id {}", id);
         Location locationToEdit = getLocation(id);
+        Versions.check(Entity.LOCATION, id, versions, locationToEdit.getVersion());
         locationToEdit.setName(location.getName());
         locationToEdit.setAddress(location.getAddress());
         locationToEdit.setSiteManager(location.getSiteManager());
@@ -107,20 +116,8 @@ public class LocationService {
     @Transactional
     public Location addLotToLocation(Long locationId, Long lotId) {
         LOGGER.info("Add Lot with id {} to Location with id {}", lotId, locationId);
-        Location location = getLocation(locationId);
-        Lot lot = lotService.getLot(lotId);
-        if (Objects.nonNull(lot.getLocation())) {
-            throw new AlreadyAssignedException(
-                    Entity.LOT.toString(),
-                    lotId,
-                    Entity.LOCATION.toString(),
-                    lot.getLocation().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        location.addLot(lot);
-        lot.setLocation(location);
-        return location;
+        assignmentService.assign(Assignment.LOCATION_LOT, locationId, lotId);
+        return getLocation(locationId);
     }
 
     /**
@@ -133,10 +130,8 @@ public class LocationService {
     @Transactional
     public Location removeLotFromLocation(Long locationId, Long lotId) {
         LOGGER.info("Delete Lot with id {} from Location with id {}", lotId, locationId);
-        Location location = getLocation(locationId);
-        Lot lot = lotService.getLot(lotId);
-        location.removeLot(lot);
-        return location;
+        assignmentService.remove(Assignment.LOCATION_LOT, locationId, lotId);
+        return getLocation(locationId);
     }
 
     /**
@@ -150,20 +145,8 @@ public class LocationService {
     @Transactional
     public Location addDepartmentToLocation(Long locationId, Long departmentId) {
         LOGGER.info("Add Department with id {} to Location with id {}", departmentId, locationId);
-        Location location = getLocation(locationId);
-        Department department = departmentService.getDepartment(departmentId);
-        if (Objects.nonNull(department.getLocation())) {
-            throw new AlreadyAssignedException(
-                    Entity.LOT.toString(),
-                    departmentId,
-                    Entity.LOCATION.toString(),
-                    department.getLocation().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        location.addDepartment(department);
-        department.setLocation(location);
-        return location;
+        assignmentService.assign(Assignment.LOCATION_DEPARTMENT, locationId, departmentId);
+        return getLocation(locationId);
     }
 
     /**
@@ -176,10 +159,8 @@ public class LocationService {
     @Transactional
     public Location removeDepartmentFromLocation(Long locationId, Long departmentId) {
         LOGGER.info("Delete Department with id {} from Location with id {}", departmentId, locationId);
-        Location location = getLocation(locationId);
-        Department department = departmentService.getDepartment(departmentId);
-        location.removeDepartment(department);
-        return location;
+        assignmentService.remove(Assignment.LOCATION_DEPARTMENT, locationId, departmentId);
+        return getLocation(locationId);
     }
 
     /**
@@ -193,20 +174,8 @@ public class LocationService {
     @Transactional
     public Location assignMechanic(Long locationId, Long mechanicId) {
         LOGGER.info("Delete Mechanic with id {} to Location with id {}", mechanicId, locationId);
-        Location location = getLocation(locationId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        if (Objects.nonNull(mechanic.getWorkLocation())) {
-            throw new AlreadyAssignedException(
-                    Entity.MECHANIC.toString(),
-                    mechanicId,
-                    Entity.LOCATION.toString(),
-                    mechanic.getWorkLocation().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        location.assignMechanic(mechanic);
-        mechanic.setWorkLocation(location);
-        return location;
+        assignmentService.assign(Assignment.LOCATION_MECHANIC, locationId, mechanicId);
+        return getLocation(locationId);
     }
 
     /**
@@ -219,9 +188,58 @@ public class LocationService {
     @Transactional
     public Location removeMechanic(Long locationId, Long mechanicId) {
         LOGGER.info("Delete Mechanic with id {} from Location with id {}", mechanicId, locationId);
-        Location location = getLocation(locationId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        location.removeMechanic(mechanic);
-        return location;
+        assignmentService.remove(Assignment.LOCATION_MECHANIC, locationId, mechanicId);
+        return getLocation(locationId);
+    }
+
+    /**
+     * Get a page of Lots assigned to Location
+     * @param id identifier of Location
+     * @param after identifier of the last Lot of the previous page
+     * @param limit maximum number of Lots to be fetched
+     * @return Slice of Lots with id greater than after
+     * @throws NotFoundException if no Location with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Lot> getLots(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Lots assigned to Location with id {}", id);
+        if (!locationRepository.existsById(id)) {
+            throw new NotFoundException(Entity.LOCATION.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return lotService.getLotsByLocation(id, after, limit);
+    }
+
+    /**
+     * Get a page of Departments assigned to Location
+     * @param id identifier of Location
+     * @param after identifier of the last Department of the previous page
+     * @param limit maximum number of Departments to be fetched
+     * @return Slice of Departments with id greater than after
+     * @throws NotFoundException if no Location with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Department> getDepartments(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Departments assigned to Location with id {}", id);
+        if (!locationRepository.existsById(id)) {
+            throw new NotFoundException(Entity.LOCATION.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return departmentService.getDepartmentsByLocation(id, after, limit);
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Location
+     * @param id identifier of Location
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     * @throws NotFoundException if no Location with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanics(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Location with id {}", id);
+        if (!locationRepository.existsById(id)) {
+            throw new NotFoundException(Entity.LOCATION.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return mechanicService.getMechanicsByLocation(id, after, limit);
     }
 }
@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Lot;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
@@ -9,20 +11,20 @@ import edu.towson.cosc457.CarDealership.repository.LotRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class LotService {
     private final LotRepository lotRepository;
     private final VehicleService vehicleService;
+    private final VehicleFacetService vehicleFacetService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(LotService.class);
 
     /**
@@ -36,14 +38,28 @@ public class LotService {
     }
 
     /**
-     * Get All Lots
-     * @return List of Lots
+     * Get a page of Lots ordered by id
+     * @param after identifier of the last Lot of the previous page
+     * @param limit maximum number of Lots to be fetched
+     * @return Slice of Lots with id greater than after
      */
-    public List<Lot> getLots() {
-        LOGGER.info("Get all Lots");
-        return StreamSupport
-                .stream(lotRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Lot> getLots(Long after, Integer limit) {
+        LOGGER.info("Get Lots after id {}", after);
+        return lotRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Lots assigned to Location ordered by id
+     * @param locationId identifier of Location
+     * @param after identifier of the last Lot of the previous page
+     * @param limit maximum number of Lots to be fetched
+     * @return Slice of Lots with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Lot> getLotsByLocation(Long locationId, Long after, Integer limit) {
+        LOGGER.info("Get Lots assigned to Location with id {} after id {}", locationId, after);
+        return lotRepository.findByLocationIdAndIdGreaterThanOrderByIdAsc(locationId, after, Cursor.limit(limit));
     }
 
     /**
@@ -52,6 +68,7 @@ public class LotService {
      * @return fetched Lot
      * @throws NotFoundException if no Lot with matching id found
      */
+    @Transactional(readOnly = true)
     public Lot getLot(Long id) {
         LOGGER.info("Get Lot with id {}", id);
         return lotRepository.findById(id)
@@ -61,12 +78,15 @@ public class LotService {
     /**
      * Delete Lot by Id
      * @param id identifier of Lot to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Lot
      * @throws NotFoundException if no Lot with matching id found
+     * @throws PreconditionFailedException if the Lot is at none of the expected versions
      */
-    public Lot deleteLot(Long id) {
+    public Lot deleteLot(Long id, Set<Long> versions) {
         LOGGER.info("Delete Lot with id {}", id);
         Lot lot = getLot(id);
+        Versions.check(Entity.LOT, id, versions, lot.getVersion());
         lotRepository.delete(lot);
         return lot;
     }
@@ -75,13 +95,16 @@ public class LotService {
      * Update Lot
      * @param id identifier of Lot to be updated
      * @param lot Lot object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Lot
      * @throws NotFoundException if no Lot with matching id found
+     * @throws PreconditionFailedException if the Lot is at none of the expected versions
      */
     @Transactional
-    public Lot editLot(Long id, Lot lot) {
+    public Lot editLot(Long id, Lot lot, Set<Long> versions) {
         LOGGER.info("Update Lot with id {}", id);
         Lot lotToEdit = getLot(id);
+        Versions.check(Entity.LOT, id, versions, lotToEdit.getVersion());
         lotToEdit.setSize(lot.getSize());
         lotToEdit.setLocation(lot.getLocation());
         lotToEdit.setVehicles(lot.getVehicles());
@@ -99,20 +122,9 @@ public class LotService {
     @Transactional
     public Lot addVehicleToLot(Long lotId, Long vehicleId) {
         LOGGER.info("Add Vehicle with id {} to Lot with id {}", vehicleId, lotId);
-        Lot lot = getLot(lotId);
-        Vehicle vehicle = vehicleService.getVehicle(vehicleId);
-        if (Objects.nonNull(vehicle.getLot())) {
-            throw new AlreadyAssignedException(
-                    Entity.VEHICLE.toString(),
-                    vehicleId,
-                    Entity.LOT.toString(),
-                    vehicle.getLot().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        lot.addVehicleToLot(vehicle);
-        vehicle.setLot(lot);
-        return lot;
+        assignmentService.assign(Assignment.LOT_VEHICLE, lotId, vehicleId);
+        vehicleFacetService.moveToLot(vehicleId, lotId);
+        return getLot(lotId);
     }
 
     /**
@@ -125,9 +137,26 @@ public class LotService {
     @Transactional
     public Lot removeVehicleFromLot(Long lotId, Long vehicleId) {
         LOGGER.info("Remove Vehicle with id {} from Lot with id {}", vehicleId, lotId);
-        Lot lot = getLot(lotId);
-        Vehicle vehicle = vehicleService.getVehicle(vehicleId);
-        lot.removeVehicleFromLot(vehicle);
-        return lot;
+        if (assignmentService.remove(Assignment.LOT_VEHICLE, lotId, vehicleId)) {
+            vehicleFacetService.moveToLot(vehicleId, null);
+        }
+        return getLot(lotId);
+    }
+
+    /**
+     * Get a page of Vehicles assigned to Lot
+     * @param id identifier of Lot
+     * @param after identifier of the last Vehicle of the previous page
+     * @param limit maximum number of Vehicles to be fetched
+     * @return Slice of Vehicles with id greater than after
+     * @throws NotFoundException if no Lot with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Vehicle> getVehicles(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Vehicles assigned to Lot with id {}", id);
+        if (!lotRepository.existsById(id)) {
+            throw new NotFoundException(Entity.LOT.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return vehicleService.getVehiclesByLot(id, after, limit);
     }
 }
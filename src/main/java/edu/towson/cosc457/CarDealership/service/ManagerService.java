@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Manager;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
@@ -9,20 +11,19 @@ import edu.towson.cosc457.CarDealership.repository.ManagerRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class ManagerService implements EmployeeService<Manager> {
     private final ManagerRepository managerRepository;
     private final MechanicService mechanicService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(ManagerService.class);
 
     /**
@@ -37,15 +38,29 @@ public class ManagerService implements EmployeeService<Manager> {
     }
 
     /**
-     * Get All Managers
-     * @return List of Managers
+     * Get a page of Managers ordered by id
+     * @param after identifier of the last Manager of the previous page
+     * @param limit maximum number of Managers to be fetched
+     * @return Slice of Managers with id greater than after
      */
     @Override
-    public List<Manager> getEmployees() {
-        LOGGER.info("Get all Managers");
-        return StreamSupport
-                .stream(managerRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Manager> getEmployees(Long after, Integer limit) {
+        LOGGER.info("Get Managers after id {}", after);
+        return managerRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Managers assigned to SiteManager ordered by id
+     * @param siteManagerId identifier of SiteManager
+     * @param after identifier of the last Manager of the previous page
+     * @param limit maximum number of Managers to be fetched
+     * @return Slice of Managers with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Manager> getManagersBySiteManager(Long siteManagerId, Long after, Integer limit) {
+        LOGGER.info("Get Managers assigned to Site Manager with id {} after id {}", siteManagerId, after);
+        return managerRepository.findBySiteManagerIdAndIdGreaterThanOrderByIdAsc(siteManagerId, after, Cursor.limit(limit));
     }
 
     /**
@@ -55,6 +70,7 @@ public class ManagerService implements EmployeeService<Manager> {
      * @throws NotFoundException if no Manager with matching id found
      */
     @Override
+    @Transactional(readOnly = true)
     public Manager getEmployee(Long id) {
         LOGGER.info("Get Manager with id {}", id);
         return managerRepository.findById(id)
@@ -64,13 +80,16 @@ public class ManagerService implements EmployeeService<Manager> {
     /**
      * Delete Manager by Id
      * @param id identifier of Manager to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Manager
      * @throws NotFoundException if no Manager with matching id found
+     * @throws PreconditionFailedException if the Manager is at none of the expected versions
      */
     @Override
-    public Manager deleteEmployee(Long id) {
+    public Manager deleteEmployee(Long id, Set<Long> versions) {
         LOGGER.info("Delete Manager with id {}", id);
         Manager manager = getEmployee(id);
+        Versions.check(Entity.MANAGER, id, versions, manager.getVersion());
         managerRepository.delete(manager);
         return manager;
     }
@@ -79,14 +98,17 @@ public class ManagerService implements EmployeeService<Manager> {
      * Update Manager
      * @param id identifier of Manager to be updated
      * @param manager Manager object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Manager
      * @throws NotFoundException if no Manager with matching id found
+     * @throws PreconditionFailedException if the Manager is at none of the expected versions
      */
     @Override
     @Transactional
-    public Manager editEmployee(Long id, Manager manager) {
+    public Manager editEmployee(Long id, Manager manager, Set<Long> versions) {
         LOGGER.info("Update Manager with id {}", id);
         Manager managerToEdit = getEmployee(id);
+        Versions.check(Entity.MANAGER, id, versions, managerToEdit.getVersion());
         managerToEdit.setSsn(manager.getSsn());
         managerToEdit.setFirstName(manager.getFirstName());
         managerToEdit.setMiddleInitial(manager.getMiddleInitial());
@@ -118,20 +140,8 @@ public class ManagerService implements EmployeeService<Manager> {
     @Transactional
     public Manager assignToManager(Long managerId, Long mechanicId) {
         LOGGER.info("Assign Mechanic with id {} to Manager with id {}", mechanicId, managerId);
-        Manager manager = getEmployee(managerId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        if (Objects.nonNull(mechanic.getManager())) {
-            throw new AlreadyAssignedException(
-                    Entity.MECHANIC.toString(),
-                    mechanicId,
-                    Entity.MANAGER.toString(),
-                    mechanic.getManager().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        manager.assignMechanics(mechanic);
-        mechanic.setManager(manager);
-        return manager;
+        assignmentService.assign(Assignment.MANAGER_MECHANIC, managerId, mechanicId);
+        return getEmployee(managerId);
     }
 
     /**
@@ -144,9 +154,24 @@ public class ManagerService implements EmployeeService<Manager> {
     @Transactional
     public Manager removeFromManager(Long managerId, Long mechanicId) {
         LOGGER.info("Remove Mechanic with id {} from Manager with id {}", mechanicId, managerId);
-        Manager manager = getEmployee(managerId);
-        Mechanic mechanic = mechanicService.getEmployee(mechanicId);
-        manager.removeMechanics(mechanic);
-        return manager;
+        assignmentService.remove(Assignment.MANAGER_MECHANIC, managerId, mechanicId);
+        return getEmployee(managerId);
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Manager
+     * @param id identifier of Manager
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     * @throws NotFoundException if no Manager with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanics(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Manager with id {}", id);
+        if (!managerRepository.existsById(id)) {
+            throw new NotFoundException(Entity.MANAGER.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return mechanicService.getMechanicsByManager(id, after, limit);
     }
 }
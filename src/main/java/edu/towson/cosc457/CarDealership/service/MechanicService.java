@@ -1,7 +1,9 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
@@ -9,20 +11,19 @@ import edu.towson.cosc457.CarDealership.repository.MechanicRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class MechanicService implements EmployeeService<Mechanic> {
     private final MechanicRepository mechanicRepository;
     private final ServiceTicketService ticketService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(MechanicService.class);
 
     /**
@@ -37,15 +38,55 @@ public class MechanicService implements EmployeeService<Mechanic> {
     }
 
     /**
-     * Get All Mechanics
-     * @return List of Mechanic
+     * Get a page of Mechanics ordered by id
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
      */
     @Override
-    public List<Mechanic> getEmployees() {
-        LOGGER.info("Get all Mechanics");
-        return StreamSupport
-                .stream(mechanicRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getEmployees(Long after, Integer limit) {
+        LOGGER.info("Get Mechanics after id {}", after);
+        return mechanicRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Location ordered by id
+     * @param locationId identifier of Location
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanicsByLocation(Long locationId, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Location with id {} after id {}", locationId, after);
+        return mechanicRepository.findByWorkLocationIdAndIdGreaterThanOrderByIdAsc(locationId, after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Department ordered by id
+     * @param departmentId identifier of Department
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanicsByDepartment(Long departmentId, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Department with id {} after id {}", departmentId, after);
+        return mechanicRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(departmentId, after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of Mechanics assigned to Manager ordered by id
+     * @param managerId identifier of Manager
+     * @param after identifier of the last Mechanic of the previous page
+     * @param limit maximum number of Mechanics to be fetched
+     * @return Slice of Mechanics with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mechanic> getMechanicsByManager(Long managerId, Long after, Integer limit) {
+        LOGGER.info("Get Mechanics assigned to Manager with id {} after id {}", managerId, after);
+        return mechanicRepository.findByManagerIdAndIdGreaterThanOrderByIdAsc(managerId, after, Cursor.limit(limit));
     }
 
     /**
@@ -55,6 +96,7 @@ public class MechanicService implements EmployeeService<Mechanic> {
      * @throws NotFoundException if no Mechanic with matching id found
      */
     @Override
+    @Transactional(readOnly = true)
     public Mechanic getEmployee(Long id) {
         LOGGER.info("Get Mechanic with id {}", id);
         return mechanicRepository.findById(id)
@@ -64,13 +106,16 @@ public class MechanicService implements EmployeeService<Mechanic> {
     /**
      * Delete Mechanic by Id
      * @param id identifier of Mechanic to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Mechanic
      * @throws NotFoundException if no Mechanic with matching id found
+     * @throws PreconditionFailedException if the Mechanic is at none of the expected versions
      */
     @Override
-    public Mechanic deleteEmployee(Long id) {
+    public Mechanic deleteEmployee(Long id, Set<Long> versions) {
         LOGGER.info("Delete Mechanic with id {}", id);
         Mechanic mechanic = getEmployee(id);
+        Versions.check(Entity.MECHANIC, id, versions, mechanic.getVersion());
         mechanicRepository.delete(mechanic);
         return mechanic;
     }
@@ -79,14 +124,17 @@ public class MechanicService implements EmployeeService<Mechanic> {
      * Update Mechanic
      * @param id identifier of Mechanic to be updated
      * @param mechanic Mechanic object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Mechanic
      * @throws NotFoundException if no Mechanic with matching id found
+     * @throws PreconditionFailedException if the Mechanic is at none of the expected versions
      */
     @Override
     @Transactional
-    public Mechanic editEmployee(Long id, Mechanic mechanic) {
+    public Mechanic editEmployee(Long id, Mechanic mechanic, Set<Long> versions) {
         LOGGER.info("Update Mechanic with id {}", id);
         Mechanic mechanicToEdit = getEmployee(id);
+        Versions.check(Entity.MECHANIC, id, versions, mechanicToEdit.getVersion());
         mechanicToEdit.setSsn(mechanic.getSsn());
         mechanicToEdit.setFirstName(mechanic.getFirstName());
         mechanicToEdit.setMiddleInitial(mechanic.getMiddleInitial());
@@ -118,20 +166,8 @@ public class MechanicService implements EmployeeService<Mechanic> {
     @Transactional
     public Mechanic assignTicket(Long mechanicId, Long ticketId) {
         LOGGER.info("Assign Service Ticket with id {} to Mechanic with id {}", ticketId, mechanicId);
-        Mechanic mechanic = getEmployee(mechanicId);
-        ServiceTicket ticket = ticketService.getServiceTicket(ticketId);
-        if (Objects.nonNull(ticket.getMechanic())) {
-            throw new AlreadyAssignedException(
-                    Entity.SERVICE_TICKET.toString(),
-                    ticketId,
-                    Entity.MECHANIC.toString(),
-                    ticket.getMechanic().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        mechanic.addServiceTicket(ticket);
-        ticket.setMechanic(mechanic);
-        return mechanic;
+        assignmentService.assign(Assignment.MECHANIC_TICKET, mechanicId, ticketId);
+        return getEmployee(mechanicId);
     }
 
     /**
@@ -144,9 +180,24 @@ public class MechanicService implements EmployeeService<Mechanic> {
     @Transactional
     public Mechanic removeTicket(Long mechanicId, Long ticketId) {
         LOGGER.info("Remove Service Ticket with id {} from Mechanic with id {}", ticketId, mechanicId);
-        Mechanic mechanic = getEmployee(mechanicId);
-        ServiceTicket ticket = ticketService.getServiceTicket(ticketId);
-        mechanic.removeServiceTicket(ticket);
-        return mechanic;
+        assignmentService.remove(Assignment.MECHANIC_TICKET, mechanicId, ticketId);
+        return getEmployee(mechanicId);
+    }
+
+    /**
+     * Get a page of ServiceTickets assigned to Mechanic
+     * @param id identifier of Mechanic
+     * @param after identifier of the last ServiceTicket of the previous page
+     * @param limit maximum number of ServiceTickets to be fetched
+     * @return Slice of ServiceTickets with id greater than after
+     * @throws NotFoundException if no Mechanic with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<ServiceTicket> getTickets(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Service Tickets assigned to Mechanic with id {}", id);
+        if (!mechanicRepository.existsById(id)) {
+            throw new NotFoundException(Entity.MECHANIC.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return ticketService.getServiceTicketsByMechanic(id, after, limit);
     }
 }
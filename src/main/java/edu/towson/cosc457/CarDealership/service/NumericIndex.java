@@ -0,0 +1,94 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Range index over a numeric attribute, keyed by the int slots of {@link IdSlots}. Every distinct value maps to a
+ * RoaringBitmap of the slots holding it in a TreeMap, so any long value, negative or past the int range, is
+ * indexable, an update is O(log n) and a range query ORs the bitmaps of the values in between. Not thread safe,
+ * guarded by the service owning it
+ */
+final class NumericIndex {
+    private final Map<Integer, Long> values = new HashMap<>();
+    private final NavigableMap<Long, RoaringBitmap> slots = new TreeMap<>();
+
+    void put(int slot, Long value) {
+        if (value == null) {
+            remove(slot);
+            return;
+        }
+        Long previous = values.put(slot, value);
+        if (value.equals(previous)) {
+            return;
+        }
+        unlink(slot, previous);
+        slots.computeIfAbsent(value, key -> new RoaringBitmap()).add(slot);
+    }
+
+    void remove(int slot) {
+        unlink(slot, values.remove(slot));
+    }
+
+    /**
+     * @return indexed value of slot, null if not indexed
+     */
+    Long get(int slot) {
+        return values.get(slot);
+    }
+
+    /**
+     * @param min inclusive lower bound, null for unbounded
+     * @param max inclusive upper bound, null for unbounded
+     * @return slots whose value lies within [min, max]
+     */
+    RoaringBitmap range(Long min, Long max) {
+        return RoaringBitmap.or(between(min, max).values().iterator());
+    }
+
+    /**
+     * @param min inclusive lower bound, null for unbounded
+     * @param max inclusive upper bound, null for unbounded
+     * @param limit maximum number of ids returned
+     * @param idOf id held by a slot
+     * @return first ids whose value lies within [min, max], ordered by value and then id
+     */
+    long[] first(Long min, Long max, int limit, IntToLongFunction idOf) {
+        long[] ids = new long[Math.max(0, limit)];
+        int size = 0;
+        for (RoaringBitmap bitmap : between(min, max).values()) {
+            if (size == ids.length) {
+                break;
+            }
+            long[] tied = bitmap.stream().mapToLong(idOf).sorted().toArray();
+            int taken = Math.min(tied.length, ids.length - size);
+            System.arraycopy(tied, 0, ids, size, taken);
+            size += taken;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    private NavigableMap<Long, RoaringBitmap> between(Long min, Long max) {
+        long from = min == null ? Long.MIN_VALUE : min;
+        long to = max == null ? Long.MAX_VALUE : max;
+        return from > to ? Collections.emptyNavigableMap() : slots.subMap(from, true, to, true);
+    }
+
+    private void unlink(int slot, Long value) {
+        if (value == null) {
+            return;
+        }
+        RoaringBitmap bitmap = slots.get(value);
+        bitmap.remove(slot);
+        if (bitmap.isEmpty()) {
+            slots.remove(value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import javax.persistence.EntityManager;
+import java.util.function.Function;
+
+/**
+ * Mappers turn the owner ids of a DTO into entities holding nothing but the id. Persisting a new entity cascades to
+ * those stubs as if they were new too, so they are swapped for references to the rows they name first
+ */
+final class References {
+    private References() {
+    }
+
+    /**
+     * @param entityManager persistence context the reference belongs to
+     * @param type entity class of the stub
+     * @param stub entity built from an id, may be null
+     * @param idOf accessor for the identifier of the stub
+     * @param <T> entity type
+     * @return reference to the stub's row, or stub itself if it is null or has no id
+     */
+    static <T> T resolve(EntityManager entityManager, Class<T> type, T stub, Function<T, Long> idOf) {
+        if (stub == null || idOf.apply(stub) == null) {
+            return stub;
+        }
+        return entityManager.getReference(type, idOf.apply(stub));
+    }
+}
@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Client;
 import edu.towson.cosc457.CarDealership.model.SalesAssociate;
@@ -9,20 +11,19 @@ import edu.towson.cosc457.CarDealership.repository.SalesAssociateRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class SalesAssociateService implements EmployeeService<SalesAssociate> {
     private final SalesAssociateRepository salesAssociateRepository;
     private final ClientService clientService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(SalesAssociateService.class);
 
     /**
@@ -37,15 +38,16 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
     }
 
     /**
-     * Get All SalesAssociates
-     * @return List of SalesAssociates
+     * Get a page of SalesAssociates ordered by id
+     * @param after identifier of the last SalesAssociate of the previous page
+     * @param limit maximum number of SalesAssociates to be fetched
+     * @return Slice of SalesAssociates with id greater than after
      */
     @Override
-    public List<SalesAssociate> getEmployees() {
-        LOGGER.info("Get all Sales Associates");
-        return StreamSupport
-                .stream(salesAssociateRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<SalesAssociate> getEmployees(Long after, Integer limit) {
+        LOGGER.info("Get Sales Associates after id {}", after);
+        return salesAssociateRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
     }
 
     /**
@@ -55,6 +57,7 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
      * @throws NotFoundException if no SalesAssociate with matching id found
      */
     @Override
+    @Transactional(readOnly = true)
     public SalesAssociate getEmployee(Long id) {
         LOGGER.info("Get Sales Associate with id {}", id);
         return salesAssociateRepository.findById(id)
@@ -64,13 +67,16 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
     /**
      * Delete SalesAssociate by Id
      * @param id identifier of SalesAssociate to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted SalesAssociate
      * @throws NotFoundException if no SalesAssociate with matching id found
+     * @throws PreconditionFailedException if the SalesAssociate is at none of the expected versions
      */
     @Override
-    public SalesAssociate deleteEmployee(Long id) {
+    public SalesAssociate deleteEmployee(Long id, Set<Long> versions) {
         LOGGER.info("Delete Sales Associate with id {}", id);
         SalesAssociate salesAssociate = getEmployee(id);
+        Versions.check(Entity.SALES_ASSOCIATE, id, versions, salesAssociate.getVersion());
         salesAssociateRepository.delete(salesAssociate);
         return salesAssociate;
     }
@@ -79,14 +85,17 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
      * Update SalesAssociate
      * @param id identifier of SalesAssociate to be updated
      * @param salesAssociate SalesAssociate object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated SalesAssociate
      * @throws NotFoundException if no SalesAssociate with matching id found
+     * @throws PreconditionFailedException if the SalesAssociate is at none of the expected versions
      */
     @Override
     @Transactional
-    public SalesAssociate editEmployee(Long id, SalesAssociate salesAssociate) {
+    public SalesAssociate editEmployee(Long id, SalesAssociate salesAssociate, Set<Long> versions) {
         LOGGER.info("Update Sales Associate with id {}", id);
         SalesAssociate salesAssociateToEdit = getEmployee(id);
+        Versions.check(Entity.SALES_ASSOCIATE, id, versions, salesAssociateToEdit.getVersion());
         salesAssociateToEdit.setSsn(salesAssociate.getSsn());
         salesAssociateToEdit.setFirstName(salesAssociate.getFirstName());
         salesAssociateToEdit.setMiddleInitial(salesAssociate.getMiddleInitial());
@@ -117,20 +126,8 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
     @Transactional
     public SalesAssociate assignClient(Long associateId, Long clientId) {
         LOGGER.info("Assign Client with id {} to Sales Associate with id {}", clientId, associateId);
-        SalesAssociate salesAssociate = getEmployee(associateId);
-        Client client = clientService.getClient(clientId);
-        if (Objects.nonNull(client.getSalesAssociate())) {
-            throw new AlreadyAssignedException(
-                    Entity.CLIENT.toString(),
-                    clientId,
-                    Entity.SALES_ASSOCIATE.toString(),
-                    client.getSalesAssociate().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        salesAssociate.addClient(client);
-        client.setSalesAssociate(salesAssociate);
-        return salesAssociate;
+        assignmentService.assign(Assignment.SALES_ASSOCIATE_CLIENT, associateId, clientId);
+        return getEmployee(associateId);
     }
 
     /**
@@ -143,9 +140,24 @@ public class SalesAssociateService implements EmployeeService<SalesAssociate> {
     @Transactional
     public SalesAssociate removeClient(Long associateId, Long clientId) {
         LOGGER.info("Remove Client with id {} from Sales Associate with id {}", clientId, associateId);
-        SalesAssociate salesAssociate = getEmployee(associateId);
-        Client client = clientService.getClient(clientId);
-        salesAssociate.removeClient(client);
-        return salesAssociate;
+        assignmentService.remove(Assignment.SALES_ASSOCIATE_CLIENT, associateId, clientId);
+        return getEmployee(associateId);
+    }
+
+    /**
+     * Get a page of Clients assigned to SalesAssociate
+     * @param id identifier of SalesAssociate
+     * @param after identifier of the last Client of the previous page
+     * @param limit maximum number of Clients to be fetched
+     * @return Slice of Clients with id greater than after
+     * @throws NotFoundException if no SalesAssociate with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Client> getClients(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Clients assigned to Sales Associate with id {}", id);
+        if (!salesAssociateRepository.existsById(id)) {
+            throw new NotFoundException(Entity.SALES_ASSOCIATE.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return clientService.getClientsBySalesAssociate(id, after, limit);
     }
 }
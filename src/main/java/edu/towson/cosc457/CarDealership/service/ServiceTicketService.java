@@ -1,49 +1,117 @@
 package edu.towson.cosc457.CarDealership.service;
 
-import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidTransitionException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
+import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.model.Comment;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionDto;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionReportDto;
 import edu.towson.cosc457.CarDealership.repository.ServiceTicketRepository;
 import lombok.AllArgsConstructor;
+import org.hibernate.query.NativeQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 @AllArgsConstructor
 public class ServiceTicketService {
     private final ServiceTicketRepository serviceTicketRepository;
     private final CommentService commentService;
+    private final EntityManager entityManager;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(AddressService.class);
+    private static final String TRANSITION_SQL = "UPDATE service_ticket SET ticket_status = ?1, "
+            + "date_updated = now(), version = version + 1 WHERE ticket_id = ANY (CAST(?2 AS BIGINT[])) "
+            + "AND ticket_status = ANY (CAST(?3 AS VARCHAR[])) RETURNING ticket_id";
 
     /**
      * Create a new ServiceTicket in the database
-     * @param serviceTicket ServiceTicket object to be added to database
+     * @param serviceTicket ServiceTicket object to be added to database, its Vehicle and Mechanic may only hold an id
      * @return ServiceTicket saved on repository
      */
+    @Transactional
     public ServiceTicket addServiceTicket(ServiceTicket serviceTicket) {
         LOGGER.info("Create new Service Ticket in the database");
+        if (serviceTicket != null) {
+            serviceTicket.setVehicle(References.resolve(entityManager, Vehicle.class, serviceTicket.getVehicle(),
+                    Vehicle::getId));
+            serviceTicket.setMechanic(References.resolve(entityManager, Mechanic.class, serviceTicket.getMechanic(),
+                    Mechanic::getId));
+        }
         return serviceTicketRepository.save(serviceTicket);
     }
 
     /**
-     * Get All ServiceTickets
-     * @return List of ServiceTickets
+     * Get a page of ServiceTickets ordered by id
+     * @param after identifier of the last ServiceTicket of the previous page
+     * @param limit maximum number of ServiceTickets to be fetched
+     * @return Slice of ServiceTickets with id greater than after
      */
-    public List<ServiceTicket> getServiceTickets() {
-        LOGGER.info("Get all Service Tickets");
-        return StreamSupport
-                .stream(serviceTicketRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<ServiceTicket> getServiceTickets(Long after, Integer limit) {
+        LOGGER.info("Get Service Tickets after id {}", after);
+        return serviceTicketRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Stream every ServiceTicket ordered by id through a database cursor
+     * @param action callback invoked for each ServiceTicket, entities are detached in batches once handed over
+     * @return number of ServiceTickets streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamServiceTickets(Consumer<ServiceTicket> action) {
+        LOGGER.info("Stream all Service Tickets");
+        return EntityStreams.forEachDetached(serviceTicketRepository.streamAll(), entityManager, action);
+    }
+
+    /**
+     * Get a page of ServiceTickets assigned to Vehicle ordered by id
+     * @param vehicleId identifier of Vehicle
+     * @param after identifier of the last ServiceTicket of the previous page
+     * @param limit maximum number of ServiceTickets to be fetched
+     * @return Slice of ServiceTickets with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<ServiceTicket> getServiceTicketsByVehicle(Long vehicleId, Long after, Integer limit) {
+        LOGGER.info("Get Service Tickets assigned to Vehicle with id {} after id {}", vehicleId, after);
+        return serviceTicketRepository.findByVehicleIdAndIdGreaterThanOrderByIdAsc(vehicleId, after, Cursor.limit(limit));
+    }
+
+    /**
+     * Get a page of ServiceTickets assigned to Mechanic ordered by id
+     * @param mechanicId identifier of Mechanic
+     * @param after identifier of the last ServiceTicket of the previous page
+     * @param limit maximum number of ServiceTickets to be fetched
+     * @return Slice of ServiceTickets with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<ServiceTicket> getServiceTicketsByMechanic(Long mechanicId, Long after, Integer limit) {
+        LOGGER.info("Get Service Tickets assigned to Mechanic with id {} after id {}", mechanicId, after);
+        return serviceTicketRepository.findByMechanicIdAndIdGreaterThanOrderByIdAsc(mechanicId, after, Cursor.limit(limit));
     }
 
     /**
@@ -52,6 +120,7 @@ public class ServiceTicketService {
      * @return fetched ServiceTicket
      * @throws NotFoundException if no ServiceTicket with matching id found
      */
+    @Transactional(readOnly = true)
     public ServiceTicket getServiceTicket(Long id) {
         LOGGER.info("Get Service Ticket with id {}", id);
         return serviceTicketRepository.findById(id)
@@ -61,12 +130,15 @@ public class ServiceTicketService {
     /**
      * Delete ServiceTicket by Id
      * @param id identifier of ServiceTicket to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted ServiceTicket
      * @throws NotFoundException if no ServiceTicket with matching id found
+     * @throws PreconditionFailedException if the ServiceTicket is at none of the expected versions
      */
-    public ServiceTicket deleteServiceTicket(Long id) {
+    public ServiceTicket deleteServiceTicket(Long id, Set<Long> versions) {
         LOGGER.info("Delete Service Ticket with id {}", id);
         ServiceTicket serviceTicket = getServiceTicket(id);
+        Versions.check(Entity.SERVICE_TICKET, id, versions, serviceTicket.getVersion());
         serviceTicketRepository.delete(serviceTicket);
         return serviceTicket;
     }
@@ -75,13 +147,20 @@ public class ServiceTicketService {
      * Update ServiceTicket
      * @param id identifier of ServiceTicket to be updated
      * @param serviceTicket ServiceTicket object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated ServiceTicket
      * @throws NotFoundException if no ServiceTicket with matching id found
+     * @throws PreconditionFailedException if the ServiceTicket is at none of the expected versions
+     * @throws InvalidTransitionException if the ServiceTicket cannot move to the new Status
      */
     @Transactional
-    public ServiceTicket editServiceTicket(Long id, ServiceTicket serviceTicket) {
+    public ServiceTicket editServiceTicket(Long id, ServiceTicket serviceTicket, Set<Long> versions) {
         LOGGER.info("Update Service Ticket with id {}", id);
         ServiceTicket serviceTicketToEdit = getServiceTicket(id);
+        Versions.check(Entity.SERVICE_TICKET, id, versions, serviceTicketToEdit.getVersion());
+        if (serviceTicket.getStatus() != serviceTicketToEdit.getStatus()) {
+            sources(serviceTicketToEdit.getStatus(), serviceTicket.getStatus(), HttpStatus.CONFLICT);
+        }
         serviceTicketToEdit.setVehicle(serviceTicket.getVehicle());
         serviceTicketToEdit.setMechanic(serviceTicket.getMechanic());
         serviceTicketToEdit.setDateCreated(serviceTicket.getDateCreated());
@@ -91,6 +170,79 @@ public class ServiceTicketService {
         return serviceTicketToEdit;
     }
 
+    /**
+     * Move ServiceTicket to another Status with a single compare-and-set statement, the ticket is not loaded first
+     * @param id identifier of ServiceTicket to be moved
+     * @param from Status the ticket is expected to be in, null for any Status that may move to to
+     * @param to Status to move to
+     * @return updated ServiceTicket
+     * @throws NotFoundException if no ServiceTicket with matching id found
+     * @throws InvalidTransitionException if from cannot move to to, or the ticket is no longer in from
+     */
+    @Transactional
+    public ServiceTicket transitionServiceTicket(Long id, Status from, Status to) {
+        LOGGER.info("Move Service Ticket with id {} from {} to {}", id, from, to);
+        if (transition(Collections.singletonList(id), sources(from, to, HttpStatus.BAD_REQUEST), to).isEmpty()) {
+            throw new InvalidTransitionException(getServiceTicket(id).getStatus(), to, HttpStatus.CONFLICT);
+        }
+        return getServiceTicket(id);
+    }
+
+    /**
+     * Move groups of ServiceTickets to another Status, one compare-and-set statement per group
+     * @param transitions groups of ServiceTicket ids with the Status to move them from and to
+     * @return for each group the ids that moved and those skipped, because they do not exist or could not move
+     * @throws InvalidTransitionException if the from Status of a group cannot move to its to Status
+     */
+    @Transactional
+    public List<TransitionReportDto> transitionServiceTickets(List<TransitionDto> transitions) {
+        List<TransitionReportDto> reports = new ArrayList<>(transitions.size());
+        for (TransitionDto transition : transitions) {
+            Set<Status> sources = sources(transition.getFrom(), transition.getTo(), HttpStatus.BAD_REQUEST);
+            Set<Long> ids = transition.getIds() == null ? Collections.emptySet() : transition.getIds().stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            LOGGER.info("Move {} Service Tickets from {} to {}", ids.size(), sources, transition.getTo());
+            Set<Long> moved = ids.isEmpty() ? Collections.emptySet() : transition(ids, sources, transition.getTo());
+            reports.add(TransitionReportDto.builder()
+                    .to(transition.getTo())
+                    .transitioned(ids.stream().filter(moved::contains).collect(Collectors.toList()))
+                    .skipped(ids.stream().filter(id -> !moved.contains(id)).collect(Collectors.toList()))
+                    .build());
+        }
+        return reports;
+    }
+
+    /**
+     * @param from Status the tickets are expected to be in, null for any
+     * @return Statuses a ticket may be in to move to to
+     * @throws InvalidTransitionException with the given status if from cannot move to to
+     */
+    private static Set<Status> sources(Status from, Status to, HttpStatus status) {
+        if (to == null || from != null && !from.canTransitionTo(to)) {
+            throw new InvalidTransitionException(from, to, status);
+        }
+        return from == null ? Status.sources(to) : Collections.singleton(from);
+    }
+
+    /**
+     * Array parameters keep the statement text the same for any number of ids, and date_updated is stamped by the
+     * database
+     * @return ids of the ServiceTickets that moved
+     */
+    private Set<Long> transition(Collection<Long> ids, Set<Status> sources, Status to) {
+        Query statement = entityManager.createNativeQuery(TRANSITION_SQL)
+                .setParameter(1, to.name())
+                .setParameter(2, ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}")))
+                .setParameter(3, sources.stream().map(Status::name).collect(Collectors.joining(",", "{", "}")));
+        statement.unwrap(NativeQuery.class).addSynchronizedEntityClass(ServiceTicket.class);
+        Set<Long> moved = new HashSet<>();
+        for (Object id : statement.getResultList()) {
+            moved.add(((Number) id).longValue());
+        }
+        return moved;
+    }
+
     /**
      * Add Comment to ServiceTicket
      * @param ticketId identifier of ServiceTicket to be updated
@@ -100,20 +252,8 @@ public class ServiceTicketService {
     @Transactional
     public ServiceTicket addCommentToTicket(Long ticketId, Long commentId) {
         LOGGER.info("Add Comment with id {} to Service Ticket with id {}", commentId, ticketId);
-        ServiceTicket ticket = getServiceTicket(ticketId);
-        Comment comment = commentService.getComment(commentId);
-        if(Objects.nonNull(comment.getServiceTicket())){
-            throw new AlreadyAssignedException(
-                    Entity.COMMENT.toString(),
-                    commentId,
-                    Entity.SERVICE_TICKET.toString(),
-                    comment.getServiceTicket().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        ticket.addComment(comment);
-        comment.setServiceTicket(ticket);
-        return ticket;
+        assignmentService.assign(Assignment.SERVICE_TICKET_COMMENT, ticketId, commentId);
+        return touch(getServiceTicket(ticketId));
     }
 
     /**
@@ -125,9 +265,33 @@ public class ServiceTicketService {
     @Transactional
     public ServiceTicket removeCommentFromTicket(Long ticketId, Long commentId) {
         LOGGER.info("Remove Comment with id {} from Service Ticket with id {}", commentId, ticketId);
-        ServiceTicket serviceTicket = getServiceTicket(ticketId);
-        Comment comment = commentService.getComment(commentId);
-        serviceTicket.removeComment(comment);
+        assignmentService.remove(Assignment.SERVICE_TICKET_COMMENT, ticketId, commentId);
+        return touch(getServiceTicket(ticketId));
+    }
+
+    /**
+     * Comments are part of the ServiceTicket representation but live on their own table, so changing them has to
+     * increment the ServiceTicket version for its ETag to change too
+     */
+    private ServiceTicket touch(ServiceTicket serviceTicket) {
+        entityManager.lock(serviceTicket, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         return serviceTicket;
     }
+
+    /**
+     * Get a page of Comments assigned to ServiceTicket
+     * @param id identifier of ServiceTicket
+     * @param after identifier of the last Comment of the previous page
+     * @param limit maximum number of Comments to be fetched
+     * @return Slice of Comments with id greater than after
+     * @throws NotFoundException if no ServiceTicket with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Comment> getComments(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Comments assigned to Service Ticket with id {}", id);
+        if (!serviceTicketRepository.existsById(id)) {
+            throw new NotFoundException(Entity.SERVICE_TICKET.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return commentService.getCommentsByServiceTicket(id, after, limit);
+    }
 }
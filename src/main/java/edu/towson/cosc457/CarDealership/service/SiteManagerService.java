@@ -2,6 +2,8 @@ package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.Manager;
 import edu.towson.cosc457.CarDealership.model.SiteManager;
@@ -9,20 +11,19 @@ import edu.towson.cosc457.CarDealership.repository.SiteManagerRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class SiteManagerService implements EmployeeService<SiteManager> {
     private final SiteManagerRepository siteManagerRepository;
     private final ManagerService managerService;
+    private final AssignmentService assignmentService;
     private static final Logger LOGGER = LoggerFactory.getLogger(SiteManagerService.class);
 
     /**
@@ -37,15 +38,16 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
     }
 
     /**
-     * Get All SiteManagers
-     * @return List of SiteManagers
+     * Get a page of SiteManagers ordered by id
+     * @param after identifier of the last SiteManager of the previous page
+     * @param limit maximum number of SiteManagers to be fetched
+     * @return Slice of SiteManagers with id greater than after
      */
     @Override
-    public List<SiteManager> getEmployees() {
-        LOGGER.info("Get all Site Managers");
-        return StreamSupport
-                .stream(siteManagerRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<SiteManager> getEmployees(Long after, Integer limit) {
+        LOGGER.info("Get Site Managers after id {}", after);
+        return siteManagerRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
     }
 
     /**
@@ -55,6 +57,7 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
      * @throws NotFoundException if no SiteManager with matching id found
      */
     @Override
+    @Transactional(readOnly = true)
     public SiteManager getEmployee(Long id) {
         LOGGER.info("Get Site Manager with id {}", id);
         return siteManagerRepository.findById(id)
@@ -64,13 +67,16 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
     /**
      * Delete SiteManager by Id
      * @param id identifier of SiteManager to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted SiteManager
      * @throws NotFoundException if no SiteManager with matching id found
+     * @throws PreconditionFailedException if the SiteManager is at none of the expected versions
      */
     @Override
-    public SiteManager deleteEmployee(Long id) {
+    public SiteManager deleteEmployee(Long id, Set<Long> versions) {
         LOGGER.info("Delete Site Manager with id {}", id);
         SiteManager siteManager = getEmployee(id);
+        Versions.check(Entity.SITE_MANAGER, id, versions, siteManager.getVersion());
         siteManagerRepository.delete(siteManager);
         return siteManager;
     }
@@ -79,14 +85,17 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
      * Update SiteManager
      * @param id identifier of SiteManager to be updated
      * @param siteManager SiteManager object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated SiteManager
      * @throws NotFoundException if no SiteManager with matching id found
+     * @throws PreconditionFailedException if the SiteManager is at none of the expected versions
      */
     @Override
     @Transactional
-    public SiteManager editEmployee(Long id, SiteManager siteManager) {
+    public SiteManager editEmployee(Long id, SiteManager siteManager, Set<Long> versions) {
         LOGGER.info("Update Site Manager with id {}", id);
         SiteManager siteManagerToEdit = getEmployee(id);
+        Versions.check(Entity.SITE_MANAGER, id, versions, siteManagerToEdit.getVersion());
         siteManagerToEdit.setSsn(siteManager.getSsn());
         siteManagerToEdit.setFirstName(siteManager.getFirstName());
         siteManagerToEdit.setMiddleInitial(siteManager.getMiddleInitial());
@@ -116,20 +125,8 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
     @Transactional
     public SiteManager assignToManager(Long siteManagerId, Long managerId) {
         LOGGER.info("Assign Manager with id {} to Site Manager with id {}", managerId, siteManagerId);
-        SiteManager siteManager = getEmployee(siteManagerId);
-        Manager manager = managerService.getEmployee(managerId);
-        if (Objects.nonNull(manager.getSiteManager())) {
-            throw new AlreadyAssignedException(
-                    Entity.MANAGER.toString(),
-                    managerId,
-                    Entity.SITE_MANAGER.toString(),
-                    manager.getSiteManager().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        siteManager.assignManager(manager);
-        manager.setSiteManager(siteManager);
-        return siteManager;
+        assignmentService.assign(Assignment.SITE_MANAGER_MANAGER, siteManagerId, managerId);
+        return getEmployee(siteManagerId);
     }
 
     /**
@@ -142,9 +139,24 @@ public class SiteManagerService implements EmployeeService<SiteManager> {
     @Transactional
     public SiteManager removeFromManager(Long siteManagerId, Long managerId) {
         LOGGER.info("Remove Manager with id {} from Site Manager with id {}", managerId, siteManagerId);
-        SiteManager siteManager = getEmployee(siteManagerId);
-        Manager manager = managerService.getEmployee(managerId);
-        siteManager.removeManager(manager);
-        return siteManager;
+        assignmentService.remove(Assignment.SITE_MANAGER_MANAGER, siteManagerId, managerId);
+        return getEmployee(siteManagerId);
+    }
+
+    /**
+     * Get a page of Managers assigned to SiteManager
+     * @param id identifier of SiteManager
+     * @param after identifier of the last Manager of the previous page
+     * @param limit maximum number of Managers to be fetched
+     * @return Slice of Managers with id greater than after
+     * @throws NotFoundException if no SiteManager with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<Manager> getManagers(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Managers assigned to Site Manager with id {}", id);
+        if (!siteManagerRepository.existsById(id)) {
+            throw new NotFoundException(Entity.SITE_MANAGER.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return managerService.getManagersBySiteManager(id, after, limit);
     }
 }
@@ -0,0 +1,29 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of the in-memory indexes until the transaction that wrote the entity commits, so a rollback never
+ * leaves them ahead of the database
+ */
+final class Transactions {
+    private Transactions() {
+    }
+
+    /**
+     * @param action run once the current transaction commits, or right away outside of a transaction
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,18 +1,17 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.User;
 import edu.towson.cosc457.CarDealership.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -31,14 +30,15 @@ public class UserService {
     }
 
     /**
-     * Get All Users
-     * @return List of Users
+     * Get a page of Users ordered by id
+     * @param after identifier of the last User of the previous page
+     * @param limit maximum number of Users to be fetched
+     * @return Slice of Users with id greater than after
      */
-    public List<User> getUsers() {
-        LOGGER.info("Get all Users");
-        return StreamSupport
-                .stream(userRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<User> getUsers(Long after, Integer limit) {
+        LOGGER.info("Get Users after id {}", after);
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
     }
 
     /**
@@ -47,6 +47,7 @@ public class UserService {
      * @return fetched User
      * @throws NotFoundException if no User with matching id found
      */
+    @Transactional(readOnly = true)
     public User getUser(Long id) {
         LOGGER.info("Get User with id {}", id);
         return userRepository.findById(id)
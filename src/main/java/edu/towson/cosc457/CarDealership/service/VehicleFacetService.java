@@ -0,0 +1,356 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleFacetsDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
+import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import lombok.Value;
+import lombok.With;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index over Vehicles. Each Vehicle id gets a dense int slot from {@link IdSlots}; categorical
+ * attributes keep one RoaringBitmap of slots per value and numeric attributes a {@link NumericIndex}, so a filter is
+ * a handful of bitmap intersections and facet counts are intersection cardinalities; neither touches the database,
+ * and a change costs a few O(log n) updates, none of them deferred to the next query.
+ * The index is built once the application is ready and then kept current by {@link VehicleService}, applying every
+ * change after its transaction commits. Changes applied while a rebuild loads Vehicles are replayed on top of what it
+ * loaded, so a rebuild never resurrects a Vehicle deleted meanwhile. A rebuild requested while another one loads
+ * returns at once and the loading thread runs once more for it, so concurrent requests merge into one extra run;
+ * the loading lock is a ReentrantLock, which a virtual thread can wait on without pinning its carrier.
+ */
+@Service
+public class VehicleFacetService {
+    static final int PRICE_BUCKET_WIDTH = 5000;
+    private static final int CENTS = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(VehicleFacetService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuilding = new ReentrantLock();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    /**
+     * Changes applied since the running rebuild started loading, null when none runs. Guarded by the write lock
+     */
+    private List<Runnable> pending;
+
+    private final IdSlots slots = new IdSlots();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, Snapshot> snapshots = new HashMap<>();
+    private final BitmapFacet<String> makes = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<String> models = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<String> colors = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<String> features = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<Long> lots = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<VehicleType> types =
+            new BitmapFacet<>(new EnumMap<>(VehicleType.class), () -> new EnumMap<>(VehicleType.class));
+    private final BitmapFacet<TransmissionType> transmissions =
+            new BitmapFacet<>(new EnumMap<>(TransmissionType.class), () -> new EnumMap<>(TransmissionType.class));
+    private final BitmapFacet<Integer> years = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final BitmapFacet<Integer> priceBuckets = new BitmapFacet<>(new HashMap<>(), TreeMap::new);
+    private final NumericIndex yearIndex = new NumericIndex();
+    private final NumericIndex mpgIndex = new NumericIndex();
+    private final NumericIndex mileageIndex = new NumericIndex();
+    private final NumericIndex priceIndex = new NumericIndex();
+
+    public VehicleFacetService(VehicleRepository vehicleRepository, EntityManager entityManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Load every Vehicle into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildRequested.set(true);
+        while (rebuildRequested.get() && rebuilding.tryLock()) {
+            try {
+                if (rebuildRequested.getAndSet(false)) {
+                    load();
+                }
+            } finally {
+                rebuilding.unlock();
+            }
+        }
+    }
+
+    private void load() {
+        LOGGER.info("Build Vehicle facet index");
+        setPending(new ArrayList<>());
+        try {
+            List<Snapshot> loaded = new ArrayList<>();
+            EntityStreams.forEachDetached(vehicleRepository.streamAll(), entityManager,
+                    vehicle -> loaded.add(Snapshot.of(vehicle)));
+            lock.writeLock().lock();
+            try {
+                new ArrayList<>(snapshots.keySet()).forEach(this::unindex);
+                loaded.forEach(this::index);
+                pending.forEach(Runnable::run);
+                LOGGER.info("Indexed {} Vehicles for facets, replayed {} changes", loaded.size(), pending.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setPending(null);
+        }
+    }
+
+    /**
+     * Add or replace Vehicle in the index once the current transaction, if any, commits
+     * @param vehicle saved Vehicle
+     */
+    public void put(Vehicle vehicle) {
+        Snapshot snapshot = Snapshot.of(vehicle);
+        Transactions.afterCommit(() -> write(() -> {
+            unindex(snapshot.getId());
+            index(snapshot);
+        }));
+    }
+
+    /**
+     * Move Vehicle to another Lot in the index once the current transaction, if any, commits
+     * @param id identifier of reassigned Vehicle
+     * @param lotId identifier of its new Lot, null once removed from its Lot
+     */
+    public void moveToLot(Long id, Long lotId) {
+        Transactions.afterCommit(() -> write(() -> {
+            Snapshot snapshot = snapshots.get(id);
+            if (snapshot != null) {
+                int slot = slots.get(id);
+                lots.remove(snapshot.getLotId(), slot);
+                lots.add(lotId, slot);
+                snapshots.put(id, snapshot.withLotId(lotId));
+            }
+        }));
+    }
+
+    /**
+     * Drop Vehicle from the index once the current transaction, if any, commits
+     * @param id identifier of deleted Vehicle
+     */
+    public void remove(Long id) {
+        Transactions.afterCommit(() -> write(() -> unindex(id)));
+    }
+
+    /**
+     * Count Vehicles matching criteria, in total and per make, type, transmission, color, year and price bucket
+     * @param criteria filters, null fields are ignored; features matches one comma separated feature exactly
+     * @return facet counts
+     */
+    public VehicleFacetsDto getFacets(VehicleSearchDto criteria) {
+        LOGGER.info("Get Vehicle facets matching {}", criteria);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap make = StringUtils.hasText(criteria.getMake()) ? makes.get(criteria.getMake()) : null;
+            RoaringBitmap type = criteria.getType() == null ? null : types.get(criteria.getType());
+            RoaringBitmap transmission = criteria.getTransmission() == null
+                    ? null : transmissions.get(criteria.getTransmission());
+            RoaringBitmap color = StringUtils.hasText(criteria.getColor()) ? colors.get(criteria.getColor()) : null;
+            RoaringBitmap year = criteria.getMinYear() == null && criteria.getMaxYear() == null
+                    ? null : yearIndex.range(toLong(criteria.getMinYear()), toLong(criteria.getMaxYear()));
+            RoaringBitmap price = criteria.getMinPrice() == null && criteria.getMaxPrice() == null
+                    ? null : priceIndex.range(toMinCents(criteria.getMinPrice()), toMaxCents(criteria.getMaxPrice()));
+
+            RoaringBitmap others = intersect(all,
+                    StringUtils.hasText(criteria.getModel()) ? models.get(criteria.getModel()) : null,
+                    StringUtils.hasText(criteria.getFeatures()) ? features.get(normalize(criteria.getFeatures())) : null,
+                    criteria.getLotId() == null ? null : lots.get(criteria.getLotId()),
+                    criteria.getMinMpg() == null && criteria.getMaxMpg() == null
+                            ? null : mpgIndex.range(toLong(criteria.getMinMpg()), toLong(criteria.getMaxMpg())),
+                    criteria.getMinMileage() == null && criteria.getMaxMileage() == null
+                            ? null : mileageIndex.range(toLong(criteria.getMinMileage()),
+                            toLong(criteria.getMaxMileage())));
+
+            Map<String, Long> prices = new LinkedHashMap<>();
+            priceBuckets.counts(intersect(others, make, type, transmission, color, year))
+                    .forEach((bucket, count) -> prices.put(bucketLabel(bucket), count));
+            return VehicleFacetsDto.builder()
+                    .total(intersect(others, make, type, transmission, color, year, price).getLongCardinality())
+                    .makes(makes.counts(intersect(others, type, transmission, color, year, price)))
+                    .types(types.counts(intersect(others, make, transmission, color, year, price)))
+                    .transmissions(transmissions.counts(intersect(others, make, type, color, year, price)))
+                    .colors(colors.counts(intersect(others, make, type, transmission, year, price)))
+                    .years(years.counts(intersect(others, make, type, transmission, color, price)))
+                    .prices(prices)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count indexed Vehicles per Lot from the index, without querying the database
+     * @return number of Vehicles of each Lot holding at least one, by Lot id
+     */
+    public Map<Long, Long> getVehiclesPerLot() {
+        lock.readLock().lock();
+        try {
+            return lots.counts(all);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply change under the write lock, and record it for replay if a rebuild is loading
+     */
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPending(List<Runnable> changes) {
+        lock.writeLock().lock();
+        try {
+            pending = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Snapshot snapshot) {
+        int id = slots.add(snapshot.getId());
+        all.add(id);
+        makes.add(snapshot.getMake(), id);
+        models.add(snapshot.getModel(), id);
+        colors.add(snapshot.getColor(), id);
+        lots.add(snapshot.getLotId(), id);
+        types.add(snapshot.getType(), id);
+        transmissions.add(snapshot.getTransmission(), id);
+        years.add(snapshot.getYear(), id);
+        priceBuckets.add(snapshot.getPriceBucket(), id);
+        snapshot.getFeatures().forEach(feature -> features.add(feature, id));
+        yearIndex.put(id, toLong(snapshot.getYear()));
+        mpgIndex.put(id, toLong(snapshot.getMpg()));
+        mileageIndex.put(id, toLong(snapshot.getMileage()));
+        priceIndex.put(id, snapshot.getPriceCents());
+        snapshots.put(snapshot.getId(), snapshot);
+    }
+
+    private void unindex(long vehicleId) {
+        Snapshot snapshot = snapshots.remove(vehicleId);
+        if (snapshot == null) {
+            return;
+        }
+        int id = slots.remove(vehicleId);
+        all.remove(id);
+        makes.remove(snapshot.getMake(), id);
+        models.remove(snapshot.getModel(), id);
+        colors.remove(snapshot.getColor(), id);
+        lots.remove(snapshot.getLotId(), id);
+        types.remove(snapshot.getType(), id);
+        transmissions.remove(snapshot.getTransmission(), id);
+        years.remove(snapshot.getYear(), id);
+        priceBuckets.remove(snapshot.getPriceBucket(), id);
+        snapshot.getFeatures().forEach(feature -> features.remove(feature, id));
+        yearIndex.remove(id);
+        mpgIndex.remove(id);
+        mileageIndex.remove(id);
+        priceIndex.remove(id);
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base.clone();
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static String bucketLabel(int bucket) {
+        long from = (long) bucket * PRICE_BUCKET_WIDTH;
+        return MessageFormat.format("{0,number,#}-{1,number,#}", from, from + PRICE_BUCKET_WIDTH - 1);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private static Long toMinCents(Double price) {
+        return price == null ? null : (long) Math.ceil(price * CENTS);
+    }
+
+    private static Long toMaxCents(Double price) {
+        return price == null ? null : (long) Math.floor(price * CENTS);
+    }
+
+    /**
+     * Facet values of a Vehicle at the time it was indexed, kept so it can be unindexed without reloading it
+     */
+    @Value
+    private static class Snapshot {
+        long id;
+        String make;
+        String model;
+        String color;
+        @With
+        Long lotId;
+        VehicleType type;
+        TransmissionType transmission;
+        Integer year;
+        Integer mpg;
+        Integer mileage;
+        Long priceCents;
+        Integer priceBucket;
+        Set<String> features;
+
+        static Snapshot of(Vehicle vehicle) {
+            Set<String> features = new HashSet<>();
+            if (StringUtils.hasText(vehicle.getFeatures())) {
+                for (String feature : vehicle.getFeatures().split(",")) {
+                    if (StringUtils.hasText(feature)) {
+                        features.add(normalize(feature));
+                    }
+                }
+            }
+            Double price = vehicle.getPrice();
+            return new Snapshot(vehicle.getId(),
+                    vehicle.getMake(),
+                    vehicle.getModel(),
+                    vehicle.getColor(),
+                    vehicle.getLot() == null ? null : vehicle.getLot().getId(),
+                    vehicle.getType(),
+                    vehicle.getTransmission(),
+                    vehicle.getYear(),
+                    vehicle.getMpg(),
+                    vehicle.getMileage(),
+                    price == null ? null : Math.round(price * CENTS),
+                    price == null ? null : (int) (price / PRICE_BUCKET_WIDTH),
+                    features);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidImportException;
+import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.misc.ImportFormat;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.Lot;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportErrorDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportReportDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Bulk Vehicle import. Lines are parsed and validated one at a time and written straight into a COPY stream, so
+ * memory use does not grow with the file. Rows land in a transaction scoped staging table and are merged into vehicle
+ * with a single INSERT ... SELECT, skipping VINs already present in the table or earlier in the file. The inserted
+ * rows come back through RETURNING and are put into the facet and budget match indexes once the transaction commits,
+ * so an import updates them in proportion to its own rows instead of reloading every Vehicle
+ */
+@Service
+@AllArgsConstructor
+public class VehicleImportService {
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_COLUMNS = CSV_MAPPER.schemaFor(VehicleDto.class);
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMPORARY TABLE vehicle_import ("
+            + "line BIGINT NOT NULL, vin VARCHAR(17) NOT NULL, make VARCHAR(45), model VARCHAR(45), year INT, "
+            + "color VARCHAR(45), vehicle_type VARCHAR(11), transmission VARCHAR(9), features VARCHAR(255), mpg INT, "
+            + "mileage INT, price DECIMAL, lot_id BIGINT) ON COMMIT DROP";
+    private static final String STAGING_COLUMNS = "line, vin, make, model, year, color, vehicle_type, transmission, "
+            + "features, mpg, mileage, price, lot_id";
+    private static final String SELECT_UNKNOWN_LOTS = "SELECT line, vin, lot_id FROM vehicle_import i "
+            + "WHERE lot_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM lot l WHERE l.lot_id = i.lot_id) ORDER BY line";
+    private static final String DELETE_UNKNOWN_LOTS = "DELETE FROM vehicle_import i "
+            + "WHERE lot_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM lot l WHERE l.lot_id = i.lot_id)";
+    private static final String SELECT_DUPLICATES = "SELECT line, vin, existing FROM ("
+            + "SELECT line, vin, EXISTS (SELECT 1 FROM vehicle v WHERE v.vin = i.vin) AS existing, "
+            + "row_number() OVER (PARTITION BY vin ORDER BY line) AS occurrence FROM vehicle_import i) d "
+            + "WHERE existing OR occurrence > 1 ORDER BY line";
+    // Ids are drawn from vehicle_seq one block of 50 at a time, as Hibernate's pooled-lo optimizer does, instead of
+    // one nextval per row that would waste the other 49 ids of each block
+    private static final String MERGE = "WITH fresh AS (SELECT DISTINCT ON (vin) * FROM vehicle_import i "
+            + "WHERE NOT EXISTS (SELECT 1 FROM vehicle v WHERE v.vin = i.vin) ORDER BY vin, line), "
+            + "numbered AS (SELECT f.*, row_number() OVER (ORDER BY line) - 1 AS n FROM fresh f), "
+            + "blocks AS (SELECT row_number() OVER () - 1 AS block, nextval('vehicle_seq') AS first_id "
+            + "FROM generate_series(1, (SELECT (count(*) + 49) / 50 FROM fresh))) "
+            + "INSERT INTO vehicle (vehicle_id, vin, make, model, year, color, vehicle_type, transmission, features, "
+            + "mpg, mileage, price, lot_id) "
+            + "SELECT b.first_id + n % 50, vin, make, model, year, color, vehicle_type, transmission, features, mpg, "
+            + "mileage, price, lot_id FROM numbered JOIN blocks b ON b.block = n / 50 "
+            + "ON CONFLICT (vin) DO NOTHING "
+            + "RETURNING vehicle_id, vin, make, model, year, color, vehicle_type, transmission, features, mpg, "
+            + "mileage, price, lot_id";
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final VehicleMapper vehicleMapper;
+    private final VehicleFacetService vehicleFacetService;
+    private final BudgetMatchService budgetMatchService;
+    private static final Logger LOGGER = LoggerFactory.getLogger(VehicleImportService.class);
+
+    /**
+     * Import Vehicles from a CSV (with header row) or NDJSON stream, one Vehicle per line. Invalid lines, unknown lots
+     * and duplicate VINs are reported and skipped, every other line is inserted in a single transaction
+     * @param body request body, read once and not closed
+     * @param format format of body
+     * @return counts of received, imported, duplicate and rejected lines and the first errors
+     * @throws InvalidImportException if a CSV body has no header or an unknown column
+     */
+    public VehicleImportReportDto importVehicles(InputStream body, ImportFormat format) {
+        LOGGER.info("Import Vehicles from {}", format);
+        VehicleImportReportDto report = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<VehicleImportReportDto>) connection -> load(connection, body, format)));
+        LOGGER.info("Imported {} of {} Vehicles, {} duplicates, {} rejected", report.getImported(),
+                report.getReceived(), report.getDuplicates(), report.getRejected());
+        return report;
+    }
+
+    private VehicleImportReportDto load(Connection connection, InputStream body, ImportFormat format)
+            throws SQLException {
+        VehicleImportReportDto report = VehicleImportReportDto.builder()
+                .received(0L)
+                .imported(0L)
+                .duplicates(0L)
+                .rejected(0L)
+                .build();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+        try (CopyWriter copy = CopyWriter.copy(connection, "vehicle_import", STAGING_COLUMNS)) {
+            stage(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), format, copy, report);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        jdbcTemplate.query(SELECT_UNKNOWN_LOTS, (RowCallbackHandler) resultSet -> {
+            reject(report, resultSet.getLong("line"), resultSet.getString("vin"),
+                    "Lot " + resultSet.getLong("lot_id") + " does not exist");
+        });
+        jdbcTemplate.update(DELETE_UNKNOWN_LOTS);
+        jdbcTemplate.query(SELECT_DUPLICATES, (RowCallbackHandler) resultSet -> {
+            report.setDuplicates(report.getDuplicates() + 1);
+            addError(report, resultSet.getLong("line"), resultSet.getString("vin"), resultSet.getBoolean("existing")
+                    ? "Vehicle with this VIN already exists"
+                    : "Duplicate VIN, first occurrence imported");
+        });
+        jdbcTemplate.query(MERGE, (RowCallbackHandler) resultSet -> {
+            Vehicle vehicle = toVehicle(resultSet);
+            vehicleFacetService.put(vehicle);
+            budgetMatchService.putVehicle(vehicle);
+            report.setImported(report.getImported() + 1);
+        });
+        report.getErrors().sort(Comparator.comparing(VehicleImportErrorDto::getLine));
+        return report;
+    }
+
+    private void stage(BufferedReader reader, ImportFormat format, CopyWriter copy, VehicleImportReportDto report)
+            throws IOException {
+        ObjectReader rowReader = format == ImportFormat.CSV
+                ? csvReader(reader.readLine())
+                : objectMapper.readerFor(VehicleDto.class);
+        long line = format == ImportFormat.CSV ? 1 : 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (!StringUtils.hasText(text)) {
+                continue;
+            }
+            report.setReceived(report.getReceived() + 1);
+            VehicleDto vehicleDto;
+            try {
+                vehicleDto = rowReader.readValue(text);
+            } catch (JsonProcessingException exception) {
+                reject(report, line, null, exception.getOriginalMessage());
+                continue;
+            }
+            String error = validate(vehicleDto);
+            if (error != null) {
+                reject(report, line, vehicleDto.getVin(), error);
+                continue;
+            }
+            vehicleDto.setId(null);
+            vehicleDto.setVin(vehicleDto.getVin().trim().toUpperCase(Locale.ROOT));
+            writeRow(copy, line, vehicleMapper.fromDto(vehicleDto));
+        }
+    }
+
+    private static ObjectReader csvReader(String header) throws IOException {
+        if (!StringUtils.hasText(header)) {
+            throw new InvalidImportException("missing CSV header", HttpStatus.BAD_REQUEST);
+        }
+        String[] names = CSV_MAPPER.readerFor(String[].class).readValue(header);
+        CsvSchema.Builder schema = CsvSchema.builder();
+        for (String name : names) {
+            if (CSV_COLUMNS.column(name.trim()) == null) {
+                throw new InvalidImportException("unknown column " + name, HttpStatus.BAD_REQUEST);
+            }
+            schema.addColumn(name.trim());
+        }
+        return CSV_MAPPER.readerFor(VehicleDto.class).with(schema.build());
+    }
+
+    /**
+     * @param vehicleDto parsed line
+     * @return reason vehicleDto cannot be stored, null if it is valid
+     */
+    static String validate(VehicleDto vehicleDto) {
+        if (!StringUtils.hasText(vehicleDto.getVin()) || vehicleDto.getVin().trim().length() > 17) {
+            return "vin must have 1 to 17 characters";
+        }
+        if (!hasText(vehicleDto.getMake(), 45)) {
+            return "make must have 1 to 45 characters";
+        }
+        if (!hasText(vehicleDto.getModel(), 45)) {
+            return "model must have 1 to 45 characters";
+        }
+        if (!hasText(vehicleDto.getColor(), 45)) {
+            return "color must have 1 to 45 characters";
+        }
+        if (vehicleDto.getYear() == null || vehicleDto.getType() == null || vehicleDto.getTransmission() == null
+                || vehicleDto.getMpg() == null || vehicleDto.getMileage() == null) {
+            return "year, type, transmission, mpg and mileage are required";
+        }
+        if (vehicleDto.getFeatures() != null && vehicleDto.getFeatures().length() > 255) {
+            return "features must have at most 255 characters";
+        }
+        return null;
+    }
+
+    private static boolean hasText(String value, int maxLength) {
+        return StringUtils.hasText(value) && value.length() <= maxLength;
+    }
+
+    private static void writeRow(CopyWriter copy, long line, Vehicle vehicle) throws IOException {
+        copy.value(line)
+                .value(vehicle.getVin())
+                .value(vehicle.getMake())
+                .value(vehicle.getModel())
+                .value(vehicle.getYear())
+                .value(vehicle.getColor())
+                .value(vehicle.getType().name())
+                .value(vehicle.getTransmission().name())
+                .value(StringUtils.hasText(vehicle.getFeatures()) ? vehicle.getFeatures() : null)
+                .value(vehicle.getMpg())
+                .value(vehicle.getMileage())
+                .value(vehicle.getPrice() == null ? null : BigDecimal.valueOf(vehicle.getPrice()).toPlainString())
+                .value(vehicle.getLot() == null ? null : vehicle.getLot().getId())
+                .endRow();
+    }
+
+    private static Vehicle toVehicle(ResultSet resultSet) throws SQLException {
+        BigDecimal price = resultSet.getBigDecimal("price");
+        Long lotId = resultSet.getObject("lot_id", Long.class);
+        return Vehicle.builder()
+                .id(resultSet.getLong("vehicle_id"))
+                .vin(resultSet.getString("vin"))
+                .make(resultSet.getString("make"))
+                .model(resultSet.getString("model"))
+                .year(resultSet.getObject("year", Integer.class))
+                .color(resultSet.getString("color"))
+                .type(VehicleType.valueOf(resultSet.getString("vehicle_type")))
+                .transmission(TransmissionType.valueOf(resultSet.getString("transmission")))
+                .features(resultSet.getString("features"))
+                .mpg(resultSet.getObject("mpg", Integer.class))
+                .mileage(resultSet.getObject("mileage", Integer.class))
+                .price(price == null ? null : price.doubleValue())
+                .lot(lotId == null ? null : Lot.builder().id(lotId).build())
+                .build();
+    }
+
+    private static void reject(VehicleImportReportDto report, long line, String vin, String message) {
+        report.setRejected(report.getRejected() + 1);
+        addError(report, line, vin, message);
+    }
+
+    private static void addError(VehicleImportReportDto report, long line, String vin, String message) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(VehicleImportErrorDto.builder().line(line).vin(vin).message(message).build());
+        }
+    }
+}
@@ -1,29 +1,53 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidSortException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Entity;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
 import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import edu.towson.cosc457.CarDealership.repository.VehicleSpecifications;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 @Service
 @AllArgsConstructor
 public class VehicleService {
     private final VehicleRepository vehicleRepository;
     private final ServiceTicketService ticketService;
+    private final VehicleFacetService vehicleFacetService;
+    private final EntityManager entityManager;
+    private final AssignmentService assignmentService;
+    private final BudgetMatchService budgetMatchService;
     private static final Logger LOGGER = LoggerFactory.getLogger(VehicleService.class);
+    private static final Set<String> SORTABLE_PROPERTIES =
+            new HashSet<>(Arrays.asList("id", "make", "model", "year", "mpg", "mileage", "price"));
+    private static final String FUZZY_SELECT = "SELECT v.* FROM vehicle v";
 
     /**
      * Create a new Vehicle in the database
@@ -32,18 +56,149 @@ public class VehicleService {
      */
     public Vehicle addVehicle(Vehicle vehicle) {
         LOGGER.info("Create new Vehicle in the database");
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleFacetService.put(savedVehicle);
+        budgetMatchService.putVehicle(savedVehicle);
+        return savedVehicle;
     }
 
     /**
-     * Get All Vehicles
-     * @return List of Vehicles
+     * Get a page of Vehicles ordered by id
+     * @param after identifier of the last Vehicle of the previous page
+     * @param limit maximum number of Vehicles to be fetched
+     * @return Slice of Vehicles with id greater than after
      */
-    public List<Vehicle> getVehicles() {
-        LOGGER.info("Get all Vehicles");
-        return StreamSupport
-                .stream(vehicleRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<Vehicle> getVehicles(Long after, Integer limit) {
+        LOGGER.info("Get Vehicles after id {}", after);
+        return vehicleRepository.findByIdGreaterThanOrderByIdAsc(after, Cursor.limit(limit));
+    }
+
+    /**
+     * Search Vehicles matching every filter present in criteria
+     * @param criteria search filters, null fields are ignored
+     * @param pageable requested page, size is capped and id is appended as a tiebreaker to keep pages stable; a
+     *                 fuzzy search ignores the sort and ranks by similarity instead
+     * @return Slice of Vehicles matching criteria, read without counting every match
+     * @throws InvalidSortException if sorting by a property other than id, make, model, year, mpg, mileage or price
+     */
+    @Transactional(readOnly = true)
+    public Slice<Vehicle> searchVehicles(VehicleSearchDto criteria, Pageable pageable) {
+        LOGGER.info("Search Vehicles matching {}", criteria);
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortException(Entity.VEHICLE.toString(), order.getProperty(), HttpStatus.BAD_REQUEST);
+            }
+        }
+        int size = Math.min(pageable.getPageSize(), Cursor.MAX_LIMIT);
+        if (Boolean.TRUE.equals(criteria.getFuzzy())) {
+            return fuzzySearch(criteria, PageRequest.of(pageable.getPageNumber(), size));
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        Pageable page = PageRequest.of(pageable.getPageNumber(), size, sort);
+        return vehicleRepository.findSlice(VehicleSpecifications.matching(criteria), page);
+    }
+
+    /**
+     * make and model match with the pg_trgm similarity operator and features with word similarity, both against
+     * the lower() trigram indexes, so misspelled or partial terms still find Vehicles. Every other filter is exact,
+     * as in VehicleSpecifications. Vehicles are ranked by their summed similarity, then id
+     */
+    @SuppressWarnings("unchecked")
+    private Slice<Vehicle> fuzzySearch(VehicleSearchDto criteria, Pageable page) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE TRUE");
+        StringJoiner score = new StringJoiner(" + ");
+        if (StringUtils.hasText(criteria.getMake())) {
+            int position = bind(parameters, criteria.getMake().toLowerCase(Locale.ROOT));
+            where.append(" AND lower(v.make) % ?").append(position);
+            score.add("similarity(lower(v.make), ?" + position + ")");
+        }
+        if (StringUtils.hasText(criteria.getModel())) {
+            int position = bind(parameters, criteria.getModel().toLowerCase(Locale.ROOT));
+            where.append(" AND lower(v.model) % ?").append(position);
+            score.add("similarity(lower(v.model), ?" + position + ")");
+        }
+        if (StringUtils.hasText(criteria.getFeatures())) {
+            int position = bind(parameters, criteria.getFeatures().toLowerCase(Locale.ROOT));
+            where.append(" AND ?").append(position).append(" <% lower(v.features)");
+            score.add("word_similarity(?" + position + ", lower(v.features))");
+        }
+        isEqual(where, parameters, "v.color", criteria.getColor());
+        isEqual(where, parameters, "v.vehicle_type", criteria.getType() == null ? null : criteria.getType().name());
+        isEqual(where, parameters, "v.transmission",
+                criteria.getTransmission() == null ? null : criteria.getTransmission().name());
+        isEqual(where, parameters, "v.lot_id", criteria.getLotId());
+        isBetween(where, parameters, "v.year", criteria.getMinYear(), criteria.getMaxYear());
+        isBetween(where, parameters, "v.mpg", criteria.getMinMpg(), criteria.getMaxMpg());
+        isBetween(where, parameters, "v.mileage", criteria.getMinMileage(), criteria.getMaxMileage());
+        isBetween(where, parameters, "v.price", criteria.getMinPrice(), criteria.getMaxPrice());
+
+        String order = score.length() == 0 ? " ORDER BY v.vehicle_id" : " ORDER BY " + score + " DESC, v.vehicle_id";
+        Query select = entityManager.createNativeQuery(FUZZY_SELECT + where + order
+                + " LIMIT ?" + bind(parameters, page.getPageSize() + 1)
+                + " OFFSET ?" + bind(parameters, page.getOffset()), Vehicle.class);
+        setParameters(select, parameters);
+        List<Vehicle> vehicles = select.getResultList();
+        boolean hasNext = vehicles.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? vehicles.subList(0, page.getPageSize()) : vehicles, page, hasNext);
+    }
+
+    /**
+     * @return 1-based position of the bound value
+     */
+    private static int bind(List<Object> parameters, Object value) {
+        parameters.add(value);
+        return parameters.size();
+    }
+
+    private static void isEqual(StringBuilder where, List<Object> parameters, String column, Object value) {
+        if (value != null) {
+            where.append(" AND ").append(column).append(" = ?").append(bind(parameters, value));
+        }
+    }
+
+    private static void isBetween(StringBuilder where, List<Object> parameters, String column,
+                                  Object min, Object max) {
+        if (min != null) {
+            where.append(" AND ").append(column).append(" >= ?").append(bind(parameters, min));
+        }
+        if (max != null) {
+            where.append(" AND ").append(column).append(" <= ?").append(bind(parameters, max));
+        }
+    }
+
+    private static void setParameters(Query query, List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Stream every Vehicle ordered by id through a database cursor
+     * @param action callback invoked for each Vehicle, entities are detached in batches once handed over
+     * @return number of Vehicles streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamVehicles(Consumer<Vehicle> action) {
+        LOGGER.info("Stream all Vehicles");
+        return EntityStreams.forEachDetached(vehicleRepository.streamAll(), entityManager, action);
+    }
+
+    /**
+     * Get a page of Vehicles assigned to Lot ordered by id
+     * @param lotId identifier of Lot
+     * @param after identifier of the last Vehicle of the previous page
+     * @param limit maximum number of Vehicles to be fetched
+     * @return Slice of Vehicles with id greater than after
+     */
+    @Transactional(readOnly = true)
+    public Slice<Vehicle> getVehiclesByLot(Long lotId, Long after, Integer limit) {
+        LOGGER.info("Get Vehicles assigned to Lot with id {} after id {}", lotId, after);
+        return vehicleRepository.findByLotIdAndIdGreaterThanOrderByIdAsc(lotId, after, Cursor.limit(limit));
     }
 
     /**
@@ -52,6 +207,7 @@ public class VehicleService {
      * @return fetched Vehicle
      * @throws NotFoundException if no Vehicle with matching id found
      */
+    @Transactional(readOnly = true)
     public Vehicle getVehicle(Long id) {
         LOGGER.info("Get Vehicle with id {}", id);
         return vehicleRepository.findById(id)
@@ -61,13 +217,18 @@ public class VehicleService {
     /**
      * Delete Vehicle by Id
      * @param id identifier of Vehicle to be deleted
+     * @param versions versions the client expects to delete, any of which may match, null to delete unconditionally
      * @return deleted Vehicle
      * @throws NotFoundException if no Vehicle with matching id found
+     * @throws PreconditionFailedException if the Vehicle is at none of the expected versions
      */
-    public Vehicle deleteVehicle(Long id) {
+    public Vehicle deleteVehicle(Long id, Set<Long> versions) {
         LOGGER.info("Delete Vehicle with id {}", id);
         Vehicle vehicle = getVehicle(id);
+        Versions.check(Entity.VEHICLE, id, versions, vehicle.getVersion());
         vehicleRepository.delete(vehicle);
+        vehicleFacetService.remove(id);
+        budgetMatchService.removeVehicle(id);
         return vehicle;
     }
 
@@ -75,13 +236,16 @@ public class VehicleService {
      * Update Vehicle
      * @param id identifier of Vehicle to be updated
      * @param vehicle Vehicle object with updated fields
+     * @param versions versions the client expects to update, any of which may match, null to update unconditionally
      * @return updated Vehicle
      * @throws NotFoundException if no Vehicle with matching id found
+     * @throws PreconditionFailedException if the Vehicle is at none of the expected versions
      */
     @Transactional
-    public Vehicle editVehicle(Long id, Vehicle vehicle) {
+    public Vehicle editVehicle(Long id, Vehicle vehicle, Set<Long> versions) {
         LOGGER.info("Update Vehicle with id {}", id);
         Vehicle vehicleToEdit = getVehicle(id);
+        Versions.check(Entity.VEHICLE, id, versions, vehicleToEdit.getVersion());
         vehicleToEdit.setVin(vehicle.getVin());
         vehicleToEdit.setMake(vehicle.getMake());
         vehicleToEdit.setModel(vehicle.getModel());
@@ -95,6 +259,8 @@ public class VehicleService {
         vehicleToEdit.setPrice(vehicle.getPrice());
         vehicleToEdit.setLot(vehicle.getLot());
         vehicleToEdit.setTickets(vehicle.getTickets());
+        vehicleFacetService.put(vehicleToEdit);
+        budgetMatchService.putVehicle(vehicleToEdit);
         return vehicleToEdit;
     }
 
@@ -109,20 +275,8 @@ public class VehicleService {
     @Transactional
     public Vehicle assignTicket(Long vehicleId, Long ticketId) {
         LOGGER.info("Assign Vehicle with id {} to Service Ticket with id {}", vehicleId, ticketId);
-        Vehicle vehicle = getVehicle(vehicleId);
-        ServiceTicket ticket = ticketService.getServiceTicket(ticketId);
-        if (Objects.nonNull(ticket.getVehicle())) {
-            throw new AlreadyAssignedException(
-                    Entity.SERVICE_TICKET.toString(),
-                    ticketId,
-                    Entity.VEHICLE.toString(),
-                    ticket.getVehicle().getId(),
-                    HttpStatus.BAD_REQUEST
-            );
-        }
-        vehicle.assignTicket(ticket);
-        ticket.setVehicle(vehicle);
-        return vehicle;
+        assignmentService.assign(Assignment.VEHICLE_TICKET, vehicleId, ticketId);
+        return getVehicle(vehicleId);
     }
 
     /**
@@ -135,9 +289,24 @@ public class VehicleService {
     @Transactional
     public Vehicle removeTicket(Long vehicleId, Long ticketId) {
         LOGGER.info("Remove Vehicle with id {} from Service Ticket with id {}", vehicleId, ticketId);
-        Vehicle vehicle = getVehicle(vehicleId);
-        ServiceTicket ticket = ticketService.getServiceTicket(ticketId);
-        vehicle.removeTicket(ticket);
-        return vehicle;
+        assignmentService.remove(Assignment.VEHICLE_TICKET, vehicleId, ticketId);
+        return getVehicle(vehicleId);
+    }
+
+    /**
+     * Get a page of ServiceTickets assigned to Vehicle
+     * @param id identifier of Vehicle
+     * @param after identifier of the last ServiceTicket of the previous page
+     * @param limit maximum number of ServiceTickets to be fetched
+     * @return Slice of ServiceTickets with id greater than after
+     * @throws NotFoundException if no Vehicle with matching id found
+     */
+    @Transactional(readOnly = true)
+    public Slice<ServiceTicket> getTickets(Long id, Long after, Integer limit) {
+        LOGGER.info("Get Service Tickets assigned to Vehicle with id {}", id);
+        if (!vehicleRepository.existsById(id)) {
+            throw new NotFoundException(Entity.VEHICLE.toString(), id, HttpStatus.NOT_FOUND);
+        }
+        return ticketService.getServiceTicketsByVehicle(id, after, limit);
     }
 }
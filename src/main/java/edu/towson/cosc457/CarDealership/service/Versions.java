@@ -0,0 +1,28 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
+import edu.towson.cosc457.CarDealership.misc.Entity;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+/**
+ * Optimistic concurrency check for writes conditioned on an If-Match ETag. It only rejects requests made against a
+ * version that is already stale; a writer that commits between this check and the flush is still caught by the
+ * version predicate Hibernate adds to the UPDATE or DELETE
+ */
+final class Versions {
+    private Versions() {
+    }
+
+    /**
+     * @param expected versions the client holds an ETag for, null for an unconditional write
+     * @param current version of the loaded entity
+     * @throws PreconditionFailedException if the entity is at none of the expected versions
+     */
+    static void check(Entity entity, Long id, Set<Long> expected, Long current) {
+        if (expected != null && !expected.contains(current)) {
+            throw new PreconditionFailedException(entity.toString(), id, expected, HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+}
@@ -7,8 +7,22 @@ CREATE SCHEMA public
 
 SET client_encoding = 'UTF8';
 
+-- Trigram operator classes for the fuzzy vehicle search and unanchored LIKE filters
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+-- Hibernate reserves ids 50 at a time (pooled-lo), the INCREMENT must match each @SequenceGenerator allocationSize
+CREATE SEQUENCE address_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employee_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE location_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE lot_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE vehicle_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE department_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE service_ticket_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comment_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE "address" (
-	address_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	address_id BIGINT DEFAULT nextval('address_seq') PRIMARY KEY,
 	street VARCHAR NOT NULL,
 	city VARCHAR NOT NULL,
 	state VARCHAR NOT NULL,
@@ -16,7 +30,7 @@ CREATE TABLE "address" (
 );
 
 CREATE TABLE "employee" (
-	id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	id BIGINT DEFAULT nextval('employee_seq') PRIMARY KEY,
 	ssn VARCHAR(11) UNIQUE NOT NULL,
 	first_name VARCHAR(45),
 	middle_init CHAR(1),
@@ -30,7 +44,8 @@ CREATE TABLE "employee" (
 	date_started DATE DEFAULT now(),
 	address_id BIGINT UNIQUE,
 	hours_worked DECIMAL,
-	employee_type VARCHAR(15)
+	employee_type VARCHAR(15),
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "user" (
@@ -63,7 +78,7 @@ CREATE TABLE "sales_associate" (
 );
 
 CREATE TABLE "client" (
-	client_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	client_id BIGINT DEFAULT nextval('client_seq') PRIMARY KEY,
 	client_ssn VARCHAR(11) UNIQUE NOT NULL,
 	first_name VARCHAR(45),
 	last_name VARCHAR(45),
@@ -73,24 +88,27 @@ CREATE TABLE "client" (
 	address_id BIGINT UNIQUE,
 	sales_associate_id BIGINT,
 	min_price DECIMAL,
-	max_price DECIMAL
+	max_price DECIMAL,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "location" (
-	location_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	location_id BIGINT DEFAULT nextval('location_seq') PRIMARY KEY,
 	location_name VARCHAR(45) UNIQUE NOT NULL,
 	address_id BIGINT UNIQUE NOT NULL,
-	site_manager_id BIGINT
+	site_manager_id BIGINT,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "lot" (
-	lot_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	lot_id BIGINT DEFAULT nextval('lot_seq') PRIMARY KEY,
 	lot_size DECIMAL NOT NULL,
-	location_id BIGINT NOT NULL
+	location_id BIGINT NOT NULL,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "vehicle" (
-	vehicle_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	vehicle_id BIGINT DEFAULT nextval('vehicle_seq') PRIMARY KEY,
 	vin VARCHAR(17) UNIQUE NOT NULL,
 	make VARCHAR(45) NOT NULL,
 	model VARCHAR(45) NOT NULL,
@@ -102,31 +120,35 @@ CREATE TABLE "vehicle" (
 	mpg INT NOT NULL,
 	mileage INT NOT NULL,
 	price DECIMAL,
-	lot_id BIGINT
+	lot_id BIGINT,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "department" (
-	dept_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	dept_id BIGINT DEFAULT nextval('department_seq') PRIMARY KEY,
 	dept_name VARCHAR(45) NOT NULL,
 	manager_id BIGINT UNIQUE,
-	location_id BIGINT NOT NULL
+	location_id BIGINT NOT NULL,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "service_ticket" (
-	ticket_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	ticket_id BIGINT DEFAULT nextval('service_ticket_seq') PRIMARY KEY,
 	vehicle_id BIGINT NOT NULL DEFAULT 000,
 	mechanic_id BIGINT NOT NULL DEFAULT 000,
 	date_created TIMESTAMP NOT NULL DEFAULT now(),
 	date_updated TIMESTAMP NOT NULL DEFAULT now(),
-	ticket_status VARCHAR(9) NOT NULL
+	ticket_status VARCHAR(9) NOT NULL,
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE "comment" (
-	comment_id BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+	comment_id BIGINT DEFAULT nextval('comment_seq') PRIMARY KEY,
 	ticket_id BIGINT NOT NULL,
 	mechanic_id BIGINT NOT NULL DEFAULT 000,
 	date_created TIMESTAMP NOT NULL DEFAULT now(),
-	content TEXT NOT NULL
+	content TEXT NOT NULL,
+	content_tsv TSVECTOR GENERATED ALWAYS AS (to_tsvector('english', content)) STORED
 );
 
 ALTER TABLE "employee"
@@ -297,4 +319,30 @@ ALTER TABLE "comment"
     ON DELETE SET DEFAULT
     ON UPDATE CASCADE;
 
+CREATE INDEX IX_vehicle_lot_id ON "vehicle" (lot_id, vehicle_id);
+CREATE INDEX IX_service_ticket_vehicle_id ON "service_ticket" (vehicle_id, ticket_id);
+CREATE INDEX IX_service_ticket_mechanic_id ON "service_ticket" (mechanic_id, ticket_id);
+CREATE INDEX IX_comment_ticket_id ON "comment" (ticket_id, comment_id);
+CREATE INDEX IX_comment_mechanic_id ON "comment" (mechanic_id, comment_id);
+CREATE INDEX IX_lot_location_id ON "lot" (location_id, lot_id);
+CREATE INDEX IX_department_location_id ON "department" (location_id, dept_id);
+CREATE INDEX IX_employee_work_location_id ON "employee" (work_location_id, id);
+CREATE INDEX IX_mechanic_dept_id ON "mechanic" (dept_id, id);
+CREATE INDEX IX_mechanic_manager_id ON "mechanic" (manager_id, id);
+CREATE INDEX IX_manager_site_manager_id ON "manager" (site_manager_id, id);
+CREATE INDEX IX_client_sales_associate_id ON "client" (sales_associate_id, client_id);
+
+CREATE INDEX IX_vehicle_make_model_year ON "vehicle" (make, model, year);
+CREATE INDEX IX_vehicle_make_price ON "vehicle" (make, price);
+CREATE INDEX IX_vehicle_type_price ON "vehicle" (vehicle_type, price);
+CREATE INDEX IX_vehicle_price ON "vehicle" (price);
+CREATE INDEX IX_vehicle_mileage_price ON "vehicle" (mileage, price);
+-- lower() matches the features LIKE filter and the fuzzy search expressions, so both can use these indexes
+CREATE INDEX IX_vehicle_make_trgm ON "vehicle" USING GIN (lower(make) gin_trgm_ops);
+CREATE INDEX IX_vehicle_model_trgm ON "vehicle" USING GIN (lower(model) gin_trgm_ops);
+CREATE INDEX IX_vehicle_features_trgm ON "vehicle" USING GIN (lower(features) gin_trgm_ops);
+
+CREATE INDEX IX_comment_content_tsv ON "comment" USING GIN (content_tsv);
+CREATE INDEX IX_comment_date_created ON "comment" (date_created);
+
 END;
\ No newline at end of file
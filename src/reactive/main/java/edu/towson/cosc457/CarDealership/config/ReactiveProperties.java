@@ -0,0 +1,39 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reactive read API for inventory browsing: GETs of Vehicles, Lots and Locations served by WebFlux handlers over
+ * R2DBC on a port of their own, next to the servlet API and its JPA write path
+ */
+@Data
+@ConfigurationProperties("app.reactive")
+public class ReactiveProperties {
+    /**
+     * Start the reactive server and its R2DBC pool
+     */
+    private boolean enabled = false;
+    /**
+     * Port of the reactive server, 0 for a random one
+     */
+    private int port = 8081;
+    /**
+     * R2DBC url, derived from spring.datasource.url and its credentials if not set
+     */
+    private String url;
+    /**
+     * Connections of the R2DBC pool, shared by every reactive request
+     */
+    private int poolSize = 10;
+    /**
+     * How long a request waits for a pooled connection
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    /**
+     * Rows fetched per round trip while streaming, the next batch is only requested once the client took this one
+     */
+    private int fetchSize = 500;
+}
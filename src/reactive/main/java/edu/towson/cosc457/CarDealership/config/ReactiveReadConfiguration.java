@@ -0,0 +1,96 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.controller.InventoryReadHandler;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLocationRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLotRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveVehicleRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Opt-in reactive read API, see {@link ReactiveProperties}. The R2DBC pool and repositories are only used by the
+ * {@link InventoryReadHandler}: no R2DBC transaction manager is registered, so @Transactional keeps resolving to the
+ * JPA one and every write still goes through the servlet API
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveReadConfiguration {
+    private static final String JDBC_PREFIX = "jdbc:";
+    private static final String R2DBC_PREFIX = "r2dbc:";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool(ReactiveProperties reactiveProperties,
+                                                 DataSourceProperties dataSourceProperties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url(reactiveProperties,
+                dataSourceProperties));
+        if (!StringUtils.hasText(reactiveProperties.getUrl())) {
+            options = options.mutate()
+                    .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                    .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                    .build();
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .initialSize(reactiveProperties.getPoolSize())
+                .maxSize(reactiveProperties.getPoolSize())
+                .maxAcquireTime(reactiveProperties.getAcquireTimeout())
+                .build());
+    }
+
+    @Bean
+    public InventoryReadHandler inventoryReadHandler(ConnectionPool reactiveConnectionPool,
+                                                     ReactiveProperties reactiveProperties) {
+        DatabaseClient databaseClient = DatabaseClient.create(reactiveConnectionPool);
+        return new InventoryReadHandler(
+                new ReactiveVehicleRepository(databaseClient, reactiveProperties.getFetchSize()),
+                new ReactiveLotRepository(databaseClient),
+                new ReactiveLocationRepository(databaseClient));
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(InventoryReadHandler inventoryReadHandler,
+                                                 ReactiveProperties reactiveProperties,
+                                                 ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveReadServer(RouterFunctions.toHttpHandler(inventoryReadHandler.routes(), strategies),
+                reactiveProperties.getPort());
+    }
+
+    /**
+     * @return app.reactive.url, or spring.datasource.url as an R2DBC url without its JDBC parameters
+     */
+    private static String url(ReactiveProperties reactiveProperties, DataSourceProperties dataSourceProperties) {
+        if (StringUtils.hasText(reactiveProperties.getUrl())) {
+            return reactiveProperties.getUrl();
+        }
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("app.reactive.url is not set and spring.datasource.url is not a JDBC url: "
+                    + url);
+        }
+        int parameters = url.indexOf('?');
+        return R2DBC_PREFIX + url.substring(JDBC_PREFIX.length(), parameters < 0 ? url.length() : parameters);
+    }
+}
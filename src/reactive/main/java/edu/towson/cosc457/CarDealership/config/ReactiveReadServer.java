@@ -0,0 +1,43 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * Reactor Netty server of the reactive read API. It runs next to the servlet container on a port of its own, since
+ * one embedded server can host either Spring MVC or WebFlux, and starts and stops with the application context
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveReadServer(HttpHandler httpHandler, int port) {
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return port the server listens on, the actual one when configured with port 0
+     */
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
@@ -0,0 +1,170 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.exceptions.BusinessException;
+import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.Entity;
+import edu.towson.cosc457.CarDealership.model.dto.ErrorDto;
+import edu.towson.cosc457.CarDealership.model.dto.LotDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLocationRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLotRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveVehicleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+
+/**
+ * WebFlux handlers of the reactive read API. The paths, parameters and DTOs are those of the GET endpoints of
+ * {@link VehicleController}, {@link LotController} and {@link LocationController}, so a client only switches port
+ */
+@RequiredArgsConstructor
+public class InventoryReadHandler {
+    private static final MediaType NDJSON = MediaType.parseMediaType(Ndjson.MEDIA_TYPE);
+    /**
+     * RequestPredicates.accept would also match a request without Accept header, which must get the paged JSON
+     */
+    private static final RequestPredicate ACCEPTS_NDJSON = request -> request.headers().accept().stream()
+            .anyMatch(NDJSON::equalsTypeAndSubtype);
+    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryReadHandler.class);
+    private final ReactiveVehicleRepository vehicleRepository;
+    private final ReactiveLotRepository lotRepository;
+    private final ReactiveLocationRepository locationRepository;
+
+    /**
+     * @return routes of every handler, with business exceptions turned into an ErrorDto as by ExceptionResolver
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/vehicles", ACCEPTS_NDJSON.or(queryParam("stream", "true"::equals)),
+                        this::streamVehicles)
+                .GET("/api/v1/vehicles", this::getVehicles)
+                .GET("/api/v1/vehicles/{id}", this::getVehicle)
+                .GET("/api/v1/lots/{id}", this::getLot)
+                .GET("/api/v1/lots/{id}/vehicles", this::getLotVehicles)
+                .GET("/api/v1/locations/{id}", this::getLocation)
+                .GET("/api/v1/locations/{id}/lots", this::getLocationLots)
+                .build()
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(BusinessException.class, e -> error(e.getStatus(), e.getMessage()))
+                        .onErrorResume(NumberFormatException.class, e -> error(HttpStatus.BAD_REQUEST,
+                                "Invalid number: " + e.getMessage())));
+    }
+
+    public Mono<ServerResponse> getVehicles(ServerRequest request) {
+        LOGGER.info("GET /api/v1/vehicles/");
+        Long after = Cursor.decode(request.queryParam("next").orElse(null));
+        Pageable pageable = limit(request);
+        return vehicleRepository.findPage(after, pageable.getPageSize() + 1)
+                .collectList()
+                .flatMap(rows -> ok(page(rows, pageable, VehicleDto::getId)));
+    }
+
+    public Mono<ServerResponse> streamVehicles(ServerRequest request) {
+        LOGGER.info("GET /api/v1/vehicles/ ({})", Ndjson.MEDIA_TYPE);
+        return ServerResponse.ok()
+                .contentType(NDJSON)
+                .body(vehicleRepository.streamAll(), VehicleDto.class);
+    }
+
+    public Mono<ServerResponse> getVehicle(ServerRequest request) {
+        Long id = id(request);
+        LOGGER.info("GET /api/v1/vehicles/{}", id);
+        return vehicleRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(Entity.VEHICLE.toString(), id,
+                        HttpStatus.NOT_FOUND)))
+                .flatMap(InventoryReadHandler::ok);
+    }
+
+    public Mono<ServerResponse> getLot(ServerRequest request) {
+        Long id = id(request);
+        LOGGER.info("GET /api/v1/lots/{}", id);
+        return lotRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(Entity.LOT.toString(), id,
+                        HttpStatus.NOT_FOUND)))
+                .flatMap(InventoryReadHandler::ok);
+    }
+
+    public Mono<ServerResponse> getLotVehicles(ServerRequest request) {
+        Long id = id(request);
+        LOGGER.info("GET /api/v1/lots/{}/vehicles", id);
+        Long after = Cursor.decode(request.queryParam("next").orElse(null));
+        Pageable pageable = limit(request);
+        return lotRepository.existsById(id)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(Entity.LOT.toString(), id,
+                        HttpStatus.NOT_FOUND)))
+                .flatMap(exists -> vehicleRepository.findPageByLotId(id, after, pageable.getPageSize() + 1)
+                        .collectList())
+                .flatMap(rows -> ok(page(rows, pageable, VehicleDto::getId)));
+    }
+
+    public Mono<ServerResponse> getLocation(ServerRequest request) {
+        Long id = id(request);
+        LOGGER.info("GET /api/v1/locations/{}", id);
+        return locationRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(Entity.LOCATION.toString(), id,
+                        HttpStatus.NOT_FOUND)))
+                .flatMap(InventoryReadHandler::ok);
+    }
+
+    public Mono<ServerResponse> getLocationLots(ServerRequest request) {
+        Long id = id(request);
+        LOGGER.info("GET /api/v1/locations/{}/lots", id);
+        Long after = Cursor.decode(request.queryParam("next").orElse(null));
+        Pageable pageable = limit(request);
+        return locationRepository.existsById(id)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(Entity.LOCATION.toString(), id,
+                        HttpStatus.NOT_FOUND)))
+                .flatMap(exists -> lotRepository.findPageByLocationId(id, after, pageable.getPageSize() + 1)
+                        .collectList())
+                .flatMap(rows -> ok(page(rows, pageable, LotDto::getId)));
+    }
+
+    private static Long id(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+
+    private static Pageable limit(ServerRequest request) {
+        return Cursor.limit(request.queryParam("limit").map(Integer::valueOf).orElse(null));
+    }
+
+    /**
+     * Cut the extra row read past the page size and build the page with its next token
+     * @param rows up to one more row than the page size, ordered by id
+     */
+    private static <T> PageDto<T> page(List<T> rows, Pageable pageable, Function<? super T, Long> idOf) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return Cursor.<T, T>toPage(new SliceImpl<>(content, pageable, hasNext), Function.identity(), idOf);
+    }
+
+    private static Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ErrorDto.builder().message(message).build());
+    }
+}
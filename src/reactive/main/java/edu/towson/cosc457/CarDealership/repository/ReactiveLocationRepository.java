@@ -0,0 +1,52 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.model.dto.AddressDto;
+import edu.towson.cosc457.CarDealership.model.dto.LocationDto;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only Location queries over R2DBC for the reactive read API. The Address is joined in, so a LocationDto
+ * takes a single statement
+ */
+public class ReactiveLocationRepository {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveLocationRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<LocationDto> findById(Long id) {
+        return databaseClient.sql("SELECT l.location_id, l.location_name, l.site_manager_id, a.address_id, "
+                + "a.street, a.city, a.state, a.zip_code FROM location l "
+                + "LEFT JOIN address a ON a.address_id = l.address_id WHERE l.location_id = :id")
+                .bind("id", id)
+                .map(ReactiveLocationRepository::toDto)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM location WHERE location_id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private static LocationDto toDto(Row row) {
+        Long addressId = row.get("address_id", Long.class);
+        return LocationDto.builder()
+                .id(row.get("location_id", Long.class))
+                .name(row.get("location_name", String.class))
+                .address(addressId == null ? null : AddressDto.builder()
+                        .id(addressId)
+                        .street(row.get("street", String.class))
+                        .city(row.get("city", String.class))
+                        .state(row.get("state", String.class))
+                        .zipCode(row.get("zip_code", Integer.class))
+                        .build())
+                .siteManagerId(row.get("site_manager_id", Long.class))
+                .build();
+    }
+}
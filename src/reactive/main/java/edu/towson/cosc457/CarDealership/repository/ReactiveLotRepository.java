@@ -0,0 +1,62 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.model.dto.LotDto;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only Lot queries over R2DBC for the reactive read API, rows are mapped straight to LotDto
+ */
+public class ReactiveLotRepository {
+    private static final String COLUMNS = "SELECT lot_id, lot_size, location_id FROM lot ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveLotRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<LotDto> findById(Long id) {
+        return databaseClient.sql(COLUMNS + "WHERE lot_id = :id")
+                .bind("id", id)
+                .map(ReactiveLotRepository::toDto)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM lot WHERE lot_id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * @param locationId identifier of the Location the Lots belong to
+     * @param after identifier the returned rows are greater than
+     * @param count number of rows to read, one more than the page size tells whether a next page exists
+     * @return Lots ordered by id
+     */
+    public Flux<LotDto> findPageByLocationId(Long locationId, Long after, int count) {
+        return databaseClient.sql(COLUMNS
+                + "WHERE location_id = :locationId AND lot_id > :after ORDER BY lot_id LIMIT :count")
+                .bind("locationId", locationId)
+                .bind("after", after)
+                .bind("count", count)
+                .map(ReactiveLotRepository::toDto)
+                .all();
+    }
+
+    private static LotDto toDto(Row row) {
+        BigDecimal size = row.get("lot_size", BigDecimal.class);
+        return LotDto.builder()
+                .id(row.get("lot_id", Long.class))
+                .size(size == null ? null : size.doubleValue())
+                .locationId(row.get("location_id", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package edu.towson.cosc457.CarDealership.repository;
+
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only Vehicle queries over R2DBC for the reactive read API. Rows are mapped straight to VehicleDto, the JPA
+ * {@link VehicleRepository} stays the only writer
+ */
+public class ReactiveVehicleRepository {
+    private static final String COLUMNS = "SELECT vehicle_id, vin, make, model, year, color, vehicle_type, "
+            + "transmission, features, mpg, mileage, price, lot_id FROM vehicle ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    /**
+     * @param fetchSize rows read per round trip by {@link #streamAll()}
+     */
+    public ReactiveVehicleRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<VehicleDto> findById(Long id) {
+        return databaseClient.sql(COLUMNS + "WHERE vehicle_id = :id")
+                .bind("id", id)
+                .map(ReactiveVehicleRepository::toDto)
+                .one();
+    }
+
+    /**
+     * @param after identifier the returned rows are greater than
+     * @param count number of rows to read, one more than the page size tells whether a next page exists
+     * @return Vehicles ordered by id
+     */
+    public Flux<VehicleDto> findPage(Long after, int count) {
+        return databaseClient.sql(COLUMNS + "WHERE vehicle_id > :after ORDER BY vehicle_id LIMIT :count")
+                .bind("after", after)
+                .bind("count", count)
+                .map(ReactiveVehicleRepository::toDto)
+                .all();
+    }
+
+    /**
+     * @param lotId identifier of the Lot the Vehicles are parked on
+     * @see #findPage(Long, int)
+     */
+    public Flux<VehicleDto> findPageByLotId(Long lotId, Long after, int count) {
+        return databaseClient.sql(COLUMNS
+                + "WHERE lot_id = :lotId AND vehicle_id > :after ORDER BY vehicle_id LIMIT :count")
+                .bind("lotId", lotId)
+                .bind("after", after)
+                .bind("count", count)
+                .map(ReactiveVehicleRepository::toDto)
+                .all();
+    }
+
+    /**
+     * Every Vehicle ordered by id. Rows are fetched fetchSize at a time as the subscriber requests them, so a slow
+     * client holds back the query instead of buffering the table
+     */
+    public Flux<VehicleDto> streamAll() {
+        return databaseClient.sql(COLUMNS + "ORDER BY vehicle_id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveVehicleRepository::toDto)
+                .all();
+    }
+
+    private static VehicleDto toDto(Row row) {
+        BigDecimal price = row.get("price", BigDecimal.class);
+        return VehicleDto.builder()
+                .id(row.get("vehicle_id", Long.class))
+                .vin(row.get("vin", String.class))
+                .make(row.get("make", String.class))
+                .model(row.get("model", String.class))
+                .year(row.get("year", Integer.class))
+                .color(row.get("color", String.class))
+                .type(VehicleType.valueOf(row.get("vehicle_type", String.class)))
+                .transmission(TransmissionType.valueOf(row.get("transmission", String.class)))
+                .features(row.get("features", String.class))
+                .mpg(row.get("mpg", Integer.class))
+                .mileage(row.get("mileage", Integer.class))
+                .price(price == null ? null : price.doubleValue())
+                .lotId(row.get("lot_id", Long.class))
+                .build();
+    }
+}
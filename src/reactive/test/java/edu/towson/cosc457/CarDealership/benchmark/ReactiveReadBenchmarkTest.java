@@ -0,0 +1,207 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.CarDealershipApplication;
+import edu.towson.cosc457.CarDealership.config.GeneratorProperties;
+import edu.towson.cosc457.CarDealership.config.ReactiveReadServer;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.service.DatasetGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compare the servlet VehicleController and its JPA reads with the reactive read API on the same application, data
+ * and database: a browsing mix of single vehicles, vehicle pages, lot pages and locations at weekday and weekend
+ * client counts, and a full NDJSON dump of the vehicle table from each server. Each run reports p50/p99/p999
+ * latency, throughput and errors, and the comparison is written as JSON to target/load-test.
+ * Run with mvn -P benchmark,reactive test -Dtest=ReactiveReadBenchmarkTest, needs Docker.
+ * -Dloadtest.clients=50,500 and -Dloadtest.requests-per-client change the load
+ */
+@Tag("benchmark")
+public class ReactiveReadBenchmarkTest extends PostgresBenchmark {
+    private static final int DB_CONNECTIONS = 20;
+    private static final String CLIENTS = System.getProperty("loadtest.clients", "50,500");
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 20);
+    private static final long SEED = Long.getLong("loadtest.seed", 457L);
+    private static final File RESULTS = new File("target/load-test");
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveReadBenchmarkTest.class);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private final List<Long> vehicleIds = new ArrayList<>();
+    private final List<Long> lotIds = new ArrayList<>();
+    private final List<Long> locationIds = new ArrayList<>();
+
+    @Test
+    void shouldCompareServletAndReactiveReads() throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipApplication.class)
+                .properties(datasourceProperties())
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_CONNECTIONS,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "app.reactive.enabled=true",
+                        "app.reactive.port=0",
+                        "app.reactive.pool-size=" + DB_CONNECTIONS,
+                        "app.reactive.acquire-timeout=30s",
+                        "app.query-budget.enabled=false",
+                        "logging.level.edu.towson.cosc457.CarDealership=WARN")
+                .run()) {
+            seed(context);
+            Map<String, Integer> ports = new LinkedHashMap<>();
+            ports.put("servlet", ((WebServerApplicationContext) context).getWebServer().getPort());
+            ports.put("reactive", context.getBean(ReactiveReadServer.class).getPort());
+
+            Map<String, Long> dumps = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> port : ports.entrySet()) {
+                dumps.put(port.getKey(), dump(port.getValue()));
+            }
+            results.put("ndjsonDumpMillis", dumps);
+            for (Map.Entry<String, Integer> port : ports.entrySet()) {
+                results.put(port.getKey(), run(port.getKey(), port.getValue()));
+            }
+        }
+
+        File file = write(results);
+        LOGGER.info("Servlet and reactive read comparison written to {}", file.getAbsolutePath());
+        @SuppressWarnings("unchecked")
+        List<LoadTest.ScenarioResult> reactive = (List<LoadTest.ScenarioResult>) results.get("reactive");
+        assertThat(reactive).allSatisfy(result -> assertThat(result.getErrors()).isZero());
+    }
+
+    /**
+     * Run every client count against one server
+     */
+    private List<LoadTest.ScenarioResult> run(String stack, int port) throws Exception {
+        List<LoadTest.ScenarioResult> results = new ArrayList<>();
+        for (String clients : CLIENTS.split(",")) {
+            int threads = Integer.parseInt(clients.trim());
+            LoadTest loadTest = new LoadTest(threads, SEED, () -> 0L);
+            LoadTest.Scenario scenario = new LoadTest.Scenario(stack + "-" + threads,
+                    thread -> (step, random) -> get(port, step, random))
+                    .step("vehicle.get", 40)
+                    .step("vehicle.page", 30)
+                    .step("lot.vehicles", 20)
+                    .step("location.get", 10);
+            loadTest.run(scenario, threads);
+            LoadTest.ScenarioResult result = loadTest.run(scenario, threads * REQUESTS_PER_CLIENT);
+            LOGGER.info("{}: {} clients, {} req/s, p50 {} us, p99 {} us, p999 {} us, max {} us, {} errors",
+                    stack, threads, String.format("%.1f", result.getThroughput()), result.getLatency().getP50(),
+                    result.getLatency().getP99(), result.getLatency().getP999(), result.getLatency().getMax(),
+                    result.getErrors());
+            results.add(result);
+        }
+        return results;
+    }
+
+    private boolean get(int port, String step, Random random) throws Exception {
+        String path;
+        switch (step) {
+            case "vehicle.get":
+                path = "/api/v1/vehicles/" + pick(vehicleIds, random);
+                break;
+            case "vehicle.page":
+                path = "/api/v1/vehicles?limit=50&next=" + Cursor.encode(pick(vehicleIds, random));
+                break;
+            case "lot.vehicles":
+                path = "/api/v1/lots/" + pick(lotIds, random) + "/vehicles?limit=50";
+                break;
+            case "location.get":
+                path = "/api/v1/locations/" + pick(locationIds, random);
+                break;
+            default:
+                throw new IllegalArgumentException(step);
+        }
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + path)).timeout(Duration.ofMinutes(1)).build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+
+    /**
+     * Read the NDJSON dump of every vehicle
+     * @return milliseconds until the last line was received
+     */
+    private long dump(int port) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:"
+                + port + "/api/v1/vehicles")).header("Accept", "application/x-ndjson").build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        long lines = 0;
+        try (InputStream body = response.body()) {
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(lines).isEqualTo(vehicleIds.size());
+        return millis;
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        GeneratorProperties properties = new GeneratorProperties();
+        properties.setSeed(SEED);
+        properties.setVehicles(200_000);
+        properties.setClients(1_000);
+        properties.setTickets(1_000);
+        properties.setEndDate(LocalDate.of(2021, 6, 30));
+        context.getBean(DatasetGenerator.class).generate(properties);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        vehicleIds.addAll(jdbcTemplate.queryForList("SELECT vehicle_id FROM vehicle ORDER BY vehicle_id",
+                Long.class));
+        lotIds.addAll(jdbcTemplate.queryForList("SELECT lot_id FROM lot ORDER BY lot_id", Long.class));
+        locationIds.addAll(jdbcTemplate.queryForList("SELECT location_id FROM location ORDER BY location_id",
+                Long.class));
+    }
+
+    private File write(Map<String, Object> results) throws Exception {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", LocalDateTime.now().toString());
+        run.put("java", Runtime.version().toString());
+        run.put("dbConnections", DB_CONNECTIONS);
+        run.put("requestsPerClient", REQUESTS_PER_CLIENT);
+        run.put("seed", SEED);
+        run.put("stacks", results);
+        RESULTS.mkdirs();
+        File file = new File(RESULTS, "reactive-reads-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().findAndRegisterModules().writerWithDefaultPrettyPrinter().writeValue(file, run);
+        return file;
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
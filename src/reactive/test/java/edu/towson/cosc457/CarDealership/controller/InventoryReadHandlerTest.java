@@ -0,0 +1,196 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.dto.AddressDto;
+import edu.towson.cosc457.CarDealership.model.dto.LocationDto;
+import edu.towson.cosc457.CarDealership.model.dto.LotDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleDto;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLocationRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveLotRepository;
+import edu.towson.cosc457.CarDealership.repository.ReactiveVehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryReadHandlerTest {
+    @Mock
+    private ReactiveVehicleRepository vehicleRepository;
+    @Mock
+    private ReactiveLotRepository lotRepository;
+    @Mock
+    private ReactiveLocationRepository locationRepository;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToRouterFunction(
+                new InventoryReadHandler(vehicleRepository, lotRepository, locationRepository).routes())
+                .build();
+    }
+
+    @Test
+    void shouldGetVehicle() {
+        when(vehicleRepository.findById(1L)).thenReturn(Mono.just(vehicle(1L)));
+
+        webTestClient.get().uri("/api/v1/vehicles/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.vin").isEqualTo("1HGCM82633A004352")
+                .jsonPath("$.type").isEqualTo("SEDAN")
+                .jsonPath("$.lotId").isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingVehicle() {
+        when(vehicleRepository.findById(1L)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/vehicles/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Could not find vehicle with id: 1");
+    }
+
+    @Test
+    void shouldPageVehiclesWithNextToken() {
+        when(vehicleRepository.findPage(0L, 3)).thenReturn(Flux.just(vehicle(1L), vehicle(2L), vehicle(3L)));
+        when(vehicleRepository.findPage(2L, 3)).thenReturn(Flux.just(vehicle(3L)));
+
+        webTestClient.get().uri("/api/v1/vehicles?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.items[1].id").isEqualTo(2)
+                .jsonPath("$.next").isEqualTo(Cursor.encode(2L))
+                .jsonPath("$.limit").isEqualTo(2);
+        webTestClient.get().uri("/api/v1/vehicles?limit=2&next=" + Cursor.encode(2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.next").doesNotExist();
+    }
+
+    @Test
+    void shouldRejectInvalidPageToken() {
+        webTestClient.get().uri("/api/v1/vehicles?next=bogus")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    void shouldStreamVehiclesAsNdjson() {
+        when(vehicleRepository.streamAll()).thenReturn(Flux.just(vehicle(1L), vehicle(2L)));
+
+        List<VehicleDto> vehicles = webTestClient.get().uri("/api/v1/vehicles")
+                .accept(MediaType.parseMediaType(Ndjson.MEDIA_TYPE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(Ndjson.MEDIA_TYPE)
+                .returnResult(VehicleDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(vehicles).extracting(VehicleDto::getId).containsExactly(1L, 2L);
+        verify(vehicleRepository, never()).findPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldPageVehiclesOfLot() {
+        when(lotRepository.existsById(2L)).thenReturn(Mono.just(true));
+        when(vehicleRepository.findPageByLotId(2L, 0L, Cursor.DEFAULT_LIMIT + 1)).thenReturn(Flux.just(vehicle(1L)));
+
+        webTestClient.get().uri("/api/v1/lots/2/vehicles")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].lotId").isEqualTo(2)
+                .jsonPath("$.limit").isEqualTo(Cursor.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void shouldReturnNotFoundForVehiclesOfMissingLot() {
+        when(lotRepository.existsById(2L)).thenReturn(Mono.just(false));
+
+        webTestClient.get().uri("/api/v1/lots/2/vehicles")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    void shouldGetLocationWithAddress() {
+        when(locationRepository.findById(3L)).thenReturn(Mono.just(LocationDto.builder()
+                .id(3L)
+                .name("Towson")
+                .address(AddressDto.builder()
+                        .id(4L)
+                        .street("8000 York Rd")
+                        .city("Towson")
+                        .state("MD")
+                        .zipCode(21252)
+                        .build())
+                .build()));
+
+        webTestClient.get().uri("/api/v1/locations/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Towson")
+                .jsonPath("$.address.zipCode").isEqualTo(21252);
+    }
+
+    @Test
+    void shouldPageLotsOfLocation() {
+        when(locationRepository.existsById(3L)).thenReturn(Mono.just(true));
+        when(lotRepository.findPageByLocationId(3L, 0L, 2)).thenReturn(Flux.just(
+                LotDto.builder().id(5L).size(100.15).locationId(3L).build(),
+                LotDto.builder().id(6L).size(50.0).locationId(3L).build()));
+
+        webTestClient.get().uri("/api/v1/locations/3/lots?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].size").isEqualTo(100.15)
+                .jsonPath("$.next").isEqualTo(Cursor.encode(5L));
+    }
+
+    private static VehicleDto vehicle(Long id) {
+        return VehicleDto.builder()
+                .id(id)
+                .vin("1HGCM82633A004352")
+                .make("Honda")
+                .model("Civic")
+                .year(2019)
+                .color("Blue")
+                .type(VehicleType.SEDAN)
+                .transmission(TransmissionType.AUTOMATIC)
+                .mpg(32)
+                .mileage(15000)
+                .price(18500.0)
+                .lotId(2L)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import edu.towson.cosc457.CarDealership.config.GeneratorProperties;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import edu.towson.cosc457.CarDealership.service.DatasetGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generate a dataset of about 10M rows, log the load rate and check that the application keeps inserting after the
+ * generated ids. Run with mvn -P benchmark test, needs Docker
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class DatasetGeneratorBenchmarkTest extends PostgresBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGeneratorBenchmarkTest.class);
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldGenerateDataset() {
+        GeneratorProperties properties = new GeneratorProperties();
+        properties.setLocations(20);
+        properties.setVehicles(2_000_000);
+        properties.setClients(500_000);
+        properties.setTickets(1_500_000);
+        properties.setCommentsPerTicket(4);
+        properties.setEndDate(LocalDate.of(2021, 6, 30));
+
+        long start = System.nanoTime();
+        Map<String, Long> rows = datasetGenerator.generate(properties);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        LOGGER.info("Generated {} rows in {} ms ({} rows/s): {}", total, millis, total * 1000 / Math.max(millis, 1),
+                rows);
+        assertThat(rows.get("vehicle")).isEqualTo(2_000_000L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM comment", Long.class))
+                .isEqualTo(rows.get("comment"));
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .vin("1HGCM82633A004352")
+                .make("Honda")
+                .model("Civic")
+                .year(2019)
+                .color("Blue")
+                .type(VehicleType.SEDAN)
+                .transmission(TransmissionType.AUTOMATIC)
+                .mpg(32)
+                .mileage(15000)
+                .build());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM vehicle", Long.class)).isEqualTo(2_000_001L);
+        assertThat(vehicle.getId()).isNotNull();
+    }
+}
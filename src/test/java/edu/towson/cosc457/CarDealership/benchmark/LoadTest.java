@@ -0,0 +1,241 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed-loop load generator. A {@link Scenario} is a weighted mix of named steps; every thread gets its own
+ * {@link Worker}, a Random seeded from the run seed and its thread index, and a fixed share of the requests, so
+ * the same seed, request count and thread count replay the same sequence of steps on every thread.
+ * Latencies are recorded per thread in HdrHistograms, in microseconds, and merged once all threads are done
+ */
+final class LoadTest {
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final int threads;
+    private final long seed;
+    private final LongSupplier statements;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * @param threads number of concurrent clients
+     * @param seed seed of the step sequence
+     * @param statements running count of database statements, read before and after each scenario
+     */
+    LoadTest(int threads, long seed, LongSupplier statements) {
+        this(threads, seed, statements, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * @param threadFactory creates the client threads, e.g. virtual threads for thousands of clients
+     */
+    LoadTest(int threads, long seed, LongSupplier statements, ThreadFactory threadFactory) {
+        this.threads = threads;
+        this.seed = seed;
+        this.statements = statements;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * One client of a scenario, only ever called from its own thread
+     */
+    @FunctionalInterface
+    interface Worker {
+        /**
+         * @param step name of the step to run
+         * @param random source of this thread's choices
+         * @return whether the request succeeded
+         */
+        boolean run(String step, Random random) throws Exception;
+    }
+
+    /**
+     * Weighted mix of named steps and the factory of the Worker running them on each thread
+     */
+    static final class Scenario {
+        private final String name;
+        private final IntFunction<Worker> workers;
+        private final List<String> steps = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private int totalWeight;
+
+        Scenario(String name, IntFunction<Worker> workers) {
+            this.name = name;
+            this.workers = workers;
+        }
+
+        Scenario step(String step, int weight) {
+            steps.add(step);
+            weights.add(weight);
+            totalWeight += weight;
+            return this;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        private String pick(Random random) {
+            int ticket = random.nextInt(totalWeight);
+            for (int i = 0; i < steps.size(); i++) {
+                ticket -= weights.get(i);
+                if (ticket < 0) {
+                    return steps.get(i);
+                }
+            }
+            throw new IllegalStateException("Weights of " + name + " changed");
+        }
+    }
+
+    /**
+     * Run requests steps of scenario across all threads
+     * @return latency, throughput, error and statement figures of the run
+     */
+    ScenarioResult run(Scenario scenario, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+        List<Future<Map<String, Recorder>>> futures = new ArrayList<>();
+        long statementsBefore = statements.getAsLong();
+        long start = System.nanoTime();
+        for (int thread = 0; thread < threads; thread++) {
+            int index = thread;
+            int share = requests / threads + (thread < requests % threads ? 1 : 0);
+            futures.add(executor.submit(() -> drive(scenario, index, share)));
+        }
+        Map<String, Recorder> merged = new LinkedHashMap<>();
+        try {
+            for (Future<Map<String, Recorder>> future : futures) {
+                future.get().forEach((step, recorder) -> merged.computeIfAbsent(step, key -> new Recorder())
+                        .add(recorder));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long statementCount = statements.getAsLong() - statementsBefore;
+
+        Recorder total = new Recorder();
+        Map<String, LatencyResult> steps = new LinkedHashMap<>();
+        scenario.steps.stream()
+                .filter(merged::containsKey)
+                .forEach(step -> {
+                    total.add(merged.get(step));
+                    steps.put(step, merged.get(step).toResult());
+                });
+        return ScenarioResult.builder()
+                .scenario(scenario.getName())
+                .requests(total.histogram.getTotalCount())
+                .threads(threads)
+                .seed(seed)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .throughput(total.histogram.getTotalCount() * 1e9 / elapsedNanos)
+                .errors(total.errors)
+                .statements(statementCount)
+                .statementsPerRequest((double) statementCount / Math.max(total.histogram.getTotalCount(), 1))
+                .latency(total.toResult())
+                .steps(steps)
+                .build();
+    }
+
+    private Map<String, Recorder> drive(Scenario scenario, int thread, int requests) {
+        Worker worker = scenario.workers.apply(thread);
+        Random random = new Random(seed * 31 + thread);
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (int i = 0; i < requests; i++) {
+            String step = scenario.pick(random);
+            Recorder recorder = recorders.computeIfAbsent(step, key -> new Recorder());
+            boolean succeeded;
+            long start = System.nanoTime();
+            try {
+                succeeded = worker.run(step, random);
+            } catch (Exception e) {
+                succeeded = false;
+            }
+            recorder.record(System.nanoTime() - start, succeeded);
+        }
+        return recorders;
+    }
+
+    private static final class Recorder {
+        private final Histogram histogram = new Histogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private long errors;
+
+        void record(long elapsedNanos, boolean succeeded) {
+            histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_LATENCY_MICROS));
+            if (!succeeded) {
+                errors++;
+            }
+        }
+
+        void add(Recorder other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+
+        LatencyResult toResult() {
+            return LatencyResult.builder()
+                    .count(histogram.getTotalCount())
+                    .errors(errors)
+                    .p50(histogram.getValueAtPercentile(50))
+                    .p99(histogram.getValueAtPercentile(99))
+                    .p999(histogram.getValueAtPercentile(99.9))
+                    .max(histogram.getMaxValue())
+                    .mean(histogram.getMean())
+                    .build();
+        }
+    }
+
+    /**
+     * Latency percentiles in microseconds
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    static class LatencyResult {
+        private long count;
+        private long errors;
+        private long p50;
+        private long p99;
+        private long p999;
+        private long max;
+        private double mean;
+    }
+
+    /**
+     * Outcome of one scenario, throughput in requests per second
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    static class ScenarioResult {
+        private String scenario;
+        private long requests;
+        private int threads;
+        private long seed;
+        private long elapsedMillis;
+        private double throughput;
+        private long errors;
+        private long statements;
+        private double statementsPerRequest;
+        private LatencyResult latency;
+        private Map<String, LatencyResult> steps;
+    }
+}
@@ -0,0 +1,320 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.service.BudgetMatchService;
+import edu.towson.cosc457.CarDealership.service.VehicleFacetService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boot the application against Postgres, seed an inventory and drive the real endpoints over HTTP with four
+ * workload profiles: inventory browse, ticket open/comment/resolve, lot and mechanic assignment, and a mix of all
+ * three. Each profile reports p50/p99/p999 latency, throughput, errors and the number of SQL statements Postgres
+ * executed per request (pg_stat_statements, without transaction control), and the whole run is written as JSON to
+ * target/load-test so runs can be compared.
+ * Run with mvn -P benchmark test -Dtest=LoadTestBenchmarkTest, needs Docker. -Dloadtest.requests,
+ * -Dloadtest.threads and -Dloadtest.seed change the requests per profile, the concurrent clients and the seed
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoadTestBenchmarkTest extends PostgresBenchmark {
+    private static final int VEHICLES = 10_000;
+    private static final int LOTS = 20;
+    private static final int MECHANICS = 20;
+    private static final String[] MAKES = {"Chevrolet", "Ford", "Toyota", "Honda", "Nissan"};
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2_000);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+    private static final long SEED = Long.getLong("loadtest.seed", 457L);
+    private static final File RESULTS = new File("target/load-test");
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestBenchmarkTest.class);
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private VehicleFacetService vehicleFacetService;
+    @Autowired
+    private BudgetMatchService budgetMatchService;
+    private final List<Long> vehicleIds = new ArrayList<>();
+    private final List<Long> lotIds = new ArrayList<>();
+    private final List<Long> mechanicIds = new ArrayList<>();
+    private final Map<Long, Long> lotOfVehicle = new ConcurrentHashMap<>();
+
+    @Test
+    void shouldRunWorkloadProfiles() throws Exception {
+        seed();
+        LoadTest loadTest = new LoadTest(THREADS, SEED, this::statements);
+        List<LoadTest.Scenario> scenarios = new ArrayList<>();
+        scenarios.add(browse(new LoadTest.Scenario("inventory-browse", thread -> new BrowseWorker())));
+        scenarios.add(tickets(new LoadTest.Scenario("ticket-lifecycle", thread -> new TicketWorker())));
+        scenarios.add(assignment(new LoadTest.Scenario("assignment", AssignmentWorker::new)));
+        scenarios.add(assignment(tickets(browse(new LoadTest.Scenario("mixed", MixedWorker::new)))));
+
+        loadTest.run(scenarios.get(scenarios.size() - 1), REQUESTS / 4);
+        List<LoadTest.ScenarioResult> results = new ArrayList<>();
+        for (LoadTest.Scenario scenario : scenarios) {
+            LoadTest.ScenarioResult result = loadTest.run(scenario, REQUESTS);
+            LOGGER.info("{}: {} requests, {} req/s, p50 {} us, p99 {} us, p999 {} us, max {} us, "
+                            + "{} errors, {} statements per request",
+                    result.getScenario(), result.getRequests(), String.format("%.1f", result.getThroughput()),
+                    result.getLatency().getP50(), result.getLatency().getP99(), result.getLatency().getP999(),
+                    result.getLatency().getMax(), result.getErrors(),
+                    String.format("%.2f", result.getStatementsPerRequest()));
+            results.add(result);
+        }
+
+        File file = write(results);
+        LOGGER.info("Load test results written to {}", file.getAbsolutePath());
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.getRequests()).isEqualTo(REQUESTS);
+            assertThat(result.getErrors()).isZero();
+        });
+    }
+
+    private static LoadTest.Scenario browse(LoadTest.Scenario scenario) {
+        return scenario
+                .step("browse.list", 30)
+                .step("browse.search", 25)
+                .step("browse.facets", 15)
+                .step("browse.get", 30);
+    }
+
+    private static LoadTest.Scenario tickets(LoadTest.Scenario scenario) {
+        return scenario
+                .step("ticket.open", 30)
+                .step("ticket.comment", 50)
+                .step("ticket.resolve", 20);
+    }
+
+    private static LoadTest.Scenario assignment(LoadTest.Scenario scenario) {
+        return scenario
+                .step("assign.move", 60)
+                .step("assign.mechanic-tickets", 40);
+    }
+
+    /**
+     * Reads of the inventory, as a customer browsing the site
+     */
+    private class BrowseWorker implements LoadTest.Worker {
+        @Override
+        public boolean run(String step, Random random) {
+            String make = MAKES[random.nextInt(MAKES.length)];
+            switch (step) {
+                case "browse.list":
+                    return ok(restTemplate.getForEntity("/api/v1/vehicles?limit=50", JsonNode.class));
+                case "browse.search":
+                    return ok(restTemplate.getForEntity(
+                            "/api/v1/vehicles/search?make={make}&maxPrice={price}&size=20", JsonNode.class,
+                            make, 10_000 + random.nextInt(40_000)));
+                case "browse.facets":
+                    return ok(restTemplate.getForEntity("/api/v1/vehicles/facets?make={make}", JsonNode.class, make));
+                case "browse.get":
+                    return ok(restTemplate.getForEntity("/api/v1/vehicles/{id}", JsonNode.class,
+                            pick(vehicleIds, random)));
+                default:
+                    throw new IllegalArgumentException(step);
+            }
+        }
+    }
+
+    /**
+     * A mechanic opening tickets, commenting on them and resolving them. Comments and resolutions only go to
+     * tickets this worker opened; without one they open a ticket instead
+     */
+    private class TicketWorker implements LoadTest.Worker {
+        private final Deque<long[]> open = new ArrayDeque<>();
+
+        @Override
+        public boolean run(String step, Random random) {
+            if (!"ticket.open".equals(step) && open.isEmpty()) {
+                step = "ticket.open";
+            }
+            switch (step) {
+                case "ticket.open":
+                    return open(random);
+                case "ticket.comment":
+                    long[] ticket = pick(new ArrayList<>(open), random);
+                    Map<String, Object> comment = new HashMap<>();
+                    comment.put("serviceTicketId", ticket[0]);
+                    comment.put("mechanicId", ticket[1]);
+                    comment.put("dateCreated", LocalDate.now().toString());
+                    comment.put("content", "Inspected brakes, pads at " + random.nextInt(10) + " mm");
+                    return ok(restTemplate.postForEntity("/api/v1/comments", comment, JsonNode.class));
+                case "ticket.resolve":
+                    Map<String, Object> transition = new HashMap<>();
+                    transition.put("to", "RESOLVED");
+                    return ok(restTemplate.postForEntity("/api/v1/tickets/{id}/transitions", transition,
+                            JsonNode.class, open.poll()[0]));
+                default:
+                    throw new IllegalArgumentException(step);
+            }
+        }
+
+        private boolean open(Random random) {
+            long mechanicId = pick(mechanicIds, random);
+            Map<String, Object> ticket = new HashMap<>();
+            ticket.put("vehicleId", pick(vehicleIds, random));
+            ticket.put("mechanicId", mechanicId);
+            ticket.put("dateCreated", LocalDate.now().toString());
+            ticket.put("dateUpdated", LocalDate.now().toString());
+            ticket.put("status", "OPEN");
+            ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/v1/tickets", ticket,
+                    JsonNode.class);
+            if (!ok(response)) {
+                return false;
+            }
+            open.add(new long[]{response.getBody().get("id").asLong(), mechanicId});
+            return true;
+        }
+    }
+
+    /**
+     * Moves Vehicles between Lots, releasing a Vehicle from its Lot or adding an unassigned one to a random Lot, and
+     * reads Mechanic workloads. Each thread only moves the Vehicles whose index falls in its share, so moves never
+     * conflict
+     */
+    private class AssignmentWorker implements LoadTest.Worker {
+        private final List<Long> vehicles = new ArrayList<>();
+
+        AssignmentWorker(int thread) {
+            for (int i = thread; i < vehicleIds.size(); i += THREADS) {
+                vehicles.add(vehicleIds.get(i));
+            }
+        }
+
+        @Override
+        public boolean run(String step, Random random) {
+            switch (step) {
+                case "assign.move":
+                    Long vehicleId = pick(vehicles, random);
+                    Long lotId = lotOfVehicle.get(vehicleId);
+                    if (lotId != 0L) {
+                        lotOfVehicle.put(vehicleId, 0L);
+                        return ok(restTemplate.exchange("/api/v1/lots/{lotId}/vehicles/{vehicleId}/remove",
+                                HttpMethod.DELETE, null, JsonNode.class, lotId, vehicleId));
+                    }
+                    lotId = pick(lotIds, random);
+                    lotOfVehicle.put(vehicleId, lotId);
+                    return ok(restTemplate.postForEntity("/api/v1/lots/{lotId}/vehicles/{vehicleId}/add", null,
+                            JsonNode.class, lotId, vehicleId));
+                case "assign.mechanic-tickets":
+                    return ok(restTemplate.getForEntity("/api/v1/mechanics/{id}/tickets?limit=20", JsonNode.class,
+                            pick(mechanicIds, random)));
+                default:
+                    throw new IllegalArgumentException(step);
+            }
+        }
+    }
+
+    /**
+     * Every step of the other profiles, each run by the worker of its profile
+     */
+    private class MixedWorker implements LoadTest.Worker {
+        private final Map<String, LoadTest.Worker> workers = new HashMap<>();
+
+        MixedWorker(int thread) {
+            workers.put("browse", new BrowseWorker());
+            workers.put("ticket", new TicketWorker());
+            workers.put("assign", new AssignmentWorker(thread));
+        }
+
+        @Override
+        public boolean run(String step, Random random) throws Exception {
+            return workers.get(step.substring(0, step.indexOf('.'))).run(step, random);
+        }
+    }
+
+    /**
+     * Insert the Location, Lots, Mechanics and Vehicles the profiles work on, with generated ids so later
+     * Hibernate inserts do not collide, and rebuild the in-memory indexes built before the data was there
+     */
+    private void seed() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        Long addressId = jdbcTemplate.queryForObject("INSERT INTO address (street, city, state, zip_code) "
+                + "VALUES ('8000 York Rd.', 'Towson', 'Maryland', 21252) RETURNING address_id", Long.class);
+        Long locationId = jdbcTemplate.queryForObject("INSERT INTO location (location_name, address_id) "
+                + "VALUES ('Towson', ?) RETURNING location_id", Long.class, addressId);
+        jdbcTemplate.update("INSERT INTO lot (lot_size, location_id) SELECT 40000, ? FROM generate_series(1, ?)",
+                locationId, LOTS);
+        jdbcTemplate.update("INSERT INTO employee (ssn, first_name, last_name, work_location_id, date_started, "
+                + "employee_type) SELECT '900-00-' || lpad(i::text, 4, '0'), 'Mechanic', i::text, ?, "
+                + "DATE '2020-01-01', 'MECHANIC' FROM generate_series(1, ?) AS i", locationId, MECHANICS);
+        jdbcTemplate.update("INSERT INTO mechanic (id) SELECT id FROM employee WHERE employee_type = 'MECHANIC'");
+        jdbcTemplate.update("INSERT INTO vehicle (vin, make, model, year, color, vehicle_type, transmission, "
+                + "features, mpg, mileage, price, lot_id) "
+                + "SELECT lpad(to_hex(i), 17, '0'), (ARRAY['Chevrolet', 'Ford', 'Toyota', 'Honda', 'Nissan'])"
+                + "[i % 5 + 1], 'Model ' || (i / 5 % 8), 2000 + i % 22, 'Blue', 'SEDAN', 'AUTOMATIC', "
+                + "'Bluetooth, Backup Camera', 20 + i % 20, i % 200000, 5000 + i % 50000, "
+                + "(SELECT array_agg(lot_id ORDER BY lot_id) FROM lot)[i % ? + 1] "
+                + "FROM generate_series(1, ?) AS i", LOTS, VEHICLES);
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.query("SELECT vehicle_id, lot_id FROM vehicle ORDER BY vehicle_id", resultSet -> {
+            vehicleIds.add(resultSet.getLong("vehicle_id"));
+            lotOfVehicle.put(resultSet.getLong("vehicle_id"), resultSet.getLong("lot_id"));
+        });
+        lotIds.addAll(jdbcTemplate.queryForList("SELECT lot_id FROM lot ORDER BY lot_id", Long.class));
+        mechanicIds.addAll(jdbcTemplate.queryForList("SELECT id FROM mechanic ORDER BY id", Long.class));
+        vehicleFacetService.rebuild();
+        budgetMatchService.rebuild();
+    }
+
+    /**
+     * @return statements Postgres has executed in this database, not counting these reads
+     */
+    private long statements() {
+        Long calls = jdbcTemplate.queryForObject("SELECT coalesce(sum(calls), 0) FROM pg_stat_statements "
+                + "WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database()) "
+                + "AND query NOT LIKE '%pg_stat_statements%'", Long.class);
+        return calls == null ? 0 : calls;
+    }
+
+    private File write(List<LoadTest.ScenarioResult> results) throws Exception {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", LocalDateTime.now().toString());
+        run.put("requests", REQUESTS);
+        run.put("threads", THREADS);
+        run.put("seed", SEED);
+        run.put("vehicles", VEHICLES);
+        run.put("scenarios", results);
+        RESULTS.mkdirs();
+        File file = new File(RESULTS, "load-test-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, run);
+        return file;
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static boolean ok(ResponseEntity<?> response) {
+        return response.getStatusCode().is2xxSuccessful();
+    }
+}
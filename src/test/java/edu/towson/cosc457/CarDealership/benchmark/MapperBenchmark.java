@@ -0,0 +1,238 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import edu.towson.cosc457.CarDealership.mapper.AddressMapperImpl;
+import edu.towson.cosc457.CarDealership.mapper.CommentMapperImpl;
+import edu.towson.cosc457.CarDealership.mapper.EmployeeMapper;
+import edu.towson.cosc457.CarDealership.mapper.EmployeeMapperImpl;
+import edu.towson.cosc457.CarDealership.mapper.LocationMapper;
+import edu.towson.cosc457.CarDealership.mapper.LocationMapperImpl;
+import edu.towson.cosc457.CarDealership.mapper.ServiceTicketMapper;
+import edu.towson.cosc457.CarDealership.mapper.ServiceTicketMapperImpl;
+import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.mapper.VehicleMapperImpl;
+import edu.towson.cosc457.CarDealership.misc.EmployeeType;
+import edu.towson.cosc457.CarDealership.misc.Gender;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.*;
+import edu.towson.cosc457.CarDealership.model.dto.EmployeeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the entity to DTO mappers on the object graphs the controllers map: an employee roster mixing
+ * every Employee subtype, a lot's worth of Vehicles, Locations with their Address and a ServiceTicket with its
+ * Comments. Each benchmark maps a whole collection, so scores are microseconds per list.
+ * Run through {@link MapperBenchmarkTest}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+    private static final int EMPLOYEES = 200;
+    private static final int VEHICLES = 200;
+    private static final int LOCATIONS = 50;
+    private static final int TICKETS = 50;
+    private static final int COMMENTS_PER_TICKET = 5;
+
+    private EmployeeMapper employeeMapper;
+    private VehicleMapper vehicleMapper;
+    private LocationMapper locationMapper;
+    private ServiceTicketMapper serviceTicketMapper;
+    private List<Employee> employees;
+    private List<EmployeeDto> employeeDtos;
+    private List<Vehicle> vehicles;
+    private List<Location> locations;
+    private List<ServiceTicket> tickets;
+
+    @Setup
+    public void setUp() {
+        employeeMapper = new EmployeeMapperImpl();
+        ReflectionTestUtils.setField(employeeMapper, "addressMapper", new AddressMapperImpl());
+        vehicleMapper = new VehicleMapperImpl();
+        locationMapper = new LocationMapperImpl();
+        ReflectionTestUtils.setField(locationMapper, "addressMapper", new AddressMapperImpl());
+        serviceTicketMapper = new ServiceTicketMapperImpl();
+        ReflectionTestUtils.setField(serviceTicketMapper, "commentMapper", new CommentMapperImpl());
+
+        Location location = location(1L);
+        Department department = Department.builder().id(1L).name("Service").location(location).build();
+        SiteManager siteManager = SiteManager.builder()
+                .id(1L)
+                .employeeType(EmployeeType.SITE_MANAGER)
+                .workLocation(location)
+                .managedLocation(location)
+                .build();
+        Manager manager = Manager.builder()
+                .id(2L)
+                .employeeType(EmployeeType.MANAGER)
+                .workLocation(location)
+                .siteManager(siteManager)
+                .department(department)
+                .build();
+        employees = new ArrayList<>();
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            switch ((int) (id % 4)) {
+                case 0:
+                    employees.add(fill(Mechanic.builder().manager(manager).department(department), id,
+                            EmployeeType.MECHANIC, location));
+                    break;
+                case 1:
+                    employees.add(fill(SalesAssociate.builder().manager(manager).department(department), id,
+                            EmployeeType.SALES_ASSOCIATE, location));
+                    break;
+                case 2:
+                    employees.add(fill(Manager.builder().siteManager(siteManager).department(department), id,
+                            EmployeeType.MANAGER, location));
+                    break;
+                default:
+                    employees.add(fill(SiteManager.builder().managedLocation(location), id,
+                            EmployeeType.SITE_MANAGER, location));
+            }
+        }
+        employeeDtos = new ArrayList<>();
+        employees.forEach(employee -> employeeDtos.add(employeeMapper.toDto(employee)));
+
+        Lot lot = Lot.builder().id(1L).size(40000.00).location(location).build();
+        vehicles = new ArrayList<>();
+        for (long id = 1; id <= VEHICLES; id++) {
+            vehicles.add(vehicle(id, lot));
+        }
+
+        locations = new ArrayList<>();
+        for (long id = 1; id <= LOCATIONS; id++) {
+            Location other = location(id);
+            other.setSiteManager(siteManager);
+            locations.add(other);
+        }
+
+        Mechanic mechanic = (Mechanic) employees.get(3);
+        tickets = new ArrayList<>();
+        for (long id = 1; id <= TICKETS; id++) {
+            ServiceTicket ticket = ServiceTicket.builder()
+                    .id(id)
+                    .vehicle(vehicles.get((int) id))
+                    .mechanic(mechanic)
+                    .dateCreated(LocalDate.of(2021, 3, 1))
+                    .dateUpdated(LocalDate.of(2021, 3, 8))
+                    .status(Status.PENDING)
+                    .comments(new ArrayList<>())
+                    .build();
+            for (long c = 1; c <= COMMENTS_PER_TICKET; c++) {
+                ticket.addComment(Comment.builder()
+                        .id(id * COMMENTS_PER_TICKET + c)
+                        .serviceTicket(ticket)
+                        .mechanic(mechanic)
+                        .dateCreated(LocalDate.of(2021, 3, (int) c))
+                        .content("Replaced front brake pads and rotors, road tested, no further noise")
+                        .build());
+            }
+            tickets.add(ticket);
+        }
+    }
+
+    @Benchmark
+    public void employeesToDto(Blackhole blackhole) {
+        for (Employee employee : employees) {
+            blackhole.consume(employeeMapper.toDto(employee));
+        }
+    }
+
+    @Benchmark
+    public void employeesFromDto(Blackhole blackhole) {
+        for (EmployeeDto employeeDto : employeeDtos) {
+            blackhole.consume(employeeMapper.fromDto(employeeDto));
+        }
+    }
+
+    @Benchmark
+    public void vehiclesToDto(Blackhole blackhole) {
+        for (Vehicle vehicle : vehicles) {
+            blackhole.consume(vehicleMapper.toDto(vehicle));
+        }
+    }
+
+    @Benchmark
+    public void locationsToDto(Blackhole blackhole) {
+        for (Location location : locations) {
+            blackhole.consume(locationMapper.toDto(location));
+        }
+    }
+
+    @Benchmark
+    public void serviceTicketsToDto(Blackhole blackhole) {
+        for (ServiceTicket ticket : tickets) {
+            blackhole.consume(serviceTicketMapper.toDto(ticket));
+        }
+    }
+
+    private static Employee fill(Employee.EmployeeBuilder<?, ?> builder, long id, EmployeeType employeeType,
+                                 Location location) {
+        return builder
+                .id(id)
+                .ssn(String.format("123-45-%04d", id))
+                .firstName("FirstName" + id)
+                .middleInitial('M')
+                .lastName("LastName" + id)
+                .gender(id % 2 == 0 ? Gender.FEMALE : Gender.MALE)
+                .dateOfBirth(LocalDate.of(1980, 1, 1).plusDays(id))
+                .phoneNumber("123-456-7890")
+                .email("employee" + id + "@company.com")
+                .workLocation(location)
+                .salary(50000.00 + id)
+                .dateStarted(LocalDate.of(2015, 6, 1))
+                .address(address(id))
+                .hoursWorked(1200.50)
+                .employeeType(employeeType)
+                .build();
+    }
+
+    private static Location location(long id) {
+        return Location.builder()
+                .id(id)
+                .name("Location " + id)
+                .address(address(id))
+                .build();
+    }
+
+    private static Address address(long id) {
+        return Address.builder()
+                .id(id)
+                .street(id + " Main St.")
+                .city("Towson")
+                .state("Maryland")
+                .zipCode(21252)
+                .build();
+    }
+
+    private static Vehicle vehicle(long id, Lot lot) {
+        return Vehicle.builder()
+                .id(id)
+                .vin(String.format("1HGCM82633A%06d", id))
+                .make("Honda")
+                .model("Civic")
+                .year(2019)
+                .color("Blue")
+                .type(VehicleType.SEDAN)
+                .transmission(TransmissionType.AUTOMATIC)
+                .features("Bluetooth, Backup Camera, Heated Seats")
+                .mpg(32)
+                .mileage(15000)
+                .price(21500.00)
+                .lot(lot)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Run the {@link MapperBenchmark} JMH suite in a forked JVM, log the score of each benchmark and fail if one is more
+ * than the allowed margin above its baseline in benchmark/mapper-baseline.json. Run with mvn -P benchmark test, add
+ * -Dbenchmark.margin=0.5 to tighten the default margin of 100%. Update the baseline when a change is meant to move a
+ * score
+ */
+@Tag("benchmark")
+public class MapperBenchmarkTest {
+    private static final String BASELINE = "/benchmark/mapper-baseline.json";
+    private static final double MARGIN = Double.parseDouble(System.getProperty("benchmark.margin", "1.0"));
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapperBenchmarkTest.class);
+
+    @Test
+    void shouldBenchmarkMappers() throws RunnerException, IOException {
+        Map<String, Double> baseline = baseline();
+        Options options = new OptionsBuilder()
+                .include(MapperBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        results.forEach(result -> LOGGER.info("{}: {} {}",
+                result.getParams().getBenchmark(),
+                String.format("%.3f ± %.3f", result.getPrimaryResult().getScore(),
+                        result.getPrimaryResult().getScoreError()),
+                result.getPrimaryResult().getScoreUnit()));
+        assertThat(results).hasSize(baseline.size());
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            assertThat(baseline).as("baseline of %s", name).containsKey(name);
+            assertThat(result.getPrimaryResult().getScore())
+                    .as("%s against its baseline of %.3f %s", name, baseline.get(name),
+                            result.getPrimaryResult().getScoreUnit())
+                    .isLessThanOrEqualTo(baseline.get(name) * (1 + MARGIN));
+        }
+    }
+
+    private static Map<String, Double> baseline() throws IOException {
+        try (InputStream in = MapperBenchmarkTest.class.getResourceAsStream(BASELINE)) {
+            return new ObjectMapper().readValue(in, new TypeReference<Map<String, Double>>() {
+            });
+        }
+    }
+}
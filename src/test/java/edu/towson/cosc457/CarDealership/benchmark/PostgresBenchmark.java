@@ -0,0 +1,47 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Postgres 13 in Docker for the database benchmarks, created with the roles of benchmark/roles.sql, fsync off, room
+ * for 200 connections and pg_stat_statements loaded. Every benchmark class gets a fresh, empty database: the
+ * container is started before the class and stopped after it, and its Spring context is closed with it so the next
+ * class never reuses a context pointing at the stopped container. Spring Boot tests get the datasource from
+ * {@link #datasource}, the ones starting their own application pass {@link #datasourceProperties()}
+ */
+@Testcontainers
+@DirtiesContext
+abstract class PostgresBenchmark {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withInitScript("benchmark/roles.sql")
+            .withCommand("postgres", "-c", "fsync=off",
+                    "-c", "max_connections=200",
+                    "-c", "shared_preload_libraries=pg_stat_statements",
+                    "-c", "pg_stat_statements.track_utility=off");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        datasourceProperties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * @return datasource of the running container, with the schema initialised on startup
+     */
+    static Map<String, Object> datasourceProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", POSTGRES.getJdbcUrl());
+        properties.put("spring.datasource.username", POSTGRES.getUsername());
+        properties.put("spring.datasource.password", POSTGRES.getPassword());
+        properties.put("spring.datasource.initialization-mode", "always");
+        return properties;
+    }
+}
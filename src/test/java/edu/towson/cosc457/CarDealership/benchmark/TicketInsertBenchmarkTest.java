@@ -0,0 +1,141 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import edu.towson.cosc457.CarDealership.misc.EmployeeType;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.Comment;
+import edu.towson.cosc457.CarDealership.model.Mechanic;
+import edu.towson.cosc457.CarDealership.model.ServiceTicket;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert 10k ServiceTickets with 3 Comments each, first one statement per row (what IDENTITY keys forced, since
+ * Hibernate must run every INSERT to learn its id) and then with the configured hibernate.jdbc.batch_size.
+ * Run with mvn -P benchmark test, needs Docker
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TicketInsertBenchmarkTest extends PostgresBenchmark {
+    private static final int TICKETS = 10_000;
+    private static final int WARM_UP_TICKETS = 1_000;
+    private static final int COMMENTS_PER_TICKET = 3;
+    private static final int FLUSH_INTERVAL = 1_000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketInsertBenchmarkTest.class);
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldInsertTicketsFasterInBatches() {
+        long[] owners = seed();
+        insert(1, owners, WARM_UP_TICKETS);
+        insert(null, owners, WARM_UP_TICKETS);
+
+        long unbatched = insert(1, owners, TICKETS);
+        long batched = insert(null, owners, TICKETS);
+
+        int rows = TICKETS * (1 + COMMENTS_PER_TICKET);
+        LOGGER.info("{} tickets + {} comments, one statement per row: {} ms ({} rows/s)",
+                TICKETS, TICKETS * COMMENTS_PER_TICKET, unbatched, rows * 1000L / Math.max(unbatched, 1));
+        LOGGER.info("{} tickets + {} comments, JDBC batches: {} ms ({} rows/s)",
+                TICKETS, TICKETS * COMMENTS_PER_TICKET, batched, rows * 1000L / Math.max(batched, 1));
+        assertThat(count("select count(t) from ServiceTicket t"))
+                .isEqualTo(2L * (WARM_UP_TICKETS + TICKETS));
+        assertThat(count("select count(c) from Comment c"))
+                .isEqualTo(2L * (WARM_UP_TICKETS + TICKETS) * COMMENTS_PER_TICKET);
+    }
+
+    /**
+     * @return ids of the Vehicle and Mechanic every ticket refers to
+     */
+    private long[] seed() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        Vehicle vehicle = Vehicle.builder()
+                .vin("1HGCM82633A004352")
+                .make("Honda")
+                .model("Civic")
+                .year(2019)
+                .color("Blue")
+                .type(VehicleType.SEDAN)
+                .transmission(TransmissionType.AUTOMATIC)
+                .mpg(32)
+                .mileage(15000)
+                .build();
+        Mechanic mechanic = Mechanic.builder()
+                .ssn("123-45-6789")
+                .firstName("Jane")
+                .lastName("Doe")
+                .dateStarted(LocalDate.of(2020, 1, 1))
+                .employeeType(EmployeeType.MECHANIC)
+                .build();
+        entityManager.persist(vehicle);
+        entityManager.persist(mechanic);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        return new long[]{vehicle.getId(), mechanic.getId()};
+    }
+
+    /**
+     * @param batchSize JDBC batch size for this session, null for the configured hibernate.jdbc.batch_size
+     * @return elapsed milliseconds, including the final commit
+     */
+    private long insert(Integer batchSize, long[] owners, int tickets) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        LocalDate today = LocalDate.now();
+        long start = System.nanoTime();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < tickets; i++) {
+            Mechanic mechanic = entityManager.getReference(Mechanic.class, owners[1]);
+            ServiceTicket ticket = ServiceTicket.builder()
+                    .vehicle(entityManager.getReference(Vehicle.class, owners[0]))
+                    .mechanic(mechanic)
+                    .dateCreated(today)
+                    .dateUpdated(today)
+                    .status(Status.OPEN)
+                    .comments(new ArrayList<>())
+                    .build();
+            for (int j = 0; j < COMMENTS_PER_TICKET; j++) {
+                ticket.addComment(Comment.builder()
+                        .serviceTicket(ticket)
+                        .mechanic(mechanic)
+                        .dateCreated(today)
+                        .content("Inspection note " + j)
+                        .build());
+            }
+            entityManager.persist(ticket);
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.getTransaction().commit();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        entityManager.close();
+        return elapsed;
+    }
+
+    private long count(String query) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(query, Long.class).getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
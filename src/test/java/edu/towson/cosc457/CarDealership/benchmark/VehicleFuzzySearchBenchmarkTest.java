@@ -0,0 +1,104 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
+import edu.towson.cosc457.CarDealership.service.VehicleService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search a generated inventory of 1M Vehicles by features, first with the LIKE filter and then with the fuzzy
+ * trigram search, and look up a misspelled make that only the fuzzy search finds.
+ * Run with mvn -P benchmark test, needs Docker
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class VehicleFuzzySearchBenchmarkTest extends PostgresBenchmark {
+    private static final int VEHICLES = 1_000_000;
+    private static final int RUNS = 20;
+    private static final Logger LOGGER = LoggerFactory.getLogger(VehicleFuzzySearchBenchmarkTest.class);
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldSearchFeaturesFasterWithTrigrams() {
+        seed();
+        VehicleSearchDto like = VehicleSearchDto.builder().features("heads-up display").build();
+        VehicleSearchDto fuzzy = VehicleSearchDto.builder().features("heads-up display").fuzzy(true).build();
+
+        long likeMillis = time(() -> vehicleService.searchVehicles(like, PageRequest.of(0, 50)));
+        long fuzzyMillis = time(() -> vehicleService.searchVehicles(fuzzy, PageRequest.of(0, 50)));
+
+        LOGGER.info("{} vehicles, features LIKE: {} ms per search", VEHICLES, likeMillis / RUNS);
+        LOGGER.info("{} vehicles, features trigram: {} ms per search", VEHICLES, fuzzyMillis / RUNS);
+        assertThat(vehicleService.searchVehicles(like, PageRequest.of(0, 50)).getContent()).isNotEmpty();
+        assertThat(vehicleService.searchVehicles(fuzzy, PageRequest.of(0, 50)).getContent()).isNotEmpty();
+    }
+
+    @Test
+    void shouldFindMisspelledMake() {
+        seed();
+        VehicleSearchDto exact = VehicleSearchDto.builder().make("Chevorlet").build();
+        VehicleSearchDto fuzzy = VehicleSearchDto.builder().make("Chevorlet").fuzzy(true).build();
+
+        long exactMillis = time(() -> vehicleService.searchVehicles(exact, PageRequest.of(0, 50)));
+        long fuzzyMillis = time(() -> vehicleService.searchVehicles(fuzzy, PageRequest.of(0, 50)));
+
+        LOGGER.info("{} vehicles, make equality: {} ms per search", VEHICLES, exactMillis / RUNS);
+        LOGGER.info("{} vehicles, make trigram: {} ms per search", VEHICLES, fuzzyMillis / RUNS);
+        assertThat(vehicleService.searchVehicles(exact, PageRequest.of(0, 50)).getContent()).isEmpty();
+        assertThat(vehicleService.searchVehicles(fuzzy, PageRequest.of(0, 50)).getContent())
+                .extracting(Vehicle::getMake)
+                .containsOnly("Chevrolet");
+    }
+
+    /**
+     * Generate the inventory once per container: 10 makes, 5 models each and 1 of 8 rare features per vehicle in
+     * a list of common ones, so every search term is selective
+     */
+    private void seed() {
+        Long vehicles = jdbcTemplate.queryForObject("SELECT count(*) FROM vehicle", Long.class);
+        if (vehicles != null && vehicles >= VEHICLES) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO vehicle (vin, make, model, year, color, vehicle_type, transmission, "
+                + "features, mpg, mileage, price) "
+                + "SELECT lpad(to_hex(i), 17, '0'), "
+                + "(ARRAY['Chevrolet', 'Ford', 'Toyota', 'Honda', 'Nissan', 'Hyundai', 'Kia', 'Subaru', "
+                + "'Volkswagen', 'Mazda'])[i % 10 + 1], "
+                + "'Model ' || (i / 10 % 5), 2000 + i % 22, 'Blue', 'SEDAN', 'AUTOMATIC', "
+                + "'Bluetooth, Backup Camera, Cruise Control, ' || (ARRAY['Sunroof', 'Heated Seats', "
+                + "'Heads-Up Display', 'Tow Package', 'Navigation', 'Remote Start', 'Third Row', 'Apple CarPlay'])"
+                + "[i / 50 % 8 + 1], "
+                + "20 + i % 20, i % 200000, 5000 + i % 50000 "
+                + "FROM generate_series(1, ?) AS i", VEHICLES);
+        jdbcTemplate.execute("ANALYZE vehicle");
+    }
+
+    /**
+     * @return elapsed milliseconds for {@link #RUNS} searches, after as many warm-up searches
+     */
+    private static long time(Supplier<Slice<Vehicle>> search) {
+        for (int i = 0; i < RUNS; i++) {
+            search.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,179 @@
+package edu.towson.cosc457.CarDealership.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.CarDealershipApplication;
+import edu.towson.cosc457.CarDealership.config.GeneratorProperties;
+import edu.towson.cosc457.CarDealership.config.VirtualThreads;
+import edu.towson.cosc457.CarDealership.service.DatasetGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compare Tomcat's platform worker pool with the virtual-thread mode on the same data and the same database
+ * connections: both modes serve reads that make several sequential queries to 1k and 10k concurrent clients, run
+ * on virtual threads themselves. Each run reports p50/p99/p999 latency, throughput and errors, and the comparison is
+ * written as JSON to target/load-test.
+ * Run with mvn -P benchmark test -Dtest=VirtualThreadBenchmarkTest -Djvm=&lt;Java 21+&gt;/bin/java, which compiles on
+ * the build JDK and runs the tests on Java 21; needs Docker and a file descriptor limit above the client count.
+ * -Dloadtest.clients=1000,10000 and -Dloadtest.requests-per-client change the load
+ */
+@Tag("benchmark")
+@EnabledIf("edu.towson.cosc457.CarDealership.config.VirtualThreads#isSupported")
+public class VirtualThreadBenchmarkTest extends PostgresBenchmark {
+    private static final int DB_CONNECTIONS = 20;
+    private static final int PLATFORM_THREADS = 200;
+    private static final String CLIENTS = System.getProperty("loadtest.clients", "1000,10000");
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 10);
+    private static final long SEED = Long.getLong("loadtest.seed", 457L);
+    private static final File RESULTS = new File("target/load-test");
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private final List<Long> vehicleIds = new ArrayList<>();
+    private final List<Long> locationIds = new ArrayList<>();
+    private final List<Long> managerIds = new ArrayList<>();
+
+    @Test
+    void shouldCompareThreadModes() throws Exception {
+        Map<String, List<LoadTest.ScenarioResult>> results = new LinkedHashMap<>();
+        results.put("platform", run(false, true));
+        results.put("virtual", run(true, false));
+
+        File file = write(results);
+        LOGGER.info("Thread mode comparison written to {}", file.getAbsolutePath());
+        assertThat(results.get("virtual")).allSatisfy(result -> assertThat(result.getErrors()).isZero());
+    }
+
+    /**
+     * Start the application in one mode, run every client count against it and stop it
+     * @param seed whether to create the schema and generate the dataset first
+     */
+    private List<LoadTest.ScenarioResult> run(boolean virtual, boolean seed) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        List<LoadTest.ScenarioResult> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipApplication.class)
+                .properties(datasourceProperties())
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.initialization-mode=" + (seed ? "always" : "never"),
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_CONNECTIONS,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "app.virtual-threads.enabled=" + virtual,
+                        "app.virtual-threads.db-permits=" + DB_CONNECTIONS,
+                        "app.virtual-threads.db-permit-timeout=30s",
+                        "logging.level.edu.towson.cosc457.CarDealership=WARN")
+                .run()) {
+            if (seed) {
+                seed(context);
+            }
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            for (String clients : CLIENTS.split(",")) {
+                int threads = Integer.parseInt(clients.trim());
+                LoadTest loadTest = new LoadTest(threads, SEED, () -> 0L,
+                        VirtualThreads.newThreadFactory("client-"));
+                LoadTest.Scenario scenario = new LoadTest.Scenario(mode + "-" + threads,
+                        thread -> (step, random) -> get(port, step, random))
+                        .step("vehicle.get", 30)
+                        .step("vehicle.tickets", 30)
+                        .step("location.mechanics", 20)
+                        .step("manager.mechanics", 20);
+                loadTest.run(scenario, threads);
+                LoadTest.ScenarioResult result = loadTest.run(scenario, threads * REQUESTS_PER_CLIENT);
+                LOGGER.info("{}: {} clients, {} req/s, p50 {} us, p99 {} us, p999 {} us, max {} us, {} errors",
+                        mode, threads, String.format("%.1f", result.getThroughput()), result.getLatency().getP50(),
+                        result.getLatency().getP99(), result.getLatency().getP999(), result.getLatency().getMax(),
+                        result.getErrors());
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private boolean get(int port, String step, Random random) throws Exception {
+        String path;
+        switch (step) {
+            case "vehicle.get":
+                path = "/api/v1/vehicles/" + pick(vehicleIds, random);
+                break;
+            case "vehicle.tickets":
+                path = "/api/v1/vehicles/" + pick(vehicleIds, random) + "/tickets?limit=20";
+                break;
+            case "location.mechanics":
+                path = "/api/v1/locations/" + pick(locationIds, random) + "/mechanics";
+                break;
+            case "manager.mechanics":
+                path = "/api/v1/managers/" + pick(managerIds, random) + "/mechanics";
+                break;
+            default:
+                throw new IllegalArgumentException(step);
+        }
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + path)).timeout(Duration.ofMinutes(1)).build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        GeneratorProperties properties = new GeneratorProperties();
+        properties.setSeed(SEED);
+        properties.setVehicles(20_000);
+        properties.setClients(1_000);
+        properties.setTickets(40_000);
+        properties.setEndDate(LocalDate.of(2021, 6, 30));
+        context.getBean(DatasetGenerator.class).generate(properties);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        vehicleIds.addAll(jdbcTemplate.queryForList("SELECT vehicle_id FROM vehicle ORDER BY vehicle_id",
+                Long.class));
+        locationIds.addAll(jdbcTemplate.queryForList("SELECT location_id FROM location ORDER BY location_id",
+                Long.class));
+        managerIds.addAll(jdbcTemplate.queryForList("SELECT id FROM employee WHERE employee_type = 'MANAGER' "
+                + "ORDER BY id", Long.class));
+    }
+
+    private File write(Map<String, List<LoadTest.ScenarioResult>> results) throws Exception {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", LocalDateTime.now().toString());
+        run.put("java", Runtime.version().toString());
+        run.put("dbConnections", DB_CONNECTIONS);
+        run.put("platformThreads", PLATFORM_THREADS);
+        run.put("requestsPerClient", REQUESTS_PER_CLIENT);
+        run.put("seed", SEED);
+        run.put("modes", results);
+        RESULTS.mkdirs();
+        File file = new File(RESULTS, "virtual-threads-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().findAndRegisterModules().writerWithDefaultPrettyPrinter().writeValue(file, run);
+        return file;
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,73 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.service.VehicleFacetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BusinessMetricsTest {
+    @InjectMocks
+    private BusinessMetrics businessMetrics;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private VehicleFacetService vehicleFacetService;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        businessMetrics.bindTo(registry);
+    }
+
+    @Test
+    void shouldPublishTicketsPerStatusAndVehiclesPerLot() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                Map.of("ticket_status", "OPEN", "tickets", 4L),
+                Map.of("ticket_status", "RESOLVED", "tickets", 9L)));
+        when(vehicleFacetService.getVehiclesPerLot()).thenReturn(Map.of(1L, 12L, 2L, 3L));
+
+        businessMetrics.refresh();
+
+        assertThat(tickets(Status.OPEN)).isEqualTo(4.0);
+        assertThat(tickets(Status.PENDING)).isZero();
+        assertThat(tickets(Status.RESOLVED)).isEqualTo(9.0);
+        assertThat(registry.get(BusinessMetrics.LOT_VEHICLES).tag("lot", "1").gauge().value()).isEqualTo(12.0);
+        assertThat(registry.get(BusinessMetrics.LOT_VEHICLES).tag("lot", "2").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldKeepTicketCountsWhenDatabaseFails() {
+        when(jdbcTemplate.queryForList(anyString()))
+                .thenReturn(List.of(Map.of("ticket_status", "PENDING", "tickets", 2L)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        when(vehicleFacetService.getVehiclesPerLot())
+                .thenReturn(Map.of())
+                .thenReturn(Map.of(5L, 1L));
+
+        businessMetrics.refresh();
+        businessMetrics.refresh();
+
+        assertThat(tickets(Status.PENDING)).isEqualTo(2.0);
+        assertThat(registry.get(BusinessMetrics.LOT_VEHICLES).tag("lot", "5").gauge().value()).isEqualTo(1.0);
+    }
+
+    private double tickets(Status status) {
+        return registry.get(BusinessMetrics.TICKETS).tag("status", status.name()).gauge().value();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DbPermitDataSourceTest {
+    private DbPermitDataSource dataSource;
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DbPermitDataSource(target, 2, Duration.ofMillis(10));
+    }
+
+    @Test
+    void shouldHoldPermitUntilConnectionIsClosed() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        second.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void shouldReturnPermitWhenPoolFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSizeAndLimitEachPoolOnItsOwn() throws Exception {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setDbPermits(3);
+        HikariDataSource primary = new HikariDataSource();
+        HikariDataSource replica = new HikariDataSource();
+
+        DbPermitDataSource limitedPrimary = (DbPermitDataSource) VirtualThreadConfiguration.limit(primary, properties);
+        DbPermitDataSource limitedReplica = (DbPermitDataSource) VirtualThreadConfiguration.limit(replica, properties);
+
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(replica.getMinimumIdle()).isEqualTo(3);
+        assertThat(limitedPrimary.getTargetDataSource()).isSameAs(primary);
+        assertThat(limitedPrimary.getAvailablePermits()).isEqualTo(3);
+        assertThat(limitedReplica.getAvailablePermits()).isEqualTo(3);
+        limitedReplica.close();
+        assertThat(replica.isClosed()).isTrue();
+        assertThat(primary.isClosed()).isFalse();
+    }
+}
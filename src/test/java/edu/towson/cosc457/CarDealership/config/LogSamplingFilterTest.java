@@ -0,0 +1,56 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSamplingFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private LogSamplingFilter filter;
+    private Logger service;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new LogSamplingFilter();
+        filter.setLoggerPrefix("edu.towson");
+        filter.setEventsPerSecond(3);
+        service = context.getLogger("edu.towson.Service");
+        service.setLevel(Level.INFO);
+    }
+
+    @Test
+    void shouldDropInfoOverRatePerLogger() {
+        Logger controller = context.getLogger("edu.towson.Controller");
+        controller.setLevel(Level.INFO);
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            passed += decide(service, Level.INFO) == FilterReply.NEUTRAL ? 1 : 0;
+        }
+
+        assertThat(passed).isBetween(3, 6);
+        assertThat(decide(controller, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getDropped()).containsOnlyKeys("edu.towson.Service");
+    }
+
+    @Test
+    void shouldNotSampleWarningsDisabledEventsOrOtherLoggers() {
+        Logger hibernate = context.getLogger("org.hibernate.SQL");
+        hibernate.setLevel(Level.INFO);
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(service, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(service, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(hibernate, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        }
+
+        assertThat(filter.getDropped()).isEmpty();
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message", null, null);
+    }
+}
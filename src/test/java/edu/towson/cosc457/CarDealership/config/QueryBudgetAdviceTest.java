@@ -0,0 +1,77 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.exceptions.ExceptionResolver;
+import edu.towson.cosc457.CarDealership.exceptions.QueryBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QueryBudgetAdviceTest {
+    private QueryBudgetProperties properties;
+    private QueryBudgetAdvice advice;
+
+    static class Handlers {
+        @QueryBudget(statements = 2)
+        public String budgeted() {
+            return "body";
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties = new QueryBudgetProperties();
+        properties.setStrict(true);
+        advice = new QueryBudgetAdvice(properties);
+        QueryCounter.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void shouldWriteBodyWithinBudget() throws Exception {
+        QueryCounter.current().statement("select * from vehicle where id=1", 1_000);
+        QueryCounter.current().statement("select * from lot where id=1", 1_000);
+
+        assertThat(write(returnType())).isEqualTo("body");
+    }
+
+    @Test
+    void shouldFailBeforeBodyIsWrittenOverBudget() throws Exception {
+        for (int id = 1; id <= 3; id++) {
+            QueryCounter.current().statement("select * from lot where id=" + id, 1_000);
+        }
+
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> write(returnType()));
+        assertThat(exception.getMessage()).isEqualTo("Handlers.budgeted sent 3 SQL statements, over its budget of 2");
+    }
+
+    @Test
+    void shouldOnlyCheckControllersInStrictMode() throws Exception {
+        MethodParameter errorBody = new MethodParameter(ExceptionResolver.class.getMethod("handleException",
+                QueryBudgetExceededException.class), -1);
+
+        assertThat(advice.supports(returnType(), MappingJackson2HttpMessageConverter.class)).isTrue();
+        assertThat(advice.supports(errorBody, MappingJackson2HttpMessageConverter.class)).isFalse();
+        properties.setStrict(false);
+        assertThat(advice.supports(returnType(), MappingJackson2HttpMessageConverter.class)).isFalse();
+    }
+
+    private Object write(MethodParameter returnType) {
+        return advice.beforeBodyWrite("body", returnType, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, null, null);
+    }
+
+    private static MethodParameter returnType() throws NoSuchMethodException {
+        return new MethodParameter(Handlers.class.getMethod("budgeted"), -1);
+    }
+}
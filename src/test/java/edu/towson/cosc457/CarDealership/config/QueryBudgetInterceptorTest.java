@@ -0,0 +1,95 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryBudgetInterceptorTest {
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles/1/tickets");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private QueryBudgetProperties properties;
+    private MeterRegistry registry;
+    private QueryBudgetInterceptor interceptor;
+
+    static class Handlers {
+        @QueryBudget(statements = 2)
+        public void budgeted() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties = new QueryBudgetProperties();
+        properties.setDefaultStatements(4);
+        properties.setRepeatedSelectThreshold(3);
+        registry = new SimpleMeterRegistry();
+        interceptor = new QueryBudgetInterceptor(properties, registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void shouldRecordRequestWithinBudget() throws Exception {
+        HandlerMethod handler = handler("budgeted");
+
+        interceptor.preHandle(request, response, handler);
+        QueryCounter.current().statement("select * from vehicle where id=1", 2_000_000);
+        QueryCounter.current().row();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.get(QueryBudgetInterceptor.STATEMENTS).tag("endpoint", "Handlers.budgeted")
+                .summary().totalAmount()).isEqualTo(1.0);
+        assertThat(registry.get(QueryBudgetInterceptor.ROWS).summary().totalAmount()).isEqualTo(1.0);
+        assertThat(registry.find(QueryBudgetInterceptor.EXCEEDED).counter()).isNull();
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    void shouldFlagRepeatedSelectsAndOverBudget() throws Exception {
+        HandlerMethod handler = handler("budgeted");
+
+        interceptor.preHandle(request, response, handler);
+        for (int id = 1; id <= 3; id++) {
+            QueryCounter.current().statement("select * from lot where id=" + id, 1_000);
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.get(QueryBudgetInterceptor.N_PLUS_ONE).counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(QueryBudgetInterceptor.EXCEEDED).tag("endpoint", "Handlers.budgeted")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRecordRequestEndingInException() throws Exception {
+        properties.setStrict(true);
+        HandlerMethod handler = handler("unbudgeted");
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 5; i++) {
+            QueryCounter.current().statement("insert into comment values (?)", 1_000);
+        }
+        interceptor.afterCompletion(request, response, handler, new IllegalStateException());
+
+        assertThat(registry.get(QueryBudgetInterceptor.EXCEEDED).tag("endpoint", "Handlers.unbudgeted")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.find(QueryBudgetInterceptor.N_PLUS_ONE).counter()).isNull();
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(method));
+    }
+}
@@ -0,0 +1,99 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import edu.towson.cosc457.CarDealership.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Strict query budget against real SQL: a repository behind the full MVC stack, interceptor, advice and
+ * ExceptionResolver included, on Postgres in Docker. Skipped without Docker
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+public class QueryBudgetStrictModeTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withInitScript("benchmark/roles.sql");
+    @Autowired
+    private WebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class Endpoints {
+        @Bean
+        LookupController lookupController(ClientRepository clientRepository) {
+            return new LookupController(clientRepository);
+        }
+    }
+
+    /**
+     * Mapped through its @RequestMapping, without a stereotype so component scans of other tests never pick it up
+     */
+    @RequestMapping("/test/lookups")
+    @ResponseBody
+    static class LookupController {
+        private final ClientRepository clientRepository;
+
+        LookupController(ClientRepository clientRepository) {
+            this.clientRepository = clientRepository;
+        }
+
+        @GetMapping
+        @QueryBudget(statements = 2)
+        public Integer lookUp(@RequestParam final int times) {
+            for (long id = 1; id <= times; id++) {
+                clientRepository.existsById(id);
+            }
+            return times;
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.initialization-mode", () -> "always");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void shouldServeRequestWithinBudget() throws Exception {
+        mockMvc.perform(get("/test/lookups").param("times", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(2)));
+    }
+
+    @Test
+    void shouldFailRequestOverBudget() throws Exception {
+        mockMvc.perform(get("/test/lookups").param("times", "3"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message",
+                        is("LookupController.lookUp sent 3 SQL statements, over its budget of 2")));
+    }
+}
@@ -0,0 +1,95 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryCountingDataSourceTest {
+    private static final String SELECT_TICKET = "select * from service_ticket where id=?";
+
+    private QueryCountingDataSource dataSource;
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new QueryCountingDataSource(target);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void shouldCountStatementsRowsAndShapes() throws Exception {
+        when(connection.prepareStatement(SELECT_TICKET)).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        QueryCounter counter = QueryCounter.start();
+
+        try (Connection counted = dataSource.getConnection()) {
+            for (long id = 1; id <= 3; id++) {
+                PreparedStatement select = counted.prepareStatement(SELECT_TICKET);
+                select.setLong(1, id);
+                ResultSet rows = select.executeQuery();
+                while (rows.next()) {
+                    rows.getLong(1);
+                }
+            }
+            counted.createStatement().executeUpdate("UPDATE vehicle SET price = 100.5 WHERE id IN (4, 5)");
+        }
+
+        assertThat(counter.getStatements()).isEqualTo(4);
+        assertThat(counter.getRows()).isEqualTo(2);
+        assertThat(counter.getShapes()).containsOnly(entry(SELECT_TICKET, 3),
+                entry("UPDATE vehicle SET price = ? WHERE id IN (?...)", 1));
+    }
+
+    @Test
+    void shouldNotCountOutsideRequests() throws Exception {
+        when(connection.prepareStatement(SELECT_TICKET)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+
+        try (Connection counted = dataSource.getConnection()) {
+            assertThat(counted.prepareStatement(SELECT_TICKET).executeQuery()).isSameAs(resultSet);
+        }
+
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    void shouldUnwrapDriverConnection() throws Exception {
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+
+        try (Connection counted = dataSource.getConnection()) {
+            assertThat(counted).isNotSameAs(connection).isEqualTo(counted);
+            assertThat(counted.unwrap(Connection.class)).isSameAs(connection);
+        }
+        verify(connection).close();
+    }
+}
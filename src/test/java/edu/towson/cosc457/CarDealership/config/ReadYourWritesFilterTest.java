@@ -0,0 +1,65 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    /**
+     * @return whether the routing data source was pinned to the primary while the request was handled
+     */
+    private boolean pinned(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest filteredRequest, ServletResponse filteredResponse) {
+                pinned.set(ReplicaRoutingDataSource.isPrimaryPinned());
+            }
+        });
+        return pinned.get();
+    }
+
+    @DisplayName("JUnit test for doFilter method (write)")
+    @Test
+    void shouldPinWriteAndSetCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(pinned(new MockHttpServletRequest("POST", "/api/v1/vehicles"), response)).isTrue();
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(ReplicaRoutingDataSource.isPrimaryPinned()).isFalse();
+    }
+
+    @DisplayName("JUnit test for doFilter method (read inside window)")
+    @Test
+    void shouldPinReadInsideWindow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 5000)));
+
+        assertThat(pinned(request, new MockHttpServletResponse())).isTrue();
+    }
+
+    @DisplayName("JUnit test for doFilter method (read outside window)")
+    @Test
+    void shouldNotPinReadOutsideWindow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(pinned(request, response)).isFalse();
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+    }
+}
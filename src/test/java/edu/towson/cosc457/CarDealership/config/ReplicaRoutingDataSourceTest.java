@@ -0,0 +1,125 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+    private ReplicaRoutingDataSource dataSource;
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica1;
+    @Mock
+    private DataSource replica2;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replica1Connection;
+    @Mock
+    private Connection replica2Connection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new ReplicaRoutingDataSource(primary, Arrays.asList(replica1, replica2), Duration.ofHours(1));
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpinPrimary();
+        dataSource.close();
+    }
+
+    @DisplayName("JUnit test for getConnection method (read-write)")
+    @Test
+    void shouldRouteWritesToPrimary() throws Exception {
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @DisplayName("JUnit test for getConnection method (read-only)")
+    @Test
+    void shouldRouteReadsToReplicasRoundRobin() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+        verifyNoInteractions(primary);
+    }
+
+    @DisplayName("JUnit test for getConnection method (pinned to primary)")
+    @Test
+    void shouldRoutePinnedReadsToPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pinPrimary();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @DisplayName("JUnit test for getConnection method (replica failover)")
+    @Test
+    void shouldFailOverUntilReplicaRecovers() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+
+        reset(replica2);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkHealth();
+
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+    }
+
+    @DisplayName("JUnit test for getConnection method (replica pool timeout)")
+    @Test
+    void shouldKeepBusyReplicaUp() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"))
+                .thenReturn(replica1Connection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+    }
+
+    @DisplayName("JUnit test for getConnection method (replica pool unable to connect)")
+    @Test
+    void shouldMarkUnreachableReplicaDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "Connection is not available, request timed out", new SQLException("Connection refused")));
+
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        verify(replica1, times(1)).getConnection();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.towson.cosc457.CarDealership.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestIdFilterTest {
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    /**
+     * @return request id in the MDC while the request was handled
+     */
+    private String requestId(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> requestId = new AtomicReference<>();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest filteredRequest, ServletResponse filteredResponse) {
+                requestId.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        });
+        return requestId.get();
+    }
+
+    @Test
+    void shouldKeepIncomingRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles");
+        request.addHeader(RequestIdFilter.HEADER, "edge-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(requestId(request, response)).isEqualTo("edge-42");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo("edge-42");
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void shouldReplaceMalformedRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles");
+        request.addHeader(RequestIdFilter.HEADER, "id\nwith injected line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String requestId = requestId(request, response);
+
+        assertThat(requestId).matches("[0-9a-f]{1,16}");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo(requestId);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -73,22 +74,22 @@ public class AddressControllerTest {
 
     @Test
     void shouldGetAllAddresses() throws Exception {
-        when(addressService.getAddresses()).thenReturn(Collections.singletonList(address));
+        when(addressService.getAddresses(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(address)));
 
         mockMvc.perform(get("/api/v1/addresses")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$.size()", is(1)));
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAllAddresses_EmptyList() throws Exception {
-        when(addressService.getAddresses()).thenReturn(new ArrayList<>());
+        when(addressService.getAddresses(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/addresses")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -0,0 +1,51 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.model.dto.CacheRegionStatisticsDto;
+import edu.towson.cosc457.CarDealership.service.CacheStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class CacheStatisticsControllerTest {
+    public MockMvc mockMvc;
+    @Autowired
+    public CacheStatisticsController cacheStatisticsController;
+    @MockBean
+    public CacheStatisticsService cacheStatisticsService;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(cacheStatisticsController).build();
+    }
+
+    @Test
+    void shouldGetCacheStatistics() throws Exception {
+        CacheRegionStatisticsDto region = CacheRegionStatisticsDto.builder()
+                .region("edu.towson.cosc457.CarDealership.model.Location")
+                .hitCount(3L)
+                .missCount(1L)
+                .putCount(1L)
+                .hitRatio(0.75)
+                .build();
+        when(cacheStatisticsService.getCacheStatistics()).thenReturn(Collections.singletonList(region));
+
+        mockMvc.perform(get("/api/v1/cache/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].region", is(region.getRegion())))
+                .andExpect(jsonPath("$[0].hitCount", is(3)))
+                .andExpect(jsonPath("$[0].hitRatio", is(0.75)));
+    }
+}
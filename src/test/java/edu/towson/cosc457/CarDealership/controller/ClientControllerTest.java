@@ -6,6 +6,8 @@ import edu.towson.cosc457.CarDealership.misc.Gender;
 import edu.towson.cosc457.CarDealership.model.Address;
 import edu.towson.cosc457.CarDealership.model.Client;
 import edu.towson.cosc457.CarDealership.model.SalesAssociate;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.service.BudgetMatchService;
 import edu.towson.cosc457.CarDealership.service.ClientService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -33,6 +36,8 @@ public class ClientControllerTest {
     public ClientController clientController;
     @MockBean
     public ClientService clientService;
+    @MockBean
+    public BudgetMatchService budgetMatchService;
     private final ObjectMapper mapper = new ObjectMapper();
     private Client client;
     private Client editedClient;
@@ -106,22 +111,34 @@ public class ClientControllerTest {
 
     @Test
     void shouldGetAllClients() throws Exception {
-        when(clientService.getClients()).thenReturn(Collections.singletonList(client));
+        when(clientService.getClients(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(client)));
 
         mockMvc.perform(get("/api/v1/clients")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$.size()", is(1)));
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAllClients_EmptyList() throws Exception {
-        when(clientService.getClients()).thenReturn(new ArrayList<>());
+        when(clientService.getClients(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/clients")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
+    }
+
+    @Test
+    void shouldGetMatchingVehicles() throws Exception {
+        when(budgetMatchService.getMatchingVehicles(client.getId(), 10))
+                .thenReturn(Collections.singletonList(Vehicle.builder().id(1L).price(12000.00).build()));
+
+        mockMvc.perform(get("/api/v1/clients/{id}/matches", client.getId())
+                .param("limit", "10")
+                .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.size()", is(1)));
     }
 
     @Test
@@ -155,7 +172,7 @@ public class ClientControllerTest {
 
     @Test
     void shouldDeleteClient() throws Exception {
-        when(clientService.deleteClient(client.getId())).thenReturn(client);
+        when(clientService.deleteClient(client.getId(), null)).thenReturn(client);
 
         mockMvc.perform(delete("/api/v1/clients/{id}", client.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -164,7 +181,7 @@ public class ClientControllerTest {
 
     @Test
     void shouldFailToDeleteClient_NotFound() throws Exception {
-        when(clientService.deleteClient(client.getId())).thenThrow(NotFoundException.class);
+        when(clientService.deleteClient(client.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/clients/{id}", client.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -173,7 +190,7 @@ public class ClientControllerTest {
 
     @Test
     void shouldUpdateClient() throws Exception {
-        when(clientService.editClient(client.getId(), editedClient)).thenReturn(editedClient);
+        when(clientService.editClient(client.getId(), editedClient, null)).thenReturn(editedClient);
 
         mockMvc.perform(put("/api/v1/clients/{id}", client.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -184,7 +201,7 @@ public class ClientControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateClient_NotFound() throws Exception {
-        when(clientService.editClient(client.getId(), editedClient)).thenThrow(NotFoundException.class);
+        when(clientService.editClient(client.getId(), editedClient, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/clients/{id}", client.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
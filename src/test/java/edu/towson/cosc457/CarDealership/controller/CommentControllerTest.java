@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -90,7 +91,7 @@ public class CommentControllerTest {
 
     @Test
     void shouldGetAllComments() throws Exception {
-        when(commentService.getComments()).thenReturn(Collections.singletonList(comment));
+        when(commentService.getComments(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(comment)));
 
         mockMvc.perform(get("/api/v1/comments")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -99,12 +100,12 @@ public class CommentControllerTest {
 
     @Test
     void shouldGetAllComments_EmptyList() throws Exception {
-        when(commentService.getComments()).thenReturn(new ArrayList<>());
+        when(commentService.getComments(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/comments")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -123,7 +124,8 @@ public class DepartmentControllerTest {
 
     @Test
     void shouldGetAllDepartments() throws Exception {
-        when(departmentService.getDepartments()).thenReturn(Collections.singletonList(department));
+        when(departmentService.getDepartments(0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(department)));
 
         mockMvc.perform(get("/api/v1/departments")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -132,12 +134,12 @@ public class DepartmentControllerTest {
 
     @Test
     void shouldGetAllDepartments_EmptyList() throws Exception {
-        when(departmentService.getDepartments()).thenReturn(new ArrayList<>());
+        when(departmentService.getDepartments(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/departments")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -164,7 +166,7 @@ public class DepartmentControllerTest {
 
     @Test
     void shouldDeleteDepartment() throws Exception {
-        when(departmentService.deleteDepartment(department.getId())).thenReturn(department);
+        when(departmentService.deleteDepartment(department.getId(), null)).thenReturn(department);
 
         mockMvc.perform(delete("/api/v1/departments/{id}", department.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -173,7 +175,7 @@ public class DepartmentControllerTest {
 
     @Test
     void shouldFailToDeleteDepartment_NotFound() throws Exception {
-        when(departmentService.deleteDepartment(department.getId())).thenThrow(NotFoundException.class);
+        when(departmentService.deleteDepartment(department.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/departments/{id}", department.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -182,7 +184,7 @@ public class DepartmentControllerTest {
 
     @Test
     void shouldUpdateDepartment() throws Exception {
-        when(departmentService.editDepartment(department.getId(), editedDepartment)).thenReturn(editedDepartment);
+        when(departmentService.editDepartment(department.getId(), editedDepartment, null)).thenReturn(editedDepartment);
 
         mockMvc.perform(put("/api/v1/departments/{id}", department.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -193,7 +195,7 @@ public class DepartmentControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateDepartment_NotFound() throws Exception {
-        when(departmentService.editDepartment(department.getId(), editedDepartment)).thenThrow(NotFoundException.class);
+        when(departmentService.editDepartment(department.getId(), editedDepartment, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/departments/{id}", department.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -245,7 +247,7 @@ public class DepartmentControllerTest {
         mockMvc.perform(get("/api/v1/departments/{departmentId}/mechanics", department.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -0,0 +1,46 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETagsTest {
+    @Test
+    void shouldReturnBodyWithETag() {
+        ResponseEntity<String> response = ETags.ok("\"2\"", 3L, () -> "body");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getBody()).isEqualTo("body");
+    }
+
+    @Test
+    void shouldNotMapBodyWhenNotModified() {
+        AtomicBoolean mapped = new AtomicBoolean();
+
+        ResponseEntity<String> response = ETags.ok("\"1\", W/\"3\"", 3L, () -> {
+            mapped.set(true);
+            return "body";
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getBody()).isNull();
+        assertThat(mapped).isFalse();
+    }
+
+    @Test
+    void shouldParseIfMatch() {
+        assertThat(ETags.ifMatch(null)).isNull();
+        assertThat(ETags.ifMatch("*")).isNull();
+        assertThat(ETags.ifMatch(" \"7\" ")).containsExactly(7L);
+        assertThat(ETags.ifMatch("W/\"7\"")).isEmpty();
+        assertThat(ETags.ifMatch("\"3\", \"4\"")).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(ETags.ifMatch("W/\"3\", \"x\",\"4\"")).containsExactly(4L);
+        assertThat(ETags.ifMatch("7")).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import edu.towson.cosc457.CarDealership.exceptions.InvalidExportException;
+import edu.towson.cosc457.CarDealership.misc.ExportFormat;
+import edu.towson.cosc457.CarDealership.service.ExportQuery;
+import edu.towson.cosc457.CarDealership.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class ExportControllerTest {
+    public MockMvc mockMvc;
+    @Autowired
+    public ExportController exportController;
+    @MockBean
+    public ExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+    }
+
+    @Test
+    void shouldExportGzipCsv() throws Exception {
+        ExportQuery query = new ExportQuery("tickets", "SELECT ...", Collections.emptyList());
+        when(exportService.prepare(eq("tickets"), isNull(), eq(LocalDate.of(2021, 3, 1)), isNull()))
+                .thenReturn(query);
+        when(exportService.export(eq(query), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("ticket_id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export/tickets?from=2021-03-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.csv\""));
+
+        byte[] body = StreamUtils.copyToByteArray(new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray())));
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("ticket_id\n1\n");
+    }
+
+    @Test
+    void shouldRejectUnknownEntity() throws Exception {
+        when(exportService.prepare(eq("users"), any(), any(), any()))
+                .thenThrow(new InvalidExportException("unknown entity users", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/export/users"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -150,7 +152,7 @@ public class LocationControllerTest {
 
     @Test
     void shouldGetAllLocations() throws Exception {
-        when(locationService.getLocations()).thenReturn(Collections.singletonList(location));
+        when(locationService.getLocations(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(location)));
 
         mockMvc.perform(get("/api/v1/locations")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -159,12 +161,12 @@ public class LocationControllerTest {
 
     @Test
     void shouldGetAllLocations_EmptyList() throws Exception {
-        when(locationService.getLocations()).thenReturn(new ArrayList<>());
+        when(locationService.getLocations(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/locations")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -187,7 +189,7 @@ public class LocationControllerTest {
 
     @Test
     void shouldDeleteLocation() throws Exception {
-        when(locationService.deleteLocation(location.getId())).thenReturn(location);
+        when(locationService.deleteLocation(location.getId(), null)).thenReturn(location);
 
         mockMvc.perform(delete("/api/v1/locations/{id}", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -196,7 +198,7 @@ public class LocationControllerTest {
 
     @Test
     void shouldFailToDeleteLocation_NotFound() throws Exception {
-        when(locationService.deleteLocation(location.getId())).thenThrow(NotFoundException.class);
+        when(locationService.deleteLocation(location.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/locations/{id}", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -205,7 +207,7 @@ public class LocationControllerTest {
 
     @Test
     void shouldUpdateLocation() throws Exception {
-        when(locationService.editLocation(location.getId(), editedLocation)).thenReturn(editedLocation);
+        when(locationService.editLocation(location.getId(), editedLocation, null)).thenReturn(editedLocation);
 
         mockMvc.perform(put("/api/v1/locations/{id}", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -216,7 +218,7 @@ public class LocationControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateLocation_NotFound() throws Exception {
-        when(locationService.editLocation(location.getId(), editedLocation)).thenThrow(NotFoundException.class);
+        when(locationService.editLocation(location.getId(), editedLocation, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/locations/{id}", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -244,23 +246,23 @@ public class LocationControllerTest {
 
     @Test
     void shouldGetLotsOnLocation() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
-        when(lotService.getLot(lot.getId())).thenReturn(lot);
-        when(locationService.addLotToLocation(location.getId(), lot.getId())).thenReturn(location);
+        when(locationService.getLots(location.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(lot)));
 
         mockMvc.perform(get("/api/v1/locations/{id}/lots", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetLotsOnLocation_EmptyList() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
+        when(locationService.getLots(location.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/locations/{id}/lots", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -290,23 +292,23 @@ public class LocationControllerTest {
 
     @Test
     void shouldGetDepartmentsOnLocation() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
-        when(departmentService.getDepartment(department.getId())).thenReturn(department);
-        when(locationService.assignMechanic(location.getId(), mechanic.getId())).thenReturn(location);
+        when(locationService.getDepartments(location.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(department)));
 
         mockMvc.perform(get("/api/v1/locations/{id}/departments", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetDepartmentsOnLocation_EmptyList() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
+        when(locationService.getDepartments(location.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/locations/{id}/departments", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -362,23 +364,23 @@ public class LocationControllerTest {
 
     @Test
     void shouldGetMechanicsOnLocation() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
-        when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-        when(locationService.assignMechanic(location.getId(), mechanic.getId())).thenReturn(location);
+        when(locationService.getMechanics(location.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(mechanic)));
 
         mockMvc.perform(get("/api/v1/locations/{id}/mechanics", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetMechanicsOnLocation_EmptyList() throws Exception {
-        when(locationService.getLocation(location.getId())).thenReturn(location);
+        when(locationService.getMechanics(location.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/locations/{id}/mechanics", location.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
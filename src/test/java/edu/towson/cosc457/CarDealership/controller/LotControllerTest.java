@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -103,7 +104,7 @@ public class LotControllerTest {
 
     @Test
     void shouldGetAllLots() throws Exception {
-        when(lotService.getLots()).thenReturn(Collections.singletonList(lot));
+        when(lotService.getLots(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(lot)));
 
         mockMvc.perform(get("/api/v1/lots")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -112,12 +113,12 @@ public class LotControllerTest {
 
     @Test
     void shouldGetAllLots_EmptyList() throws Exception {
-        when(lotService.getLots()).thenReturn(new ArrayList<>());
+        when(lotService.getLots(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/lots")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -143,7 +144,7 @@ public class LotControllerTest {
 
     @Test
     void shouldDeleteLot() throws Exception {
-        when(lotService.deleteLot(lot.getId())).thenReturn(lot);
+        when(lotService.deleteLot(lot.getId(), null)).thenReturn(lot);
 
         mockMvc.perform(delete("/api/v1/lots/{id}", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -152,7 +153,7 @@ public class LotControllerTest {
 
     @Test
     void shouldFailToDeleteLot_NotFound() throws Exception {
-        when(lotService.deleteLot(lot.getId())).thenThrow(NotFoundException.class);
+        when(lotService.deleteLot(lot.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/lots/{id}", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -161,7 +162,7 @@ public class LotControllerTest {
 
     @Test
     void shouldUpdateLot() throws Exception {
-        when(lotService.editLot(lot.getId(), editedLot)).thenReturn(editedLot);
+        when(lotService.editLot(lot.getId(), editedLot, null)).thenReturn(editedLot);
 
         mockMvc.perform(put("/api/v1/lots/{id}", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -172,7 +173,7 @@ public class LotControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateLot_NotFound() throws Exception {
-        when(lotService.editLot(lot.getId(), editedLot)).thenThrow(NotFoundException.class);
+        when(lotService.editLot(lot.getId(), editedLot, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/lots/{id}", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -202,23 +203,23 @@ public class LotControllerTest {
 
     @Test
     void shouldGetVehiclesInLot() throws Exception {
-        when(lotService.getLot(lot.getId())).thenReturn(lot);
-        when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
-        when(lotService.addVehicleToLot(lot.getId(), vehicle.getId())).thenReturn(lot);
+        when(lotService.getVehicles(lot.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(vehicle)));
 
         mockMvc.perform(get("/api/v1/lots/{id}/vehicles", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetVehiclesInLot_EmptyList() throws Exception {
-        when(lotService.getLot(lot.getId())).thenReturn(lot);
+        when(lotService.getVehicles(lot.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/lots/{id}/vehicles", lot.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
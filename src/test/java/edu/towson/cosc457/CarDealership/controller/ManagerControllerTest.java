@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -168,7 +169,7 @@ public class ManagerControllerTest {
 
     @Test
     void shouldGetAllManagers() throws Exception {
-        when(managerService.getEmployees()).thenReturn(Collections.singletonList(manager));
+        when(managerService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(manager)));
 
         mockMvc.perform(get("/api/v1/managers")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -177,12 +178,12 @@ public class ManagerControllerTest {
 
     @Test
     void shouldGetAllManagers_EmptyList() throws Exception {
-        when(managerService.getEmployees()).thenReturn(new ArrayList<>());
+        when(managerService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/managers")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -226,7 +227,7 @@ public class ManagerControllerTest {
 
     @Test
     void shouldDeleteManager() throws Exception {
-        when(managerService.deleteEmployee(manager.getId())).thenReturn(manager);
+        when(managerService.deleteEmployee(manager.getId(), null)).thenReturn(manager);
 
         mockMvc.perform(delete("/api/v1/managers/{id}", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -235,7 +236,7 @@ public class ManagerControllerTest {
 
     @Test
     void shouldFailToDeleteManager_NotFound() throws Exception {
-        when(managerService.deleteEmployee(manager.getId())).thenThrow(NotFoundException.class);
+        when(managerService.deleteEmployee(manager.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/managers/{id}", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -245,7 +246,7 @@ public class ManagerControllerTest {
     @Test
     @Disabled
     void shouldUpdateManager() throws Exception {
-        when(managerService.editEmployee(manager.getId(), editedManager)).thenReturn(editedManager);
+        when(managerService.editEmployee(manager.getId(), editedManager, null)).thenReturn(editedManager);
 
         mockMvc.perform(put("/api/v1/managers/{id}", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -256,7 +257,7 @@ public class ManagerControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateManager_NotFound() throws Exception {
-        when(managerService.editEmployee(manager.getId(), editedManager)).thenThrow(NotFoundException.class);
+        when(managerService.editEmployee(manager.getId(), editedManager, null)).thenThrow(NotFoundException.class);
 
         System.out.println(mockMvc.perform(put("/api/v1/managers/{id}", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -290,23 +291,23 @@ public class ManagerControllerTest {
 
     @Test
     void shouldGetAssignedMechanics() throws Exception {
-        when(managerService.getEmployee(manager.getId())).thenReturn(manager);
-        when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-        when(managerService.assignToManager(manager.getId(), mechanic.getId())).thenReturn(manager);
+        when(managerService.getMechanics(manager.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(mechanic)));
 
         mockMvc.perform(get("/api/v1/managers/{id}/mechanics", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAssignedMechanics_EmptyList() throws Exception {
-        when(managerService.getEmployee(manager.getId())).thenReturn(manager);
+        when(managerService.getMechanics(manager.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/managers/{id}/mechanics", manager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
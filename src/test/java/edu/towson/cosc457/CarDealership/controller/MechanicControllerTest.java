@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -151,7 +152,7 @@ public class MechanicControllerTest {
 
     @Test
     void shouldGetAllMechanics() throws Exception {
-        when(mechanicService.getEmployees()).thenReturn(Collections.singletonList(mechanic));
+        when(mechanicService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(mechanic)));
 
         mockMvc.perform(get("/api/v1/mechanics")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -160,12 +161,12 @@ public class MechanicControllerTest {
 
     @Test
     void shouldGetAllMechanics_EmptyList() throws Exception {
-        when(mechanicService.getEmployees()).thenReturn(new ArrayList<>());
+        when(mechanicService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/mechanics")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -209,7 +210,7 @@ public class MechanicControllerTest {
 
     @Test
     void shouldDeleteMechanic() throws Exception {
-        when(mechanicService.deleteEmployee(mechanic.getId())).thenReturn(mechanic);
+        when(mechanicService.deleteEmployee(mechanic.getId(), null)).thenReturn(mechanic);
 
         mockMvc.perform(delete("/api/v1/mechanics/{id}", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -218,7 +219,7 @@ public class MechanicControllerTest {
 
     @Test
     void shouldFailToDeleteMechanic_NotFound() throws Exception {
-        when(mechanicService.deleteEmployee(mechanic.getId())).thenThrow(NotFoundException.class);
+        when(mechanicService.deleteEmployee(mechanic.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/mechanics/{id}", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -228,7 +229,7 @@ public class MechanicControllerTest {
     @Test
     @Disabled
     void shouldUpdateMechanic() throws Exception {
-        when(mechanicService.editEmployee(mechanic.getId(), editedMechanic)).thenReturn(editedMechanic);
+        when(mechanicService.editEmployee(mechanic.getId(), editedMechanic, null)).thenReturn(editedMechanic);
 
         mockMvc.perform(put("/api/v1/mechanics/{id}", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -239,7 +240,7 @@ public class MechanicControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateMechanic_NotFound() throws Exception {
-        when(mechanicService.editEmployee(mechanic.getId(), editedMechanic)).thenThrow(NotFoundException.class);
+        when(mechanicService.editEmployee(mechanic.getId(), editedMechanic, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/mechanics/{id}", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -289,23 +290,23 @@ public class MechanicControllerTest {
 
     @Test
     void shouldGetAssignedTickets() throws Exception {
-        when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-        when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
-        when(mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId())).thenReturn(mechanic);
+        when(mechanicService.getTickets(mechanic.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(serviceTicket)));
 
         mockMvc.perform(get("/api/v1/mechanics/{id}/tickets", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAssignedTickets_EmptyList() throws Exception {
-        when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
+        when(mechanicService.getTickets(mechanic.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/mechanics/{id}/tickets", mechanic.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -0,0 +1,54 @@
+package edu.towson.cosc457.CarDealership.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.model.dto.ServiceTicketDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NdjsonTest {
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    void shouldWriteOneDtoPerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = Ndjson.<ServiceTicketDto>ok(objectMapper, sink -> {
+            sink.accept(ServiceTicketDto.builder().id(1L).status(Status.OPEN).build());
+            sink.accept(ServiceTicketDto.builder().id(2L).dateCreated(LocalDate.of(2021, 3, 1)).build());
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n", -1);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType(Ndjson.MEDIA_TYPE));
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[0], ServiceTicketDto.class).getId()).isEqualTo(1L);
+        assertThat(objectMapper.readValue(lines[1], ServiceTicketDto.class).getDateCreated())
+                .isEqualTo(LocalDate.of(2021, 3, 1));
+        assertThat(lines[2]).isEmpty();
+    }
+
+    @Test
+    void shouldWriteNothingForEmptyTable() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Ndjson.<ServiceTicketDto>ok(objectMapper, sink -> { }).getBody().writeTo(outputStream);
+
+        assertThat(outputStream.size()).isZero();
+    }
+}
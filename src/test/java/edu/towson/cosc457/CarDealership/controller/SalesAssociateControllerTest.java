@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -158,7 +159,8 @@ public class SalesAssociateControllerTest {
 
     @Test
     void shouldGetAllSalesAssociates() throws Exception {
-        when(salesAssociateService.getEmployees()).thenReturn(Collections.singletonList(salesAssociate));
+        when(salesAssociateService.getEmployees(0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(salesAssociate)));
 
         mockMvc.perform(get("/api/v1/associates")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -167,12 +169,12 @@ public class SalesAssociateControllerTest {
 
     @Test
     void shouldGetAllSalesAssociates_EmptyList() throws Exception {
-        when(salesAssociateService.getEmployees()).thenReturn(new ArrayList<>());
+        when(salesAssociateService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/associates")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -216,7 +218,7 @@ public class SalesAssociateControllerTest {
 
     @Test
     void shouldDeleteSalesAssociate() throws Exception {
-        when(salesAssociateService.deleteEmployee(salesAssociate.getId())).thenReturn(salesAssociate);
+        when(salesAssociateService.deleteEmployee(salesAssociate.getId(), null)).thenReturn(salesAssociate);
 
         mockMvc.perform(delete("/api/v1/associates/{id}", salesAssociate.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -225,7 +227,7 @@ public class SalesAssociateControllerTest {
 
     @Test
     void shouldFailToDeleteSalesAssociate_NotFound() throws Exception {
-        when(salesAssociateService.deleteEmployee(salesAssociate.getId())).thenThrow(NotFoundException.class);
+        when(salesAssociateService.deleteEmployee(salesAssociate.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/associates/{id}", salesAssociate.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -235,7 +237,7 @@ public class SalesAssociateControllerTest {
     @Test
     @Disabled
     void shouldUpdateSalesAssociate() throws Exception {
-        when(salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate))
+        when(salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate, null))
                 .thenReturn(editedSalesAssociate);
 
         mockMvc.perform(put("/api/v1/associates/{id}", salesAssociate.getId())
@@ -247,7 +249,7 @@ public class SalesAssociateControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateSalesAssociate_NotFound() throws Exception {
-        when(salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate))
+        when(salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate, null))
                 .thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/associates/{id}", salesAssociate.getId())
@@ -298,23 +300,24 @@ public class SalesAssociateControllerTest {
 
     @Test
     void shouldGetAssignedClients() throws Exception {
-        when(salesAssociateService.getEmployee(salesAssociate.getId())).thenReturn(salesAssociate);
-        when(clientService.getClient(client.getId())).thenReturn(client);
-        when(salesAssociateService.assignClient(salesAssociate.getId(), client.getId())).thenReturn(salesAssociate);
+        when(salesAssociateService.getClients(salesAssociate.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(client)));
 
         mockMvc.perform(get("/api/v1/associates/{id}/clients", salesAssociate.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAssignedClients_EmptyList() throws Exception {
-        when(salesAssociateService.getEmployee(salesAssociate.getId())).thenReturn(salesAssociate);
+        when(salesAssociateService.getClients(salesAssociate.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/associates/{id}/clients", salesAssociate.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -2,7 +2,9 @@ package edu.towson.cosc457.CarDealership.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidTransitionException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
 import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.model.Comment;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
@@ -16,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -23,10 +27,15 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,6 +62,7 @@ public class ServiceTicketControllerTest {
 
         serviceTicket = ServiceTicket.builder()
                 .id(1L)
+                .version(3L)
                 .vehicle(Vehicle.builder()
                         .id(1L)
                         .build())
@@ -109,7 +119,8 @@ public class ServiceTicketControllerTest {
 
     @Test
     void shouldGetAllServiceTickets() throws Exception {
-        when(serviceTicketService.getServiceTickets()).thenReturn(Collections.singletonList(serviceTicket));
+        when(serviceTicketService.getServiceTickets(0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(serviceTicket)));
 
         mockMvc.perform(get("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -118,12 +129,12 @@ public class ServiceTicketControllerTest {
 
     @Test
     void shouldGetAllServiceTickets_EmptyList() throws Exception {
-        when(serviceTicketService.getServiceTickets()).thenReturn(new ArrayList<>());
+        when(serviceTicketService.getServiceTickets(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/tickets")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -155,9 +166,20 @@ public class ServiceTicketControllerTest {
                 .andExpect(status().is(404));
     }
 
+    @Test
+    void shouldNotModifyServiceTicket() throws Exception {
+        when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
+
+        mockMvc.perform(get("/api/v1/tickets/{id}", serviceTicket.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().is(304))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void shouldDeleteServiceTicket() throws Exception {
-        when(serviceTicketService.deleteServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
+        when(serviceTicketService.deleteServiceTicket(serviceTicket.getId(), null)).thenReturn(serviceTicket);
 
         mockMvc.perform(delete("/api/v1/tickets/{id}", serviceTicket.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -166,7 +188,7 @@ public class ServiceTicketControllerTest {
 
     @Test
     void shouldFailToDeleteServiceTicket_NotFound() throws Exception {
-        when(serviceTicketService.deleteServiceTicket(serviceTicket.getId())).thenThrow(NotFoundException.class);
+        when(serviceTicketService.deleteServiceTicket(serviceTicket.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/tickets/{id}", serviceTicket.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -175,7 +197,7 @@ public class ServiceTicketControllerTest {
 
     @Test
     void shouldUpdateServiceTicket() throws Exception {
-        when(serviceTicketService.editServiceTicket(serviceTicket.getId(),editedServiceTicket))
+        when(serviceTicketService.editServiceTicket(serviceTicket.getId(),editedServiceTicket, null))
                 .thenReturn(editedServiceTicket);
 
         mockMvc.perform(put("/api/v1/tickets/{id}", serviceTicket.getId())
@@ -184,10 +206,22 @@ public class ServiceTicketControllerTest {
                 .andExpect(status().is(200));
     }
 
+    @Test
+    void shouldFailToUpdateServiceTicket_PreconditionFailed() throws Exception {
+        when(serviceTicketService.editServiceTicket(eq(serviceTicket.getId()), any(ServiceTicket.class), eq(Set.of(2L))))
+                .thenThrow(PreconditionFailedException.class);
+
+        mockMvc.perform(put("/api/v1/tickets/{id}", serviceTicket.getId())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsBytes(editedServiceTicket)))
+                .andExpect(status().is(412));
+    }
+
     @Test
     @Disabled
     void shouldFailToUpdateServiceTicket_NotFound() throws Exception {
-        when(serviceTicketService.editServiceTicket(serviceTicket.getId(),editedServiceTicket))
+        when(serviceTicketService.editServiceTicket(serviceTicket.getId(),editedServiceTicket, null))
                 .thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/tickets/{id}", serviceTicket.getId())
@@ -224,24 +258,24 @@ public class ServiceTicketControllerTest {
 
     @Test
     void shouldGetCommentsInTicket() throws Exception {
-        when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
-        when(commentService.getComment(comment.getId())).thenReturn(comment);
-        when(serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId()))
-                .thenReturn(serviceTicket);
+        when(serviceTicketService.getComments(serviceTicket.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(comment)));
 
         mockMvc.perform(get("/api/v1/tickets/{id}/comments", serviceTicket.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetCommentsInTicket_EmptyList() throws Exception {
-        when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
+        when(serviceTicketService.getComments(serviceTicket.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/tickets/{id}/comments", serviceTicket.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -271,4 +305,27 @@ public class ServiceTicketControllerTest {
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(404));
     }
+
+    @Test
+    void shouldTransitionServiceTicket() throws Exception {
+        when(serviceTicketService.transitionServiceTicket(serviceTicket.getId(), Status.OPEN, Status.RESOLVED))
+                .thenReturn(serviceTicket);
+
+        mockMvc.perform(post("/api/v1/tickets/{id}/transitions", serviceTicket.getId())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content("{\"from\": \"OPEN\", \"to\": \"RESOLVED\"}"))
+                .andExpect(status().is(200))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void shouldFailToTransitionServiceTicket_Conflict() throws Exception {
+        when(serviceTicketService.transitionServiceTicket(serviceTicket.getId(), Status.OPEN, Status.RESOLVED))
+                .thenThrow(InvalidTransitionException.class);
+
+        mockMvc.perform(post("/api/v1/tickets/{id}/transitions", serviceTicket.getId())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content("{\"from\": \"OPEN\", \"to\": \"RESOLVED\"}"))
+                .andExpect(status().is(409));
+    }
 }
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -162,7 +163,8 @@ public class SiteManagerControllerTest {
 
     @Test
     void shouldGetAllSiteManagers() throws Exception {
-        when(siteManagerService.getEmployees()).thenReturn(Collections.singletonList(siteManager));
+        when(siteManagerService.getEmployees(0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(siteManager)));
 
         mockMvc.perform(get("/api/v1/site-managers")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -171,12 +173,12 @@ public class SiteManagerControllerTest {
 
     @Test
     void shouldGetAllSiteManagers_EmptyList() throws Exception {
-        when(siteManagerService.getEmployees()).thenReturn(new ArrayList<>());
+        when(siteManagerService.getEmployees(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/site-managers")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -219,7 +221,7 @@ public class SiteManagerControllerTest {
 
     @Test
     void shouldDeleteSiteManager() throws Exception {
-        when(siteManagerService.deleteEmployee(siteManager.getId())).thenReturn(siteManager);
+        when(siteManagerService.deleteEmployee(siteManager.getId(), null)).thenReturn(siteManager);
 
         mockMvc.perform(delete("/api/v1/site-managers/{id}", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -228,7 +230,7 @@ public class SiteManagerControllerTest {
 
     @Test
     void shouldFailToDeleteSiteManager_NotFound() throws Exception {
-        when(siteManagerService.deleteEmployee(siteManager.getId())).thenThrow(NotFoundException.class);
+        when(siteManagerService.deleteEmployee(siteManager.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/site-managers/{id}", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -238,7 +240,7 @@ public class SiteManagerControllerTest {
     @Test
     @Disabled
     void shouldUpdateSiteManager() throws Exception {
-        when(siteManagerService.editEmployee(siteManager.getId(), editedSiteManager)).thenReturn(editedSiteManager);
+        when(siteManagerService.editEmployee(siteManager.getId(), editedSiteManager, null)).thenReturn(editedSiteManager);
 
         mockMvc.perform(put("/api/v1/site-managers/{id}", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -249,7 +251,7 @@ public class SiteManagerControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateSiteManager_NotFound() throws Exception {
-        when(siteManagerService.editEmployee(siteManager.getId(), editedSiteManager)).thenThrow(NotFoundException.class);
+        when(siteManagerService.editEmployee(siteManager.getId(), editedSiteManager, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/site-managers/{id}", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -300,23 +302,24 @@ public class SiteManagerControllerTest {
 
     @Test
     void shouldGetAssignedManagers() throws Exception {
-        when(siteManagerService.getEmployee(siteManager.getId())).thenReturn(siteManager);
-        when(managerService.getEmployee(manager.getId())).thenReturn(manager);
-        when(siteManagerService.assignToManager(siteManager.getId(), manager.getId())).thenReturn(siteManager);
+        when(siteManagerService.getManagers(siteManager.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(manager)));
 
         mockMvc.perform(get("/api/v1/site-managers/{id}/managers", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAssignedManagers_EmptyList() throws Exception {
-        when(siteManagerService.getEmployee(siteManager.getId())).thenReturn(siteManager);
+        when(siteManagerService.getManagers(siteManager.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/site-managers/{id}/managers", siteManager.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
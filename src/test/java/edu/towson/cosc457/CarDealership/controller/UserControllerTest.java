@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -76,7 +77,7 @@ public class UserControllerTest {
 
     @Test
     void shouldGetAllUsers() throws Exception {
-        when(userService.getUsers()).thenReturn(Collections.singletonList(user));
+        when(userService.getUsers(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(user)));
 
         mockMvc.perform(get("/api/v1/users")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -85,12 +86,12 @@ public class UserControllerTest {
 
     @Test
     void shouldGetAllUsers_EmptyList() throws Exception {
-        when(userService.getUsers()).thenReturn(new ArrayList<>());
+        when(userService.getUsers(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/users")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -3,6 +3,8 @@ package edu.towson.cosc457.CarDealership.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.ImportFormat;
 import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.misc.TransmissionType;
 import edu.towson.cosc457.CarDealership.misc.VehicleType;
@@ -10,7 +12,14 @@ import edu.towson.cosc457.CarDealership.model.Lot;
 import edu.towson.cosc457.CarDealership.model.Mechanic;
 import edu.towson.cosc457.CarDealership.model.ServiceTicket;
 import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleFacetsDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportErrorDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportReportDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
 import edu.towson.cosc457.CarDealership.service.ServiceTicketService;
+import edu.towson.cosc457.CarDealership.service.BudgetMatchService;
+import edu.towson.cosc457.CarDealership.service.VehicleFacetService;
+import edu.towson.cosc457.CarDealership.service.VehicleImportService;
 import edu.towson.cosc457.CarDealership.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -18,18 +27,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.SortHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +62,12 @@ public class VehicleControllerTest {
     public VehicleService vehicleService;
     @MockBean
     public ServiceTicketService serviceTicketService;
+    @MockBean
+    public VehicleFacetService vehicleFacetService;
+    @MockBean
+    public VehicleImportService vehicleImportService;
+    @MockBean
+    public BudgetMatchService budgetMatchService;
     private final ObjectMapper mapper = new ObjectMapper();
     private Vehicle vehicle;
     private Vehicle editedVehicle;
@@ -48,7 +75,9 @@ public class VehicleControllerTest {
 
     @BeforeEach
     public void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(vehicleController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(vehicleController)
+                .setCustomArgumentResolvers(new SortHandlerMethodArgumentResolver())
+                .build();
 
         JavaTimeModule module = new JavaTimeModule();
         mapper.registerModule(module);
@@ -122,7 +151,7 @@ public class VehicleControllerTest {
 
     @Test
     void shouldGetAllVehicles() throws Exception {
-        when(vehicleService.getVehicles()).thenReturn(Collections.singletonList(vehicle));
+        when(vehicleService.getVehicles(0L, null)).thenReturn(new SliceImpl<>(Collections.singletonList(vehicle)));
 
         mockMvc.perform(get("/api/v1/vehicles")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -131,12 +160,106 @@ public class VehicleControllerTest {
 
     @Test
     void shouldGetAllVehicles_EmptyList() throws Exception {
-        when(vehicleService.getVehicles()).thenReturn(new ArrayList<>());
+        when(vehicleService.getVehicles(0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/vehicles")
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
+    }
+
+    @Test
+    void shouldSearchVehicles() throws Exception {
+        when(vehicleService.searchVehicles(any(VehicleSearchDto.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(vehicle), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/api/v1/vehicles/search")
+                .param("make", "Make")
+                .param("type", "SEDAN")
+                .param("minPrice", "20000")
+                .param("maxPrice", "35000")
+                .param("sort", "price,asc")
+                .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)))
+                .andExpect(jsonPath("$.items[0].vin", is(vehicle.getVin())))
+                .andExpect(jsonPath("$.next", is(Cursor.encodePage(1))));
+    }
+
+    @Test
+    void shouldGetFacets() throws Exception {
+        when(vehicleFacetService.getFacets(any(VehicleSearchDto.class))).thenReturn(VehicleFacetsDto.builder()
+                .total(1L)
+                .makes(Collections.singletonMap("Make", 1L))
+                .build());
+
+        mockMvc.perform(get("/api/v1/vehicles/facets")
+                .param("type", "SEDAN")
+                .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.makes.Make", is(1)));
+    }
+
+    @Test
+    void shouldImportVehiclesFromCsv() throws Exception {
+        when(vehicleImportService.importVehicles(any(InputStream.class), eq(ImportFormat.CSV)))
+                .thenReturn(VehicleImportReportDto.builder()
+                        .received(2L)
+                        .imported(1L)
+                        .duplicates(0L)
+                        .rejected(1L)
+                        .errors(Collections.singletonList(VehicleImportErrorDto.builder()
+                                .line(3L)
+                                .message("make must have 1 to 45 characters")
+                                .build()))
+                        .build());
+
+        mockMvc.perform(post("/api/v1/vehicles/import")
+                .contentType("text/csv")
+                .content("vin,make\n1,Make\n2,\n"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+    }
+
+    @Test
+    void shouldImportVehiclesFromNdjson() throws Exception {
+        when(vehicleImportService.importVehicles(any(InputStream.class), eq(ImportFormat.NDJSON)))
+                .thenReturn(VehicleImportReportDto.builder()
+                        .received(1L)
+                        .imported(1L)
+                        .duplicates(0L)
+                        .rejected(0L)
+                        .build());
+
+        mockMvc.perform(post("/api/v1/vehicles/import")
+                .contentType(Ndjson.MEDIA_TYPE)
+                .content("{\"vin\":\"1\"}\n"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+
+    @Test
+    void shouldStreamVehicles() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Vehicle> action = invocation.getArgument(0);
+            action.accept(vehicle);
+            action.accept(editedVehicle);
+            return 2L;
+        }).when(vehicleService).streamVehicles(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/vehicles")
+                .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"vin\":\"JH4DA3340KS005705\"")));
     }
 
     @Test
@@ -172,7 +295,7 @@ public class VehicleControllerTest {
 
     @Test
     void shouldDeleteVehicle() throws Exception {
-        when(vehicleService.deleteVehicle(vehicle.getId())).thenReturn(vehicle);
+        when(vehicleService.deleteVehicle(vehicle.getId(), null)).thenReturn(vehicle);
 
         mockMvc.perform(delete("/api/v1/vehicles/{id}", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -181,7 +304,7 @@ public class VehicleControllerTest {
 
     @Test
     void shouldFailToDeleteVehicle_NotFound() throws Exception {
-        when(vehicleService.deleteVehicle(vehicle.getId())).thenThrow(NotFoundException.class);
+        when(vehicleService.deleteVehicle(vehicle.getId(), null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(delete("/api/v1/vehicles/{id}", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -190,7 +313,7 @@ public class VehicleControllerTest {
 
     @Test
     void shouldUpdateVehicle() throws Exception {
-        when(vehicleService.editVehicle(vehicle.getId(), editedVehicle)).thenReturn(editedVehicle);
+        when(vehicleService.editVehicle(vehicle.getId(), editedVehicle, null)).thenReturn(editedVehicle);
 
         mockMvc.perform(put("/api/v1/vehicles/{id}", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -201,7 +324,7 @@ public class VehicleControllerTest {
     @Test
     @Disabled
     void shouldFailToUpdateVehicle_NotFound() throws Exception {
-        when(vehicleService.editVehicle(vehicle.getId(), editedVehicle)).thenThrow(NotFoundException.class);
+        when(vehicleService.editVehicle(vehicle.getId(), editedVehicle, null)).thenThrow(NotFoundException.class);
 
         mockMvc.perform(put("/api/v1/vehicles/{id}", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -235,23 +358,23 @@ public class VehicleControllerTest {
 
     @Test
     void shouldGetAssignedTickets() throws Exception {
-        when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
-        when(serviceTicketService.getServiceTicket(vehicle.getId())).thenReturn(serviceTicket);
-        when(vehicleService.assignTicket(vehicle.getId(), vehicle.getId())).thenReturn(vehicle);
+        when(vehicleService.getTickets(vehicle.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(serviceTicket)));
 
         mockMvc.perform(get("/api/v1/vehicles/{id}/tickets", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(status().is(200));
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.items.size()", is(1)));
     }
 
     @Test
     void shouldGetAssignedTickets_EmptyList() throws Exception {
-        when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
+        when(vehicleService.getTickets(vehicle.getId(), 0L, null)).thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         mockMvc.perform(get("/api/v1/vehicles/{id}/tickets", vehicle.getId())
                 .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is(200))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
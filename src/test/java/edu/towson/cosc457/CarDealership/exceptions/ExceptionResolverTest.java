@@ -0,0 +1,64 @@
+package edu.towson.cosc457.CarDealership.exceptions;
+
+import edu.towson.cosc457.CarDealership.model.dto.ErrorDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExceptionResolverTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExceptionResolver exceptionResolver = new ExceptionResolver(registry);
+
+    @Test
+    void shouldThrowWithoutStackTrace() {
+        NotFoundException exception = new NotFoundException("vehicle", 12345L, HttpStatus.NOT_FOUND);
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Could not find vehicle with id: 12345");
+        assertThat(exception.getMessage()).isSameAs(exception.getMessage());
+    }
+
+    @Test
+    void shouldCountBusinessExceptionsByType() {
+        exceptionResolver.handleException(new NotFoundException("vehicle", 1L, HttpStatus.NOT_FOUND));
+        exceptionResolver.handleException(new NotFoundException("lot", 2L, HttpStatus.NOT_FOUND));
+        ResponseEntity<ErrorDto> response = exceptionResolver.handleException(
+                new AlreadyAssignedException("lot", 2L, "location", 3L, HttpStatus.CONFLICT));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getMessage()).isEqualTo("lot id: 2 is already assigned to location id: 3");
+        assertThat(registry.get(ExceptionResolver.ERRORS).tag("exception", "NotFoundException").counter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get(ExceptionResolver.ERRORS).tag("exception", "AlreadyAssignedException").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldResolveClientErrorsWithTheirOwnStatus() {
+        ResponseEntity<ErrorDto> cursor = exceptionResolver.handleException(
+                new InvalidCursorException("bogus", HttpStatus.BAD_REQUEST));
+        ResponseEntity<ErrorDto> precondition = exceptionResolver.handleException(
+                new PreconditionFailedException("vehicle", 1L, Set.of(2L), HttpStatus.PRECONDITION_FAILED));
+
+        assertThat(cursor.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(cursor.getBody().getMessage()).isEqualTo("Invalid page token: bogus");
+        assertThat(precondition.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(precondition.getBody().getMessage()).isEqualTo("vehicle id: 1 is at none of the versions [2]");
+    }
+
+    @Test
+    void shouldResolveQueryBudgetExceededAsServerError() {
+        ResponseEntity<ErrorDto> response = exceptionResolver.handleException(
+                new QueryBudgetExceededException("VehicleController.getVehicle", 30, 2));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getBody().getMessage())
+                .isEqualTo("VehicleController.getVehicle sent 30 SQL statements, over its budget of 2");
+    }
+}
@@ -4,6 +4,8 @@ import edu.towson.cosc457.CarDealership.misc.EmployeeType;
 import edu.towson.cosc457.CarDealership.misc.Gender;
 import edu.towson.cosc457.CarDealership.model.*;
 import edu.towson.cosc457.CarDealership.model.dto.*;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -12,6 +14,7 @@ import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 public class EmployeeMapperTest {
     private static EmployeeMapper employeeMapper;
@@ -521,4 +524,57 @@ public class EmployeeMapperTest {
 
         assertThat(siteManagerDto).isEqualTo(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldDispatchToSubtypeMapper() {
+        assertAll(() -> {
+            assertThat(employeeMapper.toDto(Manager.builder().id(1L).build())).isInstanceOf(ManagerDto.class);
+            assertThat(employeeMapper.toDto(Mechanic.builder().id(2L).build())).isInstanceOf(MechanicDto.class);
+            assertThat(employeeMapper.toDto(SalesAssociate.builder().id(3L).build()))
+                    .isInstanceOf(SalesAssociateDto.class);
+            assertThat(employeeMapper.toDto(SiteManager.builder().id(4L).build())).isInstanceOf(SiteManagerDto.class);
+            assertThat(employeeMapper.fromDto(ManagerDto.builder().id(1L).build())).isInstanceOf(Manager.class);
+            assertThat(employeeMapper.fromDto(MechanicDto.builder().id(2L).build())).isInstanceOf(Mechanic.class);
+            assertThat(employeeMapper.fromDto(SalesAssociateDto.builder().id(3L).build()))
+                    .isInstanceOf(SalesAssociate.class);
+            assertThat(employeeMapper.fromDto(SiteManagerDto.builder().id(4L).build()))
+                    .isInstanceOf(SiteManager.class);
+        });
+    }
+
+    @Test
+    void shouldDispatchSubclassByEmployeeType() {
+        Mechanic mechanic = new Mechanic() {
+        };
+        mechanic.setId(1L);
+        mechanic.setEmployeeType(EmployeeType.MECHANIC);
+
+        EmployeeDto mechanicDto = employeeMapper.toDto(mechanic);
+
+        assertThat(mechanicDto).isInstanceOf(MechanicDto.class);
+        assertThat(mechanicDto.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldUnwrapProxy() {
+        Mechanic mechanic = Mechanic.builder()
+                .id(1L)
+                .employeeType(EmployeeType.MECHANIC)
+                .build();
+        LazyInitializer initializer = mock(LazyInitializer.class);
+        when(initializer.getImplementation()).thenReturn(mechanic);
+        Employee proxy = mock(Employee.class, withSettings().extraInterfaces(HibernateProxy.class));
+        when(((HibernateProxy) proxy).getHibernateLazyInitializer()).thenReturn(initializer);
+
+        EmployeeDto mechanicDto = employeeMapper.toDto(proxy);
+
+        assertThat(mechanicDto).isInstanceOf(MechanicDto.class);
+        assertThat(mechanicDto.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldFailToDispatchNull() {
+        assertThrows(IllegalArgumentException.class, () -> employeeMapper.toDto(null));
+        assertThrows(IllegalArgumentException.class, () -> employeeMapper.fromDto(null));
+    }
+}
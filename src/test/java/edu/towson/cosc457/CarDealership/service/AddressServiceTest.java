@@ -9,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -103,21 +106,23 @@ public class AddressServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(addressRepository.findAll()).thenReturn(expectedAddresses);
-        List<Address> actualAddresses = addressService.getAddresses();
-        verify(addressRepository, times(1)).findAll();
+        Mockito.when(addressRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedAddresses));
+        Slice<Address> actualAddresses = addressService.getAddresses(0L, null);
+        verify(addressRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualAddresses).isNotNull();
-            assertThat(actualAddresses.size()).isEqualTo(expectedAddresses.size());
+            assertThat(actualAddresses.getNumberOfElements()).isEqualTo(expectedAddresses.size());
         });
     }
 
     @Test
     void shouldGetAllAddresses_EmptyList() {
-        Mockito.when(addressRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(addressRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Address> actualAddresses = addressService.getAddresses();
+        Slice<Address> actualAddresses = addressService.getAddresses(0L, null);
 
         assertThat(actualAddresses).isEmpty();
     }
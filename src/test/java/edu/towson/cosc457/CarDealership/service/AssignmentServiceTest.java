@@ -0,0 +1,159 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.model.Lot;
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AssignmentServiceTest {
+    @InjectMocks
+    private AssignmentService assignmentService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Query statement;
+    @Mock
+    private NativeQuery<?> nativeQuery;
+    @Mock
+    private Query diagnosis;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(entityManager.createNativeQuery(startsWith("UPDATE"))).thenReturn(statement);
+        lenient().when(entityManager.createNativeQuery(startsWith("DELETE"))).thenReturn(statement);
+        lenient().when(entityManager.createNativeQuery(startsWith("WITH"))).thenReturn(statement);
+        lenient().when(entityManager.createNativeQuery(startsWith("SELECT"))).thenReturn(diagnosis);
+        lenient().when(statement.setParameter(anyInt(), any())).thenReturn(statement);
+        lenient().when(statement.unwrap(NativeQuery.class)).thenReturn(nativeQuery);
+        lenient().when(diagnosis.setParameter(anyInt(), any())).thenReturn(diagnosis);
+    }
+
+    @DisplayName("JUnit test for assign method")
+    @Test
+    void shouldAssignInOneStatement() {
+        when(statement.executeUpdate()).thenReturn(1);
+
+        assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L);
+
+        verify(entityManager).createNativeQuery("UPDATE lot SET location_id = ?1, version = version + 1 WHERE lot_id = ?2 "
+                + "AND location_id IS NULL AND EXISTS (SELECT 1 FROM location WHERE location_id = ?1)");
+        verify(statement).setParameter(1, 1L);
+        verify(statement).setParameter(2, 2L);
+        verify(nativeQuery).addSynchronizedEntityClass(Lot.class);
+        verify(entityManager, never()).createNativeQuery(startsWith("SELECT"));
+    }
+
+    @DisplayName("JUnit test for assign method (already assigned)")
+    @Test
+    void shouldFailToAssignAssignedEntity() {
+        when(statement.executeUpdate()).thenReturn(0);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{true, true, BigInteger.valueOf(3L)});
+
+        AlreadyAssignedException exception = assertThrows(AlreadyAssignedException.class,
+                () -> assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L));
+        assertThat(exception.getMessage()).isEqualTo("lot id: 2 is already assigned to location id: 3");
+    }
+
+    @DisplayName("JUnit test for assign method (missing owner)")
+    @Test
+    void shouldFailToAssignToMissingOwner() {
+        when(statement.executeUpdate()).thenReturn(0);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{false, true, null});
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L));
+        assertThat(exception.getMessage()).isEqualTo("Could not find location with id: 1");
+    }
+
+    @DisplayName("JUnit test for assign method (missing owned entity)")
+    @Test
+    void shouldFailToAssignMissingEntity() {
+        when(statement.executeUpdate()).thenReturn(0);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{true, false, null});
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L));
+        assertThat(exception.getMessage()).isEqualTo("Could not find lot with id: 2");
+    }
+
+    @DisplayName("JUnit test for assign method (released concurrently)")
+    @Test
+    void shouldRetryWhenReleasedConcurrently() {
+        when(statement.executeUpdate()).thenReturn(0, 1);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{true, true, null});
+
+        assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L);
+
+        verify(statement, times(2)).executeUpdate();
+    }
+
+    @DisplayName("JUnit test for assign method (released concurrently on every attempt)")
+    @Test
+    void shouldStopRetryingAfterMaxAttempts() {
+        when(statement.executeUpdate()).thenReturn(0);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{true, true, null});
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> assignmentService.assign(Assignment.LOCATION_LOT, 1L, 2L));
+        verify(statement, times(AssignmentService.MAX_ATTEMPTS)).executeUpdate();
+    }
+
+    @DisplayName("JUnit test for remove method")
+    @Test
+    void shouldRemoveInOneStatement() {
+        when(statement.executeUpdate()).thenReturn(1);
+
+        assertThat(assignmentService.remove(Assignment.LOCATION_MECHANIC, 1L, 2L)).isTrue();
+        verify(entityManager).createNativeQuery("UPDATE employee SET work_location_id = NULL, "
+                + "version = version + 1 WHERE id = ?2 AND employee_type = 'MECHANIC' AND work_location_id = ?1");
+        verify(entityManager, never()).createNativeQuery(startsWith("SELECT"));
+    }
+
+    @DisplayName("JUnit test for assign method (joined subclass)")
+    @Test
+    void shouldBumpVersionOnRootTable() {
+        when(statement.executeUpdate()).thenReturn(1);
+
+        assignmentService.assign(Assignment.MANAGER_MECHANIC, 1L, 2L);
+
+        verify(entityManager).createNativeQuery("WITH changed AS (UPDATE mechanic SET manager_id = ?1 "
+                + "WHERE id = ?2 AND manager_id IS NULL AND EXISTS (SELECT 1 FROM manager WHERE id = ?1) "
+                + "RETURNING id) UPDATE employee SET version = version + 1 WHERE id IN (SELECT id FROM changed)");
+    }
+
+    @DisplayName("JUnit test for remove method (orphan removal)")
+    @Test
+    void shouldDeleteOrphanOnRemove() {
+        when(statement.executeUpdate()).thenReturn(1);
+
+        assertThat(assignmentService.remove(Assignment.SERVICE_TICKET_COMMENT, 1L, 2L)).isTrue();
+        verify(entityManager).createNativeQuery("DELETE FROM comment WHERE comment_id = ?2 AND ticket_id = ?1");
+    }
+
+    @DisplayName("JUnit test for remove method (assigned elsewhere)")
+    @Test
+    void shouldIgnoreRemoveOfEntityAssignedElsewhere() {
+        when(statement.executeUpdate()).thenReturn(0);
+        when(diagnosis.getSingleResult()).thenReturn(new Object[]{true, true, BigInteger.valueOf(3L)});
+
+        assertThat(assignmentService.remove(Assignment.LOCATION_LOT, 1L, 2L)).isFalse();
+    }
+}
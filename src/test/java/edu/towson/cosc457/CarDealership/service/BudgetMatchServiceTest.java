@@ -0,0 +1,238 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.model.Client;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.repository.ClientRepository;
+import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetMatchServiceTest {
+    @InjectMocks
+    private BudgetMatchService budgetMatchService;
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private final List<Client> clients = new ArrayList<>();
+    private final List<Vehicle> vehicles = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        clients.add(client(1L, 10000.00, 20000.00));
+        clients.add(client(2L, 15000.00, null));
+        clients.add(client(3L, null, 12000.00));
+        clients.add(client(4L, null, null));
+        vehicles.add(vehicle(1L, 25000.00));
+        vehicles.add(vehicle(2L, 11000.00));
+        vehicles.add(vehicle(3L, 16000.00));
+        vehicles.add(vehicle(4L, null));
+        clients.forEach(budgetMatchService::putClient);
+        vehicles.forEach(budgetMatchService::putVehicle);
+        Mockito.lenient().when(clientRepository.findAllById(anyList())).thenAnswer(invocation -> clients.stream()
+                .filter(client -> invocation.<List<Long>>getArgument(0).contains(client.getId()))
+                .collect(Collectors.toList()));
+        Mockito.lenient().when(vehicleRepository.findAllById(anyList())).thenAnswer(invocation -> vehicles.stream()
+                .filter(vehicle -> invocation.<List<Long>>getArgument(0).contains(vehicle.getId()))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should return Vehicles within budget, cheapest first")
+    void shouldGetMatchingVehicles() {
+        Mockito.when(clientRepository.existsById(Mockito.anyLong())).thenReturn(true);
+
+        assertThat(budgetMatchService.getMatchingVehicles(1L, null)).extracting(Vehicle::getId)
+                .containsExactly(2L, 3L);
+        assertThat(budgetMatchService.getMatchingVehicles(2L, null)).extracting(Vehicle::getId)
+                .containsExactly(3L, 1L);
+        assertThat(budgetMatchService.getMatchingVehicles(2L, 1)).extracting(Vehicle::getId).containsExactly(3L);
+        assertThat(budgetMatchService.getMatchingVehicles(3L, null)).extracting(Vehicle::getId).containsExactly(2L);
+        assertThat(budgetMatchService.getMatchingVehicles(4L, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return Clients whose budget fits the Vehicle price")
+    void shouldGetInterestedClients() {
+        Mockito.when(vehicleRepository.existsById(Mockito.anyLong())).thenReturn(true);
+
+        assertThat(budgetMatchService.getInterestedClients(1L, null)).extracting(Client::getId).containsExactly(2L);
+        assertThat(budgetMatchService.getInterestedClients(2L, null)).extracting(Client::getId)
+                .containsExactly(1L, 3L);
+        assertThat(budgetMatchService.getInterestedClients(3L, null)).extracting(Client::getId)
+                .containsExactly(1L, 2L);
+        assertThat(budgetMatchService.getInterestedClients(4L, null)).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateIndexIncrementally() {
+        Mockito.when(vehicleRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        assertThat(budgetMatchService.getInterestedClients(1L, null)).extracting(Client::getId).containsExactly(2L);
+
+        clients.set(1, client(2L, 30000.00, null));
+        budgetMatchService.putClient(clients.get(1));
+        budgetMatchService.removeClient(1L);
+
+        assertThat(budgetMatchService.getInterestedClients(1L, null)).isEmpty();
+        assertThat(budgetMatchService.getInterestedClients(3L, null)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchPricesPastIntRange() {
+        Mockito.when(clientRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        vehicles.add(vehicle(5L, 30000000.00));
+        vehicles.add(vehicle(6L, -500.00));
+        budgetMatchService.putVehicle(vehicles.get(4));
+        budgetMatchService.putVehicle(vehicles.get(5));
+
+        assertThat(budgetMatchService.getMatchingVehicles(2L, null)).extracting(Vehicle::getId)
+                .containsExactly(3L, 1L, 5L);
+        assertThat(budgetMatchService.getMatchingVehicles(3L, null)).extracting(Vehicle::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void shouldMatchIdsPastIntRange() {
+        Mockito.when(clientRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(vehicleRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        clients.add(client(3_000_000_000L, 17000.00, 18000.00));
+        vehicles.add(vehicle(4_000_000_000L, 17500.00));
+        vehicles.add(vehicle(4_000_000_001L, 17500.00));
+        budgetMatchService.putClient(clients.get(4));
+        budgetMatchService.putVehicle(vehicles.get(5));
+        budgetMatchService.putVehicle(vehicles.get(4));
+
+        assertThat(budgetMatchService.getMatchingVehicles(3_000_000_000L, null)).extracting(Vehicle::getId)
+                .containsExactly(4_000_000_000L, 4_000_000_001L);
+        assertThat(budgetMatchService.getInterestedClients(4_000_000_001L, null)).extracting(Client::getId)
+                .containsExactly(1L, 2L, 3_000_000_000L);
+    }
+
+    @Test
+    void shouldKeepChangesAppliedDuringRebuild() throws SQLException {
+        Mockito.when(clientRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getLong("client_id")).thenReturn(2L);
+        Mockito.when(resultSet.getDouble("min_price")).thenReturn(15000.00);
+        Mockito.when(resultSet.getDouble("max_price")).thenReturn(0.0);
+        Mockito.when(resultSet.wasNull()).thenReturn(false, true);
+        Mockito.when(resultSet.getLong("vehicle_id")).thenReturn(1L);
+        Mockito.when(resultSet.getDouble("price")).thenReturn(25000.00);
+        Mockito.doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (invocation.<String>getArgument(0).contains("FROM vehicle")) {
+                budgetMatchService.removeVehicle(1L);
+                budgetMatchService.putVehicle(vehicle(5L, 18000.00));
+            }
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(Mockito.anyString(), Mockito.any(RowCallbackHandler.class));
+        vehicles.add(vehicle(5L, 18000.00));
+
+        budgetMatchService.rebuild();
+
+        assertThat(budgetMatchService.getMatchingVehicles(2L, null)).extracting(Vehicle::getId)
+                .containsExactly(5L);
+    }
+
+    @Test
+    void shouldFailToGetMatchingVehicles() {
+        Mockito.when(clientRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> budgetMatchService.getMatchingVehicles(1L, null));
+    }
+
+    @Test
+    @DisplayName("Interval tree should agree with a linear scan")
+    void shouldStabLikeLinearScan() {
+        Random random = new Random(457);
+        IntervalIndex index = new IntervalIndex();
+        Map<Long, long[]> intervals = new HashMap<>();
+        for (long id = 0; id < 500; id++) {
+            put(index, intervals, id, random);
+        }
+        index.rebuild();
+        assertStabsLike(index, intervals);
+
+        for (int change = 0; change < IntervalIndex.OVERLAY_LIMIT - 1; change++) {
+            long id = change % 2 == 0 ? change / 2 : Integer.MAX_VALUE + 1L + change;
+            if (change % 4 == 0 && id < 500) {
+                index.remove(id);
+                intervals.remove(id);
+            } else {
+                put(index, intervals, id, random);
+            }
+        }
+        assertThat(index.snapshot()).isNull();
+        assertStabsLike(index, intervals);
+
+        put(index, intervals, 5_000_000_000L, random);
+        IntervalIndex.Snapshot snapshot = index.snapshot();
+        assertThat(snapshot).isNotNull();
+        assertThat(index.snapshot()).isNull();
+        snapshot.build();
+        index.remove(8L);
+        intervals.remove(8L);
+        index.swap(snapshot);
+        assertStabsLike(index, intervals);
+    }
+
+    private static void put(IntervalIndex index, Map<Long, long[]> intervals, long id, Random random) {
+        long min = random.nextInt(1000);
+        long[] interval = {min, min + random.nextInt(200)};
+        index.put(id, interval[0], interval[1]);
+        intervals.put(id, interval);
+    }
+
+    private static void assertStabsLike(IntervalIndex index, Map<Long, long[]> intervals) {
+        for (long point = -1; point <= 1201; point++) {
+            long at = point;
+            long[] expected = intervals.entrySet().stream()
+                    .filter(interval -> interval.getValue()[0] <= at && at <= interval.getValue()[1])
+                    .mapToLong(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+            assertThat(index.stab(point)).containsExactly(expected);
+        }
+    }
+
+    private static Client client(Long id, Double minimumPrice, Double maximumPrice) {
+        return Client.builder()
+                .id(id)
+                .minimumPrice(minimumPrice)
+                .maximumPrice(maximumPrice)
+                .build();
+    }
+
+    private static Vehicle vehicle(Long id, Double price) {
+        return Vehicle.builder()
+                .id(id)
+                .price(price)
+                .build();
+    }
+}
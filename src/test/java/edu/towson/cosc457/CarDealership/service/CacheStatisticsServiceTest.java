@@ -0,0 +1,73 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.model.dto.CacheRegionStatisticsDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheStatisticsServiceTest {
+    private CacheStatisticsService cacheStatisticsService;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Statistics statistics;
+    @Mock
+    private CacheRegionStatistics locationStatistics;
+    @Mock
+    private CacheRegionStatistics lotStatistics;
+
+    @BeforeEach
+    public void setUp() {
+        // SessionFactory is itself an EntityManagerFactory, so @InjectMocks cannot tell the two mocks apart
+        cacheStatisticsService = new CacheStatisticsService(entityManagerFactory);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    @DisplayName("JUnit test for getCacheStatistics method")
+    @Test
+    void shouldGetStatisticsPerRegion() {
+        String location = "edu.towson.cosc457.CarDealership.model.Location";
+        String lot = "edu.towson.cosc457.CarDealership.model.Lot";
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{lot, location});
+        when(statistics.getDomainDataRegionStatistics(location)).thenReturn(locationStatistics);
+        when(statistics.getDomainDataRegionStatistics(lot)).thenReturn(lotStatistics);
+        when(locationStatistics.getHitCount()).thenReturn(3L);
+        when(locationStatistics.getMissCount()).thenReturn(1L);
+        when(locationStatistics.getPutCount()).thenReturn(1L);
+
+        List<CacheRegionStatisticsDto> regions = cacheStatisticsService.getCacheStatistics();
+
+        assertThat(regions).extracting(CacheRegionStatisticsDto::getRegion).containsExactly(location, lot);
+        assertThat(regions.get(0).getHitCount()).isEqualTo(3L);
+        assertThat(regions.get(0).getMissCount()).isEqualTo(1L);
+        assertThat(regions.get(0).getPutCount()).isEqualTo(1L);
+        assertThat(regions.get(0).getHitRatio()).isEqualTo(0.75);
+        assertThat(regions.get(1).getHitRatio()).isEqualTo(0.0);
+    }
+
+    @DisplayName("JUnit test for getCacheStatistics method with statistics disabled")
+    @Test
+    void shouldGetNoStatisticsWhenDisabled() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        assertThat(cacheStatisticsService.getCacheStatistics()).isEmpty();
+        verify(statistics, never()).getSecondLevelCacheRegionNames();
+    }
+}
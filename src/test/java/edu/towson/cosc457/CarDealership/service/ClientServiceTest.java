@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +30,8 @@ public class ClientServiceTest {
     private ClientService clientService;
     @Mock
     private ClientRepository clientRepository;
+    @Mock
+    private BudgetMatchService budgetMatchService;
     @Captor
     private ArgumentCaptor<Client> clientArgumentCaptor;
     private Client client;
@@ -128,21 +133,23 @@ public class ClientServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(clientRepository.findAll()).thenReturn(expectedClients);
-        List<Client> actualClients = clientService.getClients();
-        verify(clientRepository, times(1)).findAll();
+        Mockito.when(clientRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedClients));
+        Slice<Client> actualClients = clientService.getClients(0L, null);
+        verify(clientRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualClients).isNotNull();
-            assertThat(actualClients.size()).isEqualTo(expectedClients.size());
+            assertThat(actualClients.getNumberOfElements()).isEqualTo(expectedClients.size());
         });
     }
 
     @Test
     void shouldGetAllAddresses_EmptyList() {
-        Mockito.when(clientRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(clientRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Client> actualClients = clientService.getClients();
+        Slice<Client> actualClients = clientService.getClients(0L, null);
 
         assertThat(actualClients).isEmpty();
     }
@@ -151,8 +158,9 @@ public class ClientServiceTest {
     void shouldDeleteClient() {
         Mockito.when(clientRepository.findById(client.getId())).thenReturn(Optional.of(client));
 
-        Client deletedClient = clientService.deleteClient(client.getId());
+        Client deletedClient = clientService.deleteClient(client.getId(), null);
         verify(clientRepository, times(1)).delete(client);
+        verify(budgetMatchService).removeClient(client.getId());
 
         assertAll(() -> {
            assertThat(deletedClient).isNotNull();
@@ -164,7 +172,7 @@ public class ClientServiceTest {
     void shouldFailToDeleteClient() {
         Mockito.when(clientRepository.findById(client.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> clientService.deleteClient(client.getId()));
+        assertThrows(NotFoundException.class, () -> clientService.deleteClient(client.getId(), null));
 
         verify(clientRepository, never()).delete(any(Client.class));
 
@@ -174,7 +182,8 @@ public class ClientServiceTest {
     void shouldUpdateClient() {
         Mockito.when(clientRepository.findById(client.getId())).thenReturn(Optional.of(client));
 
-        Client updatedClient = clientService.editClient(client.getId(), editedClient);
+        Client updatedClient = clientService.editClient(client.getId(), editedClient, null);
+        verify(budgetMatchService).putClient(updatedClient);
 
         assertAll(() -> {
             assertThat(updatedClient).isNotNull();
@@ -186,6 +195,6 @@ public class ClientServiceTest {
     void shouldFailToUpdateClient() {
         Mockito.when(clientRepository.findById(client.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> clientService.editClient(client.getId(), editedClient));
+        assertThrows(NotFoundException.class, () -> clientService.editClient(client.getId(), editedClient, null));
     }
 }
@@ -0,0 +1,90 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.misc.Cursor;
+import edu.towson.cosc457.CarDealership.misc.Status;
+import edu.towson.cosc457.CarDealership.model.dto.CommentSearchHitDto;
+import edu.towson.cosc457.CarDealership.model.dto.PageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentSearchServiceTest {
+    private CommentSearchService commentSearchService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    public void setUp() {
+        commentSearchService = new CommentSearchService(jdbcTemplate);
+    }
+
+    @DisplayName("JUnit test for search method")
+    @Test
+    void shouldSearchRankedPage() throws Exception {
+        when(resultSet.getLong("comment_id")).thenReturn(9L, 4L);
+        when(resultSet.getFloat("rank")).thenReturn(0.5f, 0.25f);
+        when(resultSet.getString(anyString())).thenReturn(null);
+        when(resultSet.getString("ticket_status")).thenReturn("OPEN");
+        when(resultSet.getTimestamp("date_created")).thenReturn(Timestamp.valueOf("2021-03-01 10:00:00"));
+        when(resultSet.getString("snippet")).thenReturn("\u0002grinding\u0003 <noise>");
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<CommentSearchHitDto>>any(), any()))
+                .thenAnswer(invocation -> {
+                    RowMapper<CommentSearchHitDto> rowMapper = invocation.getArgument(1);
+                    List<CommentSearchHitDto> rows = new ArrayList<>();
+                    rows.add(rowMapper.mapRow(resultSet, 0));
+                    rows.add(rowMapper.mapRow(resultSet, 1));
+                    return rows;
+                });
+
+        PageDto<CommentSearchHitDto> page = commentSearchService.search("grinding noise", 3L,
+                LocalDate.of(2021, 3, 1), null, new Cursor.Ranked(0.75f, 12L), 1);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> parameters = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(sql.capture(), ArgumentMatchers.<RowMapper<CommentSearchHitDto>>any(),
+                parameters.capture());
+        assertThat(sql.getValue())
+                .contains("c.content_tsv @@ q.query AND c.mechanic_id = ? AND c.date_created >= ?)")
+                .contains("WHERE (rank, comment_id) < (CAST(? AS REAL), ?)")
+                .doesNotContain("c.date_created < ?");
+        assertThat(parameters.getAllValues()).startsWith("grinding noise", 3L,
+                Timestamp.valueOf("2021-03-01 00:00:00"), 0.75f, 12L, 2);
+        assertThat(page.getItems()).hasSize(1);
+        CommentSearchHitDto hit = page.getItems().get(0);
+        assertThat(hit.getId()).isEqualTo(9L);
+        assertThat(hit.getTicketStatus()).isEqualTo(Status.OPEN);
+        assertThat(hit.getDateCreated()).isEqualTo(LocalDate.of(2021, 3, 1));
+        assertThat(hit.getSnippet()).isEqualTo("<mark>grinding</mark> &lt;noise&gt;");
+        assertThat(Cursor.decodeRanked(page.getNext())).isEqualTo(new Cursor.Ranked(0.5f, 9L));
+    }
+
+    @DisplayName("JUnit test for search method (blank query)")
+    @Test
+    void shouldNotSearchBlankQuery() {
+        PageDto<CommentSearchHitDto> page = commentSearchService.search(" ", null, null, null, null, null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNext()).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
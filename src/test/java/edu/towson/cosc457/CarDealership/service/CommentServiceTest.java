@@ -10,7 +10,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +31,8 @@ public class CommentServiceTest {
     private CommentService commentService;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private EntityManager entityManager;
     @Captor
     private ArgumentCaptor<Comment> commentArgumentCaptor;
     private Comment comment;
@@ -61,6 +67,11 @@ public class CommentServiceTest {
 
     @Test
     void shouldSaveComment() {
+        ServiceTicket serviceTicket = comment.getServiceTicket();
+        Mechanic mechanic = comment.getMechanic();
+        Mockito.when(entityManager.getReference(ServiceTicket.class, 1L)).thenReturn(serviceTicket);
+        Mockito.when(entityManager.getReference(Mechanic.class, 1L)).thenReturn(mechanic);
+
         commentService.addComment(comment);
 
         verify(commentRepository, times(1)).save(commentArgumentCaptor.capture());
@@ -108,21 +119,23 @@ public class CommentServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(commentRepository.findAll()).thenReturn(expectedComments);
-        List<Comment> actualComments = commentService.getComments();
-        verify(commentRepository, times(1)).findAll();
+        Mockito.when(commentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedComments));
+        Slice<Comment> actualComments = commentService.getComments(0L, null);
+        verify(commentRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualComments).isNotNull();
-            assertThat(actualComments.size()).isEqualTo(expectedComments.size());
+            assertThat(actualComments.getNumberOfElements()).isEqualTo(expectedComments.size());
         });
     }
 
     @Test
     void shouldGetAllComments_EmptyList() {
-        Mockito.when(commentRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(commentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Comment> actualComments = commentService.getComments();
+        Slice<Comment> actualComments = commentService.getComments(0L, null);
 
         assertThat(actualComments).isEmpty();
     }
@@ -152,6 +165,9 @@ public class CommentServiceTest {
     @Test
     void shouldUpdateComment() {
         Mockito.when(commentRepository.findById(comment.getId())).thenReturn(Optional.of(comment));
+        Mockito.when(entityManager.getReference(ServiceTicket.class, 1L))
+                .thenReturn(editedComment.getServiceTicket());
+        Mockito.when(entityManager.getReference(Mechanic.class, 1L)).thenReturn(editedComment.getMechanic());
 
         Comment updatedComment = commentService.editComment(comment.getId(), editedComment);
 
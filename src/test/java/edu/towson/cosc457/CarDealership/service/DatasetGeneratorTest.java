@@ -0,0 +1,156 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import edu.towson.cosc457.CarDealership.config.GeneratorProperties;
+import edu.towson.cosc457.CarDealership.misc.EmployeeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DatasetGeneratorTest {
+    private static final CsvMapper CSV_MAPPER = new CsvMapper().enable(CsvParser.Feature.WRAP_AS_ARRAY);
+
+    @InjectMocks
+    private DatasetGenerator datasetGenerator;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private GeneratorProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new GeneratorProperties();
+        properties.setLocations(2);
+        properties.setLotsPerLocation(3);
+        properties.setMechanicsPerLocation(4);
+        properties.setSalesAssociatesPerLocation(2);
+        properties.setVehicles(500);
+        properties.setClients(100);
+        properties.setTickets(200);
+        properties.setCommentsPerTicket(2);
+    }
+
+    @Test
+    void shouldWriteSameRowsForSameSeed() throws IOException {
+        String vehicles = write(plan(), DatasetGenerator::writeVehicles);
+        String comments = write(plan(), DatasetGenerator::writeComments);
+
+        assertThat(write(plan(), DatasetGenerator::writeVehicles)).isEqualTo(vehicles);
+        assertThat(write(plan(), DatasetGenerator::writeComments)).isEqualTo(comments);
+        properties.setSeed(properties.getSeed() + 1);
+        assertThat(write(plan(), DatasetGenerator::writeVehicles)).isNotEqualTo(vehicles);
+    }
+
+    @Test
+    void shouldWriteVehiclesWithinReservedIds() throws IOException {
+        DatasetGenerator.Plan plan = plan();
+
+        List<String[]> vehicles = rows(write(plan, DatasetGenerator::writeVehicles));
+
+        assertThat(vehicles).hasSize(500);
+        assertThat(vehicles).allSatisfy(vehicle -> {
+            assertThat(vehicle).hasSize(13);
+            assertThat(Long.parseLong(vehicle[0])).isBetween(plan.firstVehicle, plan.firstVehicle + 499);
+            assertThat(vehicle[1]).hasSize(17);
+            assertThat(vehicle[8].length()).isLessThanOrEqualTo(255);
+            if (!vehicle[12].isEmpty()) {
+                assertThat(Long.parseLong(vehicle[12])).isBetween(plan.firstLot, plan.firstLot + 5);
+            }
+        });
+        assertThat(vehicles.stream().map(vehicle -> vehicle[1]).distinct()).hasSize(500);
+    }
+
+    @Test
+    void shouldLayOutStaffHierarchy() throws IOException {
+        DatasetGenerator.Plan plan = plan();
+
+        List<String[]> employees = rows(write(plan, DatasetGenerator::writeEmployees));
+        List<String[]> mechanics = rows(write(plan, (copy, p) ->
+                DatasetGenerator.writeStaff(copy, p, EmployeeType.MECHANIC)));
+        List<String[]> departments = rows(write(plan, DatasetGenerator::writeDepartments));
+
+        assertThat(employees).hasSize(2 * (3 + 4 + 2));
+        assertThat(employees).extracting(employee -> employee[14])
+                .containsOnly("SITE_MANAGER", "MANAGER", "MECHANIC", "SALES_ASSOCIATE");
+        assertThat(mechanics).hasSize(8);
+        Map<String, String> managerOfDepartment = new HashMap<>();
+        departments.forEach(department -> managerOfDepartment.put(department[0], department[2]));
+        assertThat(mechanics).allSatisfy(mechanic -> {
+            assertThat(managerOfDepartment.get(mechanic[2])).isEqualTo(mechanic[1]);
+            assertThat(departments.stream()
+                    .filter(department -> department[0].equals(mechanic[2]))
+                    .map(department -> department[1]))
+                    .allMatch(name -> name.startsWith("Service"));
+        });
+    }
+
+    @Test
+    void shouldWritePlannedCommentThreads() throws IOException {
+        DatasetGenerator.Plan plan = plan();
+
+        List<String[]> tickets = rows(write(plan, DatasetGenerator::writeTickets));
+        List<String[]> comments = rows(write(plan, DatasetGenerator::writeComments));
+
+        Map<String, LocalDate> createdOfTicket = new HashMap<>();
+        tickets.forEach(ticket -> createdOfTicket.put(ticket[0], LocalDate.parse(ticket[3])));
+        assertThat(comments).hasSize((int) plan.comments);
+        assertThat(comments).allSatisfy(comment ->
+                assertThat(LocalDate.parse(comment[3])).isAfterOrEqualTo(createdOfTicket.get(comment[1])));
+    }
+
+    @Test
+    void shouldFailToGenerateTicketsWithoutMechanics() {
+        properties.setMechanicsPerLocation(0);
+
+        assertThrows(IllegalArgumentException.class, () -> datasetGenerator.generate(properties));
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    private interface Rows {
+        void write(CopyWriter copy, DatasetGenerator.Plan plan) throws IOException;
+    }
+
+    private DatasetGenerator.Plan plan() {
+        long[] next = {1};
+        return new DatasetGenerator.Plan(properties, LocalDate.of(2021, 6, 30), (sequence, count) -> {
+            long first = next[0];
+            next[0] += count;
+            return first;
+        });
+    }
+
+    private static String write(DatasetGenerator.Plan plan, Rows rows) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (CopyWriter copy = new CopyWriter(writer)) {
+            rows.write(copy, plan);
+        }
+        return writer.toString();
+    }
+
+    private static List<String[]> rows(String csv) throws IOException {
+        try (MappingIterator<String[]> iterator = CSV_MAPPER.readerFor(String[].class).readValues(csv)) {
+            return iterator.readAll();
+        }
+    }
+}
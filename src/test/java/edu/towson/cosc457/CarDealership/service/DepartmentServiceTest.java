@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -30,6 +33,8 @@ public class DepartmentServiceTest {
     private MechanicService mechanicService;
     @Mock
     private DepartmentRepository departmentRepository;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<Department> departmentArgumentCaptor;
     private Department department;
@@ -141,21 +146,23 @@ public class DepartmentServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(departmentRepository.findAll()).thenReturn(expectedDepartments);
-        List<Department> actualDepartments = departmentService.getDepartments();
-        verify(departmentRepository, times(1)).findAll();
+        Mockito.when(departmentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedDepartments));
+        Slice<Department> actualDepartments = departmentService.getDepartments(0L, null);
+        verify(departmentRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualDepartments).isNotNull();
-            assertThat(actualDepartments.size()).isEqualTo(expectedDepartments.size());
+            assertThat(actualDepartments.getNumberOfElements()).isEqualTo(expectedDepartments.size());
         });
     }
 
     @Test
     void shouldGetAllDepartments_EmptyList() {
-        Mockito.when(departmentRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(departmentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Department> actualDepartments = departmentService.getDepartments();
+        Slice<Department> actualDepartments = departmentService.getDepartments(0L, null);
 
         assertThat(actualDepartments).isEmpty();
     }
@@ -164,7 +171,7 @@ public class DepartmentServiceTest {
     void shouldDeleteDepartment() {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
 
-        Department deletedDepartment = departmentService.deleteDepartment(department.getId());
+        Department deletedDepartment = departmentService.deleteDepartment(department.getId(), null);
 
         verify(departmentRepository, times(1)).delete(department);
 
@@ -178,7 +185,7 @@ public class DepartmentServiceTest {
     void shouldFailToDeleteDepartment() {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> departmentService.deleteDepartment(department.getId()));
+        assertThrows(NotFoundException.class, () -> departmentService.deleteDepartment(department.getId(), null));
 
         verify(departmentRepository, never()).delete(any(Department.class));
     }
@@ -187,7 +194,7 @@ public class DepartmentServiceTest {
     void shouldUpdateDepartment() {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
 
-        Department updatedDepartment = departmentService.editDepartment(department.getId(), editedDepartment);
+        Department updatedDepartment = departmentService.editDepartment(department.getId(), editedDepartment, null);
 
         assertAll(() -> {
             assertThat(updatedDepartment).isNotNull();
@@ -200,41 +207,36 @@ public class DepartmentServiceTest {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
-                () -> departmentService.editDepartment(department.getId(), editedDepartment));
+                () -> departmentService.editDepartment(department.getId(), editedDepartment, null));
     }
 
     @Test
     void shouldAssignMechanicToDepartment() {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
         Department updatedDepartment = departmentService.assignMechanic(department.getId(), mechanic.getId());
 
-        assertAll(() -> {
-            assertThat(updatedDepartment.getMechanics().size()).isEqualTo(1);
-            assertThat(updatedDepartment.getMechanics().get(0)).usingRecursiveComparison().isEqualTo(mechanic);
-        });
+        assertThat(updatedDepartment).isSameAs(department);
+        verify(assignmentService).assign(Assignment.DEPARTMENT_MECHANIC, department.getId(), mechanic.getId());
     }
 
     @Test
     void shouldFailToAssignMechanicToDepartment() {
-        Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-
-        departmentService.assignMechanic(department.getId(), mechanic.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.DEPARTMENT_MECHANIC, department.getId(), mechanic.getId());
 
         assertThrows(AlreadyAssignedException.class,
-                () -> departmentService.assignMechanic(department.getId(), mechanic.getId())); // Attempt to assign again
+                () -> departmentService.assignMechanic(department.getId(), mechanic.getId()));
+        verify(departmentRepository, never()).findById(department.getId());
     }
 
     @Test
     void shouldRemoveMechanicFromDepartment() {
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
-        departmentService.assignMechanic(department.getId(), mechanic.getId());
         Department updatedDepartment = departmentService.removeMechanic(department.getId(), mechanic.getId());
 
-        assertThat(updatedDepartment.getMechanics().size()).isEqualTo(0);
+        assertThat(updatedDepartment).isSameAs(department);
+        verify(assignmentService).remove(Assignment.DEPARTMENT_MECHANIC, department.getId(), mechanic.getId());
     }
 }
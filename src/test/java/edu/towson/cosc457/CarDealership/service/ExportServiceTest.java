@@ -0,0 +1,157 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.exceptions.InvalidExportException;
+import edu.towson.cosc457.CarDealership.misc.ExportFormat;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTest {
+    private ExportService exportService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @BeforeEach
+    public void setUp() {
+        exportService = new ExportService(jdbcTemplate);
+    }
+
+    /**
+     * Two rows of (id BIGINT NOT NULL, make VARCHAR), the second make being NULL
+     */
+    @SuppressWarnings("unchecked")
+    private void givenRows() throws Exception {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        lenient().when(metaData.getColumnCount()).thenReturn(2);
+        lenient().when(metaData.getColumnLabel(1)).thenReturn("id");
+        lenient().when(metaData.getColumnLabel(2)).thenReturn("make");
+        lenient().when(metaData.getColumnName(1)).thenReturn("id");
+        lenient().when(metaData.getColumnName(2)).thenReturn("make");
+        lenient().when(metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        lenient().when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        lenient().when(metaData.isNullable(1)).thenReturn(ResultSetMetaData.columnNoNulls);
+        lenient().when(metaData.isNullable(2)).thenReturn(ResultSetMetaData.columnNullable);
+        when(resultSet.next()).thenReturn(true, true, false);
+        lenient().when(resultSet.getString(1)).thenReturn("1", "2");
+        lenient().when(resultSet.getLong(1)).thenReturn(1L, 2L);
+        Iterator<String> makes = Arrays.asList("Honda, \"Civic\"", null).iterator();
+        AtomicBoolean wasNull = new AtomicBoolean();
+        lenient().when(resultSet.getString(2)).thenAnswer(invocation -> {
+            String make = makes.next();
+            wasNull.set(make == null);
+            return make;
+        });
+        lenient().when(resultSet.wasNull()).thenAnswer(invocation -> wasNull.getAndSet(false));
+    }
+
+    @DisplayName("JUnit test for prepare method")
+    @Test
+    void shouldPrepareTicketQuery() {
+        ExportQuery query = exportService.prepare("Tickets", Arrays.asList("ticket_id", "comment_content"),
+                LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31));
+
+        assertThat(query.getEntity()).isEqualTo("tickets");
+        assertThat(query.getSql()).isEqualTo("SELECT t.ticket_id AS \"ticket_id\", c.content AS \"comment_content\" "
+                + "FROM service_ticket t LEFT JOIN comment c ON c.ticket_id = t.ticket_id "
+                + "WHERE TRUE AND t.date_created >= ? AND t.date_created < ? ORDER BY t.ticket_id, c.comment_id");
+        assertThat(query.getParameters()).containsExactly(
+                Timestamp.valueOf("2021-03-01 00:00:00"), Timestamp.valueOf("2021-04-01 00:00:00"));
+    }
+
+    @DisplayName("JUnit test for prepare method (invalid requests)")
+    @Test
+    void shouldRejectInvalidExport() {
+        InvalidExportException entity = assertThrows(InvalidExportException.class,
+                () -> exportService.prepare("users", null, null, null));
+        InvalidExportException column = assertThrows(InvalidExportException.class,
+                () -> exportService.prepare("employees", Arrays.asList("id", "ssn"), null, null));
+        InvalidExportException date = assertThrows(InvalidExportException.class,
+                () -> exportService.prepare("vehicles", null, LocalDate.of(2021, 3, 1), null));
+
+        assertThat(entity.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(column.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(date.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @DisplayName("JUnit test for export method (CSV)")
+    @Test
+    void shouldExportCsv() throws Exception {
+        givenRows();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.export(exportService.prepare("vehicles", Arrays.asList("id", "make"), null, null),
+                ExportFormat.CSV, output);
+
+        assertThat(rows).isEqualTo(2L);
+        assertThat(output.toString(StandardCharsets.UTF_8.name()))
+                .isEqualTo("id,make\n1,\"Honda, \"\"Civic\"\"\"\n2,\n");
+        verify(statement).setFetchSize(ExportService.FETCH_SIZE);
+        verify(resultSet).close();
+    }
+
+    @DisplayName("JUnit test for export method (Arrow)")
+    @Test
+    void shouldExportArrow() throws Exception {
+        givenRows();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.export(exportService.prepare("vehicles", Arrays.asList("id", "make"), null, null),
+                ExportFormat.ARROW, output);
+
+        assertThat(rows).isEqualTo(2L);
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()),
+                     allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertThat(reader.loadNextBatch()).isTrue();
+            assertThat(root.getRowCount()).isEqualTo(2);
+            BigIntVector id = (BigIntVector) root.getVector("id");
+            VarCharVector make = (VarCharVector) root.getVector("make");
+            assertThat(id.get(0)).isEqualTo(1L);
+            assertThat(id.get(1)).isEqualTo(2L);
+            assertThat(make.getObject(0).toString()).isEqualTo("Honda, \"Civic\"");
+            assertThat(make.isNull(1)).isTrue();
+            assertThat(reader.loadNextBatch()).isFalse();
+        }
+    }
+}
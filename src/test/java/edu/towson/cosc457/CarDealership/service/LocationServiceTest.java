@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -34,6 +37,8 @@ public class LocationServiceTest {
     private DepartmentService departmentService;
     @Mock
     private MechanicService mechanicService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<Location> locationArgumentCaptor;
     private Location location;
@@ -169,21 +174,23 @@ public class LocationServiceTest {
                 .id(2L)
                 .build());
 
-        Mockito.when(locationRepository.findAll()).thenReturn(expectedLocations);
-        List<Location> actualLocations = locationService.getLocations();
-        verify(locationRepository, times(1)).findAll();
+        Mockito.when(locationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedLocations));
+        Slice<Location> actualLocations = locationService.getLocations(0L, null);
+        verify(locationRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualLocations).isNotNull();
-            assertThat(actualLocations.size()).isEqualTo(expectedLocations.size());
+            assertThat(actualLocations.getNumberOfElements()).isEqualTo(expectedLocations.size());
         });
     }
 
     @Test
     void shouldGetAllLocations_EmptyList() {
-        Mockito.when(locationRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(locationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Location> actualLocations = locationService.getLocations();
+        Slice<Location> actualLocations = locationService.getLocations(0L, null);
 
         assertThat(actualLocations).isEmpty();
     }
@@ -192,7 +199,7 @@ public class LocationServiceTest {
     void shouldDeleteLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
 
-        Location deletedLocation = locationService.deleteLocation(location.getId());
+        Location deletedLocation = locationService.deleteLocation(location.getId(), null);
 
         assertAll(() -> {
             assertThat(deletedLocation).isNotNull();
@@ -204,7 +211,7 @@ public class LocationServiceTest {
     void shouldFailToDeleteLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> locationService.deleteLocation(location.getId()));
+        assertThrows(NotFoundException.class, () -> locationService.deleteLocation(location.getId(), null));
 
         verify(locationRepository, never()).delete(any(Location.class));
     }
@@ -213,7 +220,7 @@ public class LocationServiceTest {
     void shouldUpdateLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
 
-        Location updatedLocation = locationService.editLocation(location.getId(), editedLocation);
+        Location updatedLocation = locationService.editLocation(location.getId(), editedLocation, null);
 
         assertAll(() -> {
             assertThat(updatedLocation).isNotNull();
@@ -225,111 +232,96 @@ public class LocationServiceTest {
     void shouldFailToUpdateLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> locationService.editLocation(location.getId(), editedLocation));
+        assertThrows(NotFoundException.class, () -> locationService.editLocation(location.getId(), editedLocation, null));
     }
 
     @Test
     void shouldAddLotToLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(lotService.getLot(location.getId())).thenReturn(lot);
 
         Location updatedLocation = locationService.addLotToLocation(location.getId(), lot.getId());
 
-        assertAll(() -> {
-            assertThat(updatedLocation.getLots().size()).isEqualTo(1);
-            assertThat(updatedLocation.getLots().get(0)).usingRecursiveComparison().isEqualTo(lot);
-        });
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).assign(Assignment.LOCATION_LOT, location.getId(), lot.getId());
     }
 
     @Test
     void shouldFailToAddLotToLocation() {
-        Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(lotService.getLot(location.getId())).thenReturn(lot);
-
-        locationService.addLotToLocation(location.getId(), lot.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.LOCATION_LOT, location.getId(), lot.getId());
 
         assertThrows(AlreadyAssignedException.class,
-                () -> locationService.addLotToLocation(location.getId(), lot.getId())); // Attempt to assign again
+                () -> locationService.addLotToLocation(location.getId(), lot.getId()));
+        verify(locationRepository, never()).findById(location.getId());
     }
 
     @Test
     void shouldRemoveLotFromLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(lotService.getLot(location.getId())).thenReturn(lot);
 
-        locationService.addLotToLocation(location.getId(), lot.getId());
         Location updatedLocation = locationService.removeLotFromLocation(location.getId(), lot.getId());
 
-        assertThat(updatedLocation.getLots().size()).isEqualTo(0);
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).remove(Assignment.LOCATION_LOT, location.getId(), lot.getId());
     }
 
     @Test
     void shouldAddDepartmentToLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(departmentService.getDepartment(department.getId())).thenReturn(department);
 
         Location updatedLocation = locationService.addDepartmentToLocation(location.getId(), department.getId());
 
-        assertAll(() -> {
-            assertThat(updatedLocation.getDepartments().size()).isEqualTo(1);
-            assertThat(updatedLocation.getDepartments().get(0)).usingRecursiveComparison().isEqualTo(department);
-        });
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).assign(Assignment.LOCATION_DEPARTMENT, location.getId(), department.getId());
     }
 
     @Test
     void shouldFailToAddDepartmentToLocation() {
-        Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(departmentService.getDepartment(department.getId())).thenReturn(department);
-
-        locationService.addDepartmentToLocation(location.getId(), department.getId());
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.LOCATION_DEPARTMENT, location.getId(), department.getId());
 
         assertThrows(AlreadyAssignedException.class,
                 () -> locationService.addDepartmentToLocation(location.getId(), department.getId()));
+        verify(locationRepository, never()).findById(location.getId());
     }
 
     @Test
     void shouldRemoveDepartmentFromLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(departmentService.getDepartment(department.getId())).thenReturn(department);
 
-        locationService.addDepartmentToLocation(location.getId(), department.getId());
         Location updatedLocation = locationService.removeDepartmentFromLocation(location.getId(), department.getId());
 
-        assertThat(updatedLocation.getDepartments().size()).isEqualTo(0);
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).remove(Assignment.LOCATION_DEPARTMENT, location.getId(), department.getId());
     }
 
     @Test
     void shouldAssignMechanicToLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
         Location updatedLocation = locationService.assignMechanic(location.getId(), mechanic.getId());
 
-        assertAll(() -> {
-            assertThat(updatedLocation.getMechanics().size()).isEqualTo(1);
-            assertThat(updatedLocation.getMechanics().get(0)).usingRecursiveComparison().isEqualTo(mechanic);
-        });
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).assign(Assignment.LOCATION_MECHANIC, location.getId(), mechanic.getId());
     }
 
     @Test
     void shouldFailToAssignMechanicToLocation() {
-        Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-
-        locationService.assignMechanic(location.getId(), mechanic.getId());
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.LOCATION_MECHANIC, location.getId(), mechanic.getId());
 
         assertThrows(AlreadyAssignedException.class,
                 () -> locationService.assignMechanic(location.getId(), mechanic.getId()));
+        verify(locationRepository, never()).findById(location.getId());
     }
 
     @Test
     void shouldRemoveMechanicFromLocation() {
         Mockito.when(locationRepository.findById(location.getId())).thenReturn(Optional.of(location));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
-        locationService.assignMechanic(location.getId(), mechanic.getId());
         Location updatedLocation = locationService.removeMechanic(location.getId(), mechanic.getId());
 
-        assertThat(updatedLocation.getMechanics().size()).isEqualTo(0);
+        assertThat(updatedLocation).isSameAs(location);
+        verify(assignmentService).remove(Assignment.LOCATION_MECHANIC, location.getId(), mechanic.getId());
     }
 }
@@ -13,6 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +24,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +35,10 @@ public class LotServiceTest {
     private LotRepository lotRepository;
     @Mock
     private VehicleService vehicleService;
+    @Mock
+    private VehicleFacetService vehicleFacetService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<Lot> lotArgumentCaptor;
     private Lot lot;
@@ -122,21 +130,23 @@ public class LotServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(lotRepository.findAll()).thenReturn(expectedLots);
-        List<Lot> actualLots = lotService.getLots();
-        verify(lotRepository, times(1)).findAll();
+        Mockito.when(lotRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedLots));
+        Slice<Lot> actualLots = lotService.getLots(0L, null);
+        verify(lotRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualLots).isNotNull();
-            assertThat(actualLots.size()).isEqualTo(expectedLots.size());
+            assertThat(actualLots.getNumberOfElements()).isEqualTo(expectedLots.size());
         });
     }
 
     @Test
     void shouldGetAllLots_EmptyList() {
-        Mockito.when(lotRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(lotRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Lot> actualLots = lotService.getLots();
+        Slice<Lot> actualLots = lotService.getLots(0L, null);
 
         assertThat(actualLots).isEmpty();
     }
@@ -145,7 +155,7 @@ public class LotServiceTest {
     void shouldDeleteLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.of(lot));
 
-        Lot deletedLot = lotService.deleteLot(lot.getId());
+        Lot deletedLot = lotService.deleteLot(lot.getId(), null);
 
         verify(lotRepository, times(1)).delete(lot);
 
@@ -159,7 +169,7 @@ public class LotServiceTest {
     void shouldFailToDeleteLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> lotService.deleteLot(lot.getId()));
+        assertThrows(NotFoundException.class, () -> lotService.deleteLot(lot.getId(), null));
 
         verify(lotRepository, never()).delete(any(Lot.class));
     }
@@ -168,7 +178,7 @@ public class LotServiceTest {
     void shouldUpdateLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.of(lot));
 
-        Lot updatedLot = lotService.editLot(lot.getId(), editedLot);
+        Lot updatedLot = lotService.editLot(lot.getId(), editedLot, null);
 
         assertAll(() -> {
             assertThat(updatedLot).isNotNull();
@@ -180,41 +190,39 @@ public class LotServiceTest {
     void shouldFailToUpdateLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> lotService.editLot(lot.getId(), editedLot));
+        assertThrows(NotFoundException.class, () -> lotService.editLot(lot.getId(), editedLot, null));
     }
 
     @Test
     void shouldAddVehicleToLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.of(lot));
-        Mockito.when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
 
         Lot updatedLot = lotService.addVehicleToLot(lot.getId(), vehicle.getId());
 
-        assertAll(() -> {
-            assertThat(updatedLot.getVehicles().size()).isEqualTo(1);
-            assertThat(updatedLot.getVehicles().get(0)).usingRecursiveComparison().isEqualTo(vehicle);
-        });
+        assertThat(updatedLot).isSameAs(lot);
+        verify(assignmentService).assign(Assignment.LOT_VEHICLE, lot.getId(), vehicle.getId());
+        verify(vehicleFacetService).moveToLot(vehicle.getId(), lot.getId());
     }
 
     @Test
     void shouldFailToAddVehicleToLot() {
-        Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.of(lot));
-        Mockito.when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
-
-        lotService.addVehicleToLot(lot.getId(), vehicle.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.LOT_VEHICLE, lot.getId(), vehicle.getId());
 
         assertThrows(AlreadyAssignedException.class,
-                () -> lotService.addVehicleToLot(lot.getId(), vehicle.getId())); // Attempt to assign again
+                () -> lotService.addVehicleToLot(lot.getId(), vehicle.getId()));
+        verify(lotRepository, never()).findById(lot.getId());
+        verify(vehicleFacetService, never()).moveToLot(any(), any());
     }
 
     @Test
     void shouldRemoveVehicleFromLot() {
         Mockito.when(lotRepository.findById(lot.getId())).thenReturn(Optional.of(lot));
-        Mockito.when(vehicleService.getVehicle(vehicle.getId())).thenReturn(vehicle);
+        Mockito.when(assignmentService.remove(Assignment.LOT_VEHICLE, lot.getId(), vehicle.getId())).thenReturn(true);
 
-        lotService.addVehicleToLot(lot.getId(), vehicle.getId());
         Lot updatedLot = lotService.removeVehicleFromLot(lot.getId(), vehicle.getId());
 
-        assertThat(updatedLot.getVehicles().size()).isEqualTo(0);
+        assertThat(updatedLot).isSameAs(lot);
+        verify(vehicleFacetService).moveToLot(vehicle.getId(), null);
     }
 }
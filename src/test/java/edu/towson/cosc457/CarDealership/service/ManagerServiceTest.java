@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -31,6 +34,8 @@ public class ManagerServiceTest {
     private ManagerRepository managerRepository;
     @Mock
     private MechanicService mechanicService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<Manager> managerArgumentCaptor;
     private Manager manager;
@@ -158,21 +163,23 @@ public class ManagerServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(managerRepository.findAll()).thenReturn(expectedManagers);
-        List<Manager> actualManagers = managerService.getEmployees();
-        verify(managerRepository, times(1)).findAll();
+        Mockito.when(managerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedManagers));
+        Slice<Manager> actualManagers = managerService.getEmployees(0L, null);
+        verify(managerRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualManagers).isNotNull();
-            assertThat(actualManagers.size()).isEqualTo(expectedManagers.size());
+            assertThat(actualManagers.getNumberOfElements()).isEqualTo(expectedManagers.size());
         });
     }
 
     @Test
     void shouldGetAllManagers_EmptyList() {
-        Mockito.when(managerRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(managerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Manager> actualManagers = managerService.getEmployees();
+        Slice<Manager> actualManagers = managerService.getEmployees(0L, null);
 
         assertThat(actualManagers).isEmpty();
     }
@@ -181,7 +188,7 @@ public class ManagerServiceTest {
     void shouldDeleteManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
 
-        Manager deletedManager = managerService.deleteEmployee(manager.getId());
+        Manager deletedManager = managerService.deleteEmployee(manager.getId(), null);
 
         verify(managerRepository, times(1)).delete(manager);
 
@@ -195,7 +202,7 @@ public class ManagerServiceTest {
     void shouldFailToDeleteManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> managerService.deleteEmployee(manager.getId()));
+        assertThrows(NotFoundException.class, () -> managerService.deleteEmployee(manager.getId(), null));
 
         verify(managerRepository, never()).delete(any(Manager.class));
     }
@@ -204,7 +211,7 @@ public class ManagerServiceTest {
     void shouldUpdateManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
 
-        Manager updatedManager = managerService.editEmployee(manager.getId(), editedManager);
+        Manager updatedManager = managerService.editEmployee(manager.getId(), editedManager, null);
 
         assertAll(() -> {
             assertThat(updatedManager).isNotNull();
@@ -216,41 +223,36 @@ public class ManagerServiceTest {
     void shouldFailToUpdateManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> managerService.editEmployee(manager.getId(), editedManager));
+        assertThrows(NotFoundException.class, () -> managerService.editEmployee(manager.getId(), editedManager, null));
     }
 
     @Test
     void shouldAssignEmployeeToManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
         Manager updatedManager = managerService.assignToManager(manager.getId(), mechanic.getId());
 
-        assertAll(() -> {
-            assertThat(updatedManager.getMechanics().size()).isEqualTo(1);
-            assertThat(updatedManager.getMechanics().get(0)).usingRecursiveComparison().isEqualTo(mechanic);
-        });
+        assertThat(updatedManager).isSameAs(manager);
+        verify(assignmentService).assign(Assignment.MANAGER_MECHANIC, manager.getId(), mechanic.getId());
     }
 
     @Test
     void shouldFailToAssignEmployeeToManager() {
-        Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
-
-        managerService.assignToManager(manager.getId(), mechanic.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.MANAGER_MECHANIC, manager.getId(), mechanic.getId());
 
         assertThrows(AlreadyAssignedException.class,
-                () -> managerService.assignToManager(manager.getId(), mechanic.getId())); // Attempt to assign again
+                () -> managerService.assignToManager(manager.getId(), mechanic.getId()));
+        verify(managerRepository, never()).findById(manager.getId());
     }
 
     @Test
     void shouldRemoveEmployeeFromManager() {
         Mockito.when(managerRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
-        Mockito.when(mechanicService.getEmployee(mechanic.getId())).thenReturn(mechanic);
 
-        managerService.assignToManager(manager.getId(), mechanic.getId());
         Manager updatedManager = managerService.removeFromManager(manager.getId(), mechanic.getId());
 
-        assertThat(updatedManager.getMechanics().size()).isEqualTo(0);
+        assertThat(updatedManager).isSameAs(manager);
+        verify(assignmentService).remove(Assignment.MANAGER_MECHANIC, manager.getId(), mechanic.getId());
     }
 }
@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -32,6 +35,8 @@ public class MechanicServiceTest {
     private MechanicRepository mechanicRepository;
     @Mock
     private ServiceTicketService serviceTicketService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<Mechanic> mechanicArgumentCaptor;
     private Mechanic mechanic;
@@ -166,21 +171,23 @@ public class MechanicServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(mechanicRepository.findAll()).thenReturn(expectedMechanics);
-        List<Mechanic> actualMechanics = mechanicService.getEmployees();
-        verify(mechanicRepository, times(1)).findAll();
+        Mockito.when(mechanicRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedMechanics));
+        Slice<Mechanic> actualMechanics = mechanicService.getEmployees(0L, null);
+        verify(mechanicRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualMechanics).isNotNull();
-            assertThat(actualMechanics.size()).isEqualTo(expectedMechanics.size());
+            assertThat(actualMechanics.getNumberOfElements()).isEqualTo(expectedMechanics.size());
         });
     }
 
     @Test
     void shouldGetAllMechanics_EmptyList() {
-        Mockito.when(mechanicRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(mechanicRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Mechanic> actualMechanics = mechanicService.getEmployees();
+        Slice<Mechanic> actualMechanics = mechanicService.getEmployees(0L, null);
 
         assertThat(actualMechanics).isEmpty();
     }
@@ -189,7 +196,7 @@ public class MechanicServiceTest {
     void shouldDeleteMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.of(mechanic));
 
-        Mechanic deletedMechanic = mechanicService.deleteEmployee(mechanic.getId());
+        Mechanic deletedMechanic = mechanicService.deleteEmployee(mechanic.getId(), null);
 
         verify(mechanicRepository, times(1)).delete(mechanic);
 
@@ -203,7 +210,7 @@ public class MechanicServiceTest {
     void shouldFailToDeleteMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> mechanicService.deleteEmployee(mechanic.getId()));
+        assertThrows(NotFoundException.class, () -> mechanicService.deleteEmployee(mechanic.getId(), null));
 
         verify(mechanicRepository, never()).delete(any(Mechanic.class));
     }
@@ -212,7 +219,7 @@ public class MechanicServiceTest {
     void shouldUpdateMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.of(mechanic));
 
-        Mechanic updatedMechanic = mechanicService.editEmployee(mechanic.getId(), editedMechanic);
+        Mechanic updatedMechanic = mechanicService.editEmployee(mechanic.getId(), editedMechanic, null);
 
         assertAll(() -> {
             assertThat(updatedMechanic).isNotNull();
@@ -224,41 +231,36 @@ public class MechanicServiceTest {
     void shouldFailToUpdateMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> mechanicService.editEmployee(mechanic.getId(), editedMechanic));
+        assertThrows(NotFoundException.class, () -> mechanicService.editEmployee(mechanic.getId(), editedMechanic, null));
     }
 
     @Test
     void shouldAssignTicketToMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.of(mechanic));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
 
         Mechanic updatedMechanic = mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId());
 
-        assertAll(() -> {
-            assertThat(updatedMechanic.getTickets().size()).isEqualTo(1);
-            assertThat(updatedMechanic.getTickets().get(0)).usingRecursiveComparison().isEqualTo(serviceTicket);
-        });
+        assertThat(updatedMechanic).isSameAs(mechanic);
+        verify(assignmentService).assign(Assignment.MECHANIC_TICKET, mechanic.getId(), serviceTicket.getId());
     }
 
     @Test
     void shouldFailToAssignTicketToMechanic() {
-        Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.of(mechanic));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
-
-        mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.MECHANIC_TICKET, mechanic.getId(), serviceTicket.getId());
 
         assertThrows(AlreadyAssignedException.class,
-                () -> mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId())); // Attempt to assign again
+                () -> mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId()));
+        verify(mechanicRepository, never()).findById(mechanic.getId());
     }
 
     @Test
     void shouldRemoveTicketFromMechanic() {
         Mockito.when(mechanicRepository.findById(mechanic.getId())).thenReturn(Optional.of(mechanic));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
 
-        mechanicService.assignTicket(mechanic.getId(), serviceTicket.getId());
         Mechanic updatedMechanic = mechanicService.removeTicket(mechanic.getId(), serviceTicket.getId());
 
-        assertThat(updatedMechanic.getTickets().size()).isEqualTo(0);
+        assertThat(updatedMechanic).isSameAs(mechanic);
+        verify(assignmentService).remove(Assignment.MECHANIC_TICKET, mechanic.getId(), serviceTicket.getId());
     }
 }
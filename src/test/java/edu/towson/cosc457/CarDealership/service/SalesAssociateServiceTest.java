@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -31,6 +34,8 @@ public class SalesAssociateServiceTest {
     private SalesAssociateRepository salesAssociateRepository;
     @Mock
     private ClientService clientService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<SalesAssociate> salesAssociateArgumentCaptor;
     private SalesAssociate salesAssociate;
@@ -173,21 +178,23 @@ public class SalesAssociateServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(salesAssociateRepository.findAll()).thenReturn(expectedSalesAssociates);
-        List<SalesAssociate> actualSalesAssociates = salesAssociateService.getEmployees();
-        verify(salesAssociateRepository, times(1)).findAll();
+        Mockito.when(salesAssociateRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedSalesAssociates));
+        Slice<SalesAssociate> actualSalesAssociates = salesAssociateService.getEmployees(0L, null);
+        verify(salesAssociateRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualSalesAssociates).isNotNull();
-            assertThat(actualSalesAssociates.size()).isEqualTo(expectedSalesAssociates.size());
+            assertThat(actualSalesAssociates.getNumberOfElements()).isEqualTo(expectedSalesAssociates.size());
         });
     }
 
     @Test
     void shouldGetAllSalesAssociates_EmptyList() {
-        Mockito.when(salesAssociateRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(salesAssociateRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<SalesAssociate> actualSalesAssociates = salesAssociateService.getEmployees();
+        Slice<SalesAssociate> actualSalesAssociates = salesAssociateService.getEmployees(0L, null);
 
         assertThat(actualSalesAssociates).isEmpty();
     }
@@ -196,7 +203,7 @@ public class SalesAssociateServiceTest {
     void shouldDeleteSalesAssociate() {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.of(salesAssociate));
 
-        SalesAssociate deletedSalesAssociate = salesAssociateService.deleteEmployee(salesAssociate.getId());
+        SalesAssociate deletedSalesAssociate = salesAssociateService.deleteEmployee(salesAssociate.getId(), null);
 
         verify(salesAssociateRepository, times(1)).delete(salesAssociate);
 
@@ -210,7 +217,7 @@ public class SalesAssociateServiceTest {
     void shouldFailToDeleteSiteManager() {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> salesAssociateService.deleteEmployee(salesAssociate.getId()));
+        assertThrows(NotFoundException.class, () -> salesAssociateService.deleteEmployee(salesAssociate.getId(), null));
 
         verify(salesAssociateRepository, never()).delete(any(SalesAssociate.class));
     }
@@ -220,7 +227,7 @@ public class SalesAssociateServiceTest {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.of(salesAssociate));
 
         SalesAssociate updatedSalesAssociate =
-                salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate);
+                salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate, null);
 
         assertAll(() -> {
             assertThat(updatedSalesAssociate).isNotNull();
@@ -233,44 +240,36 @@ public class SalesAssociateServiceTest {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
-                () -> salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate));
+                () -> salesAssociateService.editEmployee(salesAssociate.getId(), editedSalesAssociate, null));
     }
 
     @Test
     void shouldAssignClientToSalesAssociate() {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.of(salesAssociate));
-        Mockito.when(clientService.getClient(client.getId())).thenReturn(client);
 
-        SalesAssociate updatedSalesAssociate =
-                salesAssociateService.assignClient(salesAssociate.getId(), client.getId());
+        SalesAssociate updatedSalesAssociate = salesAssociateService.assignClient(salesAssociate.getId(), client.getId());
 
-        assertAll(() -> {
-            assertThat(updatedSalesAssociate.getClients().size()).isEqualTo(1);
-            assertThat(updatedSalesAssociate.getClients().get(0)).usingRecursiveComparison().isEqualTo(client);
-        });
+        assertThat(updatedSalesAssociate).isSameAs(salesAssociate);
+        verify(assignmentService).assign(Assignment.SALES_ASSOCIATE_CLIENT, salesAssociate.getId(), client.getId());
     }
 
     @Test
     void shouldFailToAssignClientToSalesAssociate() {
-        Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.of(salesAssociate));
-        Mockito.when(clientService.getClient(client.getId())).thenReturn(client);
-
-        salesAssociateService.assignClient(salesAssociate.getId(), client.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.SALES_ASSOCIATE_CLIENT, salesAssociate.getId(), client.getId());
 
-        // Attempt to assign again
         assertThrows(AlreadyAssignedException.class,
                 () -> salesAssociateService.assignClient(salesAssociate.getId(), client.getId()));
+        verify(salesAssociateRepository, never()).findById(salesAssociate.getId());
     }
 
     @Test
     void shouldRemoveClientFromSalesAssociate() {
         Mockito.when(salesAssociateRepository.findById(salesAssociate.getId())).thenReturn(Optional.of(salesAssociate));
-        Mockito.when(clientService.getClient(client.getId())).thenReturn(client);
 
-        salesAssociateService.assignClient(salesAssociate.getId(), client.getId());
-        SalesAssociate updatedSalesAssociate =
-                salesAssociateService.removeClient(salesAssociate.getId(), client.getId());
+        SalesAssociate updatedSalesAssociate = salesAssociateService.removeClient(salesAssociate.getId(), client.getId());
 
-        assertThat(updatedSalesAssociate.getClients().size()).isEqualTo(0);
+        assertThat(updatedSalesAssociate).isSameAs(salesAssociate);
+        verify(assignmentService).remove(Assignment.SALES_ASSOCIATE_CLIENT, salesAssociate.getId(), client.getId());
     }
 }
@@ -1,25 +1,41 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidTransitionException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.exceptions.PreconditionFailedException;
 import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.model.*;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionDto;
+import edu.towson.cosc457.CarDealership.model.dto.TransitionReportDto;
 import edu.towson.cosc457.CarDealership.repository.ServiceTicketRepository;
+import org.hibernate.query.NativeQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import java.math.BigInteger;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +46,10 @@ public class ServiceTicketServiceTest {
     private ServiceTicketRepository serviceTicketRepository;
     @Mock
     private CommentService commentService;
+    @Mock
+    private AssignmentService assignmentService;
+    @Mock
+    private EntityManager entityManager;
     @Captor
     private ArgumentCaptor<ServiceTicket> serviceTicketArgumentCaptor;
     private ServiceTicket serviceTicket;
@@ -40,6 +60,7 @@ public class ServiceTicketServiceTest {
     public void setUp() {
         serviceTicket = ServiceTicket.builder()
                 .id(1L)
+                .version(3L)
                 .vehicle(Vehicle.builder()
                         .id(1L)
                         .build())
@@ -78,11 +99,18 @@ public class ServiceTicketServiceTest {
 
     @Test
     void shouldSaveServiceTicket() {
+        Vehicle vehicle = Vehicle.builder().id(1L).vin("1HGCM82633A004352").build();
+        Mechanic mechanic = Mechanic.builder().id(1L).firstName("FirstName").build();
+        Mockito.when(entityManager.getReference(Vehicle.class, 1L)).thenReturn(vehicle);
+        Mockito.when(entityManager.getReference(Mechanic.class, 1L)).thenReturn(mechanic);
+
         serviceTicketService.addServiceTicket(serviceTicket);
 
         verify(serviceTicketRepository, times(1)).save(serviceTicketArgumentCaptor.capture());
 
         assertThat(serviceTicketArgumentCaptor.getValue()).usingRecursiveComparison().isEqualTo(serviceTicket);
+        assertThat(serviceTicketArgumentCaptor.getValue().getVehicle()).isSameAs(vehicle);
+        assertThat(serviceTicketArgumentCaptor.getValue().getMechanic()).isSameAs(mechanic);
     }
 
     @Test
@@ -125,21 +153,23 @@ public class ServiceTicketServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(serviceTicketRepository.findAll()).thenReturn(expectedServiceTickets);
-        List<ServiceTicket> actualServiceTickets = serviceTicketService.getServiceTickets();
-        verify(serviceTicketRepository, times(1)).findAll();
+        Mockito.when(serviceTicketRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedServiceTickets));
+        Slice<ServiceTicket> actualServiceTickets = serviceTicketService.getServiceTickets(0L, null);
+        verify(serviceTicketRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualServiceTickets).isNotNull();
-            assertThat(actualServiceTickets.size()).isEqualTo(expectedServiceTickets.size());
+            assertThat(actualServiceTickets.getNumberOfElements()).isEqualTo(expectedServiceTickets.size());
         });
     }
 
     @Test
     void shouldGetAllServiceTickets_EmptyList() {
-        Mockito.when(serviceTicketRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(serviceTicketRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<ServiceTicket> actualServiceTickets = serviceTicketService.getServiceTickets();
+        Slice<ServiceTicket> actualServiceTickets = serviceTicketService.getServiceTickets(0L, null);
 
         assertThat(actualServiceTickets).isEmpty();
     }
@@ -148,7 +178,7 @@ public class ServiceTicketServiceTest {
     void shouldDeleteServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
 
-        ServiceTicket deletedServiceTicket = serviceTicketService.deleteServiceTicket(serviceTicket.getId());
+        ServiceTicket deletedServiceTicket = serviceTicketService.deleteServiceTicket(serviceTicket.getId(), null);
 
         verify(serviceTicketRepository, times(1)).delete(serviceTicket);
 
@@ -162,7 +192,17 @@ public class ServiceTicketServiceTest {
     void shouldFailToDeleteServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> serviceTicketService.deleteServiceTicket(serviceTicket.getId()));
+        assertThrows(NotFoundException.class, () -> serviceTicketService.deleteServiceTicket(serviceTicket.getId(), null));
+
+        verify(serviceTicketRepository, never()).delete(any(ServiceTicket.class));
+    }
+
+    @Test
+    void shouldFailToDeleteStaleServiceTicket() {
+        Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> serviceTicketService.deleteServiceTicket(serviceTicket.getId(), Set.of(2L)));
 
         verify(serviceTicketRepository, never()).delete(any(ServiceTicket.class));
     }
@@ -172,57 +212,142 @@ public class ServiceTicketServiceTest {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
 
         ServiceTicket updatedServiceTicket =
-                serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket);
+                serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket, null);
 
         assertAll(() -> {
             assertThat(updatedServiceTicket).isNotNull();
-            assertThat(updatedServiceTicket).usingRecursiveComparison().isEqualTo(editedServiceTicket);
+            assertThat(updatedServiceTicket).usingRecursiveComparison().ignoringFields("version").isEqualTo(editedServiceTicket);
         });
     }
 
+    @Test
+    void shouldUpdateServiceTicketAtAnyExpectedVersion() {
+        Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
+
+        ServiceTicket updatedServiceTicket =
+                serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket, Set.of(2L, 3L));
+
+        assertThat(updatedServiceTicket.getStatus()).isEqualTo(editedServiceTicket.getStatus());
+    }
+
     @Test
     void shouldFailToUpdateServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
-                () -> serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket));
+                () -> serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket, null));
     }
 
     @Test
-    void shouldAddCommentToServiceTicket() {
+    void shouldFailToUpdateStaleServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
-        Mockito.when(commentService.getComment(comment.getId())).thenReturn(comment);
 
-        ServiceTicket updatedServiceTicket =
-                serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId());
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket, Set.of(2L)));
 
-        assertAll(() -> {
-            assertThat(updatedServiceTicket.getComments().size()).isEqualTo(1);
-            assertThat(updatedServiceTicket.getComments().get(0)).usingRecursiveComparison().isEqualTo(comment);
-        });
+        assertThat(exception.getMessage()).isEqualTo("service ticket id: 1 is at none of the versions [2]");
+        assertThat(serviceTicket.getStatus()).isEqualTo(Status.OPEN);
     }
 
     @Test
-    void shouldFailToAddCommentToServiceTicket() {
+    void shouldAddCommentToServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
-        Mockito.when(commentService.getComment(comment.getId())).thenReturn(comment);
 
-        serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId()); // Assign once
+        ServiceTicket updatedServiceTicket = serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId());
+
+        assertThat(updatedServiceTicket).isSameAs(serviceTicket);
+        verify(entityManager).lock(serviceTicket, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        verify(assignmentService).assign(Assignment.SERVICE_TICKET_COMMENT, serviceTicket.getId(), comment.getId());
+    }
+
+    @Test
+    void shouldFailToAddCommentToServiceTicket() {
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.SERVICE_TICKET_COMMENT, serviceTicket.getId(), comment.getId());
 
-        // Attempt to assign again
         assertThrows(AlreadyAssignedException.class,
                 () -> serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId()));
+        verify(serviceTicketRepository, never()).findById(serviceTicket.getId());
     }
 
     @Test
     void shouldRemoveCommentFromServiceTicket() {
         Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
-        Mockito.when(commentService.getComment(comment.getId())).thenReturn(comment);
 
-        serviceTicketService.addCommentToTicket(serviceTicket.getId(), comment.getId());
-        ServiceTicket updatedServiceTicket =
-                serviceTicketService.removeCommentFromTicket(serviceTicket.getId(), comment.getId());
+        ServiceTicket updatedServiceTicket = serviceTicketService.removeCommentFromTicket(serviceTicket.getId(), comment.getId());
+
+        assertThat(updatedServiceTicket).isSameAs(serviceTicket);
+        verify(entityManager).lock(serviceTicket, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        verify(assignmentService).remove(Assignment.SERVICE_TICKET_COMMENT, serviceTicket.getId(), comment.getId());
+    }
+
+    @Test
+    void shouldFailToUpdateServiceTicketStatus() {
+        Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
+        serviceTicket.setStatus(Status.CANCELLED);
+
+        assertThrows(InvalidTransitionException.class,
+                () -> serviceTicketService.editServiceTicket(serviceTicket.getId(), editedServiceTicket, null));
+        assertThat(serviceTicket.getStatus()).isEqualTo(Status.CANCELLED);
+    }
+
+    private Query givenTransition(List<?> moved) {
+        Query statement = mock(Query.class);
+        Mockito.when(entityManager.createNativeQuery(startsWith("UPDATE service_ticket"))).thenReturn(statement);
+        Mockito.when(statement.setParameter(anyInt(), any())).thenReturn(statement);
+        Mockito.when(statement.unwrap(NativeQuery.class)).thenReturn(mock(NativeQuery.class));
+        Mockito.when(statement.getResultList()).thenReturn(moved);
+        return statement;
+    }
+
+    @Test
+    void shouldTransitionServiceTicket() {
+        Query statement = givenTransition(Collections.singletonList(BigInteger.ONE));
+        Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
 
-        assertThat(updatedServiceTicket.getComments().size()).isEqualTo(0);
+        ServiceTicket updatedServiceTicket = serviceTicketService
+                .transitionServiceTicket(serviceTicket.getId(), null, Status.RESOLVED);
+
+        assertThat(updatedServiceTicket).isSameAs(serviceTicket);
+        verify(statement).setParameter(1, "RESOLVED");
+        verify(statement).setParameter(2, "{1}");
+        verify(statement).setParameter(3, "{OPEN,PENDING}");
+    }
+
+    @Test
+    void shouldFailToTransitionServiceTicket_Conflict() {
+        givenTransition(Collections.emptyList());
+        serviceTicket.setStatus(Status.RESOLVED);
+        Mockito.when(serviceTicketRepository.findById(serviceTicket.getId())).thenReturn(Optional.of(serviceTicket));
+
+        InvalidTransitionException exception = assertThrows(InvalidTransitionException.class,
+                () -> serviceTicketService.transitionServiceTicket(serviceTicket.getId(), Status.OPEN, Status.PENDING));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(exception.getMessage()).isEqualTo("Service ticket cannot move from RESOLVED to PENDING");
+    }
+
+    @Test
+    void shouldFailToTransitionServiceTicket_Illegal() {
+        InvalidTransitionException exception = assertThrows(InvalidTransitionException.class,
+                () -> serviceTicketService.transitionServiceTicket(serviceTicket.getId(), Status.CANCELLED, Status.OPEN));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    void shouldTransitionServiceTickets() {
+        Query statement = givenTransition(Arrays.asList(BigInteger.valueOf(3L), BigInteger.ONE));
+
+        List<TransitionReportDto> reports = serviceTicketService.transitionServiceTickets(Collections.singletonList(
+                TransitionDto.builder().ids(Arrays.asList(1L, 2L, 3L, 1L)).from(Status.PENDING).to(Status.RESOLVED).build()));
+
+        verify(entityManager, times(1)).createNativeQuery(anyString());
+        verify(statement).setParameter(2, "{1,2,3}");
+        verify(statement).setParameter(3, "{PENDING}");
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0).getTransitioned()).containsExactly(1L, 3L);
+        assertThat(reports.get(0).getSkipped()).containsExactly(2L);
     }
 }
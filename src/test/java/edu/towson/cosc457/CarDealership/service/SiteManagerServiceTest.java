@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -31,6 +34,8 @@ public class SiteManagerServiceTest {
     private SiteManagerRepository siteManagerRepository;
     @Mock
     private ManagerService managerService;
+    @Mock
+    private AssignmentService assignmentService;
     @Captor
     private ArgumentCaptor<SiteManager> siteManagerArgumentCaptor;
     private SiteManager siteManager;
@@ -177,21 +182,23 @@ public class SiteManagerServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(siteManagerRepository.findAll()).thenReturn(expectedSiteManagers);
-        List<SiteManager> actualSiteManagers = siteManagerService.getEmployees();
-        verify(siteManagerRepository, times(1)).findAll();
+        Mockito.when(siteManagerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedSiteManagers));
+        Slice<SiteManager> actualSiteManagers = siteManagerService.getEmployees(0L, null);
+        verify(siteManagerRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualSiteManagers).isNotNull();
-            assertThat(actualSiteManagers.size()).isEqualTo(expectedSiteManagers.size());
+            assertThat(actualSiteManagers.getNumberOfElements()).isEqualTo(expectedSiteManagers.size());
         });
     }
 
     @Test
     void shouldGetAllSiteManagers_EmptyList() {
-        Mockito.when(siteManagerRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(siteManagerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<SiteManager> actualSiteManagers = siteManagerService.getEmployees();
+        Slice<SiteManager> actualSiteManagers = siteManagerService.getEmployees(0L, null);
 
         assertThat(actualSiteManagers).isEmpty();
     }
@@ -200,7 +207,7 @@ public class SiteManagerServiceTest {
     void shouldDeleteSiteManager() {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.of(siteManager));
 
-        SiteManager deletedSiteManager = siteManagerService.deleteEmployee(siteManager.getId());
+        SiteManager deletedSiteManager = siteManagerService.deleteEmployee(siteManager.getId(), null);
 
         verify(siteManagerRepository, times(1)).delete(siteManager);
 
@@ -214,7 +221,7 @@ public class SiteManagerServiceTest {
     void shouldFailToDeleteSiteManager() {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> siteManagerService.deleteEmployee(siteManager.getId()));
+        assertThrows(NotFoundException.class, () -> siteManagerService.deleteEmployee(siteManager.getId(), null));
 
         verify(siteManagerRepository, never()).delete(any(SiteManager.class));
     }
@@ -223,7 +230,7 @@ public class SiteManagerServiceTest {
     void shouldUpdateSiteManager() {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.of(siteManager));
 
-        SiteManager updatedSiteManager = siteManagerService.editEmployee(siteManager.getId(), editedSiteManager);
+        SiteManager updatedSiteManager = siteManagerService.editEmployee(siteManager.getId(), editedSiteManager, null);
 
         assertAll(() -> {
             assertThat(updatedSiteManager).isNotNull();
@@ -236,42 +243,36 @@ public class SiteManagerServiceTest {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
-                () -> siteManagerService.editEmployee(siteManager.getId(), editedSiteManager));
+                () -> siteManagerService.editEmployee(siteManager.getId(), editedSiteManager, null));
     }
 
     @Test
     void shouldAssignManagerToSiteManager() {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.of(siteManager));
-        Mockito.when(managerService.getEmployee(manager.getId())).thenReturn(manager);
 
         SiteManager updatedSiteManager = siteManagerService.assignToManager(siteManager.getId(), manager.getId());
 
-        assertAll(() -> {
-            assertThat(updatedSiteManager.getManagers().size()).isEqualTo(1);
-            assertThat(updatedSiteManager.getManagers().get(0)).usingRecursiveComparison().isEqualTo(manager);
-        });
+        assertThat(updatedSiteManager).isSameAs(siteManager);
+        verify(assignmentService).assign(Assignment.SITE_MANAGER_MANAGER, siteManager.getId(), manager.getId());
     }
 
     @Test
     void shouldFailToAssignManagerToSiteManager() {
-        Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.of(siteManager));
-        Mockito.when(managerService.getEmployee(manager.getId())).thenReturn(manager);
-
-        siteManagerService.assignToManager(siteManager.getId(), manager.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.SITE_MANAGER_MANAGER, siteManager.getId(), manager.getId());
 
-        // Attempt to assign again
         assertThrows(AlreadyAssignedException.class,
                 () -> siteManagerService.assignToManager(siteManager.getId(), manager.getId()));
+        verify(siteManagerRepository, never()).findById(siteManager.getId());
     }
 
     @Test
     void shouldRemoveManagerFromSiteManager() {
         Mockito.when(siteManagerRepository.findById(siteManager.getId())).thenReturn(Optional.of(siteManager));
-        Mockito.when(managerService.getEmployee(manager.getId())).thenReturn(manager);
 
-        siteManagerService.assignToManager(siteManager.getId(), manager.getId());
         SiteManager updatedSiteManager = siteManagerService.removeFromManager(siteManager.getId(), manager.getId());
 
-        assertThat(updatedSiteManager.getManagers().size()).isEqualTo(0);
+        assertThat(updatedSiteManager).isSameAs(siteManager);
+        verify(assignmentService).remove(Assignment.SITE_MANAGER_MANAGER, siteManager.getId(), manager.getId());
     }
 }
@@ -9,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -97,21 +100,23 @@ public class UserServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(userRepository.findAll()).thenReturn(expectedUsers);
-        List<User> actualUsers = userService.getUsers();
-        verify(userRepository, times(1)).findAll();
+        Mockito.when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedUsers));
+        Slice<User> actualUsers = userService.getUsers(0L, null);
+        verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualUsers).isNotNull();
-            assertThat(actualUsers.size()).isEqualTo(expectedUsers.size());
+            assertThat(actualUsers.getNumberOfElements()).isEqualTo(expectedUsers.size());
         });
     }
 
     @Test
     void shouldGetAllUsers_EmptyList() {
-        Mockito.when(userRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<User> actualUsers = userService.getUsers();
+        Slice<User> actualUsers = userService.getUsers(0L, null);
 
         assertThat(actualUsers).isEmpty();
     }
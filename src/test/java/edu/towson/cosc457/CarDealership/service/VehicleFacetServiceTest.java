@@ -0,0 +1,211 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import edu.towson.cosc457.CarDealership.misc.TransmissionType;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.Lot;
+import edu.towson.cosc457.CarDealership.model.Vehicle;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleFacetsDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
+import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleFacetServiceTest {
+    @InjectMocks
+    private VehicleFacetService vehicleFacetService;
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private EntityManager entityManager;
+    private Vehicle sedan;
+    private Vehicle suv;
+    private Vehicle truck;
+
+    @BeforeEach
+    public void setUp() {
+        sedan = vehicle(1L, "Toyota", VehicleType.SEDAN, TransmissionType.AUTOMATIC, 2019, 21500.00, 45000);
+        suv = vehicle(2L, "Toyota", VehicleType.SUV, TransmissionType.AUTOMATIC, 2021, 34999.99, 12000);
+        truck = vehicle(3L, "Ford", VehicleType.TRUCK, TransmissionType.MANUAL, 2021, 41000.00, 80000);
+        Mockito.when(vehicleRepository.streamAll()).thenReturn(Stream.of(sedan, suv, truck));
+        vehicleFacetService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should count every indexed Vehicle when no filter is set")
+    void shouldCountAllVehicles() {
+        VehicleFacetsDto facets = vehicleFacetService.getFacets(new VehicleSearchDto());
+
+        assertAll(() -> {
+            assertThat(facets.getTotal()).isEqualTo(3L);
+            assertThat(facets.getMakes()).containsExactly(entry("Ford", 1L), entry("Toyota", 2L));
+            assertThat(facets.getYears()).containsExactly(entry(2019, 1L), entry(2021, 2L));
+            assertThat(facets.getPrices())
+                    .containsExactly(entry("20000-24999", 1L), entry("30000-34999", 1L), entry("40000-44999", 1L));
+        });
+    }
+
+    @Test
+    @DisplayName("Should count each facet against every filter except its own")
+    void shouldCountFacetsWithFilters() {
+        VehicleFacetsDto facets = vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                .make("Toyota")
+                .minPrice(20000.00)
+                .maxPrice(35000.00)
+                .maxMileage(60000)
+                .build());
+
+        assertAll(() -> {
+            assertThat(facets.getTotal()).isEqualTo(2L);
+            assertThat(facets.getMakes()).containsExactly(entry("Toyota", 2L));
+            assertThat(facets.getTypes()).containsExactly(entry(VehicleType.SEDAN, 1L), entry(VehicleType.SUV, 1L));
+            assertThat(facets.getTransmissions()).containsExactly(entry(TransmissionType.AUTOMATIC, 2L));
+        });
+    }
+
+    @Test
+    void shouldUpdateIndexIncrementally() {
+        suv.setPrice(19000.00);
+        vehicleFacetService.put(suv);
+        vehicleFacetService.remove(truck.getId());
+        vehicleFacetService.put(vehicle(4L, "Honda", VehicleType.SEDAN, TransmissionType.AUTOMATIC, 2020,
+                18000.00, 30000));
+
+        VehicleFacetsDto facets = vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                .maxPrice(20000.00)
+                .build());
+
+        assertAll(() -> {
+            assertThat(facets.getTotal()).isEqualTo(2L);
+            assertThat(facets.getMakes()).containsExactly(entry("Honda", 1L), entry("Toyota", 1L));
+            assertThat(facets.getPrices()).containsExactly(entry("15000-19999", 2L), entry("20000-24999", 1L));
+        });
+    }
+
+    @Test
+    void shouldIndexValuesPastIntRange() {
+        vehicleFacetService.put(vehicle(4L, "Bugatti", VehicleType.COUPE, TransmissionType.AUTOMATIC, 2021,
+                30000000.00, 500));
+        vehicleFacetService.put(vehicle(5L, "Honda", VehicleType.SEDAN, TransmissionType.AUTOMATIC, 2020,
+                18000.00, -1));
+
+        assertAll(() -> {
+            assertThat(vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                    .minPrice(25000000.00)
+                    .build()).getMakes()).containsExactly(entry("Bugatti", 1L));
+            assertThat(vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                    .maxMileage(1000)
+                    .build()).getMakes()).containsExactly(entry("Bugatti", 1L), entry("Honda", 1L));
+            assertThat(vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                    .minMileage(0)
+                    .build()).getTotal()).isEqualTo(4L);
+        });
+    }
+
+    @Test
+    void shouldIndexIdsPastIntRange() {
+        Vehicle first = vehicle(5_000_000_000L, "Honda", VehicleType.SEDAN, TransmissionType.AUTOMATIC, 2020,
+                18000.00, 30000);
+        Vehicle second = vehicle(5_000_000_001L, "Honda", VehicleType.SEDAN, TransmissionType.MANUAL, 2019,
+                16000.00, 40000);
+        vehicleFacetService.put(first);
+        vehicleFacetService.put(second);
+        vehicleFacetService.remove(first.getId());
+
+        assertAll(() -> {
+            assertThat(vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                    .make("Honda")
+                    .build()).getTransmissions()).containsExactly(entry(TransmissionType.MANUAL, 1L));
+            assertThat(vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                    .maxPrice(17000.00)
+                    .build()).getTotal()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void shouldKeepChangesAppliedDuringRebuild() {
+        Vehicle honda = vehicle(4L, "Honda", VehicleType.SEDAN, TransmissionType.AUTOMATIC, 2020, 18000.00, 30000);
+        Mockito.when(vehicleRepository.streamAll()).thenReturn(Stream.of(sedan, suv, truck).peek(vehicle -> {
+            if (vehicle == sedan) {
+                vehicleFacetService.remove(truck.getId());
+                vehicleFacetService.put(honda);
+            }
+        }));
+
+        vehicleFacetService.rebuild();
+
+        assertThat(vehicleFacetService.getFacets(new VehicleSearchDto()).getMakes())
+                .containsExactly(entry("Honda", 1L), entry("Toyota", 2L));
+    }
+
+    @Test
+    void shouldMergeRebuildsRequestedWhileLoading() {
+        Thread[] concurrent = new Thread[2];
+        Mockito.when(vehicleRepository.streamAll()).thenReturn(Stream.of(sedan).peek(vehicle -> {
+            for (int i = 0; i < concurrent.length; i++) {
+                concurrent[i] = new Thread(vehicleFacetService::rebuild);
+                concurrent[i].start();
+            }
+            for (Thread thread : concurrent) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        })).thenReturn(Stream.of(sedan, suv));
+
+        vehicleFacetService.rebuild();
+
+        Mockito.verify(vehicleRepository, Mockito.times(3)).streamAll();
+        assertThat(vehicleFacetService.getFacets(new VehicleSearchDto()).getTotal()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldFilterOnFeatureAndLot() {
+        VehicleFacetsDto facets = vehicleFacetService.getFacets(VehicleSearchDto.builder()
+                .features(" sunroof ")
+                .lotId(1L)
+                .build());
+
+        assertThat(facets.getTotal()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldCountVehiclesPerLot() {
+        assertThat(vehicleFacetService.getVehiclesPerLot()).containsExactly(entry(1L, 3L));
+    }
+
+    private static Vehicle vehicle(Long id, String make, VehicleType type, TransmissionType transmission,
+                                   Integer year, Double price, Integer mileage) {
+        return Vehicle.builder()
+                .id(id)
+                .make(make)
+                .model("Model")
+                .color("Green")
+                .type(type)
+                .transmission(transmission)
+                .year(year)
+                .price(price)
+                .mileage(mileage)
+                .mpg(25)
+                .features(id % 2 == 0 ? "Leather Seats" : "Sunroof, Leather Seats")
+                .lot(Lot.builder()
+                        .id(1L)
+                        .build())
+                .build();
+    }
+}
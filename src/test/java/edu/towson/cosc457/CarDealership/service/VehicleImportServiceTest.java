@@ -0,0 +1,187 @@
+package edu.towson.cosc457.CarDealership.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidImportException;
+import edu.towson.cosc457.CarDealership.mapper.VehicleMapper;
+import edu.towson.cosc457.CarDealership.misc.ImportFormat;
+import edu.towson.cosc457.CarDealership.misc.VehicleType;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportErrorDto;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleImportReportDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleImportServiceTest {
+    private VehicleImportService vehicleImportService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private VehicleFacetService vehicleFacetService;
+    @Mock
+    private BudgetMatchService budgetMatchService;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PGConnection pgConnection;
+    @Mock
+    private CopyManager copyManager;
+    @Mock
+    private CopyIn copyIn;
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    private ResultSet duplicate;
+
+    @BeforeEach
+    public void setUp() {
+        vehicleImportService = new VehicleImportService(jdbcTemplate, transactionTemplate, new ObjectMapper(),
+                Mappers.getMapper(VehicleMapper.class), vehicleFacetService, budgetMatchService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCopy(int imported) throws Exception {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(startsWith("COPY vehicle_import"))).thenReturn(copyIn);
+        when(copyIn.isActive()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        ResultSet inserted = imported > 0 ? inserted() : null;
+        lenient().doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (sql.contains("INSERT INTO vehicle")) {
+                for (int row = 0; row < imported; row++) {
+                    handler.processRow(inserted);
+                }
+            } else if (sql.contains("row_number()") && duplicate != null) {
+                handler.processRow(duplicate);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet inserted() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("vehicle_id")).thenReturn(5_000_000_000L);
+        when(resultSet.getString("vin")).thenReturn("1HGCM82633A004352");
+        when(resultSet.getString("make")).thenReturn("Honda");
+        when(resultSet.getString("model")).thenReturn("Civic");
+        when(resultSet.getString("color")).thenReturn("Blue");
+        when(resultSet.getString("vehicle_type")).thenReturn("SEDAN");
+        when(resultSet.getString("transmission")).thenReturn("AUTOMATIC");
+        when(resultSet.getString("features")).thenReturn("Sunroof");
+        when(resultSet.getBigDecimal("price")).thenReturn(new BigDecimal("18500.50"));
+        when(resultSet.getObject("lot_id", Long.class)).thenReturn(1L);
+        return resultSet;
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @DisplayName("JUnit test for importVehicles method (CSV)")
+    @Test
+    void shouldImportCsv() throws Exception {
+        givenCopy(1);
+        duplicate = mock(ResultSet.class);
+        when(duplicate.getLong("line")).thenReturn(4L);
+        when(duplicate.getString("vin")).thenReturn("1HGCM82633A004352");
+        when(duplicate.getBoolean("existing")).thenReturn(false);
+
+        VehicleImportReportDto report = vehicleImportService.importVehicles(body(
+                "vin,make,model,year,color,type,transmission,features,mpg,mileage,price,lotId\n"
+                        + "1hgcm82633a004352,Honda,Civic,2019,Blue,SEDAN,AUTOMATIC,\"Sunroof, \"\"Sport\"\"\",32,15000,18500.5,1\n"
+                        + "2HGCM82633A004352,,Civic,2019,Blue,SEDAN,AUTOMATIC,,32,15000,,\n"
+                        + "1HGCM82633A004352,Honda,Civic,2019,Blue,SEDAN,AUTOMATIC,,32,15000,,\n"),
+                ImportFormat.CSV);
+
+        assertThat(copied.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+                "\"2\",\"1HGCM82633A004352\",\"Honda\",\"Civic\",\"2019\",\"Blue\",\"SEDAN\",\"AUTOMATIC\","
+                        + "\"Sunroof, \"\"Sport\"\"\",\"32\",\"15000\",\"18500.5\",\"1\"\n"
+                        + "\"4\",\"1HGCM82633A004352\",\"Honda\",\"Civic\",\"2019\",\"Blue\",\"SEDAN\",\"AUTOMATIC\","
+                        + ",\"32\",\"15000\",,\n");
+        assertThat(report.getReceived()).isEqualTo(3L);
+        assertThat(report.getImported()).isEqualTo(1L);
+        assertThat(report.getDuplicates()).isEqualTo(1L);
+        assertThat(report.getRejected()).isEqualTo(1L);
+        assertThat(report.getErrors()).extracting(VehicleImportErrorDto::getLine).containsExactly(3L, 4L);
+        verify(copyIn).endCopy();
+        verify(vehicleFacetService).put(argThat(vehicle -> vehicle.getId() == 5_000_000_000L
+                && vehicle.getType() == VehicleType.SEDAN && vehicle.getPrice() == 18500.5
+                && vehicle.getLot().getId() == 1L));
+        verify(budgetMatchService).putVehicle(argThat(vehicle -> "Honda".equals(vehicle.getMake())));
+        verify(vehicleFacetService, never()).rebuild();
+        verify(budgetMatchService, never()).rebuild();
+    }
+
+    @DisplayName("JUnit test for importVehicles method (NDJSON)")
+    @Test
+    void shouldRejectMalformedNdjsonLine() throws Exception {
+        givenCopy(0);
+
+        VehicleImportReportDto report = vehicleImportService.importVehicles(body(
+                "\n{\"vin\": \"1HGCM82633A004352\", \"type\": \"BOAT\"}\n{\"vin\": \n"), ImportFormat.NDJSON);
+
+        assertThat(copied.size()).isZero();
+        assertThat(report.getReceived()).isEqualTo(2L);
+        assertThat(report.getRejected()).isEqualTo(2L);
+        assertThat(report.getErrors()).extracting(VehicleImportErrorDto::getLine).containsExactly(2L, 3L);
+        verify(vehicleFacetService, never()).put(any());
+    }
+
+    @DisplayName("JUnit test for importVehicles method (CSV with unknown column)")
+    @Test
+    void shouldRejectUnknownCsvColumn() throws Exception {
+        givenCopy(0);
+
+        assertThrows(InvalidImportException.class, () -> vehicleImportService.importVehicles(
+                body("vin,make,wheels\n"), ImportFormat.CSV));
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    @DisplayName("JUnit test for importVehicles method (empty CSV)")
+    @Test
+    void shouldRejectCsvWithoutHeader() throws Exception {
+        givenCopy(0);
+
+        assertThrows(InvalidImportException.class, () -> vehicleImportService.importVehicles(
+                body(""), ImportFormat.CSV));
+    }
+}
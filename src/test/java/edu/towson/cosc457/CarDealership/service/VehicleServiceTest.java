@@ -1,26 +1,40 @@
 package edu.towson.cosc457.CarDealership.service;
 
 import edu.towson.cosc457.CarDealership.exceptions.AlreadyAssignedException;
+import edu.towson.cosc457.CarDealership.exceptions.InvalidSortException;
 import edu.towson.cosc457.CarDealership.exceptions.NotFoundException;
+import edu.towson.cosc457.CarDealership.misc.Cursor;
 import edu.towson.cosc457.CarDealership.misc.Status;
 import edu.towson.cosc457.CarDealership.misc.TransmissionType;
 import edu.towson.cosc457.CarDealership.misc.VehicleType;
 import edu.towson.cosc457.CarDealership.model.*;
+import edu.towson.cosc457.CarDealership.model.dto.VehicleSearchDto;
 import edu.towson.cosc457.CarDealership.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +45,14 @@ public class VehicleServiceTest {
     private VehicleRepository vehicleRepository;
     @Mock
     private ServiceTicketService serviceTicketService;
+    @Mock
+    private VehicleFacetService vehicleFacetService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private AssignmentService assignmentService;
+    @Mock
+    private BudgetMatchService budgetMatchService;
     @Captor
     private ArgumentCaptor<Vehicle> vehicleArgumentCaptor;
     private Vehicle vehicle;
@@ -137,32 +159,115 @@ public class VehicleServiceTest {
                 .id(3L)
                 .build());
 
-        Mockito.when(vehicleRepository.findAll()).thenReturn(expectedVehicles);
-        List<Vehicle> actualVehicles = vehicleService.getVehicles();
-        verify(vehicleRepository, times(1)).findAll();
+        Mockito.when(vehicleRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(expectedVehicles));
+        Slice<Vehicle> actualVehicles = vehicleService.getVehicles(0L, null);
+        verify(vehicleRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
 
         assertAll(() -> {
             assertThat(actualVehicles).isNotNull();
-            assertThat(actualVehicles.size()).isEqualTo(expectedVehicles.size());
+            assertThat(actualVehicles.getNumberOfElements()).isEqualTo(expectedVehicles.size());
         });
     }
 
     @Test
     void shouldGetAllVehicles_EmptyList() {
-        Mockito.when(vehicleRepository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(vehicleRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<Vehicle> actualVehicles = vehicleService.getVehicles();
+        Slice<Vehicle> actualVehicles = vehicleService.getVehicles(0L, null);
 
         assertThat(actualVehicles).isEmpty();
     }
 
+    @Test
+    void shouldSearchVehicles() {
+        VehicleSearchDto criteria = VehicleSearchDto.builder()
+                .make("Make")
+                .type(VehicleType.SEDAN)
+                .minPrice(20000.00)
+                .maxPrice(35000.00)
+                .build();
+        Mockito.when(vehicleRepository.findSlice(ArgumentMatchers.<Specification<Vehicle>>any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(vehicle)));
+
+        Slice<Vehicle> actualVehicles = vehicleService.searchVehicles(criteria,
+                PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "price")));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(vehicleRepository).findSlice(ArgumentMatchers.<Specification<Vehicle>>any(), pageableCaptor.capture());
+
+        assertAll(() -> {
+            assertThat(actualVehicles.getContent()).containsExactly(vehicle);
+            assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(Cursor.MAX_LIMIT);
+            assertThat(pageableCaptor.getValue().getSort())
+                    .isEqualTo(Sort.by(Sort.Direction.DESC, "price").and(Sort.by("id")));
+        });
+    }
+
+    @Test
+    void shouldFuzzySearchVehicles() {
+        VehicleSearchDto criteria = VehicleSearchDto.builder()
+                .make("Chevorlet")
+                .features("Sunrof")
+                .type(VehicleType.SEDAN)
+                .maxPrice(35000.00)
+                .fuzzy(true)
+                .build();
+        Query query = mock(Query.class);
+        Mockito.when(entityManager.createNativeQuery(anyString(), eq(Vehicle.class))).thenReturn(query);
+        Mockito.when(query.getResultList()).thenReturn(Collections.singletonList(vehicle));
+
+        Slice<Vehicle> actualVehicles = vehicleService.searchVehicles(criteria,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")));
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sqlCaptor.capture(), eq(Vehicle.class));
+
+        assertAll(() -> {
+            assertThat(actualVehicles.getContent()).containsExactly(vehicle);
+            assertThat(actualVehicles.hasNext()).isFalse();
+            assertThat(sqlCaptor.getValue())
+                    .contains("lower(v.make) % ?1", "?2 <% lower(v.features)", "v.vehicle_type = ?3",
+                            "v.price <= ?4")
+                    .endsWith("ORDER BY similarity(lower(v.make), ?1) + word_similarity(?2, lower(v.features)) "
+                            + "DESC, v.vehicle_id LIMIT ?5 OFFSET ?6");
+            verify(query).setParameter(1, "chevorlet");
+            verify(query).setParameter(2, "sunrof");
+            verify(query).setParameter(3, "SEDAN");
+            verify(query).setParameter(5, 11);
+            verify(entityManager, never()).createNativeQuery(startsWith("SELECT count"));
+            verifyNoInteractions(vehicleRepository);
+        });
+    }
+
+    @Test
+    void shouldFailToSearchVehicles_InvalidSort() {
+        assertThrows(InvalidSortException.class, () -> vehicleService.searchVehicles(new VehicleSearchDto(),
+                PageRequest.of(0, 10, Sort.by("lot"))));
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    void shouldStreamVehicles() {
+        Mockito.when(vehicleRepository.streamAll()).thenReturn(Stream.of(vehicle, editedVehicle));
+        List<Vehicle> streamedVehicles = new ArrayList<>();
+
+        long count = vehicleService.streamVehicles(streamedVehicles::add);
+
+        assertAll(() -> {
+            assertThat(count).isEqualTo(2L);
+            assertThat(streamedVehicles).containsExactly(vehicle, editedVehicle);
+            verify(entityManager, atLeastOnce()).clear();
+        });
+    }
+
     @Test
     void shouldDeleteVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
 
-        Vehicle deletedVehicle = vehicleService.deleteVehicle(vehicle.getId());
+        Vehicle deletedVehicle = vehicleService.deleteVehicle(vehicle.getId(), null);
 
         verify(vehicleRepository, times(1)).delete(vehicle);
+        verify(vehicleFacetService, times(1)).remove(vehicle.getId());
 
         assertAll(() -> {
             assertThat(deletedVehicle).isNotNull();
@@ -174,7 +279,7 @@ public class VehicleServiceTest {
     void shouldFailToDeleteVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> vehicleService.deleteVehicle(vehicle.getId()));
+        assertThrows(NotFoundException.class, () -> vehicleService.deleteVehicle(vehicle.getId(), null));
 
         verify(vehicleRepository, never()).delete(any(Vehicle.class));
     }
@@ -183,7 +288,7 @@ public class VehicleServiceTest {
     void shouldUpdateVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
 
-        Vehicle updatedVehicle = vehicleService.editVehicle(vehicle.getId(), editedVehicle);
+        Vehicle updatedVehicle = vehicleService.editVehicle(vehicle.getId(), editedVehicle, null);
 
         assertAll(() -> {
             assertThat(updatedVehicle).isNotNull();
@@ -195,41 +300,55 @@ public class VehicleServiceTest {
     void shouldFailToUpdateVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> vehicleService.editVehicle(vehicle.getId(), editedVehicle));
+        assertThrows(NotFoundException.class, () -> vehicleService.editVehicle(vehicle.getId(), editedVehicle, null));
     }
 
     @Test
     void shouldAssignTicketToVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
 
         Vehicle updatedVehicle = vehicleService.assignTicket(vehicle.getId(), serviceTicket.getId());
 
-        assertAll(() -> {
-            assertThat(updatedVehicle.getTickets().size()).isEqualTo(1);
-            assertThat(updatedVehicle.getTickets().get(0)).usingRecursiveComparison().isEqualTo(serviceTicket);
-        });
+        assertThat(updatedVehicle).isSameAs(vehicle);
+        verify(assignmentService).assign(Assignment.VEHICLE_TICKET, vehicle.getId(), serviceTicket.getId());
     }
 
     @Test
     void shouldFailToAssignTicketToVehicle() {
-        Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
-
-        vehicleService.assignTicket(vehicle.getId(), serviceTicket.getId()); // Assign once
+        doThrow(AlreadyAssignedException.class)
+                .when(assignmentService).assign(Assignment.VEHICLE_TICKET, vehicle.getId(), serviceTicket.getId());
 
         assertThrows(AlreadyAssignedException.class,
                 () -> vehicleService.assignTicket(vehicle.getId(), serviceTicket.getId()));
+        verify(vehicleRepository, never()).findById(vehicle.getId());
     }
 
     @Test
     void shouldRemoveTicketToVehicle() {
         Mockito.when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
-        Mockito.when(serviceTicketService.getServiceTicket(serviceTicket.getId())).thenReturn(serviceTicket);
 
-        vehicleService.assignTicket(vehicle.getId(), serviceTicket.getId());
         Vehicle updatedVehicle = vehicleService.removeTicket(vehicle.getId(), serviceTicket.getId());
 
-        assertThat(updatedVehicle.getTickets().size()).isEqualTo(0);
+        assertThat(updatedVehicle).isSameAs(vehicle);
+        verify(assignmentService).remove(Assignment.VEHICLE_TICKET, vehicle.getId(), serviceTicket.getId());
+    }
+
+    @Test
+    void shouldGetTicketsAssignedToVehicle() {
+        Mockito.when(vehicleRepository.existsById(vehicle.getId())).thenReturn(true);
+        Mockito.when(serviceTicketService.getServiceTicketsByVehicle(vehicle.getId(), 0L, null))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(serviceTicket)));
+
+        Slice<ServiceTicket> actualTickets = vehicleService.getTickets(vehicle.getId(), 0L, null);
+
+        assertThat(actualTickets.getContent()).containsExactly(serviceTicket);
+    }
+
+    @Test
+    void shouldFailToGetTicketsAssignedToVehicle() {
+        Mockito.when(vehicleRepository.existsById(vehicle.getId())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> vehicleService.getTickets(vehicle.getId(), 0L, null));
+        verify(serviceTicketService, never()).getServiceTicketsByVehicle(anyLong(), anyLong(), any());
     }
 }
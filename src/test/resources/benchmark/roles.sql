@@ -0,0 +1,2 @@
+-- schema.sql hands the public schema to the production database owner
+CREATE ROLE pzsezzvkqmgmyj;